@@ -1,27 +1,33 @@
 package io.sbsp.jsonschema;
 
+import com.google.common.base.Suppliers;
 import io.sbsp.jsonschema.enums.JsonSchemaVersion;
 import io.sbsp.jsonschema.keyword.KeywordMetadata;
 import io.sbsp.jsonschema.keyword.SchemaKeyword;
 import io.sbsp.jsonschema.loading.LoadingReport;
+import io.sbsp.jsonschema.loading.SchemaLoadingException;
 import io.sbsp.jsonschema.utils.JsonSchemaGenerator;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 
 import javax.json.JsonObject;
-import javax.json.spi.JsonProvider;
 import javax.json.stream.JsonGenerator;
 import java.io.StringWriter;
 import java.net.URI;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static io.sbsp.jsonschema.utils.JsonUtils.generatorFactory;
 import static io.sbsp.jsonschema.utils.JsonUtils.prettyPrintGeneratorFactory;
 
 /**
  * This class is used to resolve JSON pointers.
  * during the construction of the schema. This class has been made mutable to permit the loading of
  * recursive schemas.
+ *
+ * When created lazily, the reference isn't resolved until the referenced schema is first needed.  Resolution
+ * is guarded so that concurrent callers will all see the same resolved instance.
  */
 
 @EqualsAndHashCode(of = "refURI")
@@ -30,7 +36,7 @@ public abstract class RefSchema implements Schema {
     /**
      * Contains a reference to the actual loaded schema.
      */
-    private final Schema refSchema;
+    private final Supplier<Schema> refSchema;
 
     @NonNull
     private final SchemaLocation location;
@@ -39,27 +45,28 @@ public abstract class RefSchema implements Schema {
     private final URI refURI;
 
     public RefSchema(SchemaFactory factory, SchemaLocation location, URI refURI, JsonObject currentDocument, LoadingReport report) {
+        this(factory, location, refURI, currentDocument, report, false);
+    }
+
+    public RefSchema(SchemaFactory factory, SchemaLocation location, URI refURI, JsonObject currentDocument,
+                     LoadingReport report, boolean lazy) {
         checkNotNull(report, "report must not be null");
         this.location = location;
         this.refURI = refURI;
 
-        int infiniteLoopPrevention = 0;
-        if (factory != null) {
-            Schema schema = this;
-            URI thisRefURI = this.getRefURI();
-
-            while (schema instanceof RefSchema) {
-                schema = factory.loadRefSchema(schema, thisRefURI, currentDocument, report);
-                if (schema instanceof RefSchema) {
-                    thisRefURI = ((RefSchema) schema).getRefURI();
-                }
-                if (infiniteLoopPrevention++ > 10) {
-                    throw new IllegalStateException("Too many nested references");
+        if (factory == null) {
+            this.refSchema = Suppliers.ofInstance(null);
+        } else if (lazy) {
+            this.refSchema = Suppliers.memoize(() -> {
+                final LoadingReport lazyReport = new LoadingReport();
+                final Schema resolved = resolveRefSchema(factory, currentDocument, lazyReport);
+                if (lazyReport.hasErrors()) {
+                    throw new SchemaLoadingException(location.getJsonPointerFragment(), lazyReport, resolved);
                 }
-            }
-            this.refSchema = schema;
+                return resolved;
+            });
         } else {
-            this.refSchema = null;
+            this.refSchema = Suppliers.ofInstance(resolveRefSchema(factory, currentDocument, report));
         }
     }
 
@@ -69,7 +76,24 @@ public abstract class RefSchema implements Schema {
         checkNotNull(refURI, "refURI must not be null");
         this.location = location;
         this.refURI = refURI;
-        this.refSchema = refSchema;
+        this.refSchema = Suppliers.ofInstance(refSchema);
+    }
+
+    private Schema resolveRefSchema(SchemaFactory factory, JsonObject currentDocument, LoadingReport report) {
+        int infiniteLoopPrevention = 0;
+        Schema schema = this;
+        URI thisRefURI = this.getRefURI();
+
+        while (schema instanceof RefSchema) {
+            schema = factory.loadRefSchema(schema, thisRefURI, currentDocument, report);
+            if (schema instanceof RefSchema) {
+                thisRefURI = ((RefSchema) schema).getRefURI();
+            }
+            if (infiniteLoopPrevention++ > 10) {
+                throw new IllegalStateException("Too many nested references");
+            }
+        }
+        return schema;
     }
 
     @Override
@@ -78,8 +102,9 @@ public abstract class RefSchema implements Schema {
     }
 
     public Schema requireRefSchema() {
-        checkNotNull(refSchema, "refSchema must not be null");
-        return refSchema;
+        final Schema schema = getRefSchema();
+        checkNotNull(schema, "refSchema must not be null");
+        return schema;
     }
 
     public URI getRefURI() {
@@ -87,7 +112,8 @@ public abstract class RefSchema implements Schema {
     }
 
     public Schema getRefSchema() {
-        return refSchema;
+        // The supplier is still unassigned while an eager reference is being resolved
+        return refSchema != null ? refSchema.get() : null;
     }
 
     @Override
@@ -101,7 +127,7 @@ public abstract class RefSchema implements Schema {
         if (pretty) {
             generator = prettyPrintGeneratorFactory().createGenerator(stringWriter);
         } else {
-            generator = JsonProvider.provider().createGenerator(stringWriter);
+            generator = generatorFactory().createGenerator(stringWriter);
         }
         this.toJson(new JsonSchemaGenerator(generator));
         generator.flush();
@@ -115,27 +141,27 @@ public abstract class RefSchema implements Schema {
 
     @Override
     public URI getId() {
-        return refSchema.getId();
+        return getRefSchema().getId();
     }
 
     @Override
     public URI getSchemaURI() {
-        return refSchema.getSchemaURI();
+        return getRefSchema().getSchemaURI();
     }
 
     @Override
     public String getTitle() {
-        return refSchema.getTitle();
+        return getRefSchema().getTitle();
     }
 
     @Override
     public String getDescription() {
-        return refSchema.getDescription();
+        return getRefSchema().getDescription();
     }
 
     @Override
     public JsonSchemaVersion getVersion() {
-        return refSchema.getVersion();
+        return getRefSchema().getVersion();
     }
 
     @Override
@@ -3,13 +3,18 @@ package io.sbsp.jsonschema;
 import io.sbsp.jsonschema.enums.JsonSchemaVersion;
 import io.sbsp.jsonschema.keyword.KeywordMetadata;
 import io.sbsp.jsonschema.keyword.SchemaKeyword;
+import io.sbsp.jsonschema.utils.JsonFactories;
+import io.sbsp.jsonschema.utils.JsonUtils;
 
-import javax.json.spi.JsonProvider;
 import javax.json.stream.JsonGenerator;
+import java.io.OutputStream;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
+import static io.sbsp.jsonschema.utils.JsonUtils.generatorFactory;
 import static io.sbsp.jsonschema.utils.JsonUtils.prettyPrintGeneratorFactory;
 
 public interface Schema {
@@ -67,10 +72,36 @@ public interface Schema {
         if (pretty) {
             generator = prettyPrintGeneratorFactory().createGenerator(stringWriter);
         } else {
-            generator = JsonProvider.provider().createGenerator(stringWriter);
+            generator = generatorFactory().createGenerator(stringWriter);
         }
         this.toJson(generator);
         generator.flush();
         return stringWriter.toString();
     }
+
+    /**
+     * Writes this schema as UTF-8 encoded JSON for the provided version.  The stream is not closed.
+     */
+    default void writeTo(OutputStream outputStream, JsonSchemaVersion version) {
+        writeTo(outputStream, version, JsonUtils.defaultFactories());
+    }
+
+    /**
+     * Writes this schema as UTF-8 encoded JSON for the provided version, with a generator from {@code factories}.
+     * The stream is not closed.
+     */
+    default void writeTo(OutputStream outputStream, JsonSchemaVersion version, JsonFactories factories) {
+        final JsonGenerator generator = factories.getGeneratorFactory().createGenerator(outputStream, StandardCharsets.UTF_8);
+        this.toJson(generator, version);
+        generator.flush();
+    }
+
+    /**
+     * Writes this schema as JSON for the provided version.  The writer is not closed.
+     */
+    default void writeTo(Writer writer, JsonSchemaVersion version) {
+        final JsonGenerator generator = generatorFactory().createGenerator(writer);
+        this.toJson(generator, version);
+        generator.flush();
+    }
 }
@@ -0,0 +1,164 @@
+package io.sbsp.jsonschema.jfr;
+
+import jdk.jfr.EventType;
+
+import java.net.URI;
+
+/**
+ * Entry point for the library's Java Flight Recorder events.  Each operation is bracketed by a <code>begin*</code>
+ * call, which returns an opaque event handle, and a matching <code>end*</code> call, which records the outcome:
+ *
+ * <pre>
+ * final Object event = JsonSchemaEvents.beginLoad();
+ * ...
+ * JsonSchemaEvents.endLoad(event, schemaURI, documentSize, errorCount, cached);
+ * </pre>
+ *
+ * The handle is <code>null</code> when JFR isn't present on this JVM, or when no recording has the event enabled, and
+ * the <code>end*</code> methods return immediately for a <code>null</code> handle.  Whether an event is enabled is
+ * checked against its {@link EventType}, so no event object is created unless a recording wants it.  Callers never touch the
+ * <code>jdk.jfr</code> types themselves, so the library still runs on a JVM without Flight Recorder (Java 8 without
+ * the JFR backport, or a jlinked runtime without the <code>jdk.jfr</code> module).
+ *
+ * Event fields are only populated once an event has passed its threshold, so an event that's enabled but too short to
+ * be recorded costs two timestamps.  The default thresholds can be overridden per recording, eg.
+ * <code>-XX:StartFlightRecording:settings=my.jfc</code> or <code>Recording.enable("io.sbsp.jsonschema.Validation")</code>.
+ * Validations served from a <code>CachingSchemaValidator</code> take far less than the 10 ms default threshold of
+ * <code>io.sbsp.jsonschema.Validation</code>, so they're only recorded once the threshold is lowered, eg.
+ * <code>Recording.enable("io.sbsp.jsonschema.Validation").withThreshold(Duration.ZERO)</code>.
+ */
+public final class JsonSchemaEvents {
+
+    /**
+     * Whether the <code>jdk.jfr</code> API is available on this JVM.
+     */
+    public static final boolean AVAILABLE = isFlightRecorderAvailable();
+
+    private JsonSchemaEvents() {
+    }
+
+    public static Object beginFetch() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        if (!EventTypes.FETCH.isEnabled()) {
+            return null;
+        }
+        final SchemaFetchEvent event = new SchemaFetchEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endFetch(Object handle, URI documentURI, long documentSize, int errorCount, boolean cached) {
+        if (handle == null) {
+            return;
+        }
+        final SchemaFetchEvent event = (SchemaFetchEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.documentURI = String.valueOf(documentURI);
+            event.documentSize = documentSize;
+            event.errorCount = errorCount;
+            event.cached = cached;
+            event.commit();
+        }
+    }
+
+    public static Object beginLoad() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        if (!EventTypes.LOAD.isEnabled()) {
+            return null;
+        }
+        final SchemaLoadEvent event = new SchemaLoadEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endLoad(Object handle, URI schemaURI, long documentSize, int errorCount, boolean cached) {
+        if (handle == null) {
+            return;
+        }
+        final SchemaLoadEvent event = (SchemaLoadEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.schemaURI = String.valueOf(schemaURI);
+            event.documentSize = documentSize;
+            event.errorCount = errorCount;
+            event.cached = cached;
+            event.commit();
+        }
+    }
+
+    public static Object beginValidatorCreate() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        if (!EventTypes.VALIDATOR_CREATE.isEnabled()) {
+            return null;
+        }
+        final ValidatorCreateEvent event = new ValidatorCreateEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endValidatorCreate(Object handle, URI schemaURI, int keywordCount, boolean cached) {
+        if (handle == null) {
+            return;
+        }
+        final ValidatorCreateEvent event = (ValidatorCreateEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.schemaURI = String.valueOf(schemaURI);
+            event.keywordCount = keywordCount;
+            event.cached = cached;
+            event.commit();
+        }
+    }
+
+    public static Object beginValidation() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        if (!EventTypes.VALIDATION.isEnabled()) {
+            return null;
+        }
+        final ValidationEvent event = new ValidationEvent();
+        event.begin();
+        return event;
+    }
+
+    public static void endValidation(Object handle, URI schemaURI, int errorCount, boolean cached) {
+        if (handle == null) {
+            return;
+        }
+        final ValidationEvent event = (ValidationEvent) handle;
+        event.end();
+        if (event.shouldCommit()) {
+            event.schemaURI = String.valueOf(schemaURI);
+            event.errorCount = errorCount;
+            event.cached = cached;
+            event.commit();
+        }
+    }
+
+    /**
+     * Looked up once, on the first <code>begin*</code> call, and only when {@link #AVAILABLE} is true.
+     */
+    private static final class EventTypes {
+        static final EventType FETCH = EventType.getEventType(SchemaFetchEvent.class);
+        static final EventType LOAD = EventType.getEventType(SchemaLoadEvent.class);
+        static final EventType VALIDATOR_CREATE = EventType.getEventType(ValidatorCreateEvent.class);
+        static final EventType VALIDATION = EventType.getEventType(ValidationEvent.class);
+    }
+
+    private static boolean isFlightRecorderAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JsonSchemaEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
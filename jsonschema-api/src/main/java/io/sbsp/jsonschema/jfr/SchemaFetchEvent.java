@@ -0,0 +1,30 @@
+package io.sbsp.jsonschema.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("io.sbsp.jsonschema.SchemaFetch")
+@Label("Schema Document Fetch")
+@Description("Resolving a referenced schema document, from the document cache or a SchemaClient")
+@Category("JSON Schema")
+@StackTrace(false)
+class SchemaFetchEvent extends jdk.jfr.Event {
+
+    @Label("Document URI")
+    String documentURI;
+
+    @Label("Document Size")
+    @Description("Bytes read from the SchemaClient; 0 for cached documents")
+    @DataAmount
+    long documentSize;
+
+    @Label("Error Count")
+    int errorCount;
+
+    @Label("Cached")
+    boolean cached;
+}
@@ -0,0 +1,30 @@
+package io.sbsp.jsonschema.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("io.sbsp.jsonschema.SchemaLoad")
+@Label("Schema Load")
+@Description("Loading a root schema with JsonSchemaFactory.load")
+@Category("JSON Schema")
+@StackTrace(false)
+class SchemaLoadEvent extends jdk.jfr.Event {
+
+    @Label("Schema URI")
+    String schemaURI;
+
+    @Label("Document Size")
+    @Description("UTF-8 bytes parsed; 0 when the document was already parsed")
+    @DataAmount
+    long documentSize;
+
+    @Label("Error Count")
+    int errorCount;
+
+    @Label("Cached")
+    boolean cached;
+}
@@ -0,0 +1,27 @@
+package io.sbsp.jsonschema.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("io.sbsp.jsonschema.Validation")
+@Label("Schema Validation")
+@Description("A top-level SchemaValidator.validate call")
+@Category("JSON Schema")
+@StackTrace(false)
+@Threshold("10 ms")
+class ValidationEvent extends jdk.jfr.Event {
+
+    @Label("Schema URI")
+    String schemaURI;
+
+    @Label("Error Count")
+    int errorCount;
+
+    @Label("Cached")
+    @Description("Whether the result came from a validation cache.  Cache hits are well under the default threshold")
+    boolean cached;
+}
@@ -0,0 +1,26 @@
+package io.sbsp.jsonschema.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("io.sbsp.jsonschema.ValidatorCreate")
+@Label("Schema Validator Creation")
+@Description("Building the validator for a schema, including any child validators built along the way")
+@Category("JSON Schema")
+@StackTrace(false)
+@Threshold("1 ms")
+class ValidatorCreateEvent extends jdk.jfr.Event {
+
+    @Label("Schema URI")
+    String schemaURI;
+
+    @Label("Keyword Count")
+    int keywordCount;
+
+    @Label("Cached")
+    boolean cached;
+}
@@ -0,0 +1,203 @@
+package io.sbsp.jsonschema.keyword;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Immutable, compact keyword storage for schema instances.  Keywords and values are packed into arrays in the order
+ * they were added, so iteration (and {@code toJson()} output) keeps the order the schema was written in.
+ *
+ * Built-in keywords are indexed by {@link KeywordMetadata#getOrdinal()}: a bitmap records which keywords are present,
+ * and a rank table maps each present ordinal to its slot in the arrays.  Lookups are a bit test, a popcount and two
+ * array reads, with no hashing of the keyword key.  Custom keywords have no ordinal and are found by comparing keys,
+ * which is fine for the handful a schema is likely to declare.
+ */
+public final class KeywordMap extends AbstractMap<KeywordMetadata<?>, SchemaKeyword> {
+
+    private static final long[] EMPTY_BITMAP = new long[0];
+    private static final int[] EMPTY_INDEX = new int[0];
+    private static final KeywordMap EMPTY = new KeywordMap(EMPTY_BITMAP, EMPTY_INDEX, EMPTY_INDEX, EMPTY_INDEX,
+            new KeywordMetadata<?>[0], new SchemaKeyword[0]);
+
+    private final long[] bitmap;
+
+    /**
+     * The number of bits set in the words of {@link #bitmap} preceding each word.
+     */
+    private final int[] ranks;
+
+    /**
+     * The array slot of each present ordinal, in ordinal order.
+     */
+    private final int[] slots;
+
+    /**
+     * The array slots of any keywords without an ordinal.
+     */
+    private final int[] unindexedSlots;
+
+    private final KeywordMetadata<?>[] keys;
+    private final SchemaKeyword[] values;
+
+    private KeywordMap(long[] bitmap, int[] ranks, int[] slots, int[] unindexedSlots, KeywordMetadata<?>[] keys, SchemaKeyword[] values) {
+        this.bitmap = bitmap;
+        this.ranks = ranks;
+        this.slots = slots;
+        this.unindexedSlots = unindexedSlots;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    public static KeywordMap empty() {
+        return EMPTY;
+    }
+
+    public static KeywordMap copyOf(Map<KeywordMetadata<?>, SchemaKeyword> keywords) {
+        checkNotNull(keywords, "keywords must not be null");
+        if (keywords instanceof KeywordMap) {
+            return (KeywordMap) keywords;
+        }
+        if (keywords.isEmpty()) {
+            return EMPTY;
+        }
+
+        final int size = keywords.size();
+        final KeywordMetadata<?>[] keys = new KeywordMetadata<?>[size];
+        final SchemaKeyword[] values = new SchemaKeyword[size];
+        int maxOrdinal = -1;
+        int unindexed = 0;
+        int i = 0;
+        for (Map.Entry<KeywordMetadata<?>, SchemaKeyword> entry : keywords.entrySet()) {
+            final KeywordMetadata<?> keyword = checkNotNull(entry.getKey(), "keyword must not be null");
+            keys[i] = keyword;
+            values[i] = checkNotNull(entry.getValue(), "value must not be null for %s", keyword);
+            maxOrdinal = Math.max(maxOrdinal, keyword.getOrdinal());
+            if (keyword.getOrdinal() == KeywordMetadata.NO_ORDINAL) {
+                unindexed++;
+            }
+            i++;
+        }
+
+        final long[] bitmap = maxOrdinal < 0 ? EMPTY_BITMAP : new long[(maxOrdinal >>> 6) + 1];
+        final int[] unindexedSlots = unindexed == 0 ? EMPTY_INDEX : new int[unindexed];
+        unindexed = 0;
+        for (int slot = 0; slot < size; slot++) {
+            final int ordinal = keys[slot].getOrdinal();
+            if (ordinal == KeywordMetadata.NO_ORDINAL) {
+                unindexedSlots[unindexed++] = slot;
+            } else {
+                bitmap[ordinal >>> 6] |= 1L << ordinal;
+            }
+        }
+
+        final int[] ranks = new int[bitmap.length];
+        for (int w = 1; w < bitmap.length; w++) {
+            ranks[w] = ranks[w - 1] + Long.bitCount(bitmap[w - 1]);
+        }
+
+        final int[] slots = new int[size - unindexed];
+        for (int slot = 0; slot < size; slot++) {
+            final int ordinal = keys[slot].getOrdinal();
+            if (ordinal != KeywordMetadata.NO_ORDINAL) {
+                slots[rank(bitmap, ranks, ordinal)] = slot;
+            }
+        }
+        return new KeywordMap(bitmap, ranks, slots, unindexedSlots, keys, values);
+    }
+
+    @Override
+    public SchemaKeyword get(Object key) {
+        if (!(key instanceof KeywordMetadata)) {
+            return null;
+        }
+        final int slot = slotOf((KeywordMetadata<?>) key);
+        return slot < 0 ? null : values[slot];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof KeywordMetadata && slotOf((KeywordMetadata<?>) key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super KeywordMetadata<?>, ? super SchemaKeyword> action) {
+        checkNotNull(action, "action must not be null");
+        for (int i = 0; i < values.length; i++) {
+            action.accept(keys[i], values[i]);
+        }
+    }
+
+    @Override
+    public Set<Entry<KeywordMetadata<?>, SchemaKeyword>> entrySet() {
+        return new AbstractSet<Entry<KeywordMetadata<?>, SchemaKeyword>>() {
+            @Override
+            public Iterator<Entry<KeywordMetadata<?>, SchemaKeyword>> iterator() {
+                return new Iterator<Entry<KeywordMetadata<?>, SchemaKeyword>>() {
+                    private int i = 0;
+
+                    @Override
+                    public boolean hasNext() {
+                        return i < values.length;
+                    }
+
+                    @Override
+                    public Entry<KeywordMetadata<?>, SchemaKeyword> next() {
+                        if (i >= values.length) {
+                            throw new NoSuchElementException();
+                        }
+                        final Entry<KeywordMetadata<?>, SchemaKeyword> entry = new SimpleImmutableEntry<>(keys[i], values[i]);
+                        i++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return values.length;
+            }
+        };
+    }
+
+    private int slotOf(KeywordMetadata<?> keyword) {
+        final int ordinal = keyword.getOrdinal();
+        if (ordinal == KeywordMetadata.NO_ORDINAL) {
+            for (int slot : unindexedSlots) {
+                if (keys[slot].getKey().equals(keyword.getKey())) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+        final int word = ordinal >>> 6;
+        if (word >= bitmap.length || (bitmap[word] & (1L << ordinal)) == 0) {
+            return -1;
+        }
+        return slots[rank(bitmap, ranks, ordinal)];
+    }
+
+    /**
+     * The number of ordinals present in {@code bitmap} below {@code ordinal}.
+     */
+    private static int rank(long[] bitmap, int[] ranks, int ordinal) {
+        final int word = ordinal >>> 6;
+        return ranks[word] + Long.bitCount(bitmap[word] & ((1L << ordinal) - 1));
+    }
+}
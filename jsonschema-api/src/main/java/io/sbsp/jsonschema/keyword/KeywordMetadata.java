@@ -1,10 +1,12 @@
 package io.sbsp.jsonschema.keyword;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.sbsp.jsonschema.enums.JsonSchemaKeywordType;
 import io.sbsp.jsonschema.enums.JsonSchemaType;
 import io.sbsp.jsonschema.enums.JsonSchemaVersion;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -15,6 +17,8 @@ import javax.annotation.Nullable;
 import javax.json.JsonValue;
 import java.util.Collection;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -26,9 +30,33 @@ import static java.util.Collections.unmodifiableSet;
 @EqualsAndHashCode(of = "key")
 public class KeywordMetadata<K extends SchemaKeyword> {
 
+    /**
+     * Ordinals come from {@link JsonSchemaKeywordType}, so the built-in keywords share a small, dense range that's
+     * fixed up front.  Custom keywords aren't given one, so no registry grows as they're created.
+     */
+    private static final Map<String, Integer> ordinalsByKey = builtinOrdinals();
+
+    /**
+     * The {@link #getOrdinal() ordinal} of a keyword that isn't one of the {@link JsonSchemaKeywordType}s.
+     */
+    public static final int NO_ORDINAL = -1;
+
     @NonNull
     private final String key;
 
+    /**
+     * A dense index for this keyword, shared by all metadata instances with the same key, or {@link #NO_ORDINAL} for
+     * a custom keyword.  Used for array-backed keyword storage.  See {@link KeywordMap}
+     */
+    private final int ordinal;
+
+    /**
+     * Bitmask (by {@link JsonSchemaVersion#ordinal()}) of the versions this keyword is written out for.  Computed up
+     * front so serialization doesn't have to intersect version sets for every keyword.
+     */
+    @Getter(AccessLevel.NONE)
+    private final int emittedVersions;
+
     @Singular
     private final Set<JsonSchemaVersion> appliesToVersions;
 
@@ -48,9 +76,25 @@ public class KeywordMetadata<K extends SchemaKeyword> {
         } else {
             this.forSchemas = ImmutableSet.copyOf(forSchemas);
         }
-        this.key = key;
+        this.key = checkNotNull(key, "key must not be null");
+        this.ordinal = ordinalsByKey.getOrDefault(key, NO_ORDINAL);
         this.appliesToVersions = unmodifiableSet(EnumSet.range(since, until));
         this.expects = ImmutableSet.copyOf(expectsOneOf);
+
+        int emittedVersions = 0;
+        for (JsonSchemaVersion version : JsonSchemaVersion.values()) {
+            if (appliesToVersions.contains(version) || appliesToVersions.contains(JsonSchemaVersion.Custom)) {
+                emittedVersions |= 1 << version.ordinal();
+            }
+        }
+        this.emittedVersions = emittedVersions;
+    }
+
+    /**
+     * Whether this keyword should be included when writing a schema for the provided version.
+     */
+    public boolean isEmittedFor(JsonSchemaVersion version) {
+        return (emittedVersions & (1 << version.ordinal())) != 0;
     }
 
 
@@ -63,6 +107,14 @@ public class KeywordMetadata<K extends SchemaKeyword> {
         return forSchemas.stream().map(JsonSchemaType::appliesTo).flatMap(Collection::stream).collect(ImmutableSet.toImmutableSet());
     }
 
+    private static Map<String, Integer> builtinOrdinals() {
+        final Map<String, Integer> ordinals = new HashMap<>();
+        for (JsonSchemaKeywordType keyword : JsonSchemaKeywordType.values()) {
+            ordinals.putIfAbsent(keyword.key(), ordinals.size());
+        }
+        return ImmutableMap.copyOf(ordinals);
+    }
+
 
     public static class KeywordMetadataBuilder<K extends SchemaKeyword> {
 
@@ -40,6 +40,15 @@ public class LoadingReport {
         return hasError;
     }
 
+    public int getErrorCount() {
+        if (!hasError) {
+            return 0;
+        }
+        return (int) issues.stream()
+                .filter(issue -> issue.getLevel() == LoadingIssueLevel.ERROR)
+                .count();
+    }
+
     @Override
     public String toString() {
         if (!hasErrors()) {
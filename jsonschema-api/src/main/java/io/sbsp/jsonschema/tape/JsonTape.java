@@ -0,0 +1,760 @@
+package io.sbsp.jsonschema.tape;
+
+import io.sbsp.jsonschema.utils.CharUtils;
+
+import javax.json.JsonValue;
+import javax.json.stream.JsonLocation;
+import javax.json.stream.JsonParsingException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+/**
+ * A compact, read-only JSON document, parsed in one pass from UTF-8 bytes.  Instead of an object per value, the
+ * structure is recorded on a "tape": two <code>long</code>s per value, in document order, pointing back into the
+ * original bytes.  Strings and numbers aren't decoded until they're read, and object keys are compared against the
+ * source bytes in place.  A parsed document is the source bytes (an array, or a buffer such as a mapped file), the
+ * tape and, if it has objects with more than a handful of members, a key index for them.
+ *
+ * <pre>
+ * JsonTape document = JsonTape.parse(bytes);
+ * Optional&lt;ValidationError&gt; error = validator.validate(document.getRoot());
+ * </pre>
+ *
+ * {@link #getRoot()} exposes the document through the javax.json interfaces, so validation (or anything else that
+ * reads {@link JsonValue}s) runs against the tape unchanged.  Views are small flyweights created as values are
+ * visited.
+ *
+ * Tape layout, for the value at tape index <code>n</code>:
+ * <ul>
+ * <li><code>tape[n]</code>: the value type in the top byte, and the offset of its first byte in the rest</li>
+ * <li><code>tape[n + 1]</code>: for objects and arrays, the number of members in the high int and the tape index past
+ * the container's last member in the low int; for strings and numbers, the offset past the last byte in the low int
+ * and a flag in the sign bit (string has escapes; number is integral)</li>
+ * </ul>
+ * Object members are a string value for the key followed by the member value.  Members of small objects are found by
+ * scanning their keys; objects with more members get an open-addressed hash table of their keys, so looking up a
+ * member doesn't depend on the object's width.  Malformed UTF-8 is decoded leniently;
+ * everything else that isn't RFC 8259 JSON is rejected with a {@link JsonParsingException}.
+ */
+public final class JsonTape {
+
+    static final int OBJECT = 1;
+    static final int ARRAY = 2;
+    static final int STRING = 3;
+    static final int NUMBER = 4;
+    static final int TRUE = 5;
+    static final int FALSE = 6;
+    static final int NULL = 7;
+
+    private static final int TYPE_SHIFT = 56;
+    private static final long OFFSET_MASK = (1L << TYPE_SHIFT) - 1;
+    private static final long FLAG = Long.MIN_VALUE;
+
+    // Integral numbers with this many digits or fewer always fit in a long
+    private static final int MAX_LONG_DIGITS = 18;
+
+    // Objects with more members than this are indexed
+    private static final int INDEXED_MEMBERS = 8;
+
+    private static final long[] NO_INDEXED_OBJECTS = new long[0];
+    private static final int[] NO_KEY_INDEX = new int[0];
+
+    private final ByteBuffer source;
+    private final int base;
+    private final long[] tape;
+
+    // The indexed objects, sorted: tape index in the high int, start of the object's table in keyIndex in the low int
+    private final long[] indexedObjects;
+
+    // Hash tables of keys, two ints per slot: the key's tape index + 1 (0 for an empty slot) and the key's hash
+    private final int[] keyIndex;
+
+    private JsonTape(ByteBuffer source, int base, long[] tape, int[] wideObjects, int wideObjectCount) {
+        this.source = source;
+        this.base = base;
+        this.tape = tape;
+        if (wideObjectCount == 0) {
+            this.indexedObjects = NO_INDEXED_OBJECTS;
+            this.keyIndex = NO_KEY_INDEX;
+        } else {
+            final int[] objects = Arrays.copyOf(wideObjects, wideObjectCount);
+            Arrays.sort(objects);
+            this.indexedObjects = new long[wideObjectCount];
+            int length = 0;
+            for (int i = 0; i < wideObjectCount; i++) {
+                indexedObjects[i] = ((long) objects[i] << 32) | length;
+                length += 2 * tableSize(count(objects[i]));
+            }
+            this.keyIndex = new int[length];
+            for (long indexed : indexedObjects) {
+                indexKeys((int) (indexed >>> 32), (int) indexed);
+            }
+        }
+    }
+
+    public static JsonTape parse(byte[] utf8) {
+        checkNotNull(utf8, "utf8 must not be null");
+        return parse(utf8, 0, utf8.length);
+    }
+
+    /**
+     * Parses {@code length} bytes of {@code utf8} starting at {@code offset}.  The array is referenced, not copied,
+     * so it must not be modified while the document is in use.
+     */
+    public static JsonTape parse(byte[] utf8, int offset, int length) {
+        checkNotNull(utf8, "utf8 must not be null");
+        checkPositionIndexes(offset, offset + length, utf8.length);
+        return new Parser(ByteBuffer.wrap(utf8), offset, offset + length).parse();
+    }
+
+    /**
+     * Parses the bytes of {@code utf8} between its position and its limit.  The buffer (a memory-mapped file, for
+     * example) is referenced, not copied, so its contents must not change while the document is in use.  Its
+     * position and limit aren't modified.
+     */
+    public static JsonTape parse(ByteBuffer utf8) {
+        checkNotNull(utf8, "utf8 must not be null");
+        return new Parser(utf8, utf8.position(), utf8.limit()).parse();
+    }
+
+    public JsonValue getRoot() {
+        return value(0);
+    }
+
+    /**
+     * The number of <code>long</code>s used by the tape (two per value).
+     */
+    public int getTapeLength() {
+        return tape.length;
+    }
+
+    /**
+     * Returns the offset, relative to the start of the parsed input, of the first byte of {@code value}, or -1 if
+     * {@code value} isn't an object, array, string or number from this document.
+     */
+    public long getByteOffset(JsonValue value) {
+        if (value instanceof TapeValue && ((TapeValue) value).getTape() == this) {
+            return start(((TapeValue) value).getNode()) - base;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the offset, relative to the start of the parsed input, of the value at {@code jsonPointer}, or -1 if
+     * there's no such value.  Accepts plain pointers (<code>/a/0</code>) and URI fragments (<code>#/a/0</code>).
+     */
+    public long getByteOffset(String jsonPointer) {
+        checkNotNull(jsonPointer, "jsonPointer must not be null");
+        final boolean fragment = jsonPointer.startsWith("#");
+        final String pointer = fragment ? jsonPointer.substring(1) : jsonPointer;
+        int node = 0;
+        if (!pointer.isEmpty()) {
+            for (String segment : CharUtils.forwardSlashSeparator().split(pointer.substring(1))) {
+                final String unescaped = fragment ? CharUtils.urlSegmentUnescaper().unescape(segment) : segment;
+                final String token = CharUtils.jsonPointerSegmentUnescaper().unescape(unescaped);
+                node = child(node, token);
+                if (node < 0) {
+                    return -1;
+                }
+            }
+        }
+        return start(node) - base;
+    }
+
+    // ----- Tape access, shared with the views
+
+    JsonValue value(int node) {
+        switch (type(node)) {
+            case OBJECT:
+                return new TapeObject(this, node);
+            case ARRAY:
+                return new TapeArray(this, node);
+            case STRING:
+                return new TapeString(this, node);
+            case NUMBER:
+                return new TapeNumber(this, node);
+            case TRUE:
+                return JsonValue.TRUE;
+            case FALSE:
+                return JsonValue.FALSE;
+            default:
+                return JsonValue.NULL;
+        }
+    }
+
+    int type(int node) {
+        return (int) (tape[node] >>> TYPE_SHIFT);
+    }
+
+    int start(int node) {
+        return (int) (tape[node] & OFFSET_MASK);
+    }
+
+    /**
+     * The offset past the last byte of a string or number.
+     */
+    int end(int node) {
+        return (int) tape[node + 1];
+    }
+
+    boolean flag(int node) {
+        return tape[node + 1] < 0;
+    }
+
+    /**
+     * The number of members of an object or array.
+     */
+    int count(int node) {
+        return (int) (tape[node + 1] >>> 32);
+    }
+
+    /**
+     * The tape index of the value following {@code node} (its next sibling, or whatever follows its container).
+     */
+    int next(int node) {
+        final int type = type(node);
+        return type == OBJECT || type == ARRAY ? (int) tape[node + 1] : node + 2;
+    }
+
+    /**
+     * Returns the value of member {@code name} of the object at {@code node}, or -1 if it's not there.  If the name
+     * appears more than once, the first member wins.
+     */
+    int member(int node, String name) {
+        final int count = count(node);
+        if (count > INDEXED_MEMBERS) {
+            final int table = table(node);
+            final int mask = tableSize(count) - 1;
+            final int hash = name.hashCode();
+            for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+                final int key = keyIndex[table + 2 * slot] - 1;
+                if (key < 0) {
+                    return -1;
+                } else if (keyIndex[table + 2 * slot + 1] == hash && stringEquals(key, name)) {
+                    return key + 2;
+                }
+            }
+        }
+        int key = node + 2;
+        for (int i = count(node); i > 0; i--) {
+            final int value = key + 2;
+            if (stringEquals(key, name)) {
+                return value;
+            }
+            key = next(value);
+        }
+        return -1;
+    }
+
+    String string(int node) {
+        final int start = start(node) + 1;
+        final int end = end(node);
+        if (!flag(node)) {
+            return decode(start, end - start, StandardCharsets.UTF_8);
+        }
+        return unescape(start, end);
+    }
+
+    boolean stringEquals(int node, String value) {
+        final int start = start(node) + 1;
+        final int end = end(node);
+        final int length = value.length();
+        if (flag(node)) {
+            return string(node).equals(value);
+        } else if (end - start < length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c >= 0x80) {
+                return string(node).equals(value);
+            } else if (source.get(start + i) != c) {
+                return false;
+            }
+        }
+        return end - start == length;
+    }
+
+    boolean fitsInLong(int node) {
+        final int start = start(node);
+        final int digits = end(node) - start - (source.get(start) == '-' ? 1 : 0);
+        return flag(node) && digits <= MAX_LONG_DIGITS;
+    }
+
+    /**
+     * Decodes an integral number that {@link #fitsInLong(int)}.
+     */
+    long longValue(int node) {
+        int i = start(node);
+        final int end = end(node);
+        final boolean negative = source.get(i) == '-';
+        if (negative) {
+            i++;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            value = value * 10 + (source.get(i) - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    BigDecimal decimalValue(int node) {
+        final int start = start(node);
+        return new BigDecimal(decode(start, end(node) - start, StandardCharsets.US_ASCII));
+    }
+
+    String rawText(int node) {
+        final int start = start(node);
+        return decode(start, end(node) - start, StandardCharsets.UTF_8);
+    }
+
+    private void indexKeys(int node, int table) {
+        final int mask = tableSize(count(node)) - 1;
+        int key = node + 2;
+        nextKey:
+        for (int i = count(node); i > 0; i--, key = next(key + 2)) {
+            final int hash = keyHash(key);
+            int slot = spread(hash) & mask;
+            for (int existing = keyIndex[table + 2 * slot] - 1; existing >= 0; existing = keyIndex[table + 2 * slot] - 1) {
+                if (keyIndex[table + 2 * slot + 1] == hash && string(existing).equals(string(key))) {
+                    continue nextKey;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keyIndex[table + 2 * slot] = key + 1;
+            keyIndex[table + 2 * slot + 1] = hash;
+        }
+    }
+
+    /**
+     * The start in {@link #keyIndex} of the table for the object at {@code node}, which must be indexed.
+     */
+    private int table(int node) {
+        int low = 0;
+        int high = indexedObjects.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int midNode = (int) (indexedObjects[mid] >>> 32);
+            if (midNode < node) {
+                low = mid + 1;
+            } else if (midNode > node) {
+                high = mid - 1;
+            } else {
+                return (int) indexedObjects[mid];
+            }
+        }
+        throw new IllegalStateException("Object at " + node + " isn't indexed");
+    }
+
+    /**
+     * {@link String#hashCode()} of a key, computed from the source bytes unless the key has escapes or non-ASCII
+     * characters.
+     */
+    private int keyHash(int node) {
+        if (flag(node)) {
+            return string(node).hashCode();
+        }
+        int hash = 0;
+        for (int i = start(node) + 1, end = end(node); i < end; i++) {
+            final byte b = source.get(i);
+            if (b < 0) {
+                return string(node).hashCode();
+            }
+            hash = 31 * hash + b;
+        }
+        return hash;
+    }
+
+    /**
+     * The number of slots in the table for an object with {@code count} members: a power of two, at most half full.
+     */
+    private static int tableSize(int count) {
+        return Integer.highestOneBit(count * 2 - 1) << 1;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private int child(int node, String token) {
+        final int type = type(node);
+        if (type == OBJECT) {
+            return member(node, token);
+        } else if (type == ARRAY) {
+            final int index = token.isEmpty() ? -1 : CharUtils.tryParsePositiveInt(token);
+            if (index < 0 || index >= count(node)) {
+                return -1;
+            }
+            int item = node + 2;
+            for (int i = 0; i < index; i++) {
+                item = next(item);
+            }
+            return item;
+        }
+        return -1;
+    }
+
+    private String unescape(int start, int end) {
+        final StringBuilder builder = new StringBuilder(end - start);
+        int run = start;
+        int i = start;
+        while (i < end) {
+            if (source.get(i) != '\\') {
+                i++;
+                continue;
+            }
+            builder.append(decode(run, i - run, StandardCharsets.UTF_8));
+            final byte escape = source.get(i + 1);
+            switch (escape) {
+                case 'b':
+                    builder.append('\b');
+                    break;
+                case 'f':
+                    builder.append('\f');
+                    break;
+                case 'n':
+                    builder.append('\n');
+                    break;
+                case 'r':
+                    builder.append('\r');
+                    break;
+                case 't':
+                    builder.append('\t');
+                    break;
+                case 'u':
+                    builder.append((char) ((hex(source.get(i + 2)) << 12) | (hex(source.get(i + 3)) << 8) |
+                            (hex(source.get(i + 4)) << 4) | hex(source.get(i + 5))));
+                    i += 4;
+                    break;
+                default:
+                    builder.append((char) escape);
+            }
+            i += 2;
+            run = i;
+        }
+        builder.append(decode(run, end - run, StandardCharsets.UTF_8));
+        return builder.toString();
+    }
+
+    private String decode(int start, int length, Charset charset) {
+        if (source.hasArray()) {
+            return new String(source.array(), source.arrayOffset() + start, length, charset);
+        }
+        final byte[] bytes = new byte[length];
+        final ByteBuffer slice = source.duplicate();
+        slice.position(start);
+        slice.get(bytes);
+        return new String(bytes, charset);
+    }
+
+    private static int hex(byte b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        } else if (b >= 'a' && b <= 'f') {
+            return b - 'a' + 10;
+        } else if (b >= 'A' && b <= 'F') {
+            return b - 'A' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * Single-pass parser.  Nesting is tracked on an explicit stack rather than by recursion, so deeply nested input
+     * can't overflow the thread's stack.
+     */
+    private static final class Parser {
+        private final ByteBuffer source;
+        private final int base;
+        private final int end;
+        private int pos;
+
+        private long[] tape;
+        private int size;
+
+        private int[] containers = new int[16];
+        private int[] counts = new int[16];
+        private int depth;
+
+        private int[] wideObjects;
+        private int wideObjectCount;
+
+        Parser(ByteBuffer source, int start, int end) {
+            this.source = source;
+            this.base = start;
+            this.end = end;
+            this.pos = start;
+            this.tape = new long[Math.max(16, ((end - start) >>> 2) & ~1)];
+        }
+
+        JsonTape parse() {
+            nextValue:
+            while (true) {
+                skipWhitespace();
+                final byte c = peek();
+                switch (c) {
+                    case '{': {
+                        final int node = emit(OBJECT, pos, 0);
+                        pos++;
+                        skipWhitespace();
+                        if (peek() == '}') {
+                            pos++;
+                            close(node, 0);
+                            break;
+                        }
+                        push(node);
+                        key();
+                        continue nextValue;
+                    }
+                    case '[': {
+                        final int node = emit(ARRAY, pos, 0);
+                        pos++;
+                        skipWhitespace();
+                        if (peek() == ']') {
+                            pos++;
+                            close(node, 0);
+                            break;
+                        }
+                        push(node);
+                        continue nextValue;
+                    }
+                    case '"':
+                        string();
+                        break;
+                    case 't':
+                        literal("true", TRUE);
+                        break;
+                    case 'f':
+                        literal("false", FALSE);
+                        break;
+                    case 'n':
+                        literal("null", NULL);
+                        break;
+                    default:
+                        if (c == '-' || (c >= '0' && c <= '9')) {
+                            number();
+                            break;
+                        }
+                        throw unexpected();
+                }
+
+                // A value is complete: carry on with its container, closing as many as end here
+                while (depth > 0) {
+                    counts[depth - 1]++;
+                    skipWhitespace();
+                    final int container = containers[depth - 1];
+                    final boolean object = (tape[container] >>> TYPE_SHIFT) == OBJECT;
+                    final byte separator = peek();
+                    pos++;
+                    if (separator == ',') {
+                        if (object) {
+                            skipWhitespace();
+                            key();
+                        }
+                        continue nextValue;
+                    } else if (separator == (object ? '}' : ']')) {
+                        depth--;
+                        close(container, counts[depth]);
+                        if (object && counts[depth] > INDEXED_MEMBERS) {
+                            addWideObject(container);
+                        }
+                    } else {
+                        pos--;
+                        throw unexpected();
+                    }
+                }
+                skipWhitespace();
+                if (pos != end) {
+                    throw unexpected();
+                }
+                final long[] trimmed = size == tape.length ? tape : Arrays.copyOf(tape, size);
+                return new JsonTape(source, base, trimmed, wideObjects, wideObjectCount);
+            }
+        }
+
+        private void key() {
+            if (peek() != '"') {
+                throw unexpected();
+            }
+            string();
+            skipWhitespace();
+            if (peek() != ':') {
+                throw unexpected();
+            }
+            pos++;
+        }
+
+        private void string() {
+            final int start = pos++;
+            boolean escaped = false;
+            while (true) {
+                final byte b = peek();
+                if (b == '"') {
+                    break;
+                } else if (b == '\\') {
+                    escaped = true;
+                    pos++;
+                    switch (peek()) {
+                        case '"':
+                        case '\\':
+                        case '/':
+                        case 'b':
+                        case 'f':
+                        case 'n':
+                        case 'r':
+                        case 't':
+                            pos++;
+                            break;
+                        case 'u':
+                            for (int i = 1; i <= 4; i++) {
+                                if (pos + i >= end || hex(source.get(pos + i)) < 0) {
+                                    pos += i;
+                                    throw error("Invalid unicode escape");
+                                }
+                            }
+                            pos += 5;
+                            break;
+                        default:
+                            throw error("Invalid escape");
+                    }
+                } else if ((b & 0xFF) < 0x20) {
+                    throw error("Unescaped control character in string");
+                } else {
+                    pos++;
+                }
+            }
+            emit(STRING, start, (escaped ? FLAG : 0) | pos);
+            pos++;
+        }
+
+        private void number() {
+            final int start = pos;
+            boolean integral = true;
+            if (source.get(pos) == '-') {
+                pos++;
+            }
+            if (peek() == '0') {
+                pos++;
+            } else {
+                digits();
+            }
+            if (pos < end && source.get(pos) == '.') {
+                pos++;
+                digits();
+                integral = false;
+            }
+            if (pos < end && (source.get(pos) == 'e' || source.get(pos) == 'E')) {
+                pos++;
+                if (pos < end && (source.get(pos) == '+' || source.get(pos) == '-')) {
+                    pos++;
+                }
+                digits();
+                integral = false;
+            }
+            emit(NUMBER, start, (integral ? FLAG : 0) | pos);
+        }
+
+        private void digits() {
+            final byte first = peek();
+            if (first < '0' || first > '9') {
+                throw error("Invalid number");
+            }
+            do {
+                pos++;
+            } while (pos < end && source.get(pos) >= '0' && source.get(pos) <= '9');
+        }
+
+        private void literal(String literal, int type) {
+            final int length = literal.length();
+            for (int i = 0; i < length; i++) {
+                if (pos + i >= end || source.get(pos + i) != literal.charAt(i)) {
+                    throw unexpected();
+                }
+            }
+            emit(type, pos, 0);
+            pos += length;
+        }
+
+        private int emit(int type, int offset, long aux) {
+            if (size + 2 > tape.length) {
+                tape = Arrays.copyOf(tape, tape.length * 2);
+            }
+            final int node = size;
+            tape[size++] = ((long) type << TYPE_SHIFT) | offset;
+            tape[size++] = aux;
+            return node;
+        }
+
+        private void close(int node, int count) {
+            tape[node + 1] = ((long) count << 32) | size;
+        }
+
+        private void addWideObject(int node) {
+            if (wideObjects == null) {
+                wideObjects = new int[8];
+            } else if (wideObjectCount == wideObjects.length) {
+                wideObjects = Arrays.copyOf(wideObjects, wideObjectCount * 2);
+            }
+            wideObjects[wideObjectCount++] = node;
+        }
+
+        private void push(int node) {
+            if (depth == containers.length) {
+                containers = Arrays.copyOf(containers, depth * 2);
+                counts = Arrays.copyOf(counts, depth * 2);
+            }
+            containers[depth] = node;
+            counts[depth] = 0;
+            depth++;
+        }
+
+        private void skipWhitespace() {
+            while (pos < end) {
+                final byte b = source.get(pos);
+                if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                    return;
+                }
+                pos++;
+            }
+        }
+
+        private byte peek() {
+            if (pos >= end) {
+                throw error("Unexpected end of input");
+            }
+            return source.get(pos);
+        }
+
+        private JsonParsingException unexpected() {
+            if (pos >= end) {
+                return error("Unexpected end of input");
+            }
+            return error("Unexpected character '" + (char) (source.get(pos) & 0xFF) + "'");
+        }
+
+        private JsonParsingException error(String message) {
+            final long offset = pos - base;
+            return new JsonParsingException(message + " at byte " + offset, new JsonLocation() {
+                @Override
+                public long getLineNumber() {
+                    return -1;
+                }
+
+                @Override
+                public long getColumnNumber() {
+                    return -1;
+                }
+
+                @Override
+                public long getStreamOffset() {
+                    return offset;
+                }
+            });
+        }
+    }
+}
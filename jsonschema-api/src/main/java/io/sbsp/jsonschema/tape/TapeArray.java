@@ -0,0 +1,80 @@
+package io.sbsp.jsonschema.tape;
+
+import io.sbsp.jsonschema.utils.JsonArrayView;
+
+import javax.json.JsonArray;
+import javax.json.JsonValue;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link JsonArray} view of an array on a {@link JsonTape}.  Iteration walks the tape directly; indexed access
+ * builds an index of the items the first time it's needed.
+ */
+final class TapeArray extends JsonArrayView implements TapeValue {
+
+    private final JsonTape tape;
+    private final int node;
+    private int[] items;
+
+    TapeArray(JsonTape tape, int node) {
+        this.tape = tape;
+        this.node = node;
+    }
+
+    @Override
+    public JsonTape getTape() {
+        return tape;
+    }
+
+    @Override
+    public int getNode() {
+        return node;
+    }
+
+    @Override
+    public JsonValue get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (items == null) {
+            final int[] items = new int[size()];
+            int item = node + 2;
+            for (int i = 0; i < items.length; i++) {
+                items[i] = item;
+                item = tape.next(item);
+            }
+            this.items = items;
+        }
+        return tape.value(items[index]);
+    }
+
+    @Override
+    public int size() {
+        return tape.count(node);
+    }
+
+    @Override
+    public Iterator<JsonValue> iterator() {
+        return new Iterator<JsonValue>() {
+            private int remaining = size();
+            private int item = node + 2;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public JsonValue next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                final JsonValue value = tape.value(item);
+                item = tape.next(item);
+                remaining--;
+                return value;
+            }
+        };
+    }
+}
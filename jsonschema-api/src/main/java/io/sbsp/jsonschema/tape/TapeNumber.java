@@ -0,0 +1,104 @@
+package io.sbsp.jsonschema.tape;
+
+import javax.json.JsonNumber;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * {@link JsonNumber} view of a number on a {@link JsonTape}.  Integers that fit in a <code>long</code> are decoded
+ * straight from the source bytes; anything else is parsed into a {@link BigDecimal} on first access.
+ */
+final class TapeNumber implements JsonNumber, TapeValue {
+
+    private final JsonTape tape;
+    private final int node;
+    private BigDecimal decimal;
+
+    TapeNumber(JsonTape tape, int node) {
+        this.tape = tape;
+        this.node = node;
+    }
+
+    @Override
+    public JsonTape getTape() {
+        return tape;
+    }
+
+    @Override
+    public int getNode() {
+        return node;
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.NUMBER;
+    }
+
+    @Override
+    public boolean isIntegral() {
+        return tape.flag(node);
+    }
+
+    @Override
+    public int intValue() {
+        return tape.fitsInLong(node) ? (int) tape.longValue(node) : bigDecimalValue().intValue();
+    }
+
+    @Override
+    public int intValueExact() {
+        return bigDecimalValue().intValueExact();
+    }
+
+    @Override
+    public long longValue() {
+        return tape.fitsInLong(node) ? tape.longValue(node) : bigDecimalValue().longValue();
+    }
+
+    @Override
+    public long longValueExact() {
+        return tape.fitsInLong(node) ? tape.longValue(node) : bigDecimalValue().longValueExact();
+    }
+
+    @Override
+    public BigInteger bigIntegerValue() {
+        return bigDecimalValue().toBigInteger();
+    }
+
+    @Override
+    public BigInteger bigIntegerValueExact() {
+        return bigDecimalValue().toBigIntegerExact();
+    }
+
+    @Override
+    public double doubleValue() {
+        return tape.fitsInLong(node) ? (double) tape.longValue(node) : bigDecimalValue().doubleValue();
+    }
+
+    @Override
+    public BigDecimal bigDecimalValue() {
+        if (decimal == null) {
+            decimal = tape.decimalValue(node);
+        }
+        return decimal;
+    }
+
+    @Override
+    public Number numberValue() {
+        return tape.fitsInLong(node) ? (Number) tape.longValue(node) : bigDecimalValue();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof JsonNumber && bigDecimalValue().equals(((JsonNumber) o).bigDecimalValue());
+    }
+
+    @Override
+    public int hashCode() {
+        return bigDecimalValue().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return tape.rawText(node);
+    }
+}
@@ -0,0 +1,170 @@
+package io.sbsp.jsonschema.tape;
+
+import io.sbsp.jsonschema.utils.JsonObjectView;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * {@link JsonObject} view of an object on a {@link JsonTape}.  Member lookups compare keys to the source bytes without
+ * decoding them, going through the document's key index for wide objects.
+ */
+final class TapeObject extends JsonObjectView implements TapeValue {
+
+    private final JsonTape tape;
+    private final int node;
+
+    TapeObject(JsonTape tape, int node) {
+        this.tape = tape;
+        this.node = node;
+    }
+
+    @Override
+    public JsonTape getTape() {
+        return tape;
+    }
+
+    @Override
+    public int getNode() {
+        return node;
+    }
+
+    @Override
+    public JsonValue get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        final int member = tape.member(node, (String) key);
+        return member < 0 ? null : tape.value(member);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && tape.member(node, (String) key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return tape.count(node);
+    }
+
+    /**
+     * The keys, decoded as they're iterated.  Member values aren't visited.
+     */
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new MemberIterator<String>() {
+                    @Override
+                    String member(int key) {
+                        return tape.string(key);
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public int size() {
+                return tape.count(node);
+            }
+        };
+    }
+
+    /**
+     * The members, as entries that only decode their key or create their value's view when asked for it.
+     */
+    @Override
+    public Set<Entry<String, JsonValue>> entrySet() {
+        return new AbstractSet<Entry<String, JsonValue>>() {
+            @Override
+            public Iterator<Entry<String, JsonValue>> iterator() {
+                return new MemberIterator<Entry<String, JsonValue>>() {
+                    @Override
+                    Entry<String, JsonValue> member(int key) {
+                        return new Member(key);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return tape.count(node);
+            }
+        };
+    }
+
+    private abstract class MemberIterator<T> implements Iterator<T> {
+        private int remaining = tape.count(node);
+        private int key = node + 2;
+
+        abstract T member(int key);
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public T next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            final T member = member(key);
+            key = tape.next(key + 2);
+            remaining--;
+            return member;
+        }
+    }
+
+    private final class Member implements Entry<String, JsonValue> {
+        private final int key;
+
+        private Member(int key) {
+            this.key = key;
+        }
+
+        @Override
+        public String getKey() {
+            return tape.string(key);
+        }
+
+        @Override
+        public JsonValue getValue() {
+            return tape.value(key + 2);
+        }
+
+        @Override
+        public JsonValue setValue(JsonValue value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> other = (Entry<?, ?>) o;
+            return getKey().equals(other.getKey()) && getValue().equals(other.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ getValue().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.sbsp.jsonschema.tape;
+
+import io.sbsp.jsonschema.utils.JsonUtils;
+
+import javax.json.JsonString;
+
+/**
+ * {@link JsonString} view of a string on a {@link JsonTape}, decoded on first access.
+ */
+final class TapeString implements JsonString, TapeValue {
+
+    private final JsonTape tape;
+    private final int node;
+    private String value;
+
+    TapeString(JsonTape tape, int node) {
+        this.tape = tape;
+        this.node = node;
+    }
+
+    @Override
+    public JsonTape getTape() {
+        return tape;
+    }
+
+    @Override
+    public int getNode() {
+        return node;
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.STRING;
+    }
+
+    @Override
+    public String getString() {
+        if (value == null) {
+            value = tape.string(node);
+        }
+        return value;
+    }
+
+    @Override
+    public CharSequence getChars() {
+        return getString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof TapeString && ((TapeString) o).tape == tape && ((TapeString) o).node == node) {
+            return true;
+        }
+        return o instanceof JsonString && getString().equals(((JsonString) o).getString());
+    }
+
+    @Override
+    public int hashCode() {
+        return getString().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtils.jsonStringValue(getString()).toString();
+    }
+}
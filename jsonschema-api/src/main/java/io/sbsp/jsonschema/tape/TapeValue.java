@@ -0,0 +1,11 @@
+package io.sbsp.jsonschema.tape;
+
+/**
+ * Implemented by the views over a {@link JsonTape}, so values can be traced back to their position in the source.
+ */
+interface TapeValue {
+
+    JsonTape getTape();
+
+    int getNode();
+}
@@ -0,0 +1,70 @@
+package io.sbsp.jsonschema.utils;
+
+import com.google.common.collect.ImmutableMap;
+
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonReaderFactory;
+import javax.json.JsonWriterFactory;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonGeneratorFactory;
+import java.util.Collections;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static javax.json.stream.JsonGenerator.PRETTY_PRINTING;
+
+/**
+ * A {@link JsonProvider} along with the reader, builder and generator factories created from it.  Looking up a
+ * provider with {@link JsonProvider#provider()} scans the classpath each time, and the factories are meant to be
+ * reused, so both are created once and shared.
+ *
+ * @see JsonUtils#setDefaultProvider(JsonProvider)
+ */
+public final class JsonFactories {
+
+    private static final Map<String, ?> PRETTY_PRINT_OPTS = ImmutableMap.of(PRETTY_PRINTING, true);
+
+    private final JsonProvider provider;
+    private final JsonReaderFactory readerFactory;
+    private final JsonBuilderFactory builderFactory;
+    private final JsonGeneratorFactory generatorFactory;
+    private final JsonGeneratorFactory prettyPrintGeneratorFactory;
+    private final JsonWriterFactory prettyPrintWriterFactory;
+
+    private JsonFactories(JsonProvider provider) {
+        this.provider = checkNotNull(provider, "provider must not be null");
+        this.readerFactory = provider.createReaderFactory(Collections.emptyMap());
+        this.builderFactory = provider.createBuilderFactory(Collections.emptyMap());
+        this.generatorFactory = provider.createGeneratorFactory(Collections.emptyMap());
+        this.prettyPrintGeneratorFactory = provider.createGeneratorFactory(PRETTY_PRINT_OPTS);
+        this.prettyPrintWriterFactory = provider.createWriterFactory(PRETTY_PRINT_OPTS);
+    }
+
+    public static JsonFactories forProvider(JsonProvider provider) {
+        return new JsonFactories(provider);
+    }
+
+    public JsonProvider getProvider() {
+        return provider;
+    }
+
+    public JsonReaderFactory getReaderFactory() {
+        return readerFactory;
+    }
+
+    public JsonBuilderFactory getBuilderFactory() {
+        return builderFactory;
+    }
+
+    public JsonGeneratorFactory getGeneratorFactory() {
+        return generatorFactory;
+    }
+
+    public JsonGeneratorFactory getPrettyPrintGeneratorFactory() {
+        return prettyPrintGeneratorFactory;
+    }
+
+    public JsonWriterFactory getPrettyPrintWriterFactory() {
+        return prettyPrintWriterFactory;
+    }
+}
@@ -6,8 +6,14 @@ import lombok.experimental.Delegate;
 import javax.json.JsonValue;
 import javax.json.stream.JsonGenerator;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 
 public class JsonSchemaGenerator implements JsonGenerator {
+    /**
+     * Beyond 2^53, doubles can't represent every integer, so they're written as-is.
+     */
+    private static final double MAX_EXACT_DOUBLE = 9007199254740992d;
+
     @Delegate
     private final JsonGenerator wrapped;
 
@@ -19,16 +25,39 @@ public class JsonSchemaGenerator implements JsonGenerator {
         if (number == null) {
             write(key, JsonValue.NULL);
         } else {
-            final BigDecimal intermediate = new BigDecimal(number.doubleValue());
-            if (intermediate.scale() == 0) {
-                write(key, intermediate.intValueExact());
+            // Integral values are written without a fractional part, eg. 5.0 -> 5
+            final double doubleValue = number.doubleValue();
+            if (number instanceof BigDecimal) {
+                writeDecimal(key, (BigDecimal) number);
+            } else if (number instanceof BigInteger) {
+                write(key, (BigInteger) number);
+            } else if (isIntegral(number)) {
+                write(key, number.longValue());
+            } else if (doubleValue == Math.rint(doubleValue) && Math.abs(doubleValue) < MAX_EXACT_DOUBLE) {
+                write(key, (long) doubleValue);
             } else {
-                write(key, intermediate.doubleValue());
+                write(key, doubleValue);
             }
         }
         return this;
     }
 
+    /**
+     * Decimals are written as-is, so they keep their precision.
+     */
+    private void writeDecimal(String key, BigDecimal number) {
+        final BigDecimal stripped = number.stripTrailingZeros();
+        if (stripped.scale() <= 0) {
+            write(key, stripped.toBigIntegerExact());
+        } else {
+            write(key, stripped);
+        }
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte;
+    }
+
     public JsonSchemaGenerator writeKey(KeywordMetadata<?> keyword) {
         wrapped.writeKey(keyword.getKey());
         return this;
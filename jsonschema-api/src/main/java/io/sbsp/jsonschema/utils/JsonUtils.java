@@ -1,6 +1,5 @@
 package io.sbsp.jsonschema.utils;
 
-import com.google.common.collect.ImmutableMap;
 import io.sbsp.jsonschema.enums.JsonSchemaType;
 import lombok.SneakyThrows;
 
@@ -10,8 +9,8 @@ import javax.json.JsonNumber;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
 import javax.json.JsonString;
+import javax.json.JsonStructure;
 import javax.json.JsonValue;
-import javax.json.JsonWriterFactory;
 import javax.json.spi.JsonProvider;
 import javax.json.stream.JsonGeneratorFactory;
 import java.io.File;
@@ -23,21 +22,37 @@ import java.io.Writer;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static io.sbsp.jsonschema.enums.JsonSchemaKeywordType.$ID;
 import static javax.json.JsonValue.EMPTY_JSON_ARRAY;
 import static javax.json.JsonValue.FALSE;
 import static javax.json.JsonValue.TRUE;
-import static javax.json.spi.JsonProvider.provider;
-import static javax.json.stream.JsonGenerator.PRETTY_PRINTING;
 
 public class JsonUtils {
 
-    private static final Map<String, ?> PRETTY_PRINT_OPTS = ImmutableMap.of(PRETTY_PRINTING, true);
-    private static final JsonWriterFactory PRETTY_PRINT_WRITER_FACTORY = JsonProvider.provider().createWriterFactory(PRETTY_PRINT_OPTS);
-    private static final JsonGeneratorFactory PRETTY_PRINT_GENERATOR_FACTORY = JsonProvider.provider().createGeneratorFactory(PRETTY_PRINT_OPTS);
+    /**
+     * The provider (and factories) used by default throughout the library.  Looked up once, rather than on every call
+     * to {@link JsonProvider#provider()}
+     */
+    private static volatile JsonFactories defaultFactories = JsonFactories.forProvider(JsonProvider.provider());
+
+    /**
+     * Replaces the {@link JsonProvider} used by default throughout the library - by these utilities, and by any
+     * schema factory, builder or validator factory that isn't given a provider of its own.
+     */
+    public static void setDefaultProvider(JsonProvider provider) {
+        checkNotNull(provider, "provider must not be null");
+        defaultFactories = JsonFactories.forProvider(provider);
+    }
+
+    public static JsonFactories defaultFactories() {
+        return defaultFactories;
+    }
+
+    public static JsonProvider provider() {
+        return defaultFactories.getProvider();
+    }
 
     public static boolean isBoolean(JsonValue value) {
         return value == TRUE || value == FALSE;
@@ -48,11 +63,11 @@ public class JsonUtils {
     }
 
     public static JsonArray blankJsonArray() {
-        return provider().createArrayBuilder().build();
+        return defaultFactories.getBuilderFactory().createArrayBuilder().build();
     }
 
     public static JsonObject blankJsonObject() {
-        return provider().createObjectBuilder().build();
+        return defaultFactories.getBuilderFactory().createObjectBuilder().build();
     }
 
     @Nullable
@@ -79,15 +94,15 @@ public class JsonUtils {
     }
 
     public static JsonArray jsonArray(List<Object> values) {
-        return provider().createArrayBuilder(values).build();
+        return defaultFactories.getBuilderFactory().createArrayBuilder(values).build();
     }
 
     public static JsonArray jsonArray(Object... values) {
-        return provider().createArrayBuilder(Arrays.asList(values)).build();
+        return defaultFactories.getBuilderFactory().createArrayBuilder(Arrays.asList(values)).build();
     }
 
     public static JsonObjectBuilder jsonObjectBuilder() {
-        return provider().createObjectBuilder();
+        return defaultFactories.getBuilderFactory().createObjectBuilder();
     }
 
     public static JsonString jsonStringValue(String value) {
@@ -114,7 +129,7 @@ public class JsonUtils {
 
     public static JsonObject readJsonObject(String json) {
         checkNotNull(json, "json must not be null");
-        return provider()
+        return defaultFactories.getReaderFactory()
                 .createReader(new StringReader(json))
                 .readObject();
     }
@@ -123,14 +138,18 @@ public class JsonUtils {
     public static JsonObject readJsonObject(InputStream stream) {
         checkNotNull(stream, "stream must not be null");
         try (InputStream streamX = stream) {
-            return provider()
+            return defaultFactories.getReaderFactory()
                     .createReader(streamX)
                     .readObject();
         }
     }
 
     public static JsonGeneratorFactory prettyPrintGeneratorFactory() {
-        return PRETTY_PRINT_GENERATOR_FACTORY;
+        return defaultFactories.getPrettyPrintGeneratorFactory();
+    }
+
+    public static JsonGeneratorFactory generatorFactory() {
+        return defaultFactories.getGeneratorFactory();
     }
 
     public static String toPrettyString(JsonValue value, boolean indent) {
@@ -143,15 +162,25 @@ public class JsonUtils {
             actualWriter = strings;
         }
 
-        PRETTY_PRINT_WRITER_FACTORY.createWriter(actualWriter).write(value);
+        defaultFactories.getPrettyPrintWriterFactory().createWriter(actualWriter).write(value);
         strings.flush();
         return strings.toString();
     }
 
+    /**
+     * Writes {@code value} as compact JSON.
+     */
+    public static String toJsonString(JsonStructure value) {
+        checkNotNull(value, "value must not be null");
+        final StringWriter json = new StringWriter();
+        defaultFactories.getProvider().createWriter(json).write(value);
+        return json.toString();
+    }
+
     @SneakyThrows
     public static JsonObject readJsonObject(File file) {
         try (FileInputStream fileInputStream = new FileInputStream(file)) {
-            return provider().createReader(fileInputStream).readObject();
+            return defaultFactories.getReaderFactory().createReader(fileInputStream).readObject();
         }
     }
 
@@ -163,7 +192,7 @@ public class JsonUtils {
     @SuppressWarnings("unchecked")
     public static <V extends JsonValue> V readValue(String json, Class<V> expected) {
         checkNotNull(json, "json must not be null");
-        return (V) provider()
+        return (V) defaultFactories.getReaderFactory()
                 .createReader(new StringReader(json))
                 .readValue();
     }
@@ -171,7 +200,7 @@ public class JsonUtils {
     @SneakyThrows
     public static JsonValue readValue(String json) {
         checkNotNull(json, "json must not be null");
-        return provider()
+        return defaultFactories.getReaderFactory()
                 .createReader(new StringReader(json))
                 .readValue();
     }
@@ -180,7 +209,7 @@ public class JsonUtils {
     @SuppressWarnings("unchecked")
     public static <V extends JsonValue> V readValue(InputStream json, Class<V> expected) {
         checkNotNull(json, "json must not be null");
-        return (V) provider()
+        return (V) defaultFactories.getReaderFactory()
                 .createReader(json)
                 .readValue();
     }
@@ -0,0 +1,82 @@
+package io.sbsp.jsonschema.keyword;
+
+import io.sbsp.jsonschema.enums.JsonSchemaKeywordType;
+import org.junit.Test;
+
+import javax.json.JsonValue.ValueType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeywordMapTest {
+
+    @Test
+    public void copyOf_WhenManyKeywords_BehavesLikeSourceMap() {
+        Map<KeywordMetadata<?>, SchemaKeyword> source = new HashMap<>();
+        List<KeywordMetadata<?>> skipped = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            final KeywordMetadata<?> keyword = keyword("keywordMapTest" + i);
+            if (i % 3 == 0) {
+                skipped.add(keyword);
+            } else {
+                source.put(keyword, (k, g, v) -> {});
+            }
+        }
+
+        final KeywordMap keywordMap = KeywordMap.copyOf(source);
+        assertThat(keywordMap).isEqualTo(source);
+        assertThat(keywordMap.hashCode()).isEqualTo(source.hashCode());
+        assertThat(keywordMap).hasSameSizeAs(source);
+        source.forEach((k, v) -> assertThat(keywordMap.get(k)).isSameAs(v));
+        skipped.forEach(k -> assertThat(keywordMap.containsKey(k)).isFalse());
+    }
+
+    @Test
+    public void get_WhenMetadataHasSameKey_ReturnsValue() {
+        final SchemaKeyword value = (k, g, v) -> {};
+        final KeywordMetadata<?> original = keyword("keywordMapTestSameKey");
+        final KeywordMetadata<?> sameKey = keyword("keywordMapTestSameKey");
+
+        final KeywordMap keywordMap = KeywordMap.copyOf(singletonMap(original, value));
+        assertThat(sameKey.getOrdinal()).isEqualTo(original.getOrdinal());
+        assertThat(keywordMap.get(sameKey)).isSameAs(value);
+        assertThat(keywordMap.get("keywordMapTestSameKey")).isNull();
+    }
+
+    @Test
+    public void iteration_FollowsInsertionOrder() {
+        final KeywordMetadata<?> custom = keyword("keywordMapTestCustom");
+        final KeywordMetadata<?> maxLength = keyword(JsonSchemaKeywordType.MAX_LENGTH.key());
+        final KeywordMetadata<?> type = keyword(JsonSchemaKeywordType.TYPE.key());
+        Map<KeywordMetadata<?>, SchemaKeyword> source = new LinkedHashMap<>();
+        source.put(maxLength, (k, g, v) -> {});
+        source.put(custom, (k, g, v) -> {});
+        source.put(type, (k, g, v) -> {});
+
+        final KeywordMap keywordMap = KeywordMap.copyOf(source);
+        assertThat(keywordMap.keySet()).containsExactly(maxLength, custom, type);
+        assertThat(keywordMap.entrySet()).containsExactlyElementsOf(source.entrySet());
+        source.forEach((k, v) -> assertThat(keywordMap.get(k)).isSameAs(v));
+    }
+
+    @Test
+    public void ordinal_OnlyAssignedToBuiltinKeywords() {
+        assertThat(keyword(JsonSchemaKeywordType.TYPE.key()).getOrdinal()).isNotEqualTo(KeywordMetadata.NO_ORDINAL);
+        assertThat(keyword("keywordMapTestUnregistered").getOrdinal()).isEqualTo(KeywordMetadata.NO_ORDINAL);
+    }
+
+    private static Map<KeywordMetadata<?>, SchemaKeyword> singletonMap(KeywordMetadata<?> keyword, SchemaKeyword value) {
+        Map<KeywordMetadata<?>, SchemaKeyword> map = new HashMap<>();
+        map.put(keyword, value);
+        return map;
+    }
+
+    private static KeywordMetadata<?> keyword(String key) {
+        return KeywordMetadata.keywordMetadata().key(key).expects(ValueType.STRING).build();
+    }
+}
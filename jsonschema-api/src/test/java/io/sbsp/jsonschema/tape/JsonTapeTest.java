@@ -0,0 +1,143 @@
+package io.sbsp.jsonschema.tape;
+
+import com.google.common.base.Strings;
+import org.junit.Test;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import javax.json.stream.JsonParsingException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonTapeTest {
+
+    private static final String DOCUMENT = "{\n" +
+            "  \"name\": \"Ren\\u00e9e \\\"R\\\" \\ud83d\\ude00\",\n" +
+            "  \"caf\u00e9\": [1, -2, 3.50, 1e3, 1234567890123456789, true, false, null],\n" +
+            "  \"a/b\": {\"empty\": {}, \"none\": []},\n" +
+            "  \"\": \"blank\"\n" +
+            "}";
+
+    @Test
+    public void parse_EqualsJavaxJson() {
+        final JsonValue root = parse(DOCUMENT).getRoot();
+
+        assertThat(root).isEqualTo(readJsonObject(DOCUMENT));
+        assertThat(root.asJsonObject().keySet()).containsExactly("name", "caf\u00e9", "a/b", "");
+        assertThat(root.asJsonObject().getString("name")).isEqualTo("Ren\u00e9e \"R\" \ud83d\ude00");
+    }
+
+    @Test
+    public void parse_DecodesNumbersLazily() {
+        final JsonArray numbers = parse(DOCUMENT).getRoot().asJsonObject().getJsonArray("caf\u00e9");
+
+        assertThat(numbers.getJsonNumber(0).isIntegral()).isTrue();
+        assertThat(numbers.getJsonNumber(1).longValueExact()).isEqualTo(-2L);
+        assertThat(numbers.getJsonNumber(2).isIntegral()).isFalse();
+        assertThat(numbers.getJsonNumber(2).bigDecimalValue()).isEqualTo(new BigDecimal("3.50"));
+        assertThat(numbers.getJsonNumber(3).isIntegral()).isFalse();
+        assertThat(numbers.getJsonNumber(3).doubleValue()).isEqualTo(1000d);
+        final JsonNumber big = numbers.getJsonNumber(4);
+        assertThat(big.isIntegral()).isTrue();
+        assertThat(big.bigIntegerValueExact().toString()).isEqualTo("1234567890123456789");
+        assertThat(big.toString()).isEqualTo("1234567890123456789");
+        assertThat(numbers.getBoolean(5)).isTrue();
+        assertThat(numbers.isNull(7)).isTrue();
+    }
+
+    @Test
+    public void getByteOffset_ResolvesPointers() {
+        final JsonTape tape = parse(DOCUMENT);
+        final JsonObject root = tape.getRoot().asJsonObject();
+
+        assertThat(tape.getByteOffset("")).isEqualTo(0);
+        assertThat(tape.getByteOffset("/name")).isEqualTo(DOCUMENT.indexOf("\"Ren"));
+        assertThat(tape.getByteOffset("/a~1b/none")).isEqualTo(utf8Offset("[]"));
+        assertThat(tape.getByteOffset("#/a~1b/none")).isEqualTo(utf8Offset("[]"));
+        assertThat(tape.getByteOffset("#/caf%C3%A9/2")).isEqualTo(utf8Offset("3.50"));
+        assertThat(tape.getByteOffset("/")).isEqualTo(utf8Offset("\"blank\""));
+        assertThat(tape.getByteOffset("/caf\u00e9/8")).isEqualTo(-1);
+        assertThat(tape.getByteOffset("/missing")).isEqualTo(-1);
+        assertThat(tape.getByteOffset(root.getJsonObject("a/b"))).isEqualTo(utf8Offset("{\"empty\""));
+        assertThat(tape.getByteOffset(readJsonObject("{}"))).isEqualTo(-1);
+    }
+
+    @Test
+    public void parse_RejectsMalformedInput() {
+        for (String invalid : new String[]{"", "{\"a\": 1,}", "[1 2]", "\"abc", "01", "-", "1.", "tru", "{\"a\" 1}",
+                "[\"\\x\"]", "[\"\t\"]", "{} {}", "{1: 2}"}) {
+            assertThatThrownBy(() -> parse(invalid)).as(invalid).isInstanceOf(JsonParsingException.class);
+        }
+        assertThatThrownBy(() -> parse("[1, 2, x]"))
+                .isInstanceOfSatisfying(JsonParsingException.class,
+                        e -> assertThat(e.getLocation().getStreamOffset()).isEqualTo(7));
+    }
+
+    @Test
+    public void parse_DeepNestingDoesNotRecurse() {
+        final int depth = 100_000;
+        final JsonTape tape = parse(Strings.repeat("[", depth) + Strings.repeat("]", depth));
+
+        assertThat(tape.getRoot().asJsonArray()).hasSize(1);
+        assertThat(tape.getTapeLength()).isEqualTo(depth * 2);
+    }
+
+    @Test
+    public void get_WideObject_UsesKeyIndex() {
+        final StringBuilder json = new StringBuilder("{\"caf\\u00e9\": \"escaped\", \"na\u00efve\": \"utf8\"");
+        for (int i = 0; i < 200; i++) {
+            json.append(", \"key").append(i).append("\": {\"nested").append(i).append("\": ").append(i).append("}");
+        }
+        json.append("}");
+        final JsonObject root = parse(json.toString()).getRoot().asJsonObject();
+
+        assertThat(root.getString("caf\u00e9")).isEqualTo("escaped");
+        assertThat(root.getString("na\u00efve")).isEqualTo("utf8");
+        for (int i = 0; i < 200; i++) {
+            assertThat(root.getJsonObject("key" + i).getInt("nested" + i)).isEqualTo(i);
+        }
+        assertThat(root.containsKey("key200")).isFalse();
+        assertThat(root.get("nested1")).isNull();
+        assertThat(root.keySet().contains("key199")).isTrue();
+        assertThat(root).isEqualTo(readJsonObject(json.toString()));
+    }
+
+    @Test
+    public void parse_Slice() {
+        final byte[] bytes = "xx[1, 2]yy".getBytes(StandardCharsets.UTF_8);
+        final JsonTape tape = JsonTape.parse(bytes, 2, 6);
+
+        assertThat(tape.getRoot().asJsonArray().getInt(1)).isEqualTo(2);
+        assertThat(tape.getByteOffset("/1")).isEqualTo(4);
+    }
+
+    @Test
+    public void parse_DirectBuffer_MatchesArray() {
+        final byte[] bytes = ("xx" + DOCUMENT).getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.position(2);
+
+        final JsonTape tape = JsonTape.parse(buffer);
+
+        assertThat(buffer.position()).isEqualTo(2);
+        assertThat(tape.getRoot()).isEqualTo(parse(DOCUMENT).getRoot());
+        assertThat(tape.getRoot().asJsonObject().getString("name")).isEqualTo("Ren\u00e9e \"R\" \ud83d\ude00");
+        assertThat(tape.getByteOffset("/caf\u00e9/2")).isEqualTo(utf8Offset("3.50"));
+    }
+
+    private static JsonTape parse(String json) {
+        return JsonTape.parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int utf8Offset(String substring) {
+        return DOCUMENT.substring(0, DOCUMENT.indexOf(substring)).getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -58,4 +58,24 @@ public class JsonUtilsTest {
                 "  }\n" +
                 "}");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void provider_IsLookedUpOnce() {
+        assertThat(JsonUtils.provider()).isSameAs(JsonUtils.provider());
+        assertThat(JsonUtils.generatorFactory()).isSameAs(JsonUtils.defaultFactories().getGeneratorFactory());
+    }
+
+    @Test
+    public void setDefaultProvider_ReplacesFactories() {
+        final JsonFactories original = JsonUtils.defaultFactories();
+        final JsonProvider provider = JsonProvider.provider();
+        try {
+            JsonUtils.setDefaultProvider(provider);
+            assertThat(JsonUtils.provider()).isSameAs(provider);
+            assertThat(JsonUtils.defaultFactories()).isNotSameAs(original);
+            assertThat(JsonUtils.readJsonObject("{\"a\": 1}").getInt("a")).isEqualTo(1);
+        } finally {
+            JsonUtils.setDefaultProvider(original.getProvider());
+        }
+    }
+}
@@ -15,6 +15,7 @@ import io.sbsp.jsonschema.impl.RefSchemaImpl;
 import io.sbsp.jsonschema.keyword.BooleanKeyword;
 import io.sbsp.jsonschema.keyword.JsonArrayKeyword;
 import io.sbsp.jsonschema.keyword.JsonValueKeyword;
+import io.sbsp.jsonschema.keyword.KeywordMap;
 import io.sbsp.jsonschema.keyword.KeywordMetadata;
 import io.sbsp.jsonschema.keyword.Keywords;
 import io.sbsp.jsonschema.keyword.LimitKeyword;
@@ -30,6 +31,8 @@ import io.sbsp.jsonschema.keyword.TypeKeyword;
 import io.sbsp.jsonschema.keyword.URIKeyword;
 import io.sbsp.jsonschema.loading.LoadingReport;
 import io.sbsp.jsonschema.loading.SchemaLoadingException;
+import io.sbsp.jsonschema.utils.JsonUtils;
+import io.sbsp.jsonschema.utils.KeywordInterner;
 import lombok.EqualsAndHashCode;
 
 import javax.annotation.Nullable;
@@ -87,8 +90,12 @@ public class JsonSchemaBuilder implements SchemaBuilder {
     private final Map<KeywordMetadata<?>, SchemaKeywordBuilder> keywordBuilders = new HashMap<>();
 
     private JsonObject currentDocument;
+    @Nullable
+    private JsonValue sourceJson;
     private JsonProvider provider;
     private SchemaFactory schemaFactory;
+    private boolean lazy;
+    private KeywordInterner interner;
     private final SchemaLocation location;
 
     protected JsonSchemaBuilder() {
@@ -118,6 +125,15 @@ public class JsonSchemaBuilder implements SchemaBuilder {
         return this;
     }
 
+    /**
+     * The JSON this builder was read from, if any.  A {@link io.sbsp.jsonschema.impl.LazySchema} compares and hashes
+     * it instead of building the schema.
+     */
+    public JsonSchemaBuilder withSourceJson(@Nullable JsonValue sourceJson) {
+        this.sourceJson = sourceJson;
+        return this;
+    }
+
     public JsonSchemaBuilder ref(URI ref, @Nullable SchemaFactory schemaFactory) {
         this.addOrRemoveURI(Keywords.$ref, ref);
         this.schemaFactory = schemaFactory;
@@ -134,6 +150,24 @@ public class JsonSchemaBuilder implements SchemaBuilder {
         return this;
     }
 
+    /**
+     * When set, <code>definitions</code> entries are built on first access, and <code>$ref</code> values are resolved
+     * the first time they're dereferenced.  Useful for schemas that carry large libraries of definitions.
+     */
+    public JsonSchemaBuilder lazy(boolean lazy) {
+        this.lazy = lazy;
+        return this;
+    }
+
+    /**
+     * When set, the keywords of location-independent schemas are shared with any structurally identical schemas
+     * built using the same interner.  See {@link KeywordInterner}
+     */
+    public JsonSchemaBuilder interner(@Nullable KeywordInterner interner) {
+        this.interner = interner;
+        return this;
+    }
+
     public JsonSchemaBuilder withSchemaFactory(SchemaFactory schemaFactory) {
         this.schemaFactory = schemaFactory;
         return this;
@@ -170,6 +204,11 @@ public class JsonSchemaBuilder implements SchemaBuilder {
         return currentDocument;
     }
 
+    @Nullable
+    public JsonValue getSourceJson() {
+        return sourceJson;
+    }
+
     @Nullable
     public URI $id() {
         final URIKeyword keyword = getKeyword(Keywords.$id);
@@ -182,18 +221,28 @@ public class JsonSchemaBuilder implements SchemaBuilder {
         return keyword != null ? keyword.getKeywordValue() : null;
     }
 
-    public Schema build(SchemaLocation location, LoadingReport report) {
+    /**
+     * The location that {@link #build(SchemaLocation, LoadingReport)} will give the schema when it's built at
+     * {@code location}.
+     */
+    public SchemaLocation resolveLocation(SchemaLocation location) {
         checkNotNull(location, "location must not be null");
-        checkNotNull(report, "repot must not be null");
-
         final URI $id = $id();
-        final URI $ref = $ref();
 
         // Use the location provided during building as an override
-        location = MoreObjects.firstNonNull(this.location, location);
+        SchemaLocation resolved = MoreObjects.firstNonNull(this.location, location);
         if ($id != null) {
-            location = location.withId($id);
+            resolved = resolved.withId($id);
         }
+        return resolved;
+    }
+
+    public Schema build(SchemaLocation location, LoadingReport report) {
+        checkNotNull(location, "location must not be null");
+        checkNotNull(report, "repot must not be null");
+
+        final URI $ref = $ref();
+        location = resolveLocation(location);
 
         final URI thisSchemaURI = location.getUniqueURI();
 
@@ -210,6 +259,7 @@ public class JsonSchemaBuilder implements SchemaBuilder {
                     .currentDocument(currentDocument)
                     .location(location)
                     .report(report)
+                    .lazy(lazy)
                     .build();
         }
 
@@ -226,13 +276,19 @@ public class JsonSchemaBuilder implements SchemaBuilder {
                     .withSchemaFactory(schemaFactory)
                     .withCurrentDocument(currentDocument));
 
-            final SchemaKeyword builtKeyword = keywordBuilder.build(location, keyword, report);
+            final SchemaKeyword builtKeyword;
+            if (lazy && keyword == Keywords.definitions) {
+                builtKeyword = ((SchemaMapKeywordBuilder) keywordBuilder).buildLazy(location, keyword);
+            } else {
+                builtKeyword = keywordBuilder.build(location, keyword, report);
+            }
             if (builtKeyword != null) {
                 collector.put(keyword, builtKeyword);
             }
         }
 
-        return new Draft6SchemaImpl(location, collector.build());
+        final Map<KeywordMetadata<?>, SchemaKeyword> keywords = KeywordMap.copyOf(collector.build());
+        return new Draft6SchemaImpl(location, interner != null ? interner.intern(keywords) : keywords);
     }
 
     // #############################
@@ -737,6 +793,6 @@ public class JsonSchemaBuilder implements SchemaBuilder {
     // #######################################################
 
     private JsonProvider provider() {
-        return MoreObjects.firstNonNull(provider, JsonProvider.provider());
+        return MoreObjects.firstNonNull(provider, JsonUtils.provider());
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package io.sbsp.jsonschema.builder;
 import io.sbsp.jsonschema.Schema;
 import io.sbsp.jsonschema.SchemaBuilder;
 import io.sbsp.jsonschema.SchemaLocation;
+import io.sbsp.jsonschema.impl.LazySchema;
 import io.sbsp.jsonschema.keyword.KeywordMetadata;
 import io.sbsp.jsonschema.loading.LoadingReport;
 import io.sbsp.jsonschema.keyword.SchemaMapKeyword;
@@ -55,4 +56,19 @@ public class SchemaMapKeywordBuilder implements SchemaKeywordBuilder<SchemaMapKe
         }
         return new SchemaMapKeyword(keywordMap);
     }
+
+    /**
+     * Builds the keyword without building any of the child schemas.  Each entry is built the first time it's
+     * accessed.  See {@link LazySchema}
+     */
+    public SchemaMapKeyword buildLazy(SchemaLocation parentLocation, KeywordMetadata<?> keyword) {
+        final SchemaLocation keywordLocation = parentLocation.child(keyword.getKey());
+
+        Map<String, Schema> keywordMap = new LinkedHashMap<>();
+        for (Map.Entry<String, SchemaBuilder> entry : schemaMap.entrySet()) {
+            final SchemaLocation keyLocation = keywordLocation.child(entry.getKey());
+            keywordMap.put(entry.getKey(), new LazySchema(entry.getValue(), keyLocation));
+        }
+        return new SchemaMapKeyword(keywordMap);
+    }
 }
@@ -3,7 +3,6 @@ package io.sbsp.jsonschema.impl;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.SetMultimap;
-import com.google.common.collect.Sets;
 import io.sbsp.jsonschema.Draft3Schema;
 import io.sbsp.jsonschema.Draft4Schema;
 import io.sbsp.jsonschema.Draft6Schema;
@@ -15,6 +14,7 @@ import io.sbsp.jsonschema.enums.JsonSchemaVersion;
 import io.sbsp.jsonschema.keyword.DependenciesKeyword;
 import io.sbsp.jsonschema.keyword.ItemsKeyword;
 import io.sbsp.jsonschema.keyword.JsonArrayKeyword;
+import io.sbsp.jsonschema.keyword.KeywordMap;
 import io.sbsp.jsonschema.keyword.KeywordMetadata;
 import io.sbsp.jsonschema.keyword.Keywords;
 import io.sbsp.jsonschema.keyword.LimitKeyword;
@@ -27,25 +27,29 @@ import io.sbsp.jsonschema.keyword.StringKeyword;
 import io.sbsp.jsonschema.keyword.StringSetKeyword;
 import io.sbsp.jsonschema.keyword.TypeKeyword;
 import io.sbsp.jsonschema.keyword.URIKeyword;
+import io.sbsp.jsonschema.utils.JsonFactories;
 import io.sbsp.jsonschema.utils.JsonSchemaGenerator;
 import io.sbsp.jsonschema.utils.JsonUtils;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
+import lombok.SneakyThrows;
 
 import javax.annotation.Nullable;
 import javax.json.JsonArray;
 import javax.json.JsonValue;
 import javax.json.stream.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
-import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static io.sbsp.jsonschema.enums.JsonSchemaVersion.Custom;
 
 @EqualsAndHashCode(of = "keywords")
 public abstract class JsonSchemaImpl<D extends DraftSchema> implements DraftSchema<D> {
@@ -56,11 +60,26 @@ public abstract class JsonSchemaImpl<D extends DraftSchema> implements DraftSche
     private final Map<KeywordMetadata<?>, SchemaKeyword> keywords;
     private final JsonSchemaVersion version;
 
+    /**
+     * Version views share this schema's keywords, and are created at most once (give or take a benign race) so that
+     * repeated conversions don't allocate.
+     */
+    private volatile Draft6Schema draft6View;
+    private volatile Draft4Schema draft4View;
+    private volatile Draft3Schema draft3View;
+
+    /**
+     * UTF-8 serialized form of this schema, for the factories it was last written with.  Most schema nodes are
+     * never written on their own, so this is only allocated by the first call to
+     * {@link #writeTo(OutputStream, JsonSchemaVersion, JsonFactories)} (give or take a benign race).
+     */
+    private volatile Serialized serialized;
+
     public JsonSchemaImpl(SchemaLocation location, Map<KeywordMetadata<?>, SchemaKeyword> keywords, JsonSchemaVersion version) {
         this.location = checkNotNull(location, "location must not be null");
         checkNotNull(keywords, "keywords must not be null");
         this.version = checkNotNull(version, "version must not be null");
-        this.keywords = Collections.unmodifiableMap(keywords);
+        this.keywords = KeywordMap.copyOf(keywords);
     }
 
     // ######################################################
@@ -78,8 +97,7 @@ public abstract class JsonSchemaImpl<D extends DraftSchema> implements DraftSche
         }
 
         keywords.forEach((keyword, keywordValue) -> {
-            final Set<JsonSchemaVersion> versions = keyword.getAppliesToVersions();
-            if (Sets.intersection(versions, EnumSet.of(version, Custom)).size() > 0) {
+            if (keyword.isEmittedFor(version)) {
                 keywordValue.writeToGenerator(keyword, schemaGenerator, version);
             }
         });
@@ -88,6 +106,38 @@ public abstract class JsonSchemaImpl<D extends DraftSchema> implements DraftSche
         return generator;
     }
 
+    /**
+     * Writes the serialized form of this schema.  Schemas are immutable, so the bytes are computed once per version
+     * and reused for every subsequent call.
+     */
+    @Override
+    @SneakyThrows
+    public void writeTo(OutputStream outputStream, JsonSchemaVersion version, JsonFactories factories) {
+        checkNotNull(outputStream, "outputStream must not be null");
+        checkNotNull(version, "version must not be null");
+        checkNotNull(factories, "factories must not be null");
+        outputStream.write(toJsonBytes(version, factories));
+    }
+
+    private byte[] toJsonBytes(JsonSchemaVersion version, JsonFactories factories) {
+        Serialized serialized = this.serialized;
+        if (serialized == null || serialized.factories != factories) {
+            // Bytes from other factories (eg. a previous default provider) may not be what these would write
+            serialized = new Serialized(factories);
+            this.serialized = serialized;
+        }
+        byte[] bytes = serialized.bytes.get(version.ordinal());
+        if (bytes == null) {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            final JsonGenerator generator = factories.getGeneratorFactory().createGenerator(buffer, StandardCharsets.UTF_8);
+            toJson(generator, version);
+            generator.close();
+            bytes = buffer.toByteArray();
+            serialized.bytes.compareAndSet(version.ordinal(), null, bytes);
+        }
+        return bytes;
+    }
+
     @Override
     public Map<KeywordMetadata<?>, SchemaKeyword> getKeywords() {
         return keywords;
@@ -102,21 +152,52 @@ public abstract class JsonSchemaImpl<D extends DraftSchema> implements DraftSche
         if (this instanceof Draft6Schema) {
             return (Draft6Schema) this;
         }
-        return new Draft6SchemaImpl(getLocation(), keywords());
+        Draft6Schema view = draft6View;
+        if (view == null) {
+            final Draft6SchemaImpl created = new Draft6SchemaImpl(getLocation(), keywords());
+            created.cacheView(this);
+            draft6View = view = created;
+        }
+        return view;
     }
 
     public Draft3Schema asDraft3() {
         if (this instanceof Draft3Schema) {
             return (Draft3Schema) this;
         }
-        return new Draft3SchemaImpl(getLocation(), keywords());
+        Draft3Schema view = draft3View;
+        if (view == null) {
+            final Draft3SchemaImpl created = new Draft3SchemaImpl(getLocation(), keywords());
+            created.cacheView(this);
+            draft3View = view = created;
+        }
+        return view;
     }
 
     public Draft4Schema asDraft4() {
         if (this instanceof Draft4Schema) {
             return (Draft4Schema) this;
         }
-        return new Draft4SchemaImpl(getLocation(), keywords());
+        Draft4Schema view = draft4View;
+        if (view == null) {
+            final Draft4SchemaImpl created = new Draft4SchemaImpl(getLocation(), keywords());
+            created.cacheView(this);
+            draft4View = view = created;
+        }
+        return view;
+    }
+
+    /**
+     * Lets a newly created view convert back to the schema it was created from without allocating.
+     */
+    void cacheView(JsonSchemaImpl<?> origin) {
+        if (origin instanceof Draft6Schema) {
+            draft6View = (Draft6Schema) origin;
+        } else if (origin instanceof Draft4Schema) {
+            draft4View = (Draft4Schema) origin;
+        } else if (origin instanceof Draft3Schema) {
+            draft3View = (Draft3Schema) origin;
+        }
     }
 
     // ######################################################
@@ -459,4 +540,17 @@ public abstract class JsonSchemaImpl<D extends DraftSchema> implements DraftSche
                 .map(StringSetKeyword::getKeywordValue)
                 .orElse(Collections.emptySet());
     }
+
+    /**
+     * Serialized forms of a schema, indexed by {@link JsonSchemaVersion#ordinal()}, along with the factories that
+     * wrote them.
+     */
+    private static final class Serialized {
+        private final JsonFactories factories;
+        private final AtomicReferenceArray<byte[]> bytes = new AtomicReferenceArray<>(JsonSchemaVersion.values().length);
+
+        private Serialized(JsonFactories factories) {
+            this.factories = factories;
+        }
+    }
 }
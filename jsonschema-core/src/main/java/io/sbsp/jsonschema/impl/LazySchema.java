@@ -0,0 +1,148 @@
+package io.sbsp.jsonschema.impl;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Suppliers;
+import io.sbsp.jsonschema.Draft3Schema;
+import io.sbsp.jsonschema.Draft4Schema;
+import io.sbsp.jsonschema.Draft6Schema;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.SchemaBuilder;
+import io.sbsp.jsonschema.SchemaLocation;
+import io.sbsp.jsonschema.builder.JsonSchemaBuilder;
+import io.sbsp.jsonschema.enums.JsonSchemaVersion;
+import io.sbsp.jsonschema.keyword.KeywordMetadata;
+import io.sbsp.jsonschema.keyword.SchemaKeyword;
+import io.sbsp.jsonschema.loading.LoadingReport;
+import io.sbsp.jsonschema.loading.SchemaLoadingException;
+
+import javax.json.stream.JsonGenerator;
+import java.net.URI;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A schema that isn't built until it's first accessed.  This is used for large libraries of subschemas (think
+ * a <code>definitions</code> block with thousands of entries) where only a handful will ever be referenced.
+ *
+ * Materialization is thread-safe: the underlying builder runs at most once, and every caller sees the same
+ * built instance.  Any loading errors are raised as a {@link SchemaLoadingException} on first access.
+ *
+ * The location is known up front, so {@link #getLocation()} doesn't build the schema.  For the same reason, two lazy
+ * schemas are equal when they were read from equal JSON at the same location (or, for schemas that weren't read from
+ * JSON, have equal builders), so a lazy schema can be compared, put in a set or used as a key without being built.
+ * Loading the same document twice gives equal schemas.  A lazy schema is never equal to a built one; compare
+ * {@link #materialize()} results for that.
+ */
+public class LazySchema implements Schema {
+
+    private final Supplier<Schema> schema;
+    private final SchemaLocation location;
+    private final Object source;
+
+    public LazySchema(SchemaBuilder builder, SchemaLocation location) {
+        checkNotNull(builder, "builder must not be null");
+        checkNotNull(location, "location must not be null");
+        if (builder instanceof JsonSchemaBuilder) {
+            final JsonSchemaBuilder jsonSchemaBuilder = (JsonSchemaBuilder) builder;
+            this.location = jsonSchemaBuilder.resolveLocation(location);
+            this.source = MoreObjects.firstNonNull(jsonSchemaBuilder.getSourceJson(), builder);
+        } else {
+            this.location = location;
+            this.source = builder;
+        }
+        this.schema = Suppliers.memoize(() -> {
+            final LoadingReport report = new LoadingReport();
+            final Schema built = builder.build(location, report);
+            if (report.hasErrors()) {
+                throw new SchemaLoadingException(location.getJsonPointerFragment(), report, built);
+            }
+            return built;
+        });
+    }
+
+    /**
+     * Returns the underlying schema, building it if necessary.
+     */
+    public Schema materialize() {
+        return schema.get();
+    }
+
+    @Override
+    public SchemaLocation getLocation() {
+        return location;
+    }
+
+    @Override
+    public URI getId() {
+        return materialize().getId();
+    }
+
+    @Override
+    public URI getSchemaURI() {
+        return materialize().getSchemaURI();
+    }
+
+    @Override
+    public String getTitle() {
+        return materialize().getTitle();
+    }
+
+    @Override
+    public String getDescription() {
+        return materialize().getDescription();
+    }
+
+    @Override
+    public JsonSchemaVersion getVersion() {
+        return materialize().getVersion();
+    }
+
+    @Override
+    public JsonGenerator toJson(JsonGenerator writer, JsonSchemaVersion version) {
+        return materialize().toJson(writer, version);
+    }
+
+    @Override
+    public Map<KeywordMetadata<?>, SchemaKeyword> getKeywords() {
+        return materialize().getKeywords();
+    }
+
+    @Override
+    public Draft6Schema asDraft6() {
+        return materialize().asDraft6();
+    }
+
+    @Override
+    public Draft3Schema asDraft3() {
+        return materialize().asDraft3();
+    }
+
+    @Override
+    public Draft4Schema asDraft4() {
+        return materialize().asDraft4();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LazySchema)) {
+            return false;
+        }
+        final LazySchema other = (LazySchema) o;
+        return location.equals(other.location) && source.equals(other.source);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * location.hashCode() + source.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return materialize().toString();
+    }
+}
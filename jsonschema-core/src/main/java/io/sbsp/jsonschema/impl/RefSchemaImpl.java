@@ -18,13 +18,18 @@ import java.net.URI;
 
 public class RefSchemaImpl extends RefSchema {
 
+    private volatile Draft6Schema draft6View;
+    private volatile Draft4Schema draft4View;
+    private volatile Draft3Schema draft3View;
+
     public static RefSchemaBuilder refSchemaBuilder(URI refURI) {
         return new RefSchemaBuilder().refURI(refURI);
     }
 
     @Builder(builderMethodName = "refSchemaBuilder", builderClassName = "RefSchemaBuilder")
-    private RefSchemaImpl(SchemaFactory factory, SchemaLocation location, URI refURI, JsonObject currentDocument, LoadingReport report) {
-        super(factory, location, refURI, currentDocument, report);
+    private RefSchemaImpl(SchemaFactory factory, SchemaLocation location, URI refURI, JsonObject currentDocument,
+                          LoadingReport report, boolean lazy) {
+        super(factory, location, refURI, currentDocument, report, lazy);
     }
 
     protected RefSchemaImpl(SchemaLocation location, URI refURI, Schema refSchema) {
@@ -40,17 +45,41 @@ public class RefSchemaImpl extends RefSchema {
 
     @Override
     public Draft6Schema asDraft6() {
-        return new Draft6RefSchemaImpl(getLocation(), getRefURI(), getRefSchema().asDraft6());
+        if (this instanceof Draft6Schema) {
+            return (Draft6Schema) this;
+        }
+        Draft6Schema view = draft6View;
+        if (view == null) {
+            view = new Draft6RefSchemaImpl(getLocation(), getRefURI(), getRefSchema().asDraft6());
+            draft6View = view;
+        }
+        return view;
     }
 
     @Override
     public Draft4Schema asDraft4() {
-        return new Draft4RefSchemaImpl(getLocation(), getRefURI(), getRefSchema().asDraft4());
+        if (this instanceof Draft4Schema) {
+            return (Draft4Schema) this;
+        }
+        Draft4Schema view = draft4View;
+        if (view == null) {
+            view = new Draft4RefSchemaImpl(getLocation(), getRefURI(), getRefSchema().asDraft4());
+            draft4View = view;
+        }
+        return view;
     }
 
     @Override
     public Draft3Schema asDraft3() {
-        return new Draft3RefSchemaImpl(getLocation(), getRefURI(), getRefSchema().asDraft3());
+        if (this instanceof Draft3Schema) {
+            return (Draft3Schema) this;
+        }
+        Draft3Schema view = draft3View;
+        if (view == null) {
+            view = new Draft3RefSchemaImpl(getLocation(), getRefURI(), getRefSchema().asDraft3());
+            draft3View = view;
+        }
+        return view;
     }
 
     public static class RefSchemaBuilder {}
@@ -2,6 +2,7 @@ package io.sbsp.jsonschema.keyword;
 
 import io.sbsp.jsonschema.enums.JsonSchemaVersion;
 import io.sbsp.jsonschema.utils.JsonSchemaGenerator;
+import io.sbsp.jsonschema.utils.JsonUtils;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.experimental.Wither;
@@ -10,7 +11,6 @@ import javax.json.stream.JsonGenerator;
 import java.io.StringWriter;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static javax.json.spi.JsonProvider.provider;
 
 @Getter
 @EqualsAndHashCode
@@ -85,7 +85,7 @@ public class LimitKeyword implements SchemaKeyword {
     @Override
     public String toString() {
         final StringWriter stringWriter = new StringWriter();
-        final JsonGenerator generator = provider().createGenerator(stringWriter);
+        final JsonGenerator generator = JsonUtils.generatorFactory().createGenerator(stringWriter);
         generator.writeStartObject();
         this.writeToGenerator(keyword, new JsonSchemaGenerator(generator), JsonSchemaVersion.Draft6);
         generator.writeEnd();
@@ -1,6 +1,5 @@
 package io.sbsp.jsonschema.keyword;
 
-import com.google.common.math.DoubleMath;
 import io.sbsp.jsonschema.enums.JsonSchemaVersion;
 import io.sbsp.jsonschema.utils.JsonSchemaGenerator;
 import lombok.EqualsAndHashCode;
@@ -48,12 +47,7 @@ public abstract class SchemaKeywordImpl<T> implements SchemaKeyword {
             });
             generator.writeEnd();
         } else if(keywordValue instanceof Number) {
-            Number number = (Number) keywordValue;
-            if (DoubleMath.isMathematicalInteger(number.doubleValue())) {
-                generator.write(jsonKey, number.intValue());
-            } else {
-                generator.write(jsonKey, number.doubleValue());
-            }
+            generator.write(jsonKey, (Number) keywordValue);
         } else {
 
             throw new RuntimeException("Unable to serialize JSON - unknown value type: " + keywordValue.getClass());
@@ -0,0 +1,63 @@
+package io.sbsp.jsonschema.utils;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import io.sbsp.jsonschema.keyword.DependenciesKeyword;
+import io.sbsp.jsonschema.keyword.ItemsKeyword;
+import io.sbsp.jsonschema.keyword.KeywordMap;
+import io.sbsp.jsonschema.keyword.KeywordMetadata;
+import io.sbsp.jsonschema.keyword.Keywords;
+import io.sbsp.jsonschema.keyword.SchemaKeyword;
+import io.sbsp.jsonschema.keyword.SchemaListKeyword;
+import io.sbsp.jsonschema.keyword.SchemaMapKeyword;
+import io.sbsp.jsonschema.keyword.SingleSchemaKeyword;
+
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Canonicalizes the keyword maps of structurally identical schemas, so that something like
+ * <code>{"type":"string","maxLength":255}</code> appearing a thousand times in a registry is only held in memory once.
+ *
+ * Only location-independent keyword maps are interned: those without an <code>$id</code> and without any nested
+ * schemas.  Each schema instance still keeps its own {@link io.sbsp.jsonschema.SchemaLocation}, so error reporting
+ * is unaffected.  A keyword map with nested schemas can't be shared, because it holds those schemas along with their
+ * locations: one subtree's <code>getProperties()</code> would return another subtree's schemas.  The leaves of such a
+ * subtree still share their keyword maps, and the validator factory can share one validator between identical
+ * <code>$ref</code>-free subtrees (see <code>SchemaValidatorFactory.builder().intern(true)</code>), since it
+ * re-attributes errors to each location.
+ *
+ * Instances are thread-safe, and may be shared across factories.
+ */
+public class KeywordInterner {
+
+    private final Interner<Map<KeywordMetadata<?>, SchemaKeyword>> interner = Interners.newWeakInterner();
+
+    public Map<KeywordMetadata<?>, SchemaKeyword> intern(Map<KeywordMetadata<?>, SchemaKeyword> keywords) {
+        checkNotNull(keywords, "keywords must not be null");
+        if (!isLocationIndependent(keywords)) {
+            return keywords;
+        }
+        return interner.intern(KeywordMap.copyOf(keywords));
+    }
+
+    /**
+     * Whether a schema with these keywords would behave the same regardless of where it appears in a document.
+     */
+    public static boolean isLocationIndependent(Map<KeywordMetadata<?>, SchemaKeyword> keywords) {
+        if (keywords.containsKey(Keywords.$id) || keywords.containsKey(Keywords.id)) {
+            return false;
+        }
+        for (SchemaKeyword keyword : keywords.values()) {
+            if (keyword instanceof SingleSchemaKeyword
+                    || keyword instanceof SchemaListKeyword
+                    || keyword instanceof SchemaMapKeyword
+                    || keyword instanceof ItemsKeyword
+                    || keyword instanceof DependenciesKeyword) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
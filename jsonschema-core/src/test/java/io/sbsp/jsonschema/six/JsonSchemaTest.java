@@ -1,10 +1,26 @@
 package io.sbsp.jsonschema.six;
 
+import io.sbsp.jsonschema.Draft4Schema;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.enums.JsonSchemaVersion;
 import io.sbsp.jsonschema.impl.JsonSchemaImpl;
+import io.sbsp.jsonschema.utils.JsonFactories;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
+import org.apache.johnzon.core.JsonProviderImpl;
 import org.junit.Test;
 
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import static io.sbsp.jsonschema.builder.JsonSchemaBuilder.jsonSchema;
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class JsonSchemaTest {
 
     @Test
@@ -16,4 +32,63 @@ public class JsonSchemaTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void asDraft4_WhenCalledRepeatedly_ReturnsSameView() {
+        final Schema schema = jsonSchema().maxLength(5).build();
+        final Draft4Schema draft4 = schema.asDraft4();
+
+        assertThat(schema.asDraft4()).isSameAs(draft4);
+        assertThat(draft4.asDraft6()).isSameAs(schema);
+        assertThat(draft4.getKeywords()).isSameAs(schema.getKeywords());
+    }
+
+    @Test
+    public void writeTo_WhenCalledRepeatedly_WritesSameJsonAsToString() {
+        final Schema schema = jsonSchema()
+                .title("Ünïcode")
+                .maxLength(5)
+                .minimum(1.0)
+                .multipleOf(2.5)
+                .build();
+
+        for (int i = 0; i < 2; i++) {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            schema.writeTo(bytes, JsonSchemaVersion.Draft6);
+            assertThat(new String(bytes.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(schema.toString());
+        }
+        assertThat(schema.toString()).containsPattern("\"minimum\":1[,}]").contains("\"multipleOf\":2.5");
+    }
+
+    @Test
+    public void writeTo_WhenFactoriesChange_DoesNotReuseBytes() {
+        final Schema schema = jsonSchema().maxLength(5).build();
+        final JsonFactories pretty = JsonFactories.forProvider(new JsonProviderImpl() {
+            @Override
+            public JsonGeneratorFactory createGeneratorFactory(Map<String, ?> config) {
+                return super.createGeneratorFactory(Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true));
+            }
+        });
+
+        final ByteArrayOutputStream compactBytes = new ByteArrayOutputStream();
+        schema.writeTo(compactBytes, JsonSchemaVersion.Draft6);
+        final ByteArrayOutputStream prettyBytes = new ByteArrayOutputStream();
+        schema.writeTo(prettyBytes, JsonSchemaVersion.Draft6, pretty);
+
+        assertThat(new String(compactBytes.toByteArray(), StandardCharsets.UTF_8)).doesNotContain("\n");
+        assertThat(new String(prettyBytes.toByteArray(), StandardCharsets.UTF_8)).contains("\n");
+    }
+
+    @Test
+    public void toString_WhenLimitsAreBigDecimal_WritesThemExactly() {
+        final Schema schema = jsonSchema()
+                .maximum(new BigDecimal("0.1000000000000000000001"))
+                .minimum(new BigDecimal("12345678901234567890.00"))
+                .multipleOf(new BigDecimal("0.01"))
+                .build();
+
+        assertThat(schema.toString())
+                .contains("\"maximum\":0.1000000000000000000001")
+                .containsPattern("\"minimum\":12345678901234567890[,}]")
+                .contains("\"multipleOf\":0.01");
+    }
+}
@@ -0,0 +1,63 @@
+package io.sbsp.jsonschema.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.SchemaLocation;
+
+import javax.json.JsonValue;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Exposes Jackson {@link JsonNode} trees through the javax.json interfaces that validation reads from, without
+ * copying them.  Each view simply delegates to the underlying node, and child views are only created as they're
+ * visited, so a validator that never looks at part of a document never pays for it.
+ *
+ * <pre>
+ * JsonNode payload = objectMapper.readTree(request.getInputStream());
+ * Optional&lt;ValidationError&gt; error = validator.validate(JacksonJsonValues.wrap(payload));
+ * </pre>
+ *
+ * Validators only read a subject through the javax.json interfaces that {@link JsonValueWithLocation} wraps, so
+ * those interfaces are the tree-access layer: type, number and string access, and key and index iteration.  Other
+ * representations plug in as views (see {@link io.sbsp.jsonschema.utils.JsonObjectView} and
+ * {@link io.sbsp.jsonschema.utils.JsonArrayView}), the same way Java maps and parse tapes do.  A parallel abstraction
+ * would mean a second implementation of every keyword validator, and wouldn't save anything that views don't, since
+ * a view is only a thin wrapper created as the validator reaches it.
+ *
+ * The views are read-only.  They compare equal to javax.json values with the same content, and numbers compare by
+ * mathematical value.  The reverse comparison (and hashing) is up to the provider, so <code>enum</code>,
+ * <code>const</code> and <code>uniqueItems</code> compare values member by member rather than relying on equals.
+ */
+public final class JacksonJsonValues {
+
+    private JacksonJsonValues() {
+    }
+
+    public static JsonValue wrap(JsonNode node) {
+        checkNotNull(node, "node must not be null");
+        switch (node.getNodeType()) {
+            case OBJECT:
+                return new JsonNodeObject(node);
+            case ARRAY:
+                return new JsonNodeArray(node);
+            case STRING:
+            case BINARY:
+                return new JsonNodeString(node);
+            case NUMBER:
+                return new JsonNodeNumber(node);
+            case BOOLEAN:
+                return node.booleanValue() ? JsonValue.TRUE : JsonValue.FALSE;
+            case NULL:
+            case MISSING:
+                return JsonValue.NULL;
+            default:
+                throw new IllegalArgumentException("Unable to validate node of type " + node.getNodeType());
+        }
+    }
+
+    public static JsonValueWithLocation withLocation(JsonNode node, SchemaLocation location) {
+        checkNotNull(location, "location must not be null");
+        return JsonValueWithLocation.fromJsonValue(wrap(node), location);
+    }
+}
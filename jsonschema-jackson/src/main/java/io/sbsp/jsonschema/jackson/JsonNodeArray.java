@@ -0,0 +1,38 @@
+package io.sbsp.jsonschema.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.sbsp.jsonschema.utils.JsonArrayView;
+
+import javax.json.JsonArray;
+import javax.json.JsonValue;
+
+/**
+ * {@link JsonArray} view of an array node.
+ */
+final class JsonNodeArray extends JsonArrayView {
+
+    private final JsonNode node;
+
+    JsonNodeArray(JsonNode node) {
+        this.node = node;
+    }
+
+    @Override
+    public JsonValue get(int index) {
+        final JsonNode item = node.get(index);
+        if (item == null) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + node.size());
+        }
+        return JacksonJsonValues.wrap(item);
+    }
+
+    @Override
+    public int size() {
+        return node.size();
+    }
+
+    @Override
+    public String toString() {
+        return node.toString();
+    }
+}
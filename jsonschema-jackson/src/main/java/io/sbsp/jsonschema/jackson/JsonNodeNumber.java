@@ -0,0 +1,102 @@
+package io.sbsp.jsonschema.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import javax.json.JsonNumber;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * {@link JsonNumber} view of a numeric node.  Integral nodes are read directly, so the common case of validating
+ * integers never creates a {@link BigDecimal}.
+ */
+final class JsonNodeNumber implements JsonNumber {
+
+    private final JsonNode node;
+
+    JsonNodeNumber(JsonNode node) {
+        this.node = node;
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.NUMBER;
+    }
+
+    @Override
+    public boolean isIntegral() {
+        return node.isIntegralNumber() || (node.isBigDecimal() && node.decimalValue().scale() == 0);
+    }
+
+    @Override
+    public int intValue() {
+        return node.intValue();
+    }
+
+    @Override
+    public int intValueExact() {
+        if (node.isIntegralNumber() && node.canConvertToInt()) {
+            return node.intValue();
+        }
+        return bigDecimalValue().intValueExact();
+    }
+
+    @Override
+    public long longValue() {
+        return node.longValue();
+    }
+
+    @Override
+    public long longValueExact() {
+        if (node.isIntegralNumber() && node.canConvertToLong()) {
+            return node.longValue();
+        }
+        return bigDecimalValue().longValueExact();
+    }
+
+    @Override
+    public BigInteger bigIntegerValue() {
+        return node.bigIntegerValue();
+    }
+
+    @Override
+    public BigInteger bigIntegerValueExact() {
+        if (node.isIntegralNumber()) {
+            return node.bigIntegerValue();
+        }
+        return bigDecimalValue().toBigIntegerExact();
+    }
+
+    @Override
+    public double doubleValue() {
+        return node.doubleValue();
+    }
+
+    @Override
+    public BigDecimal bigDecimalValue() {
+        return node.decimalValue();
+    }
+
+    @Override
+    public Number numberValue() {
+        return node.numberValue();
+    }
+
+    /**
+     * Numbers are equal when they have the same mathematical value, so <code>1</code> equals <code>1.0</code>.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof JsonNumber && bigDecimalValue().compareTo(((JsonNumber) o).bigDecimalValue()) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return bigDecimalValue().stripTrailingZeros().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return node.toString();
+    }
+}
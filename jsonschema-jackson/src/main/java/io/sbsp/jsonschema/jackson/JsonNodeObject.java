@@ -0,0 +1,74 @@
+package io.sbsp.jsonschema.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.sbsp.jsonschema.utils.JsonObjectView;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link JsonObject} view of an object node.
+ */
+final class JsonNodeObject extends JsonObjectView {
+
+    private final JsonNode node;
+
+    JsonNodeObject(JsonNode node) {
+        this.node = node;
+    }
+
+    @Override
+    public JsonValue get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        final JsonNode child = node.get((String) key);
+        return child == null ? null : JacksonJsonValues.wrap(child);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && node.has((String) key);
+    }
+
+    @Override
+    public int size() {
+        return node.size();
+    }
+
+    @Override
+    public Set<Entry<String, JsonValue>> entrySet() {
+        return new AbstractSet<Entry<String, JsonValue>>() {
+            @Override
+            public Iterator<Entry<String, JsonValue>> iterator() {
+                final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+                return new Iterator<Entry<String, JsonValue>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return fields.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, JsonValue> next() {
+                        final Map.Entry<String, JsonNode> field = fields.next();
+                        return new SimpleImmutableEntry<>(field.getKey(), JacksonJsonValues.wrap(field.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return node.size();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return node.toString();
+    }
+}
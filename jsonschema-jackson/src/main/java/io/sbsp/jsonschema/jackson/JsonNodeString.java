@@ -0,0 +1,47 @@
+package io.sbsp.jsonschema.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import javax.json.JsonString;
+
+/**
+ * {@link JsonString} view of a text (or binary) node.
+ */
+final class JsonNodeString implements JsonString {
+
+    private final JsonNode node;
+
+    JsonNodeString(JsonNode node) {
+        this.node = node;
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.STRING;
+    }
+
+    @Override
+    public String getString() {
+        return node.asText();
+    }
+
+    @Override
+    public CharSequence getChars() {
+        return getString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof JsonString && getString().equals(((JsonString) o).getString());
+    }
+
+    @Override
+    public int hashCode() {
+        return getString().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return node.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package io.sbsp.jsonschema.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.validator.SchemaValidator;
+import io.sbsp.jsonschema.validator.ValidationError;
+import io.sbsp.jsonschema.validator.ValidationListener;
+import io.sbsp.jsonschema.validator.ValidationReport;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Validates Jackson {@link JsonNode}s against a schema, reading the nodes in place (see {@link JacksonJsonValues}).
+ *
+ * <pre>
+ * JsonNodeValidator validator = new JsonNodeValidator(SchemaValidatorFactory.createValidatorForSchema(schema));
+ * Optional&lt;ValidationError&gt; error = validator.validate(objectMapper.readTree(json));
+ * </pre>
+ */
+public class JsonNodeValidator {
+
+    private final SchemaValidator validator;
+
+    public JsonNodeValidator(SchemaValidator validator) {
+        this.validator = checkNotNull(validator, "validator must not be null");
+    }
+
+    public Optional<ValidationError> validate(JsonNode subject) {
+        checkNotNull(subject, "subject must not be null");
+        return validator.validate(JacksonJsonValues.wrap(subject));
+    }
+
+    /**
+     * Validates {@code subject}, streaming errors to {@code listener}.  See {@link ValidationListener}
+     */
+    public boolean validate(JsonNode subject, ValidationListener listener) {
+        checkNotNull(subject, "subject must not be null");
+        return validator.validate(JacksonJsonValues.wrap(subject), listener);
+    }
+
+    /**
+     * Checks whether {@code subject} is valid, stopping at the first error.
+     */
+    public boolean isValid(JsonNode subject) {
+        checkNotNull(subject, "subject must not be null");
+        final Schema schema = validator.getSchema();
+        return validator.validate(JacksonJsonValues.withLocation(subject, schema.getLocation()), ValidationReport.failFast());
+    }
+
+    public SchemaValidator getValidator() {
+        return validator;
+    }
+}
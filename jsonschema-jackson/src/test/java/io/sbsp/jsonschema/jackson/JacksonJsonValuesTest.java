@@ -0,0 +1,85 @@
+package io.sbsp.jsonschema.jackson;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.sbsp.jsonschema.ObjectComparator;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import io.sbsp.jsonschema.validator.SchemaValidatorFactory;
+import io.sbsp.jsonschema.validator.ValidationError;
+import org.junit.Test;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.util.Optional;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JacksonJsonValuesTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String DOCUMENT = "{\"name\": \"Alice\", \"age\": 21, \"score\": 9.5, \"tags\": [\"a\", \"b\"]," +
+            " \"active\": true, \"manager\": null, \"address\": {\"zip\": \"85295\"}}";
+
+    @Test
+    public void wrap_EqualsJavaxJson() throws Exception {
+        final JsonObject wrapped = JacksonJsonValues.wrap(MAPPER.readTree(DOCUMENT)).asJsonObject();
+        final JsonObject expected = readJsonObject(DOCUMENT);
+
+        assertThat(wrapped).isEqualTo(expected);
+        assertThat(ObjectComparator.lexicalEquivalent(expected, wrapped)).isTrue();
+        for (String key : expected.keySet()) {
+            assertThat(wrapped.get(key)).as(key).isEqualTo(expected.get(key));
+        }
+    }
+
+    @Test
+    public void wrap_NumbersCompareByValue() throws Exception {
+        final JsonValue one = JacksonJsonValues.wrap(MAPPER.readTree("1"));
+        final JsonValue onePointZero = JacksonJsonValues.wrap(MAPPER.readTree("1.0"));
+        final JsonValue big = JacksonJsonValues.wrap(MAPPER.readTree("100000000000000000000"));
+
+        assertThat(one).isEqualTo(onePointZero);
+        assertThat(onePointZero).isEqualTo(one);
+        assertThat(one.hashCode()).isEqualTo(onePointZero.hashCode());
+        assertThat(big).isEqualTo(JacksonJsonValues.wrap(MAPPER.readTree("1.0E20")));
+        assertThat(big.hashCode()).isEqualTo(JacksonJsonValues.wrap(MAPPER.readTree("1.0E20")).hashCode());
+        assertThat(one).isNotEqualTo(JacksonJsonValues.wrap(MAPPER.readTree("1.5")));
+    }
+
+    @Test
+    public void wrap_ReadsValuesInPlace() throws Exception {
+        final JsonObject wrapped = JacksonJsonValues.wrap(MAPPER.readTree(DOCUMENT)).asJsonObject();
+
+        assertThat(wrapped.getString("name")).isEqualTo("Alice");
+        assertThat(wrapped.getJsonNumber("age").isIntegral()).isTrue();
+        assertThat(wrapped.getJsonNumber("score").isIntegral()).isFalse();
+        assertThat(wrapped.getJsonArray("tags").getString(1)).isEqualTo("b");
+        assertThat(wrapped.getBoolean("active")).isTrue();
+        assertThat(wrapped.isNull("manager")).isTrue();
+        assertThat(wrapped.get("missing")).isNull();
+        assertThat(wrapped.keySet()).containsExactly("name", "age", "score", "tags", "active", "manager", "address");
+    }
+
+    @Test
+    public void validate_MatchesJavaxJsonResult() throws Exception {
+        final Schema schema = JsonSchemaFactory.schemaFactory().load(readJsonObject("{" +
+                "\"required\": [\"name\"]," +
+                "\"properties\": {" +
+                "  \"age\": {\"type\": \"integer\", \"maximum\": 18}," +
+                "  \"tags\": {\"items\": {\"enum\": [\"a\", \"c\"]}}," +
+                "  \"address\": {\"const\": {\"zip\": \"85295\"}}" +
+                "}}"));
+        final JsonNodeValidator validator = new JsonNodeValidator(SchemaValidatorFactory.createValidatorForSchema(schema));
+        final JsonNode subject = MAPPER.readTree(DOCUMENT);
+
+        final Optional<ValidationError> expected = validator.getValidator().validate(readJsonObject(DOCUMENT));
+        final Optional<ValidationError> actual = validator.validate(subject);
+
+        assertThat(actual).isPresent();
+        assertThat(actual.get().toString()).isEqualTo(expected.get().toString());
+        assertThat(validator.isValid(subject)).isFalse();
+    }
+}
@@ -2,6 +2,7 @@ package io.sbsp.jsonschema.loading;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Strings;
+import com.google.common.io.CountingInputStream;
 import io.sbsp.jsonschema.JsonPath;
 import io.sbsp.jsonschema.JsonValueWithLocation;
 import io.sbsp.jsonschema.Schema;
@@ -10,9 +11,12 @@ import io.sbsp.jsonschema.SchemaException;
 import io.sbsp.jsonschema.SchemaFactory;
 import io.sbsp.jsonschema.SchemaLocation;
 import io.sbsp.jsonschema.builder.JsonSchemaBuilder;
+import io.sbsp.jsonschema.jfr.JsonSchemaEvents;
 import io.sbsp.jsonschema.loading.reference.DefaultSchemaClient;
 import io.sbsp.jsonschema.loading.reference.SchemaCache;
 import io.sbsp.jsonschema.loading.reference.SchemaClient;
+import io.sbsp.jsonschema.utils.JsonUtils;
+import io.sbsp.jsonschema.utils.KeywordInterner;
 import io.sbsp.jsonschema.utils.URIUtils;
 import lombok.Builder;
 import lombok.Getter;
@@ -55,15 +59,29 @@ public class JsonSchemaFactory implements SchemaFactory {
     private final SchemaCache schemaCache;
     private final SchemaExtractor schemaKeywordExtractor;
 
+    /**
+     * Whether definitions and $ref targets are materialized on first access rather than during loading.  Loading
+     * errors within those subschemas will be raised when they're first accessed.
+     */
+    private final boolean lazy;
+
+    /**
+     * When provided, structurally identical, location-independent subschemas share a single keyword map.
+     */
+    @Nullable
+    private final KeywordInterner interner;
+
     @Builder
     public JsonSchemaFactory(JsonProvider provider, SchemaClient httpClient, Charset charset, SchemaCache schemaCache,
-                             SchemaExtractor extractor) {
-        this.provider = MoreObjects.firstNonNull(provider, JsonProvider.provider());
+                             SchemaExtractor extractor, boolean lazy, KeywordInterner interner) {
+        this.provider = MoreObjects.firstNonNull(provider, JsonUtils.provider());
         this.httpClient = MoreObjects.firstNonNull(httpClient, new DefaultSchemaClient());
         this.charset = MoreObjects.firstNonNull(charset, UTF8);
         this.schemaCache = MoreObjects.firstNonNull(schemaCache, SchemaCache.schemaCacheBuilder().build());
 
         this.schemaKeywordExtractor = MoreObjects.firstNonNull(extractor, SchemaExtractors.flexible());
+        this.lazy = lazy;
+        this.interner = interner;
     }
 
     public Schema loadRootSchema(SchemaLocation location, JsonObject schemaJson) {
@@ -111,13 +129,19 @@ public class JsonSchemaFactory implements SchemaFactory {
         if (schemaJson.has($REF)) {
             //Ignore all other keywords when encountering a ref
             String ref = schemaJson.getString($REF);
-            return refSchemaBuilder(URI.create(ref), schemaJson.getLocation(), this);
+            return refSchemaBuilder(URI.create(ref), schemaJson.getLocation(), this)
+                    .withSourceJson(schemaJson.getWrapped())
+                    .lazy(lazy);
         }
 
         final JsonSchemaBuilder schemaBuilder = schemaJson.findString($ID)
                 .map($id -> jsonSchemaBuilderWithId(schemaJson.getLocation(), $id))
                 .orElse(jsonSchema(schemaJson.getLocation()))
-                .withSchemaFactory(this);
+                .withSourceJson(schemaJson.getWrapped())
+                .withSchemaFactory(this)
+                .provider(provider)
+                .lazy(lazy)
+                .interner(interner);
 
         schemaKeywordExtractor.extractSchema(schemaJson, schemaBuilder, this, report);
         return schemaBuilder;
@@ -152,16 +176,37 @@ public class JsonSchemaFactory implements SchemaFactory {
     }
 
     public Schema load(JsonObject schemaJson) {
+        return load(schemaJson, 0);
+    }
+
+    public Schema load(JsonObject schemaJson, LoadingReport report) throws SchemaLoadingException {
+        return load(schemaJson, report, 0);
+    }
+
+    public Schema load(InputStream inputJson) {
+        checkNotNull(inputJson, "inputStream must not be null");
+        final CountingInputStream countingStream = new CountingInputStream(inputJson);
+        final JsonObject baseDocument = provider.createReader(countingStream).readObject();
+        return load(baseDocument, countingStream.getCount());
+    }
+
+    public Schema load(String inputJson) {
+        checkNotNull(inputJson, "inputStream must not be null");
+        return load(provider.createReader(new StringReader(inputJson)).readObject(), utf8Length(inputJson));
+    }
+
+    private Schema load(JsonObject schemaJson, long documentSize) {
         final LoadingReport report = new LoadingReport();
-        final Schema loadedSchema = load(schemaJson, report);
+        final Schema loadedSchema = load(schemaJson, report, documentSize);
         if (report.hasErrors()) {
             throw new SchemaLoadingException(loadedSchema.getPointerFragmentURI(), report, loadedSchema);
         }
         return loadedSchema;
     }
 
-    public Schema load(JsonObject schemaJson, LoadingReport report) throws SchemaLoadingException {
+    private Schema load(JsonObject schemaJson, LoadingReport report, long documentSize) {
         checkNotNull(schemaJson, "schemaJson must not be null");
+        final Object event = JsonSchemaEvents.beginLoad();
         final SchemaLocation schemaLocation;
         if (schemaJson.containsKey($ID.key())) {
             String $id = schemaJson.getString($ID.key());
@@ -176,19 +221,41 @@ public class JsonSchemaFactory implements SchemaFactory {
             schemaLocation = SchemaLocation.hashedRoot(schemaJson);
         }
 
-        schemaCache.cacheDocument(schemaLocation.getUniqueURI(), schemaJson);
-        return loadRootSchema(schemaLocation, schemaJson, report);
-    }
-
-    public Schema load(InputStream inputJson) {
-        checkNotNull(inputJson, "inputStream must not be null");
-        final JsonObject baseDocument = provider.createReader(inputJson).readObject();
-        return load(baseDocument);
+        final boolean cached = event != null && schemaCache.getSchema(schemaLocation).isPresent();
+        boolean loaded = false;
+        try {
+            schemaCache.cacheDocument(schemaLocation.getUniqueURI(), schemaJson);
+            final Schema schema = loadRootSchema(schemaLocation, schemaJson, report);
+            loaded = true;
+            return schema;
+        } finally {
+            if (event != null) {
+                final int errorCount = report.getErrorCount() + (loaded ? 0 : 1);
+                JsonSchemaEvents.endLoad(event, schemaLocation.getUniqueURI(), documentSize, errorCount, cached);
+            }
+        }
     }
 
-    public Schema load(String inputJson) {
-        checkNotNull(inputJson, "inputStream must not be null");
-        return load(provider.createReader(new StringReader(inputJson)).readObject());
+    /**
+     * The size of {@code json} encoded as UTF-8, so documents loaded from a string report the same size as when
+     * they're loaded from a stream.
+     */
+    private static long utf8Length(String json) {
+        long length = 0;
+        for (int i = 0; i < json.length(); i++) {
+            final char c = json.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < json.length() && Character.isLowSurrogate(json.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
     }
 
     public JsonSchemaFactory withPreloadedSchema(InputStream preloadedSchema) {
@@ -200,30 +267,36 @@ public class JsonSchemaFactory implements SchemaFactory {
 
     JsonObject loadDocument(URI referenceURI) {
         final URI remoteDocumentURI = URIUtils.withoutFragment(referenceURI);
-        final JsonObject targetDocument;
+        final Object event = JsonSchemaEvents.beginFetch();
+        final Optional<JsonObject> cachedDocument = schemaCache.lookupDocument(remoteDocumentURI);
+        if (cachedDocument.isPresent()) {
+            JsonSchemaEvents.endFetch(event, remoteDocumentURI, 0, 0, true);
+            return cachedDocument.get();
+        }
 
-        targetDocument = schemaCache.lookupDocument(remoteDocumentURI)
-                .orElseGet(() -> {
-                    String scheme = Strings.nullToEmpty(referenceURI.getScheme()).toLowerCase();
-                    if (!scheme.startsWith("http")) {
-                        throw new SchemaException(referenceURI, "Couldn't resolve ref within document, but can't load non-http scheme: %s", scheme);
-                    }
-
-                    // Load document remotely
-                    try (InputStream inputStream = httpClient.fetchSchema(remoteDocumentURI)) {
-                        final JsonObject jsonObject = provider.createReader(inputStream).readObject();
-                        schemaCache.cacheDocument(remoteDocumentURI, jsonObject);
-                        return jsonObject;
-                    } catch (IOException e) {
-                        throw new SchemaException(referenceURI, "Error while fetching document '" + referenceURI + "'");
-                    }
-                });
+        final JsonObject jsonObject;
+        long documentSize = 0;
+        try {
+            String scheme = Strings.nullToEmpty(referenceURI.getScheme()).toLowerCase();
+            if (!scheme.startsWith("http")) {
+                throw new SchemaException(referenceURI, "Couldn't resolve ref within document, but can't load non-http scheme: %s", scheme);
+            }
 
-        if (targetDocument == null) {
-            throw new SchemaException(referenceURI, "Unable to get document: " + referenceURI);
+            // Load document remotely
+            try (CountingInputStream inputStream = new CountingInputStream(httpClient.fetchSchema(remoteDocumentURI))) {
+                jsonObject = provider.createReader(inputStream).readObject();
+                documentSize = inputStream.getCount();
+            } catch (IOException e) {
+                throw new SchemaException(referenceURI, "Error while fetching document '" + referenceURI + "'");
+            }
+        } catch (RuntimeException e) {
+            JsonSchemaEvents.endFetch(event, remoteDocumentURI, documentSize, 1, false);
+            throw e;
         }
 
-        return targetDocument;
+        schemaCache.cacheDocument(remoteDocumentURI, jsonObject);
+        JsonSchemaEvents.endFetch(event, remoteDocumentURI, documentSize, 0, false);
+        return jsonObject;
     }
 
     SchemaBuilder findRefInRemoteDocument(URI referenceURI, LoadingReport report) {
@@ -15,6 +15,7 @@ import javax.json.JsonString;
 import javax.json.JsonValue;
 import java.net.URI;
 import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -32,15 +33,15 @@ public class SchemaCache {
 
     @NonNull
     @lombok.Builder.Default
-    private final Map<URI, Map<URI, JsonPath>> documentIdRefs = new HashMap<>();
+    private final Map<URI, Map<URI, JsonPath>> documentIdRefs = new ConcurrentHashMap<>();
 
     @NonNull
     @lombok.Builder.Default
-    private final Map<URI, Schema> absoluteSchemaCache = new HashMap<>();
+    private final Map<URI, Schema> absoluteSchemaCache = new ConcurrentHashMap<>();
 
     @NonNull
     @lombok.Builder.Default
-    private final Map<URI, JsonObject> absoluteDocumentCache = new HashMap<>();
+    private final Map<URI, JsonObject> absoluteDocumentCache = new ConcurrentHashMap<>();
 
     public void cacheSchema(URI schemaURI, Schema schema) {
         checkState(schemaURI.isAbsolute(), "Must be an absolute URI");
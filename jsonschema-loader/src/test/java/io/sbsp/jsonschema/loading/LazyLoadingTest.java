@@ -0,0 +1,107 @@
+package io.sbsp.jsonschema.loading;
+
+import io.sbsp.jsonschema.Draft6Schema;
+import io.sbsp.jsonschema.RefSchema;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.SchemaException;
+import io.sbsp.jsonschema.impl.LazySchema;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.json.JsonObject;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LazyLoadingTest {
+
+    private JsonObject schemaJson;
+
+    @Before
+    public void before() {
+        schemaJson = readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/lazy.json\"," +
+                "\"properties\": {\"name\": {\"$ref\": \"#/definitions/name\"}}," +
+                "\"definitions\": {" +
+                "  \"name\": {\"type\": \"string\", \"maxLength\": 20}," +
+                "  \"broken\": {\"$ref\": \"#/definitions/missing\"}" +
+                "}}");
+    }
+
+    @Test
+    public void load_WhenLazy_DefinitionsAreNotBuiltUntilAccessed() {
+        final Draft6Schema schema = JsonSchemaFactory.builder().lazy(true).build()
+                .load(schemaJson)
+                .asDraft6();
+
+        final Map<String, Schema> definitions = schema.getDefinitions();
+        assertThat(definitions.get("name")).isInstanceOf(LazySchema.class);
+        assertThat(definitions.get("name").asDraft6().getMaxLength()).isEqualTo(20);
+    }
+
+    @Test
+    public void load_WhenLazy_RefIsResolvedOnFirstAccess() {
+        final Draft6Schema schema = JsonSchemaFactory.builder().lazy(true).build()
+                .load(schemaJson)
+                .asDraft6();
+
+        final Schema nameSchema = schema.getProperties().get("name");
+        assertThat(nameSchema).isInstanceOf(RefSchema.class);
+        assertThat(((RefSchema) nameSchema).getRefSchema().asDraft6().getMaxLength()).isEqualTo(20);
+    }
+
+    @Test
+    public void load_WhenLazy_BrokenDefinitionFailsOnAccess() {
+        final Draft6Schema schema = JsonSchemaFactory.builder().lazy(true).build()
+                .load(schemaJson)
+                .asDraft6();
+
+        final Schema broken = schema.getDefinitions().get("broken");
+        assertThatThrownBy(broken::asDraft6).isInstanceOf(SchemaException.class);
+    }
+
+    @Test
+    public void load_WhenLazy_DefinitionsMaterializeToEagerlyLoadedSchemas() {
+        final JsonObject withoutBroken = readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/lazy.json\"," +
+                "\"properties\": {\"name\": {\"$ref\": \"#/definitions/name\"}}," +
+                "\"definitions\": {\"name\": {\"type\": \"string\", \"maxLength\": 20}}}");
+        final Schema eager = JsonSchemaFactory.schemaFactory().load(withoutBroken).asDraft6().getDefinitions().get("name");
+        final Schema lazy = JsonSchemaFactory.builder().lazy(true).build().load(withoutBroken).asDraft6().getDefinitions().get("name");
+
+        final Schema materialized = ((LazySchema) lazy).materialize();
+        assertThat(materialized).isEqualTo(eager);
+        assertThat(eager).isEqualTo(materialized);
+    }
+
+    @Test
+    public void lazySchema_LocationAndEquality_DoNotBuildSchema() {
+        final Draft6Schema schema = JsonSchemaFactory.builder().lazy(true).build()
+                .load(schemaJson)
+                .asDraft6();
+        final Schema broken = schema.getDefinitions().get("broken");
+
+        // The broken definition throws if it's ever built
+        assertThat(broken.getLocation().getJsonPointerFragment().toString()).isEqualTo("#/definitions/broken");
+        assertThat(new HashSet<>(Collections.singleton(broken))).contains(broken);
+        assertThat(broken).isNotEqualTo(schema);
+        assertThat(schema).isNotEqualTo(broken);
+    }
+
+    @Test
+    public void load_WhenLazyTwice_SchemasAreEqualWithoutBuilding() {
+        final Schema first = JsonSchemaFactory.builder().lazy(true).build().load(schemaJson);
+        final Schema second = JsonSchemaFactory.builder().lazy(true).build().load(schemaJson);
+
+        // Includes the broken definition, which throws if it's ever built
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+        final Schema broken = second.asDraft6().getDefinitions().get("broken");
+        assertThat(first.asDraft6().getDefinitions().get("broken")).isEqualTo(broken);
+        assertThat(first.asDraft6().getDefinitions().get("name")).isNotEqualTo(broken);
+    }
+}
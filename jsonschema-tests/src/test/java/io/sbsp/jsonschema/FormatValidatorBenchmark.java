@@ -0,0 +1,91 @@
+package io.sbsp.jsonschema;
+
+import com.google.common.net.InetAddresses;
+import com.google.common.net.InternetDomainName;
+import io.sbsp.jsonschema.validator.keywords.string.formatValidators.DateTimeFormatValidator;
+import io.sbsp.jsonschema.validator.keywords.string.formatValidators.FormatValidator;
+import io.sbsp.jsonschema.validator.keywords.string.formatValidators.HostnameFormatValidator;
+import io.sbsp.jsonschema.validator.keywords.string.formatValidators.IPV4Validator;
+import io.sbsp.jsonschema.validator.keywords.string.formatValidators.IPV6Validator;
+import io.sbsp.jsonschema.validator.keywords.string.formatValidators.URIFormatValidator;
+import org.junit.Test;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.function.Predicate;
+
+/**
+ * Compares the built-in format validators against the parse-and-catch approach they replaced (java.time, Guava
+ * and java.net.URI).  Half of each input set is invalid, since that's where exceptions get expensive.
+ */
+public class FormatValidatorBenchmark {
+
+    private static final int ITERATIONS = 20_000;
+
+    @Test
+    public void testFormatPerformance() {
+        compare("date-time", new DateTimeFormatValidator(), s -> {
+            try {
+                DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(s);
+                return true;
+            } catch (DateTimeParseException e) {
+                return false;
+            }
+        }, "1963-06-19T08:30:06.283185Z", "2017-10-19T11:00:00-08:00", "1996-60-999T16:39:57-08:00", "2015-03-13T11:00:000");
+
+        compare("hostname", new HostnameFormatValidator(), s -> {
+            try {
+                InternetDomainName.from(s);
+                return true;
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }, "www.example.com", "api.sbsp.io", "a..example.com", "-a-.example.com");
+
+        compare("ipv4", new IPV4Validator(), s -> InetAddresses.isInetAddress(s) && InetAddresses.forString(s).getAddress().length == 4,
+                "192.168.0.1", "10.0.0.254", "256.0.0.1", "asd");
+
+        compare("ipv6", new IPV6Validator(), s -> InetAddresses.isInetAddress(s) && InetAddresses.forString(s).getAddress().length == 16,
+                "2001:db8:85a3:0:0:8a2e:370:7334", "fe80::1", "1::2::3", "127.0.0.1");
+
+        compare("uri", new URIFormatValidator(), s -> {
+            try {
+                new URI(s);
+                return true;
+            } catch (URISyntaxException e) {
+                return false;
+            }
+        }, "http://example.org:8080/example.html", "urn:isbn:0451450523", "12 34", "http://example.com/a%2");
+    }
+
+    private static void compare(String format, FormatValidator validator, Predicate<String> legacy, String... inputs) {
+        // Warm both paths up before timing
+        time(validator, legacy, inputs, true);
+        time(validator, legacy, inputs, false);
+
+        final long legacyNanos = time(validator, legacy, inputs, false);
+        final long scannerNanos = time(validator, legacy, inputs, true);
+        System.out.println(String.format("%-10s legacy: %6d ms, scanner: %6d ms", format,
+                legacyNanos / 1_000_000, scannerNanos / 1_000_000));
+    }
+
+    private static long time(FormatValidator validator, Predicate<String> legacy, String[] inputs, boolean scanner) {
+        int valid = 0;
+        final long startAt = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            for (String input : inputs) {
+                final boolean isValid = scanner ? !validator.validate(input).isPresent() : legacy.test(input);
+                if (isValid) {
+                    valid++;
+                }
+            }
+        }
+        final long elapsed = System.nanoTime() - startAt;
+        if (valid != ITERATIONS * inputs.length / 2) {
+            throw new IllegalStateException("Unexpected result count for " + validator.formatName() + ": " + valid);
+        }
+        return elapsed;
+    }
+}
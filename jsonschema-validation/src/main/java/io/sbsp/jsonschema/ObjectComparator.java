@@ -1,7 +1,13 @@
 package io.sbsp.jsonschema;
 
+import javax.json.JsonArray;
 import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
 import javax.json.JsonValue;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -17,13 +23,56 @@ public final class ObjectComparator {
      *
      * These would be equal mathematically, but should not be considered to be lexically equivalent.
      *
+     * Objects and arrays are compared member by member rather than with equals, so values from different
+     * javax.json implementations (or views like <code>JsonTape</code>) compare by content.
      */
     public static boolean lexicalEquivalent(final JsonValue obj1, final JsonValue obj2) {
+        return equivalent(obj1, obj2, true);
+    }
+
+    /**
+     * Checks that elements are equal as JSON values: numbers are equal when they have the same mathematical value
+     * (so 1 equals 1.0), and objects and arrays are compared member by member, as with
+     * {@link #lexicalEquivalent(JsonValue, JsonValue)}.
+     */
+    public static boolean jsonEquals(final JsonValue obj1, final JsonValue obj2) {
+        return equivalent(obj1, obj2, false);
+    }
+
+    private static boolean equivalent(final JsonValue obj1, final JsonValue obj2, final boolean lexical) {
         if (obj1 instanceof JsonNumber && obj2 instanceof JsonNumber) {
-            JsonNumber n1 = ((JsonNumber) obj1);
-            JsonNumber n2 = ((JsonNumber) obj2);
+            final BigDecimal n1 = ((JsonNumber) obj1).bigDecimalValue();
+            final BigDecimal n2 = ((JsonNumber) obj2).bigDecimalValue();
 
-            return n1.bigDecimalValue().equals(n2.bigDecimalValue());
+            return lexical ? n1.equals(n2) : n1.compareTo(n2) == 0;
+        } else if (obj1 instanceof JsonString && obj2 instanceof JsonString) {
+            return ((JsonString) obj1).getString().equals(((JsonString) obj2).getString());
+        } else if (obj1 instanceof JsonObject && obj2 instanceof JsonObject) {
+            final JsonObject o1 = (JsonObject) obj1;
+            final JsonObject o2 = (JsonObject) obj2;
+            if (o1.size() != o2.size()) {
+                return false;
+            }
+            for (Map.Entry<String, JsonValue> member : o1.entrySet()) {
+                final JsonValue other = o2.get(member.getKey());
+                if (other == null || !equivalent(member.getValue(), other, lexical)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (obj1 instanceof JsonArray && obj2 instanceof JsonArray) {
+            final JsonArray a1 = (JsonArray) obj1;
+            final JsonArray a2 = (JsonArray) obj2;
+            if (a1.size() != a2.size()) {
+                return false;
+            }
+            final Iterator<JsonValue> items = a2.iterator();
+            for (JsonValue item : a1) {
+                if (!equivalent(item, items.next(), lexical)) {
+                    return false;
+                }
+            }
+            return true;
         } else {
             return Objects.equals(obj1, obj2);
         }
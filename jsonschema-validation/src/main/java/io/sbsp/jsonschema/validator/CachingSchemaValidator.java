@@ -0,0 +1,199 @@
+package io.sbsp.jsonschema.validator;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.HashCode;
+import com.google.common.io.ByteStreams;
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.jfr.JsonSchemaEvents;
+import lombok.Builder;
+
+import javax.annotation.Nullable;
+import javax.json.JsonValue;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Caches the result of validating whole documents, for workloads where the same payload arrives repeatedly (retries,
+ * idempotent replays, polling clients).
+ *
+ * Results are keyed by the {@link ContentHash} (a SHA-256 digest) of the subject, and the cache belongs to a single
+ * validator, so a hit means the same validator already saw the same content.  The content itself isn't retained or
+ * compared; the digest is what guarantees a hit is for the same document.  Callers that have the raw bytes can pass
+ * them in, and a hit skips parsing altogether.  The cache is bounded, can expire entries after a TTL, and is safe for concurrent
+ * use.
+ *
+ * When {@code storeErrors} is false only the outcome is cached: valid results are served from the cache, and an
+ * invalid result is recomputed if the caller asks for the errors.
+ *
+ * Cache hits are recorded as <code>io.sbsp.jsonschema.Validation</code> Flight Recorder events marked as cached.
+ * They're far quicker than the event's 10 ms default threshold, so they only show up in a recording that lowers it.
+ *
+ * <pre>
+ * CachingSchemaValidator validator = CachingSchemaValidator.cachingValidator()
+ *         .validator(SchemaValidatorFactory.createValidatorForSchema(schema))
+ *         .maximumSize(50_000)
+ *         .expireAfterWrite(Duration.ofMinutes(10))
+ *         .build();
+ * </pre>
+ */
+public class CachingSchemaValidator implements SchemaValidator {
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final SchemaValidator validator;
+    private final Cache<HashCode, CachedResult> results;
+    private final boolean storeErrors;
+
+    @Builder(builderMethodName = "cachingValidator")
+    public CachingSchemaValidator(SchemaValidator validator, long maximumSize, @Nullable Duration expireAfterWrite, boolean storeErrors) {
+        this.validator = checkNotNull(validator, "validator must not be null");
+        checkArgument(maximumSize >= 0, "maximumSize must not be negative");
+        final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize == 0 ? DEFAULT_MAXIMUM_SIZE : maximumSize)
+                .recordStats();
+        if (expireAfterWrite != null) {
+            cacheBuilder.expireAfterWrite(expireAfterWrite.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        this.results = cacheBuilder.build();
+        this.storeErrors = storeErrors;
+    }
+
+    /**
+     * Only valid outcomes are served from the cache here.  Errors carry the subject's location, so an invalid subject
+     * is always validated into {@code report}.
+     */
+    @Override
+    public boolean validate(JsonValueWithLocation subject, ValidationReport report) {
+        final HashCode key = ContentHash.hash(subject.getWrapped());
+        final CachedResult cached = results.getIfPresent(key);
+        if (cached != null && cached.valid) {
+            return true;
+        }
+        final boolean valid = validator.validate(subject, report);
+        if (valid) {
+            results.put(key, new CachedResult(true, null));
+        }
+        return valid;
+    }
+
+    @Override
+    public Optional<ValidationError> validate(JsonValue subject) {
+        checkNotNull(subject, "subject must not be null");
+        return validate(ContentHash.hash(subject), () -> subject);
+    }
+
+    public boolean isValid(JsonValue subject) {
+        checkNotNull(subject, "subject must not be null");
+        return isValid(ContentHash.hash(subject), () -> subject);
+    }
+
+    /**
+     * Validates a document that hasn't been parsed yet.  {@code parser} is only invoked when there's no usable cached
+     * result for {@code raw}.
+     */
+    public Optional<ValidationError> validate(byte[] raw, Function<byte[], ? extends JsonValue> parser) {
+        checkNotNull(raw, "raw must not be null");
+        checkNotNull(parser, "parser must not be null");
+        return validate(ContentHash.hash(raw), () -> parser.apply(raw));
+    }
+
+    /**
+     * Checks a document that hasn't been parsed yet.  {@code parser} is only invoked when there's no cached result for
+     * {@code raw}.
+     */
+    public boolean isValid(byte[] raw, Function<byte[], ? extends JsonValue> parser) {
+        checkNotNull(raw, "raw must not be null");
+        checkNotNull(parser, "parser must not be null");
+        return isValid(ContentHash.hash(raw), () -> parser.apply(raw));
+    }
+
+    /**
+     * Validates a document that hasn't been read yet.  The stream is read to the end (but not closed), and
+     * {@code parser} is only invoked when there's no usable cached result for its content.
+     */
+    public Optional<ValidationError> validate(InputStream raw, Function<byte[], ? extends JsonValue> parser) throws IOException {
+        checkNotNull(raw, "raw must not be null");
+        return validate(ByteStreams.toByteArray(raw), parser);
+    }
+
+    /**
+     * Checks a document that hasn't been read yet.  The stream is read to the end (but not closed), and
+     * {@code parser} is only invoked when there's no cached result for its content.
+     */
+    public boolean isValid(InputStream raw, Function<byte[], ? extends JsonValue> parser) throws IOException {
+        checkNotNull(raw, "raw must not be null");
+        return isValid(ByteStreams.toByteArray(raw), parser);
+    }
+
+    @Override
+    public Schema getSchema() {
+        return validator.getSchema();
+    }
+
+    public CacheStats getStats() {
+        return results.stats();
+    }
+
+    public void invalidateAll() {
+        results.invalidateAll();
+    }
+
+    private Optional<ValidationError> validate(HashCode key, Supplier<JsonValue> subject) {
+        final CachedResult cached = results.getIfPresent(key);
+        if (cached != null && (cached.valid || storeErrors)) {
+            recordHit(cached);
+            return Optional.ofNullable(cached.error);
+        }
+        final Optional<ValidationError> error = validator.validate(subject.get());
+        results.put(key, new CachedResult(!error.isPresent(), storeErrors ? error.orElse(null) : null));
+        return error;
+    }
+
+    private boolean isValid(HashCode key, Supplier<JsonValue> subject) {
+        final CachedResult cached = results.getIfPresent(key);
+        if (cached != null) {
+            recordHit(cached);
+            return cached.valid;
+        }
+        final Optional<ValidationError> error = validator.validate(subject.get());
+        results.put(key, new CachedResult(!error.isPresent(), storeErrors ? error.orElse(null) : null));
+        return !error.isPresent();
+    }
+
+    /**
+     * Misses are recorded by the delegate's own validation event.
+     */
+    private void recordHit(CachedResult cached) {
+        final Object event = JsonSchemaEvents.beginValidation();
+        JsonSchemaEvents.endValidation(event, getSchema().getLocation().getUniqueURI(), cached.getErrorCount(), true);
+    }
+
+    private static class CachedResult {
+        private final boolean valid;
+        @Nullable
+        private final ValidationError error;
+
+        CachedResult(boolean valid, @Nullable ValidationError error) {
+            this.valid = valid;
+            this.error = error;
+        }
+
+        int getErrorCount() {
+            if (error != null) {
+                return error.getViolationCount();
+            }
+            return valid ? 0 : 1;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.sbsp.jsonschema.validator;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Streaming SHA-256 content hashes for validation subjects, used as keys by {@link CachingSchemaValidator}.
+ *
+ * The digest is cryptographic so that a cached result can be trusted without keeping and comparing the content
+ * itself: finding two documents with the same hash isn't feasible, even for a client choosing its inputs.
+ *
+ * A {@link JsonValue} is hashed by walking the tree and feeding a tagged, length-prefixed encoding of each node into
+ * a single hasher, so the hash only depends on the content (not on formatting or the JsonProvider), and no
+ * intermediate text is produced.  Object members are hashed in iteration order - documents that differ only in key
+ * order can report errors in a different order, so they're treated as different content.
+ *
+ * Raw bytes are hashed as-is, which lets a caller look up a result before parsing.  Byte hashes and value hashes are
+ * in separate domains and never collide with one another.
+ */
+public final class ContentHash {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.sha256();
+
+    private static final byte VALUE_DOMAIN = 'v';
+    private static final byte BYTES_DOMAIN = 'b';
+
+    private ContentHash() {
+    }
+
+    public static HashCode hash(JsonValue value) {
+        checkNotNull(value, "value must not be null");
+        final Hasher hasher = HASH_FUNCTION.newHasher().putByte(VALUE_DOMAIN);
+        putValue(hasher, value);
+        return hasher.hash();
+    }
+
+    public static HashCode hash(byte[] bytes) {
+        checkNotNull(bytes, "bytes must not be null");
+        return HASH_FUNCTION.newHasher(bytes.length + 1)
+                .putByte(BYTES_DOMAIN)
+                .putBytes(bytes)
+                .hash();
+    }
+
+    private static void putValue(Hasher hasher, JsonValue value) {
+        switch (value.getValueType()) {
+            case OBJECT:
+                final JsonObject object = (JsonObject) value;
+                hasher.putByte((byte) '{').putInt(object.size());
+                for (Map.Entry<String, JsonValue> member : object.entrySet()) {
+                    putString(hasher, member.getKey());
+                    putValue(hasher, member.getValue());
+                }
+                break;
+            case ARRAY:
+                final JsonArray array = (JsonArray) value;
+                hasher.putByte((byte) '[').putInt(array.size());
+                for (JsonValue item : array) {
+                    putValue(hasher, item);
+                }
+                break;
+            case STRING:
+                hasher.putByte((byte) '"');
+                putString(hasher, ((JsonString) value).getString());
+                break;
+            case NUMBER:
+                hasher.putByte((byte) '#');
+                putString(hasher, ((JsonNumber) value).toString());
+                break;
+            case TRUE:
+                hasher.putByte((byte) 't');
+                break;
+            case FALSE:
+                hasher.putByte((byte) 'f');
+                break;
+            case NULL:
+                hasher.putByte((byte) 'n');
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown value type: " + value.getValueType());
+        }
+    }
+
+    private static void putString(Hasher hasher, String string) {
+        hasher.putInt(string.length()).putString(string, StandardCharsets.UTF_8);
+    }
+}
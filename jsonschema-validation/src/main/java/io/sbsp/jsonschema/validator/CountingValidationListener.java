@@ -0,0 +1,46 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.enums.JsonSchemaKeywordType;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Forwards to another listener, counting the errors that pass through.  Used to record the error count of a streamed
+ * validation.
+ */
+class CountingValidationListener implements ValidationListener {
+
+    private final ValidationListener listener;
+    private int errorCount;
+
+    CountingValidationListener(ValidationListener listener) {
+        this.listener = checkNotNull(listener, "listener must not be null");
+    }
+
+    int getErrorCount() {
+        return errorCount;
+    }
+
+    @Override
+    public void onError(ValidationError error) {
+        errorCount++;
+        listener.onError(error);
+    }
+
+    @Override
+    public void enterComposite(JsonSchemaKeywordType keyword, Schema schema, JsonValueWithLocation subject) {
+        listener.enterComposite(keyword, schema, subject);
+    }
+
+    @Override
+    public void exitComposite(JsonSchemaKeywordType keyword, Schema schema, JsonValueWithLocation subject, boolean valid) {
+        listener.exitComposite(keyword, schema, subject, valid);
+    }
+
+    @Override
+    public boolean shouldStop() {
+        return listener.shouldStop();
+    }
+}
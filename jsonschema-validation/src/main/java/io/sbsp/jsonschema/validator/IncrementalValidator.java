@@ -0,0 +1,131 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.JsonValueWithLocation;
+
+import javax.json.JsonMergePatch;
+import javax.json.JsonPatch;
+import javax.json.JsonStructure;
+import javax.json.JsonValue;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Revalidates documents that are edited through JSON Patch (RFC 6902) or JSON Merge Patch (RFC 7396) without
+ * re-running validation for the parts of the document that didn't change.
+ *
+ * Every validation retains a {@link ValidationMemo} of per-node results.  JsonValue instances are immutable, and
+ * applying a patch rebuilds only the containers along the changed paths - untouched subtrees are carried into the
+ * patched document as-is.  When the patched document is validated, subtrees that are still the same instance at the
+ * same path replay their retained result, while the changed subtrees and every ancestor container (along with
+ * container keywords like <code>required</code>, <code>maxProperties</code>, <code>uniqueItems</code> and
+ * <code>dependencies</code>) are validated again.  The result is always the same as a full revalidation.
+ *
+ * <pre>
+ * IncrementalValidator incremental = new IncrementalValidator(validator);
+ * ValidationState state = incremental.validate(document);
+ * state = incremental.revalidate(state, patch);
+ * </pre>
+ */
+public class IncrementalValidator {
+
+    private final SchemaValidator validator;
+    private final int maxEntries;
+
+    public IncrementalValidator(SchemaValidator validator) {
+        this(validator, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param validator  The validator for the document's schema
+     * @param maxEntries The maximum number of per-node results to retain between revisions
+     */
+    public IncrementalValidator(SchemaValidator validator, int maxEntries) {
+        this.validator = checkNotNull(validator, "validator must not be null");
+        checkArgument(maxEntries > 0, "maxEntries must be greater than 0");
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Performs a full validation of {@code document}, retaining state for subsequent calls to revalidate
+     */
+    public ValidationState validate(JsonValue document) {
+        return validate(document, null);
+    }
+
+    /**
+     * Applies {@code patch} to the document held by {@code previous}, and validates the result.
+     *
+     * @throws javax.json.JsonException if the patch can't be applied
+     */
+    public ValidationState revalidate(ValidationState previous, JsonPatch patch) {
+        checkNotNull(previous, "previous must not be null");
+        checkNotNull(patch, "patch must not be null");
+        checkArgument(previous.getDocument() instanceof JsonStructure, "JsonPatch can only be applied to an object or array");
+        return validate(patch.apply((JsonStructure) previous.getDocument()), previous);
+    }
+
+    /**
+     * Applies {@code patch} to the document held by {@code previous}, and validates the result.
+     */
+    public ValidationState revalidate(ValidationState previous, JsonMergePatch patch) {
+        checkNotNull(previous, "previous must not be null");
+        checkNotNull(patch, "patch must not be null");
+        return validate(patch.apply(previous.getDocument()), previous);
+    }
+
+    /**
+     * Validates {@code document}, a revision of the document held by {@code previous} that was modified by some other
+     * means.  Only subtrees that are the same instance as in the previous revision are reused.
+     */
+    public ValidationState revalidate(ValidationState previous, JsonValue document) {
+        checkNotNull(previous, "previous must not be null");
+        return validate(document, previous);
+    }
+
+    private ValidationState validate(JsonValue document, ValidationState previous) {
+        checkNotNull(document, "document must not be null");
+        checkArgument(previous == null || previous.validator == validator, "state was produced by a different validator");
+
+        final ValidationMemo memo = new ValidationMemo(maxEntries, previous == null ? null : previous.memo);
+        final ValidationReport report = new ValidationReport(memo);
+        validator.validate(JsonValueWithLocation.fromJsonValue(document, validator.getSchema().getLocation()), report);
+        return new ValidationState(validator, document, report, memo);
+    }
+
+    /**
+     * The result of validating one revision of a document, along with the state needed to revalidate the next one.
+     */
+    public static class ValidationState {
+        private final SchemaValidator validator;
+        private final JsonValue document;
+        private final ValidationReport report;
+        private final ValidationMemo memo;
+
+        ValidationState(SchemaValidator validator, JsonValue document, ValidationReport report, ValidationMemo memo) {
+            this.validator = validator;
+            this.document = document;
+            this.report = report;
+            this.memo = memo;
+        }
+
+        public JsonValue getDocument() {
+            return document;
+        }
+
+        public ValidationReport getReport() {
+            return report;
+        }
+
+        public boolean isValid() {
+            return report.isValid();
+        }
+
+        /**
+         * @return How many per-node results were reused from the previous revision
+         */
+        public int getReusedResults() {
+            return memo.getHits();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package io.sbsp.jsonschema.validator;
+
+import com.google.common.base.Suppliers;
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.RefSchema;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.impl.LazySchema;
+import io.sbsp.jsonschema.keyword.DependenciesKeyword;
+import io.sbsp.jsonschema.keyword.ItemsKeyword;
+import io.sbsp.jsonschema.keyword.KeywordMetadata;
+import io.sbsp.jsonschema.keyword.Keywords;
+import io.sbsp.jsonschema.keyword.SchemaKeyword;
+import io.sbsp.jsonschema.keyword.SchemaListKeyword;
+import io.sbsp.jsonschema.keyword.SchemaMapKeyword;
+import io.sbsp.jsonschema.keyword.SingleSchemaKeyword;
+
+import javax.annotation.Nullable;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Validator for a schema that's structurally identical to one that's already been built.  Validation is delegated
+ * to the shared validator with the caller's report, and any errors are re-attributed to this schema as they're added,
+ * so they report the correct location (and still stream to a {@link ValidationListener} one at a time).
+ *
+ * The shared schema can have subschemas (see {@link #isInternable(Schema)}).  An error raised by one of them is
+ * attributed to the subschema at the same position under this schema.  The mapping between the two trees is only
+ * worked out when the first such error is raised.
+ */
+class InternedSchemaValidator implements SchemaValidator {
+
+    private final Schema schema;
+    private final SchemaValidator canonical;
+    private final Supplier<Map<Schema, Schema>> subschemas;
+
+    InternedSchemaValidator(Schema schema, SchemaValidator canonical) {
+        this.schema = checkNotNull(schema, "schema must not be null");
+        this.canonical = checkNotNull(canonical, "canonical must not be null");
+        this.subschemas = Suppliers.memoize(() -> {
+            final Map<Schema, Schema> mapping = new IdentityHashMap<>();
+            forEachSubschemaPair(canonical.getSchema(), schema, mapping::put);
+            return mapping;
+        });
+    }
+
+    @Override
+    public boolean validate(JsonValueWithLocation subject, ValidationReport report) {
+        return canonical.validate(subject, report.createAttributingReport(this::attribute));
+    }
+
+    @Override
+    public Schema getSchema() {
+        return schema;
+    }
+
+    SchemaValidator getCanonical() {
+        return canonical;
+    }
+
+    /**
+     * The schema under this one that corresponds to {@code violated} under the canonical schema, or null if
+     * {@code violated} isn't part of the canonical schema.
+     */
+    @Nullable
+    Schema attribute(Schema violated) {
+        if (violated == canonical.getSchema()) {
+            return schema;
+        }
+        return subschemas.get().get(violated);
+    }
+
+    /**
+     * Whether validating against {@code schema} doesn't depend on where it appears: neither it nor any of its
+     * subschemas has an <code>$id</code> or a <code>$ref</code>.  Lazy subschemas aren't built to find out.
+     */
+    static boolean isInternable(Schema schema) {
+        if (schema instanceof RefSchema || schema instanceof LazySchema) {
+            return false;
+        }
+        final Map<KeywordMetadata<?>, SchemaKeyword> keywords = schema.getKeywords();
+        if (keywords.containsKey(Keywords.$id) || keywords.containsKey(Keywords.id)) {
+            return false;
+        }
+        final boolean[] internable = {true};
+        forEachKeywordChildPair(keywords, keywords, (child, same) -> internable[0] &= isInternable(child));
+        return internable[0];
+    }
+
+    /**
+     * Calls {@code action} with each pair of corresponding subschemas (at any depth) of two structurally equal
+     * schemas.
+     */
+    private static void forEachSubschemaPair(Schema original, Schema replacement, BiConsumer<Schema, Schema> action) {
+        forEachKeywordChildPair(original.getKeywords(), replacement.getKeywords(), (originalChild, replacementChild) -> {
+            action.accept(originalChild, replacementChild);
+            forEachSubschemaPair(originalChild, replacementChild, action);
+        });
+    }
+
+    private static void forEachKeywordChildPair(Map<KeywordMetadata<?>, SchemaKeyword> original,
+                                                Map<KeywordMetadata<?>, SchemaKeyword> replacement,
+                                                BiConsumer<Schema, Schema> action) {
+        original.forEach((keyword, value) -> forEachChildPair(value, replacement.get(keyword), action));
+    }
+
+    private static void forEachChildPair(SchemaKeyword original, SchemaKeyword replacement, BiConsumer<Schema, Schema> action) {
+        if (original instanceof SingleSchemaKeyword) {
+            action.accept(((SingleSchemaKeyword) original).getSchema(), ((SingleSchemaKeyword) replacement).getSchema());
+        } else if (original instanceof SchemaListKeyword) {
+            forEachChildPair(((SchemaListKeyword) original).getSchemas(), ((SchemaListKeyword) replacement).getSchemas(), action);
+        } else if (original instanceof SchemaMapKeyword) {
+            forEachChildPair(((SchemaMapKeyword) original).getSchemas(), ((SchemaMapKeyword) replacement).getSchemas(), action);
+        } else if (original instanceof ItemsKeyword) {
+            final ItemsKeyword originalItems = (ItemsKeyword) original;
+            final ItemsKeyword replacementItems = (ItemsKeyword) replacement;
+            forEachChildPair(originalItems.getAllItemSchema(), replacementItems.getAllItemSchema(), action);
+            forEachChildPair(originalItems.getAdditionalItemSchema(), replacementItems.getAdditionalItemSchema(), action);
+            forEachChildPair(originalItems.getIndexedSchemas(), replacementItems.getIndexedSchemas(), action);
+        } else if (original instanceof DependenciesKeyword) {
+            forEachChildPair(((DependenciesKeyword) original).getDependencySchemas().getSchemas(),
+                    ((DependenciesKeyword) replacement).getDependencySchemas().getSchemas(), action);
+        }
+    }
+
+    private static void forEachChildPair(List<Schema> original, List<Schema> replacement, BiConsumer<Schema, Schema> action) {
+        for (int i = 0; i < original.size(); i++) {
+            action.accept(original.get(i), replacement.get(i));
+        }
+    }
+
+    private static void forEachChildPair(Map<String, Schema> original, Map<String, Schema> replacement, BiConsumer<Schema, Schema> action) {
+        original.forEach((key, schema) -> action.accept(schema, replacement.get(key)));
+    }
+
+    private static void forEachChildPair(Optional<Schema> original, Optional<Schema> replacement, BiConsumer<Schema, Schema> action) {
+        if (original.isPresent()) {
+            action.accept(original.get(), replacement.get());
+        }
+    }
+}
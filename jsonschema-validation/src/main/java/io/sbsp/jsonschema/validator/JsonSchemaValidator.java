@@ -70,18 +70,37 @@ public class JsonSchemaValidator implements SchemaValidator {
      * @return true if the {@code subject} passed validation
      */
     public boolean validate(JsonValueWithLocation subject, ValidationReport parentReport) {
-        if (noop) {
+        if (noop || parentReport.isStopped()) {
             return true;
         }
 
+        final ValidationMemo memo = parentReport.getMemo();
+        if (memo != null) {
+            List<ValidationError> errors = memo.get(schema, subject);
+            if (errors == null) {
+                final ValidationReport memoReport = parentReport.createUnattributedReport();
+                validateSubject(subject, memoReport);
+                errors = memo.put(schema, subject, memoReport.getErrors());
+            }
+            errors.forEach(parentReport::addUnattributedError);
+            return errors.isEmpty();
+        }
+        return validateSubject(subject, parentReport);
+    }
+
+    private boolean validateSubject(JsonValueWithLocation subject, ValidationReport parentReport) {
         ValidationReport childReport = null;
 
         final List<KeywordValidator> applicableValidators = findValidators(subject);
         if (applicableValidators != null) {
-            childReport = parentReport.createChildReport();
+            childReport = parentReport.createPassThroughReport();
             final int size = applicableValidators.size();
+            final boolean failFast = parentReport.isFailFast();
             for (int i = 0; i < size; i++) {
                 applicableValidators.get(i).validate(subject, childReport);
+                if ((failFast && !childReport.isValid()) || childReport.isStopped()) {
+                    break;
+                }
             }
         }
 
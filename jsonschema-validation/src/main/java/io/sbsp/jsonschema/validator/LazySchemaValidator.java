@@ -0,0 +1,52 @@
+package io.sbsp.jsonschema.validator;
+
+import com.google.common.base.Suppliers;
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.Schema;
+
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Validator that defers building the underlying {@link JsonSchemaValidator} (and therefore all of its keyword and child
+ * validators) until the first time it's asked to validate something.  Construction is thread-safe, and happens at
+ * most once.
+ */
+class LazySchemaValidator implements SchemaValidator {
+
+    private final Schema schema;
+    private final Supplier<SchemaValidator> validator;
+    private volatile boolean materialized;
+
+    LazySchemaValidator(Schema schema, Supplier<SchemaValidator> validator) {
+        checkNotNull(validator, "validator must not be null");
+        this.schema = checkNotNull(schema, "schema must not be null");
+        this.validator = Suppliers.memoize(() -> {
+            final SchemaValidator built = validator.get();
+            materialized = true;
+            return built;
+        });
+    }
+
+    @Override
+    public boolean validate(JsonValueWithLocation subject, ValidationReport report) {
+        return validator.get().validate(subject, report);
+    }
+
+    @Override
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Builds the underlying validator now, if it hasn't been built already.
+     */
+    SchemaValidator materialize() {
+        return validator.get();
+    }
+
+    boolean isMaterialized() {
+        return materialized;
+    }
+}
@@ -0,0 +1,258 @@
+package io.sbsp.jsonschema.validator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.SchemaLocation;
+import io.sbsp.jsonschema.validator.keywords.AllOfValidator;
+import io.sbsp.jsonschema.validator.keywords.ChildSchemaValidator;
+import io.sbsp.jsonschema.validator.keywords.KeywordValidator;
+
+import javax.json.JsonValue;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Validates a single document against many candidate schemas, eg. to classify an inbound message.
+ *
+ * The document is walked once.  At each node, every candidate's keywords for that node are evaluated, and the
+ * subschemas that keywords like <code>properties</code> and <code>items</code> apply to each child are gathered up,
+ * so each child is then visited once for all of the candidates (see {@link ChildSchemaValidator}).  In fail-fast mode,
+ * a candidate is dropped as soon as one of its keywords fails, and <code>allOf</code> branches are evaluated as part
+ * of the same walk.  Keywords that have to evaluate subschemas in isolation (like <code>anyOf</code> or
+ * <code>not</code>) still validate their part of the document on their own.
+ *
+ * <pre>
+ * MultiSchemaValidator validator = new MultiSchemaValidator(schemas);
+ * Set&lt;Schema&gt; matches = validator.validate(event).getMatchingSchemas();
+ * </pre>
+ */
+public class MultiSchemaValidator {
+
+    private final List<SchemaValidator> validators;
+
+    public MultiSchemaValidator(List<Schema> schemas) {
+        this(schemas, SchemaValidatorFactory.DEFAULT_VALIDATOR_FACTORY);
+    }
+
+    public MultiSchemaValidator(List<Schema> schemas, SchemaValidatorFactory factory) {
+        checkNotNull(schemas, "schemas must not be null");
+        checkNotNull(factory, "factory must not be null");
+        checkArgument(!schemas.isEmpty(), "schemas must not be empty");
+        this.validators = factory.createValidators(ImmutableSet.copyOf(schemas).asList());
+    }
+
+    /**
+     * Finds the schemas that {@code subject} matches, dropping each schema at its first failure.
+     */
+    public MultiSchemaResult validate(JsonValue subject) {
+        return validate(subject, false);
+    }
+
+    /**
+     * Finds the schemas that {@code subject} matches.
+     *
+     * @param collectReports Whether to fully validate each schema and retain its report.  When false, each schema
+     *                       is dropped at its first failure and no reports are retained.  Reports contain the same
+     *                       errors as validating each schema on its own, though errors from a schema's own keywords
+     *                       come before errors from its children.
+     */
+    public MultiSchemaResult validate(JsonValue subject, boolean collectReports) {
+        checkNotNull(subject, "subject must not be null");
+        final boolean failFast = !collectReports;
+        final JsonValueWithLocation root = JsonValueWithLocation.fromJsonValue(subject, SchemaLocation.hashedRoot(subject));
+
+        final ValidationReport[] candidateReports = new ValidationReport[validators.size()];
+        final List<Task> tasks = new ArrayList<>(validators.size());
+        for (int i = 0; i < candidateReports.length; i++) {
+            candidateReports[i] = new ValidationReport(null, failFast);
+            tasks.add(new Task(i, validators.get(i), candidateReports[i]));
+        }
+
+        final Walk walk = new Walk(candidateReports.length, failFast);
+        walk.visit(root, tasks);
+
+        final ImmutableSet.Builder<Schema> matching = ImmutableSet.builder();
+        final ImmutableMap.Builder<Schema, ValidationReport> reports = ImmutableMap.builder();
+        for (int i = 0; i < candidateReports.length; i++) {
+            final Schema schema = validators.get(i).getSchema();
+            if (!walk.failed[i] && candidateReports[i].isValid()) {
+                matching.add(schema);
+            }
+            if (collectReports) {
+                reports.put(schema, candidateReports[i]);
+            }
+        }
+        return new MultiSchemaResult(matching.build(), reports.build());
+    }
+
+    public List<Schema> getSchemas() {
+        return validators.stream()
+                .map(SchemaValidator::getSchema)
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    /**
+     * The outcome of validating one document against each candidate schema.
+     */
+    public static class MultiSchemaResult {
+        private final Set<Schema> matchingSchemas;
+        private final Map<Schema, ValidationReport> reports;
+
+        MultiSchemaResult(Set<Schema> matchingSchemas, Map<Schema, ValidationReport> reports) {
+            this.matchingSchemas = matchingSchemas;
+            this.reports = reports;
+        }
+
+        /**
+         * @return The schemas the document matched, in the order the schemas were provided
+         */
+        public Set<Schema> getMatchingSchemas() {
+            return matchingSchemas;
+        }
+
+        public boolean matches(Schema schema) {
+            return matchingSchemas.contains(schema);
+        }
+
+        /**
+         * @return The full report for {@code schema}, if reports were collected
+         */
+        public Optional<ValidationReport> getReport(Schema schema) {
+            return Optional.ofNullable(reports.get(schema));
+        }
+
+        public Map<Schema, ValidationReport> getReports() {
+            return reports;
+        }
+    }
+
+    /**
+     * A validator to apply to a node, for one of the candidate schemas.
+     */
+    private static final class Task {
+        private final int candidate;
+        private final SchemaValidator validator;
+        private final ValidationReport report;
+
+        private Task(int candidate, SchemaValidator validator, ValidationReport report) {
+            this.candidate = candidate;
+            this.validator = validator;
+            this.report = report;
+        }
+    }
+
+    /**
+     * State for a single walk of the document.
+     */
+    private static final class Walk {
+        private final boolean[] failed;
+        private final boolean failFast;
+
+        private Walk(int candidateCount, boolean failFast) {
+            this.failed = new boolean[candidateCount];
+            this.failFast = failFast;
+        }
+
+        private void visit(JsonValueWithLocation subject, List<Task> tasks) {
+            final Map<Object, List<Task>> childTasks = new LinkedHashMap<>();
+            final List<Runnable> merges = new ArrayList<>();
+
+            // Tasks may be added as allOf branches are expanded
+            for (int t = 0; t < tasks.size(); t++) {
+                final Task task = tasks.get(t);
+                if (failed[task.candidate]) {
+                    continue;
+                }
+
+                SchemaValidator validator = task.validator;
+                ValidationReport report = task.report;
+                while (true) {
+                    if (validator instanceof LazySchemaValidator) {
+                        validator = ((LazySchemaValidator) validator).materialize();
+                    } else if (validator instanceof InternedSchemaValidator) {
+                        final InternedSchemaValidator interned = (InternedSchemaValidator) validator;
+                        if (!failFast) {
+                            report = report.createAttributingReport(interned::attribute);
+                        }
+                        validator = interned.getCanonical();
+                    } else {
+                        break;
+                    }
+                }
+
+                if (validator instanceof JsonSchemaValidator) {
+                    evaluate(subject, task.candidate, (JsonSchemaValidator) validator, report, tasks, childTasks, merges);
+                } else if (!validator.validate(subject, report) && failFast) {
+                    failed[task.candidate] = true;
+                }
+            }
+
+            childTasks.forEach((key, tasksForChild) -> {
+                if (tasksForChild.stream().anyMatch(task -> !failed[task.candidate])) {
+                    final JsonValueWithLocation child = key instanceof Integer ?
+                            subject.getItem((Integer) key) :
+                            subject.getPathAwareObject((String) key);
+                    visit(child, tasksForChild);
+                }
+            });
+
+            // Schemas expanded later (allOf branches) report into schemas expanded earlier
+            for (int i = merges.size() - 1; i >= 0; i--) {
+                merges.get(i).run();
+            }
+        }
+
+        /**
+         * Evaluates the keywords {@code validator} applies to {@code subject} itself, and queues up the subschemas
+         * its keywords apply to each child.  Once the children have been visited, the results are merged the same way
+         * {@link JsonSchemaValidator#validate(JsonValueWithLocation, ValidationReport)} would.
+         */
+        private void evaluate(JsonValueWithLocation subject, int candidate, JsonSchemaValidator validator, ValidationReport report,
+                              List<Task> tasks, Map<Object, List<Task>> childTasks, List<Runnable> merges) {
+            final List<KeywordValidator> keywordValidators = validator.findValidators(subject);
+            if (keywordValidators == null || keywordValidators.isEmpty()) {
+                return;
+            }
+
+            final ValidationReport childReport = report.createPassThroughReport();
+            final List<Runnable> keywordMerges = new ArrayList<>();
+            merges.add(() -> {
+                keywordMerges.forEach(Runnable::run);
+                if (!childReport.isValid()) {
+                    report.addReport(validator.getSchema(), subject, childReport);
+                }
+            });
+
+            for (KeywordValidator<?> keywordValidator : keywordValidators) {
+                if (keywordValidator instanceof ChildSchemaValidator) {
+                    final ChildSchemaValidator childValidator = (ChildSchemaValidator) keywordValidator;
+                    final ValidationReport keywordReport = childReport.createPassThroughReport();
+                    childValidator.forEachChildValidator(subject, (key, schemaValidator) ->
+                            childTasks.computeIfAbsent(key, k -> new ArrayList<>())
+                                    .add(new Task(candidate, schemaValidator, keywordReport)));
+                    keywordMerges.add(() -> childValidator.addChildReport(subject, keywordReport, childReport));
+                } else if (failFast && keywordValidator instanceof AllOfValidator) {
+                    for (SchemaValidator branch : ((AllOfValidator) keywordValidator).getAllOfValidators()) {
+                        tasks.add(new Task(candidate, branch, childReport));
+                    }
+                } else {
+                    keywordValidator.validate(subject, childReport);
+                    if (failFast && !childReport.isValid()) {
+                        failed[candidate] = true;
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package io.sbsp.jsonschema.validator;
 
 import io.sbsp.jsonschema.JsonValueWithLocation;
 import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.jfr.JsonSchemaEvents;
 
 import javax.json.JsonValue;
 import java.util.Optional;
@@ -11,17 +12,43 @@ public interface SchemaValidator {
     boolean validate(JsonValueWithLocation subject, ValidationReport report);
 
     default Optional<ValidationError> validate(JsonValue subject) {
+        final Object event = JsonSchemaEvents.beginValidation();
         JsonValueWithLocation pathAwareSubject = JsonValueWithLocation.fromJsonValue(subject, getSchema().getLocation());
-        ValidationReport report = validate(pathAwareSubject);
-        return ValidationError.collectErrors(getSchema(), pathAwareSubject.getPath(), report.getErrors());
+        ValidationReport report = new ValidationReport();
+        validate(pathAwareSubject, report);
+        final Optional<ValidationError> error = ValidationError.collectErrors(getSchema(), pathAwareSubject.getPath(), report.getErrors());
+        JsonSchemaEvents.endValidation(event, getSchema().getLocation().getUniqueURI(),
+                error.map(ValidationError::getViolationCount).orElse(0), false);
+        return error;
+    }
+
+    /**
+     * Validates {@code subject}, sending errors to {@code listener} as they're found instead of collecting them.
+     *
+     * @return true if the {@code subject} passed validation
+     */
+    default boolean validate(JsonValue subject, ValidationListener listener) {
+        final Object event = JsonSchemaEvents.beginValidation();
+        JsonValueWithLocation pathAwareSubject = JsonValueWithLocation.fromJsonValue(subject, getSchema().getLocation());
+        if (event == null) {
+            return validate(pathAwareSubject, ValidationReport.streaming(listener));
+        }
+        final CountingValidationListener countingListener = new CountingValidationListener(listener);
+        final boolean valid = validate(pathAwareSubject, ValidationReport.streaming(countingListener));
+        JsonSchemaEvents.endValidation(event, getSchema().getLocation().getUniqueURI(), countingListener.getErrorCount(), false);
+        return valid;
     }
 
     default ValidationReport validate(JsonValueWithLocation subject) {
+        final Object event = JsonSchemaEvents.beginValidation();
         ValidationReport report = new ValidationReport();
         validate(subject, report);
+        if (event != null) {
+            final int errorCount = report.getErrors().stream().mapToInt(ValidationError::getViolationCount).sum();
+            JsonSchemaEvents.endValidation(event, getSchema().getLocation().getUniqueURI(), errorCount, false);
+        }
         return report;
     }
 
-
     Schema getSchema();
 }
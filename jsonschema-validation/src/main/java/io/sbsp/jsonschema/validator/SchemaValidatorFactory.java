@@ -1,15 +1,23 @@
 package io.sbsp.jsonschema.validator;
 
 import com.google.common.base.Strings;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.SetMultimap;
 import io.sbsp.jsonschema.Schema;
 import io.sbsp.jsonschema.enums.FormatType;
+import io.sbsp.jsonschema.jfr.JsonSchemaEvents;
 import io.sbsp.jsonschema.keyword.KeywordMetadata;
 import io.sbsp.jsonschema.keyword.Keywords;
 import io.sbsp.jsonschema.keyword.SchemaKeyword;
+import io.sbsp.jsonschema.keyword.SchemaListKeyword;
+import io.sbsp.jsonschema.utils.JsonFactories;
+import io.sbsp.jsonschema.utils.JsonUtils;
+import io.sbsp.jsonschema.utils.KeywordInterner;
 import io.sbsp.jsonschema.validator.factory.KeywordValidatorCreator;
 import io.sbsp.jsonschema.validator.factory.KeywordValidatorCreators;
+import io.sbsp.jsonschema.validator.keywords.AdaptiveAnyOfValidator;
 import io.sbsp.jsonschema.validator.keywords.AdditionalPropertiesValidator;
 import io.sbsp.jsonschema.validator.keywords.AllOfValidator;
 import io.sbsp.jsonschema.validator.keywords.AnyOfValidator;
@@ -37,6 +45,7 @@ import io.sbsp.jsonschema.validator.keywords.string.StringFormatValidator;
 import io.sbsp.jsonschema.validator.keywords.string.StringMaxLengthValidator;
 import io.sbsp.jsonschema.validator.keywords.string.StringMinLengthValidator;
 import io.sbsp.jsonschema.validator.keywords.string.StringPatternValidator;
+import io.sbsp.jsonschema.validator.keywords.string.formatValidators.CachingFormatValidator;
 import io.sbsp.jsonschema.validator.keywords.string.formatValidators.FormatValidator;
 import lombok.NonNull;
 
@@ -47,16 +56,18 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 public class SchemaValidatorFactory {
 
     public static final SchemaValidatorFactory DEFAULT_VALIDATOR_FACTORY = new SchemaValidatorFactoryBuilder().build();
 
-    private final Map<URI, SchemaValidator> validatorCache = new HashMap<>();
+    private final Map<URI, SchemaValidator> validatorCache = new ConcurrentHashMap<>();
 
     @NonNull
     private final Map<String, FormatValidator> customFormatValidators;
@@ -67,9 +78,38 @@ public class SchemaValidatorFactory {
     @NonNull
     private final JsonProvider provider;
 
+    /**
+     * Factories created from {@link #provider}, for anything that writes validation output with this factory's
+     * provider (see {@link #errorWriter()} and {@link ValidationError#toJson(boolean, JsonFactories)})
+     */
+    @NonNull
+    private final JsonFactories jsonFactories;
+
+    /**
+     * Whether validators are built the first time they're used, rather than when they're created.  When enabled, a
+     * validator for a large schema only pays for the subschemas that are actually exercised.
+     */
+    private final boolean lazy;
+
+    /**
+     * Whether structurally identical, location-independent schemas (including whole subtrees without an
+     * <code>$id</code> or <code>$ref</code>) share a single validator.  See {@link KeywordInterner}
+     */
+    private final boolean intern;
+
+    private final Map<Map<KeywordMetadata<?>, SchemaKeyword>, SchemaValidator> internedValidators = new ConcurrentHashMap<>();
+
     public SchemaValidatorFactory(Map<String, FormatValidator> customFormatValidators,
                                   KeywordValidatorCreators factories,
                                   JsonProvider provider) {
+        this(customFormatValidators, factories, provider, false, false);
+    }
+
+    public SchemaValidatorFactory(Map<String, FormatValidator> customFormatValidators,
+                                  KeywordValidatorCreators factories,
+                                  JsonProvider provider,
+                                  boolean lazy,
+                                  boolean intern) {
         checkNotNull(customFormatValidators, "customFormatValidators must not be null");
         checkNotNull(factories, "factories must not be null");
         checkNotNull(provider, "provider must not be null");
@@ -77,12 +117,26 @@ public class SchemaValidatorFactory {
         this.customFormatValidators = Collections.unmodifiableMap(customFormatValidators);
         this.validators = factories;
         this.provider = provider;
+        this.jsonFactories = provider == JsonUtils.provider()
+                ? JsonUtils.defaultFactories()
+                : JsonFactories.forProvider(provider);
+        this.lazy = lazy;
+        this.intern = intern;
     }
 
     public static SchemaValidator createValidatorForSchema(Schema schema) {
         return DEFAULT_VALIDATOR_FACTORY.createValidator(schema);
     }
 
+    /**
+     * A factory with the same configuration as this one, but none of its cached validators.  Validators are cached by
+     * schema URI, so schemas that reuse another schema's locations (eg. the output of <code>SchemaOptimizer</code>)
+     * need a factory of their own.
+     */
+    public SchemaValidatorFactory withNewCache() {
+        return new SchemaValidatorFactory(customFormatValidators, validators, provider, lazy, intern);
+    }
+
     void cacheValidator(URI schemaURI, SchemaValidator validator) {
         if (schemaURI.isAbsolute()) {
             validatorCache.putIfAbsent(schemaURI, validator);
@@ -98,21 +152,57 @@ public class SchemaValidatorFactory {
     public SchemaValidator createValidator(Schema schema) {
         checkNotNull(schema, "schema must not be null when creating validator");
         final URI schemaURI = schema.getLocation().getUniqueURI();
+        final Object event = JsonSchemaEvents.beginValidatorCreate();
         final SchemaValidator cachedValue = validatorCache.get(schemaURI);
         if (cachedValue != null) {
+            JsonSchemaEvents.endValidatorCreate(event, schemaURI, 0, true);
             return cachedValue;
         } else {
             final SchemaValidator validator;
-            validator = JsonSchemaValidator.jsonSchemaValidator()
-                    .validatorFactory(this)
-                    .schema(schema)
-                    .factories(validators)
-                    .build();
+            if (intern && InternedSchemaValidator.isInternable(schema)) {
+                validator = internValidator(schema);
+            } else {
+                validator = newValidator(schema);
+            }
             this.cacheValidator(schemaURI, validator);
+            if (event != null) {
+                JsonSchemaEvents.endValidatorCreate(event, schemaURI, schema.getKeywords().size(), false);
+            }
             return validator;
         }
     }
 
+    private SchemaValidator internValidator(Schema schema) {
+        SchemaValidator canonical = internedValidators.get(schema.getKeywords());
+        if (canonical == null) {
+            // Not computeIfAbsent: building a validator creates (and interns) validators for its subschemas
+            final SchemaValidator built = newValidator(schema);
+            canonical = internedValidators.putIfAbsent(schema.getKeywords(), built);
+            if (canonical == null) {
+                return built;
+            }
+        }
+        if (canonical.getSchema() == schema) {
+            return canonical;
+        }
+        return new InternedSchemaValidator(schema, canonical);
+    }
+
+    private SchemaValidator newValidator(Schema schema) {
+        if (lazy) {
+            return new LazySchemaValidator(schema, () -> buildValidator(schema));
+        }
+        return buildValidator(schema);
+    }
+
+    private SchemaValidator buildValidator(Schema schema) {
+        return JsonSchemaValidator.jsonSchemaValidator()
+                .validatorFactory(this)
+                .schema(schema)
+                .factories(validators)
+                .build();
+    }
+
     public Optional<FormatValidator> getFormatValidator(String input) {
         if (input == null) {
             return Optional.empty();
@@ -120,19 +210,54 @@ public class SchemaValidatorFactory {
         return Optional.ofNullable(customFormatValidators.get(input));
     }
 
+    /**
+     * Cache statistics for each format that was registered with
+     * {@link SchemaValidatorFactoryBuilder#cacheFormat(String, long)}, keyed by format name.
+     */
+    public Map<String, CacheStats> getFormatCacheStats() {
+        final ImmutableMap.Builder<String, CacheStats> stats = ImmutableMap.builder();
+        customFormatValidators.forEach((format, formatValidator) -> {
+            if (formatValidator instanceof CachingFormatValidator) {
+                stats.put(format, ((CachingFormatValidator) formatValidator).getStats());
+            }
+        });
+        return stats.build();
+    }
+
     public JsonProvider getProvider() {
         return provider;
     }
 
+    public JsonFactories getJsonFactories() {
+        return jsonFactories;
+    }
+
+    /**
+     * A {@link ValidationErrorWriter} builder that writes with this factory's provider
+     */
+    public ValidationErrorWriter.ValidationErrorWriterBuilder errorWriter() {
+        return ValidationErrorWriter.errorWriter().jsonFactories(jsonFactories);
+    }
+
     public static SchemaValidatorFactoryBuilder builder() {
         return new SchemaValidatorFactoryBuilder();
     }
 
     public static class SchemaValidatorFactoryBuilder {
-        private JsonProvider provider = JsonProvider.provider();
+        private JsonProvider provider = JsonUtils.provider();
+        private boolean lazy;
+        private boolean intern;
         private final Map<String, FormatValidator> customFormatValidators = new HashMap<>();
+        private final Map<String, Long> cachedFormats = new HashMap<>();
         private final SetMultimap<KeywordMetadata<?>, KeywordValidatorCreator<?, ?>> factories = HashMultimap.create();
 
+        /**
+         * The built-in <code>anyOf</code> creators, kept so {@link #adaptiveAnyOf(boolean)} can swap one for the other
+         * without touching any custom <code>anyOf</code> validators.
+         */
+        private final KeywordValidatorCreator<SchemaListKeyword, AnyOfValidator> defaultAnyOf = AnyOfValidator::new;
+        private final KeywordValidatorCreator<SchemaListKeyword, AdaptiveAnyOfValidator> adaptiveAnyOf = AdaptiveAnyOfValidator::new;
+
         public SchemaValidatorFactoryBuilder() {
             withCommonValidators();
             initCoreFormatValidators();
@@ -144,7 +269,47 @@ public class SchemaValidatorFactory {
         }
 
         public SchemaValidatorFactory build() {
-            return new SchemaValidatorFactory(this.customFormatValidators, new KeywordValidatorCreators(this.factories), this.provider);
+            final Map<String, FormatValidator> formatValidators = new HashMap<>(this.customFormatValidators);
+            cachedFormats.forEach((format, maximumSize) -> {
+                final FormatValidator formatValidator = formatValidators.get(format);
+                checkState(formatValidator != null, "No format validator registered for cached format [%s]", format);
+                formatValidators.put(format, new CachingFormatValidator(formatValidator, maximumSize));
+            });
+            return new SchemaValidatorFactory(formatValidators, new KeywordValidatorCreators(this.factories), this.provider, this.lazy, this.intern);
+        }
+
+        /**
+         * The {@link JsonProvider} used by validators that need to create json values, and for writing errors (see
+         * {@link SchemaValidatorFactory#getJsonFactories()}).  Defaults to {@link JsonUtils#provider()}
+         */
+        public SchemaValidatorFactoryBuilder provider(JsonProvider provider) {
+            this.provider = checkNotNull(provider, "provider must not be null");
+            return this;
+        }
+
+        public SchemaValidatorFactoryBuilder lazy(boolean lazy) {
+            this.lazy = lazy;
+            return this;
+        }
+
+        public SchemaValidatorFactoryBuilder intern(boolean intern) {
+            this.intern = intern;
+            return this;
+        }
+
+        /**
+         * Whether <code>anyOf</code> validators should try the branches that have matched most often first.  See
+         * {@link AdaptiveAnyOfValidator}
+         */
+        public SchemaValidatorFactoryBuilder adaptiveAnyOf(boolean adaptiveAnyOf) {
+            factories.remove(Keywords.anyOf, this.defaultAnyOf);
+            factories.remove(Keywords.anyOf, this.adaptiveAnyOf);
+            if (adaptiveAnyOf) {
+                this.addValidator(Keywords.anyOf, this.adaptiveAnyOf);
+            } else {
+                this.addValidator(Keywords.anyOf, this.defaultAnyOf);
+            }
+            return this;
         }
 
         public SchemaValidatorFactoryBuilder addCustomFormatValidator(String format, FormatValidator formatValidator) {
@@ -154,6 +319,21 @@ public class SchemaValidatorFactory {
             return this;
         }
 
+        /**
+         * Caches the verdicts of the validator registered for {@code format} (see {@link CachingFormatValidator}).
+         * Only worth enabling for formats that are expensive to check and see the same values repeatedly.
+         */
+        public SchemaValidatorFactoryBuilder cacheFormat(String format, long maximumSize) {
+            checkArgument(!Strings.isNullOrEmpty(format), "format must not be blank");
+            checkArgument(maximumSize > 0, "maximumSize must be positive");
+            this.cachedFormats.put(format, maximumSize);
+            return this;
+        }
+
+        public SchemaValidatorFactoryBuilder cacheFormat(String format) {
+            return cacheFormat(format, CachingFormatValidator.DEFAULT_MAXIMUM_SIZE);
+        }
+
         public SchemaValidatorFactoryBuilder withCommonValidators() {
 
             // ########################################################### //
@@ -165,7 +345,7 @@ public class SchemaValidatorFactory {
             this.addValidator(Keywords.not, NotKeywordValidator::new);
             this.addValidator(Keywords.$const, ConstValidator::new);
             this.addValidator(Keywords.allOf, AllOfValidator::new);
-            this.addValidator(Keywords.anyOf, AnyOfValidator::new);
+            this.addValidator(Keywords.anyOf, defaultAnyOf);
             this.addValidator(Keywords.oneOf, OneOfValidator::new);
 
             // ########################################################### //
@@ -0,0 +1,190 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.Draft6Schema;
+import io.sbsp.jsonschema.RefSchema;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.enums.JsonSchemaKeywordType;
+import io.sbsp.jsonschema.utils.JsonUtils;
+import io.sbsp.jsonschema.validator.generator.FormatSamples;
+import io.sbsp.jsonschema.validator.generator.InstanceGenerator;
+
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Gets a validator ready for production traffic, so the first real requests after a deploy don't pay for lazy
+ * construction, format library initialization and interpreted code.
+ *
+ * A warm-up does three things:
+ * <ol>
+ * <li>Builds the validator graph, including any validators that would otherwise be built lazily (see
+ * {@link SchemaValidatorFactory.SchemaValidatorFactoryBuilder#lazy(boolean)}).</li>
+ * <li>Initializes the validator for every <code>format</code> the schema uses, with one valid and one invalid
+ * sample.</li>
+ * <li>Generates a set of instances from the schema with an {@link InstanceGenerator} - a few valid ones, and one that
+ * violates each keyword the generator knows how to violate, at each depth - and validates them repeatedly, so both
+ * the passing and failing path of each keyword gets compiled.</li>
+ * </ol>
+ *
+ * <pre>
+ * SchemaValidatorWarmUp.warmUp(validator, WarmUpOptions.warmUpOptions()
+ *         .validatorFactory(factory)
+ *         .timeBudget(Duration.ofSeconds(5))
+ *         .build());
+ * </pre>
+ */
+public final class SchemaValidatorWarmUp {
+
+    private static final int VALID_INSTANCES = 3;
+    private static final int MAX_INSTANCES = 64;
+
+    private SchemaValidatorWarmUp() {
+    }
+
+    public static WarmUpResult warmUp(SchemaValidator validator) {
+        return warmUp(validator, WarmUpOptions.warmUpOptions().build());
+    }
+
+    public static WarmUpResult warmUp(SchemaValidator validator, WarmUpOptions options) {
+        checkNotNull(validator, "validator must not be null");
+        checkNotNull(options, "options must not be null");
+
+        final long start = System.nanoTime();
+        final long budgetNanos = options.getTimeBudget() == null ? Long.MAX_VALUE : options.getTimeBudget().toNanos();
+
+        final Schema schema = validator.getSchema();
+        final SchemaValidatorFactory factory = options.getValidatorFactory();
+        final AtomicInteger schemaCount = new AtomicInteger();
+        final Set<String> formats = new HashSet<>();
+
+        materialize(validator);
+        forEachSchema(schema, subschema -> {
+            schemaCount.incrementAndGet();
+            if (factory != null) {
+                materialize(factory.createValidator(subschema));
+            }
+            final String format = subschema.asDraft6().getFormat();
+            if (format != null) {
+                formats.add(format);
+            }
+        });
+        if (factory != null) {
+            for (String format : formats) {
+                factory.getFormatValidator(format).ifPresent(formatValidator -> {
+                    final String invalid = FormatSamples.invalidSample(format);
+                    formatValidator.validate(FormatSamples.validSamples(format).get(0));
+                    formatValidator.validate(invalid != null ? invalid : "");
+                });
+            }
+        }
+
+        final JsonProvider provider = factory != null ? factory.getProvider() : JsonUtils.provider();
+        final List<JsonValue> instances = instances(schema, provider, options.getMaxDepth());
+
+        int iterations = 0;
+        long validations = 0;
+        while (iterations < options.getIterations() && System.nanoTime() - start < budgetNanos) {
+            for (JsonValue instance : instances) {
+                validator.validate(instance);
+            }
+            validations += instances.size();
+            iterations++;
+        }
+
+        return new WarmUpResult(schemaCount.get(), instances.size(), iterations, validations,
+                Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Valid instances of {@code schema}, followed by instances that each violate one keyword at one depth.  Schemas
+     * the generator can't satisfy (or violate) just contribute fewer instances.
+     */
+    static List<JsonValue> instances(Schema schema, JsonProvider provider, int maxDepth) {
+        final InstanceGenerator generator = InstanceGenerator.instanceGenerator()
+                .provider(provider)
+                .maxDepth(maxDepth)
+                .build();
+        final Set<JsonValue> instances = new LinkedHashSet<>();
+        for (int i = 0; i < VALID_INSTANCES; i++) {
+            generate(() -> Optional.of(generator.valid(schema))).ifPresent(instances::add);
+        }
+        for (int depth = 0; depth <= maxDepth; depth++) {
+            for (JsonSchemaKeywordType keyword : JsonSchemaKeywordType.values()) {
+                final int atDepth = depth;
+                generate(() -> generator.invalid(schema, keyword, atDepth)).ifPresent(instances::add);
+            }
+        }
+        final List<JsonValue> list = new ArrayList<>(instances);
+        return list.size() <= MAX_INSTANCES ? list : list.subList(0, MAX_INSTANCES);
+    }
+
+    private static Optional<JsonValue> generate(Supplier<Optional<JsonValue>> generator) {
+        try {
+            return generator.get();
+        } catch (RuntimeException e) {
+            // Generation is best effort (eg. a schema that requires unbounded nesting), and a warm-up mustn't fail
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Visits {@code schema} and every schema reachable from it, following references, once each.
+     */
+    static void forEachSchema(Schema schema, Consumer<Schema> visitor) {
+        final Set<Schema> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        final List<Schema> queue = new ArrayList<>();
+        queue.add(schema);
+        while (!queue.isEmpty()) {
+            final Schema next = resolve(queue.remove(queue.size() - 1));
+            if (next == null || !visited.add(next)) {
+                continue;
+            }
+            visitor.accept(next);
+            final Draft6Schema draft6 = next.asDraft6();
+            queue.addAll(draft6.getProperties().values());
+            queue.addAll(draft6.getPatternProperties().values());
+            queue.addAll(draft6.getPropertySchemaDependencies().values());
+            queue.addAll(draft6.getDefinitions().values());
+            queue.addAll(draft6.getItemSchemas());
+            queue.addAll(draft6.getAllOfSchemas());
+            queue.addAll(draft6.getAnyOfSchemas());
+            queue.addAll(draft6.getOneOfSchemas());
+            draft6.getNotSchema().ifPresent(queue::add);
+            draft6.getAdditionalPropertiesSchema().ifPresent(queue::add);
+            draft6.getPropertyNameSchema().ifPresent(queue::add);
+            draft6.getAllItemSchema().ifPresent(queue::add);
+            draft6.getAdditionalItemsSchema().ifPresent(queue::add);
+            draft6.getContainsSchema().ifPresent(queue::add);
+        }
+    }
+
+    private static Schema resolve(Schema schema) {
+        int hops = 0;
+        while (schema instanceof RefSchema && hops++ < 10) {
+            schema = ((RefSchema) schema).getRefSchema();
+        }
+        return schema;
+    }
+
+    private static void materialize(SchemaValidator validator) {
+        if (validator instanceof InternedSchemaValidator) {
+            materialize(((InternedSchemaValidator) validator).getCanonical());
+        } else if (validator instanceof LazySchemaValidator) {
+            ((LazySchemaValidator) validator).materialize();
+        }
+    }
+}
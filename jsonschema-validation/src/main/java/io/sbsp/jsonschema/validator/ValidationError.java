@@ -18,6 +18,8 @@ package io.sbsp.jsonschema.validator;
 import io.sbsp.jsonschema.JsonPath;
 import io.sbsp.jsonschema.Schema;
 import io.sbsp.jsonschema.enums.JsonSchemaKeywordType;
+import io.sbsp.jsonschema.utils.JsonFactories;
+import io.sbsp.jsonschema.utils.JsonUtils;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Singular;
@@ -25,12 +27,13 @@ import lombok.experimental.var;
 
 import javax.json.JsonArray;
 import javax.json.JsonArrayBuilder;
+import javax.json.JsonBuilderFactory;
 import javax.json.JsonObject;
 import javax.json.JsonValue;
-import javax.json.spi.JsonProvider;
 import java.net.URI;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -57,7 +60,12 @@ public class ValidationError {
     private final JsonPath pointerToViolation;
 
     private final String code;
-    private final String message;
+
+    /**
+     * The rendered message.  When the error is built from a template and arguments, this is left null until
+     * somebody asks for it - most errors raised inside composite keywords are discarded without being read.
+     */
+    private String message;
     private final String messageTemplate;
 
     @Singular
@@ -91,6 +99,11 @@ public class ValidationError {
      * @return the error description
      */
     public String getErrorMessage() {
+        String message = this.message;
+        if (message == null && messageTemplate != null) {
+            message = String.format(messageTemplate, arguments.toArray());
+            this.message = message;
+        }
         return message;
     }
 
@@ -105,13 +118,17 @@ public class ValidationError {
      * @return the error description
      */
     public String getMessage() {
-        return getPointerToViolation() + ": " + message;
+        return getPointerToViolation() + ": " + getErrorMessage();
     }
 
     public List<Object> getArguments() {
         return arguments;
     }
 
+    public String getMessageTemplate() {
+        return messageTemplate;
+    }
+
     public String getCode() {
         return code;
     }
@@ -151,9 +168,20 @@ public class ValidationError {
     }
 
     public JsonObject toJson(boolean withCauses) {
-        final JsonProvider provider = JsonProvider.provider();
+        return toJson(withCauses, JsonUtils.defaultFactories());
+    }
 
-        var errorJson = provider.createObjectBuilder();
+    /**
+     * Same as {@link #toJson(boolean)}, but builds the json with {@code factories} (eg. the ones from
+     * {@link SchemaValidatorFactory#getJsonFactories()}) rather than the library default.
+     */
+    public JsonObject toJson(boolean withCauses, JsonFactories factories) {
+        checkNotNull(factories, "factories must not be null");
+        return toJson(withCauses, factories.getBuilderFactory());
+    }
+
+    private JsonObject toJson(boolean withCauses, JsonBuilderFactory builders) {
+        var errorJson = builders.createObjectBuilder();
 
         if (pointerToViolation == null) {
             errorJson.add("pointerToViolation", JsonValue.NULL);
@@ -166,7 +194,7 @@ public class ValidationError {
         if (code != null) {
             errorJson.add("code", this.code);
         }
-        errorJson.add("message", this.message);
+        errorJson.add("message", getErrorMessage());
         if (violatedSchema != null) {
             errorJson.add("schemaLocation", getSchemaLocation().toString());
         }
@@ -174,7 +202,7 @@ public class ValidationError {
         if (this.arguments.size() > 0) {
             errorJson.add("template", this.messageTemplate);
 
-            final JsonArrayBuilder argArray = JsonProvider.provider().createArrayBuilder();
+            final JsonArrayBuilder argArray = builders.createArrayBuilder();
             this.arguments.stream()
                     .map(Object::toString)
                     .forEach(argArray::add);
@@ -182,9 +210,9 @@ public class ValidationError {
         }
 
         if (withCauses && causingExceptions.size() > 0) {
-            final JsonArrayBuilder arrayBuilder = provider.createArrayBuilder();
+            final JsonArrayBuilder arrayBuilder = builders.createArrayBuilder();
             causingExceptions.stream()
-                    .map(ValidationError::toJson)
+                    .map(cause -> cause.toJson(true, builders))
                     .forEach(arrayBuilder::add);
 
             errorJson.add("causes", arrayBuilder);
@@ -215,10 +243,18 @@ public class ValidationError {
      * @return a JSON description of the validation error
      */
     public JsonArray toJsonErrors() {
-        final JsonProvider provider = JsonProvider.provider();
-        JsonArrayBuilder errorArray = provider.createArrayBuilder();
+        return toJsonErrors(JsonUtils.defaultFactories());
+    }
+
+    /**
+     * Same as {@link #toJsonErrors()}, but builds the json with {@code factories} rather than the library default.
+     */
+    public JsonArray toJsonErrors(JsonFactories factories) {
+        checkNotNull(factories, "factories must not be null");
+        final JsonBuilderFactory builders = factories.getBuilderFactory();
+        JsonArrayBuilder errorArray = builders.createArrayBuilder();
         this.getAllMessages().stream()
-                .map(e -> e.toJson(false))
+                .map(e -> e.toJson(false, builders))
                 .forEach(errorArray::add);
 
         return errorArray.build();
@@ -230,7 +266,7 @@ public class ValidationError {
                 "pointerToViolation=" + pointerToViolation +
                 ", causingExceptions=" + causingExceptions +
                 ", keyword='" + keyword + '\'' +
-                ", message='" + message + '\'' +
+                ", message='" + getErrorMessage() + '\'' +
                 '}';
     }
 
@@ -244,6 +280,33 @@ public class ValidationError {
                 .build();
     }
 
+    /**
+     * Returns a copy of this error (and its causes) where any violation attributed to {@code original} is instead
+     * attributed to {@code replacement}.  Used when a single validator is shared by several identical schemas.
+     */
+    ValidationError withViolatedSchema(Schema original, Schema replacement) {
+        return withViolatedSchema(schema -> schema == original ? replacement : null);
+    }
+
+    /**
+     * Returns a copy of this error (and its causes) where each violation is attributed to the schema
+     * {@code attribution} returns for its violated schema, or left as it is if {@code attribution} returns null.
+     */
+    ValidationError withViolatedSchema(Function<Schema, Schema> attribution) {
+        final ValidationErrorBuilder builder = toBuilder();
+        final Schema replacement = attribution.apply(violatedSchema);
+        if (replacement != null) {
+            builder.violatedSchema(replacement);
+        }
+        if (!causingExceptions.isEmpty()) {
+            builder.clearCausingExceptions();
+            for (ValidationError cause : causingExceptions) {
+                builder.causingException(cause.withViolatedSchema(attribution));
+            }
+        }
+        return builder.build();
+    }
+
     /**
      * Sort of static factory method. It is used by validators to create {@code ValidationError}s, handling the case of multiple violations
      * occuring during validation.
@@ -302,8 +365,10 @@ public class ValidationError {
         private JsonPath pointerToViolation = JsonPath.rootPath();
 
         public ValidationErrorBuilder message(String message, Object... args) {
-            this.message = String.format(message, args);
+            // Rendered lazily by getErrorMessage()
+            this.message = null;
             this.messageTemplate = message;
+            this.clearArguments();
             for (Object arg : args) {
                 this.argument(arg);
             }
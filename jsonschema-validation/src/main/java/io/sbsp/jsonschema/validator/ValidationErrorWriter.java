@@ -0,0 +1,182 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.utils.JsonFactories;
+import io.sbsp.jsonschema.utils.JsonUtils;
+import lombok.Builder;
+
+import javax.annotation.Nullable;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Serializes validation errors straight to a {@link JsonGenerator}, without building any intermediate
+ * {@link javax.json.JsonObject}s.  Each error is written with the same fields as {@link ValidationError#toJson()}.
+ *
+ * Two layouts are supported:
+ * <ul>
+ * <li>nested (the default): each error is an object, with its causes in a <code>causes</code> array - the same
+ * shape as {@link ValidationError#toJson()}</li>
+ * <li>flat: only the leaf errors are written, as a single array without causes - the same shape as
+ * {@link ValidationError#toJsonErrors()}</li>
+ * </ul>
+ *
+ * A {@code maxErrors} cap limits how many error objects are written in total; once it's reached, the remaining
+ * errors (and causes) are skipped.  Generators come from {@code jsonFactories} when it's set (see
+ * {@link SchemaValidatorFactory#errorWriter()}), or the library default otherwise.  Writers are immutable and can be
+ * shared.
+ *
+ * <pre>
+ * ValidationErrorWriter writer = ValidationErrorWriter.errorWriter()
+ *         .flat(true)
+ *         .maxErrors(1000)
+ *         .build();
+ * writer.write(report, response.getOutputStream());
+ * </pre>
+ */
+public class ValidationErrorWriter {
+
+    private final boolean flat;
+    private final int maxErrors;
+    private final JsonGeneratorFactory generatorFactory;
+
+    @Builder(builderMethodName = "errorWriter")
+    public ValidationErrorWriter(boolean flat, int maxErrors, @Nullable JsonFactories jsonFactories) {
+        checkArgument(maxErrors >= 0, "maxErrors must not be negative");
+        this.flat = flat;
+        this.maxErrors = maxErrors == 0 ? Integer.MAX_VALUE : maxErrors;
+        this.generatorFactory = jsonFactories == null
+                ? JsonUtils.generatorFactory()
+                : jsonFactories.getGeneratorFactory();
+    }
+
+    /**
+     * Writes the errors in {@code report} as a JSON array, and flushes the stream (but doesn't close it).
+     *
+     * @return The number of error objects written
+     */
+    public int write(ValidationReport report, OutputStream outputStream) {
+        checkNotNull(outputStream, "outputStream must not be null");
+        final JsonGenerator generator = generatorFactory.createGenerator(outputStream);
+        final int written = write(report, generator);
+        generator.flush();
+        return written;
+    }
+
+    /**
+     * Writes the errors in {@code report} as a JSON array.
+     *
+     * @return The number of error objects written
+     */
+    public int write(ValidationReport report, JsonGenerator generator) {
+        checkNotNull(report, "report must not be null");
+        checkNotNull(generator, "generator must not be null");
+        generator.writeStartArray();
+        final int written = flat
+                ? writeFlat(report.getErrors(), generator, 0)
+                : writeNested(report.getErrors(), generator, 0);
+        generator.writeEnd();
+        return written;
+    }
+
+    /**
+     * Writes a single error: an object for the nested layout, or an array of its leaf errors for the flat layout.
+     *
+     * @return The number of error objects written
+     */
+    public int write(ValidationError error, JsonGenerator generator) {
+        checkNotNull(error, "error must not be null");
+        checkNotNull(generator, "generator must not be null");
+        if (flat) {
+            generator.writeStartArray();
+            final int written = writeFlat(Collections.singletonList(error), generator, 0);
+            generator.writeEnd();
+            return written;
+        }
+        return writeError(error, generator, 0);
+    }
+
+    /**
+     * Writes the leaf errors in the same order as {@link ValidationError#getAllMessages()}: the leaves at each level
+     * come before the leaves of any nested errors.
+     */
+    private int writeFlat(List<ValidationError> errors, JsonGenerator generator, int written) {
+        for (ValidationError error : errors) {
+            if (written >= maxErrors) {
+                return written;
+            }
+            if (error.getCauses().isEmpty()) {
+                writeFields(error, generator);
+                written++;
+            }
+        }
+        for (ValidationError error : errors) {
+            if (!error.getCauses().isEmpty()) {
+                written = writeFlat(error.getCauses(), generator, written);
+            }
+        }
+        return written;
+    }
+
+    private int writeNested(List<ValidationError> errors, JsonGenerator generator, int written) {
+        for (ValidationError error : errors) {
+            if (written >= maxErrors) {
+                break;
+            }
+            written = writeError(error, generator, written);
+        }
+        return written;
+    }
+
+    private int writeError(ValidationError error, JsonGenerator generator, int written) {
+        generator.writeStartObject();
+        writeProperties(error, generator);
+        written++;
+        if (!error.getCauses().isEmpty() && written < maxErrors) {
+            generator.writeStartArray("causes");
+            written = writeNested(error.getCauses(), generator, written);
+            generator.writeEnd();
+        }
+        generator.writeEnd();
+        return written;
+    }
+
+    private void writeFields(ValidationError error, JsonGenerator generator) {
+        generator.writeStartObject();
+        writeProperties(error, generator);
+        generator.writeEnd();
+    }
+
+    private void writeProperties(ValidationError error, JsonGenerator generator) {
+        final String pointerToViolation = error.getPointerToViolation();
+        if (pointerToViolation == null) {
+            generator.writeNull("pointerToViolation");
+        } else {
+            generator.write("pointerToViolation", pointerToViolation);
+        }
+        if (error.getKeyword() != null) {
+            generator.write("keyword", error.getKeyword().key());
+        }
+        if (error.getCode() != null) {
+            generator.write("code", error.getCode());
+        }
+        generator.write("message", error.getErrorMessage());
+        if (error.getViolatedSchema() != null) {
+            generator.write("schemaLocation", error.getSchemaLocation().toString());
+        }
+        final List<Object> arguments = error.getArguments();
+        if (!arguments.isEmpty()) {
+            generator.write("template", error.getMessageTemplate());
+            generator.writeStartArray("arguments");
+            for (Object argument : arguments) {
+                generator.write(argument.toString());
+            }
+            generator.writeEnd();
+        }
+    }
+}
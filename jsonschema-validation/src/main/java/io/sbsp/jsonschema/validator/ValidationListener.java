@@ -0,0 +1,50 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.enums.JsonSchemaKeywordType;
+
+/**
+ * Receives validation results as they're found, instead of collecting them into a tree of {@link ValidationError}s.
+ * Pass one to {@link SchemaValidator#validate(javax.json.JsonValue, ValidationListener)} (or use
+ * {@link ValidationReport#streaming(ValidationListener)}) to log or count errors, or to stop at the first few.
+ *
+ * Errors are delivered flat: each event is a single keyword failure carrying the instance path
+ * ({@link ValidationError#getPathToViolation()}), the schema location ({@link ValidationError#getSchemaLocation()})
+ * and the keyword.  The message isn't rendered until {@link ValidationError#getErrorMessage()} is called.
+ *
+ * Branches of <code>anyOf</code>, <code>oneOf</code> and <code>not</code> (and items tested by
+ * <code>contains</code>) are speculative: they're evaluated quietly, and if the keyword fails, a single error for
+ * that keyword is delivered with the branch errors as its causes.  Failures inside <code>allOf</code> are always
+ * real, so they're streamed through directly.
+ */
+public interface ValidationListener {
+
+    /**
+     * Called for each keyword failure, in the order they're found.
+     */
+    void onError(ValidationError error);
+
+    /**
+     * Called before a composition keyword (<code>allOf</code>, <code>anyOf</code>, <code>oneOf</code>,
+     * <code>not</code>) evaluates its subschemas.
+     */
+    default void enterComposite(JsonSchemaKeywordType keyword, Schema schema, JsonValueWithLocation subject) {
+    }
+
+    /**
+     * Called once a composition keyword has been evaluated.
+     *
+     * @param valid Whether the subject passed the keyword
+     */
+    default void exitComposite(JsonSchemaKeywordType keyword, Schema schema, JsonValueWithLocation subject, boolean valid) {
+    }
+
+    /**
+     * Polled during validation - once this returns true, no more keywords are evaluated and no more events are
+     * delivered.  The outcome of a stopped validation is only meaningful if errors were already found.
+     */
+    default boolean shouldStop() {
+        return false;
+    }
+}
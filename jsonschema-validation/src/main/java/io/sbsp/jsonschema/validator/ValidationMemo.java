@@ -0,0 +1,174 @@
+package io.sbsp.jsonschema.validator;
+
+import com.google.common.collect.ImmutableList;
+import io.sbsp.jsonschema.JsonPath;
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.keyword.KeywordMetadata;
+import io.sbsp.jsonschema.keyword.SchemaKeyword;
+
+import javax.annotation.Nullable;
+import javax.json.JsonValue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Memo table for a single validation run.  When the same schema is applied to the same node of the subject more
+ * than once (eg. a definition that's <code>$ref</code>'d from several <code>oneOf</code> branches), the result of the
+ * first evaluation is replayed instead of re-running the validator.
+ *
+ * Entries are keyed by the identity of the schema's keywords (shared by every <code>$ref</code> to a given schema),
+ * subject node identity and the node's path (so identical values at different paths still report their own location).
+ * Replayed errors are re-attributed to the schema being validated.  Once {@code maxEntries} results have been
+ * recorded, new results are no longer memoized.
+ *
+ * A memo is not thread-safe, and shouldn't be shared across validation runs.  See {@link ValidationReport#memoizing(int)}
+ */
+public class ValidationMemo {
+
+    private final int maxEntries;
+    private final Map<MemoKey, MemoEntry> results = new HashMap<>();
+    private int hits;
+
+    /**
+     * Results retained from validating a previous revision of the document.  When an entry is used, it's carried
+     * forward into this memo along with every entry for the nodes under it (which are necessarily unchanged, too).
+     * Entries for nodes that no longer exist are dropped along with the previous memo.
+     */
+    @Nullable
+    private final ValidationMemo previous;
+
+    /**
+     * This memo's keys, grouped by json-pointer so the keys under a given node can be found.  Only built once this
+     * memo is used as a previous memo.
+     */
+    @Nullable
+    private NavigableMap<String, List<MemoKey>> keysByPointer;
+
+    public ValidationMemo(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    ValidationMemo(int maxEntries, @Nullable ValidationMemo previous) {
+        checkArgument(maxEntries > 0, "maxEntries must be greater than 0");
+        this.maxEntries = maxEntries;
+        this.previous = previous;
+    }
+
+    /**
+     * Returns the errors recorded the last time {@code schema} (or a schema sharing its keywords) was applied to
+     * {@code subject}, or null if there's no memoized result.  An empty list means the subject passed.
+     */
+    List<ValidationError> get(Schema schema, JsonValueWithLocation subject) {
+        final MemoKey key = new MemoKey(schema, subject);
+        MemoEntry entry = results.get(key);
+        if (entry == null && previous != null) {
+            entry = previous.results.get(key);
+            if (entry != null) {
+                carryForward(subject.getPath().toJsonPointer());
+            }
+        }
+        if (entry == null) {
+            return null;
+        }
+        hits++;
+        final Schema memoizedSchema = entry.schema;
+        if (memoizedSchema == schema || entry.errors.isEmpty()) {
+            return entry.errors;
+        }
+        return entry.errors.stream()
+                .map(error -> error.withViolatedSchema(memoizedSchema, schema))
+                .collect(Collectors.toList());
+    }
+
+    List<ValidationError> put(Schema schema, JsonValueWithLocation subject, List<ValidationError> errors) {
+        final List<ValidationError> result = ImmutableList.copyOf(errors);
+        if (results.size() < maxEntries) {
+            results.put(new MemoKey(schema, subject), new MemoEntry(schema, result));
+        }
+        return result;
+    }
+
+    /**
+     * Carries forward every previous entry at or under {@code pointer}.  The subtree there is the same instance as in
+     * the previous revision, so a later patch inside it only revalidates what it changes.
+     */
+    private void carryForward(String pointer) {
+        final NavigableMap<String, List<MemoKey>> previousKeys = previous.keysByPointer();
+        final List<MemoKey> atPointer = previousKeys.get(pointer);
+        if (atPointer != null) {
+            atPointer.forEach(this::carryForward);
+        }
+        // Descendant pointers start with pointer + "/", and '0' is the character after '/'
+        previousKeys.subMap(pointer + "/", true, pointer + "0", false)
+                .values()
+                .forEach(keys -> keys.forEach(this::carryForward));
+    }
+
+    private void carryForward(MemoKey key) {
+        if (results.size() < maxEntries) {
+            results.putIfAbsent(key, previous.results.get(key));
+        }
+    }
+
+    private NavigableMap<String, List<MemoKey>> keysByPointer() {
+        if (keysByPointer == null) {
+            keysByPointer = new TreeMap<>();
+            for (MemoKey key : results.keySet()) {
+                keysByPointer.computeIfAbsent(key.path.toJsonPointer(), pointer -> new ArrayList<>()).add(key);
+            }
+        }
+        return keysByPointer;
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    private static class MemoEntry {
+        private final Schema schema;
+        private final List<ValidationError> errors;
+
+        MemoEntry(Schema schema, List<ValidationError> errors) {
+            this.schema = schema;
+            this.errors = errors;
+        }
+    }
+
+    private static class MemoKey {
+        private final Map<KeywordMetadata<?>, SchemaKeyword> keywords;
+        private final JsonValue node;
+        private final JsonPath path;
+
+        MemoKey(Schema schema, JsonValueWithLocation subject) {
+            this.keywords = schema.getKeywords();
+            this.node = subject.getWrapped();
+            this.path = subject.getPath();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof MemoKey)) {
+                return false;
+            }
+            final MemoKey other = (MemoKey) o;
+            return keywords == other.keywords && node == other.node && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(keywords) + System.identityHashCode(node)) + path.hashCode();
+        }
+    }
+}
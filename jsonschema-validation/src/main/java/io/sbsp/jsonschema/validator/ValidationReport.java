@@ -4,6 +4,7 @@ import io.sbsp.jsonschema.JsonValueWithLocation;
 import io.sbsp.jsonschema.Schema;
 import io.sbsp.jsonschema.enums.JsonSchemaKeywordType;
 
+import javax.annotation.Nullable;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
@@ -13,7 +14,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
+import static com.google.common.base.Preconditions.checkNotNull;
 import static io.sbsp.jsonschema.validator.ValidationError.collectErrors;
 
 public class ValidationReport {
@@ -21,16 +24,148 @@ public class ValidationReport {
     private final List<ValidationError> errors = new ArrayList<>();
     private boolean foundError;
 
+    /**
+     * Optional memo table shared by this report and all of its child reports.
+     */
+    @Nullable
+    private final ValidationMemo memo;
+
+    /**
+     * Whether validation can stop once a schema has found its first error.  Only the validity of a fail-fast report
+     * is meaningful - it won't contain every error.
+     */
+    private final boolean failFast;
+
+    /**
+     * Optional listener shared by this report and all of its child reports.
+     */
+    @Nullable
+    private final ValidationListener listener;
+
+    /**
+     * Whether errors are sent to the {@link #listener} instead of being collected.  Reports created with
+     * {@link #createChildReport()} always collect, since the caller may discard their errors.
+     */
+    private final boolean streaming;
+
+    /**
+     * Schemas whose errors are reported against another schema, shared by this report and all of its child reports.
+     * See {@link #createAttributingReport(Schema, Schema)}
+     */
+    @Nullable
+    private final Attribution attribution;
+
+    /**
+     * The report that errors are passed on to, for a report created with {@link #createAttributingReport}.
+     */
+    @Nullable
+    private final ValidationReport target;
+
+    public ValidationReport() {
+        this(null, false);
+    }
+
+    ValidationReport(@Nullable ValidationMemo memo) {
+        this(memo, false);
+    }
+
+    ValidationReport(@Nullable ValidationMemo memo, boolean failFast) {
+        this(memo, failFast, null, false);
+    }
+
+    private ValidationReport(@Nullable ValidationMemo memo, boolean failFast, @Nullable ValidationListener listener, boolean streaming) {
+        this(memo, failFast, listener, streaming, null, null);
+    }
+
+    private ValidationReport(@Nullable ValidationMemo memo, boolean failFast, @Nullable ValidationListener listener,
+                             boolean streaming, @Nullable Attribution attribution, @Nullable ValidationReport target) {
+        this.memo = memo;
+        this.failFast = failFast;
+        this.listener = listener;
+        this.streaming = streaming;
+        this.attribution = attribution;
+        this.target = target;
+    }
+
+    /**
+     * Creates a report that memoizes the result of applying a validator to a given node of the subject, so repeated
+     * evaluations during this validation run become lookups.  See {@link ValidationMemo}
+     *
+     * @param maxEntries The maximum number of results to memoize
+     */
+    public static ValidationReport memoizing(int maxEntries) {
+        return new ValidationReport(new ValidationMemo(maxEntries));
+    }
+
+    /**
+     * Creates a report that stops validating a schema as soon as one of its keywords fails.  Use this when only the
+     * outcome matters, not the full set of errors.
+     */
+    public static ValidationReport failFast() {
+        return new ValidationReport(null, true);
+    }
+
+    /**
+     * Creates a report that sends each error to {@code listener} as it's found, rather than building a tree of
+     * errors.  {@link #getErrors()} for this report will always be empty.  See {@link ValidationListener}
+     */
+    public static ValidationReport streaming(ValidationListener listener) {
+        checkNotNull(listener, "listener must not be null");
+        return new ValidationReport(null, false, listener, true);
+    }
+
+    @Nullable
+    public ValidationMemo getMemo() {
+        return memo;
+    }
+
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    /**
+     * Whether errors added to this report go straight to a {@link ValidationListener}
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Whether the {@link ValidationListener} has asked for validation to stop.
+     */
+    public boolean isStopped() {
+        return listener != null && listener.shouldStop();
+    }
+
     public List<ValidationError> getErrors() {
         return Collections.unmodifiableList(errors);
     }
 
     public void addError(ValidationError validationError) {
-        errors.add(validationError);
+        if (target != null) {
+            // The target applies the rest of the attribution chain
+            foundError = true;
+            target.addError(attribution.applyLocal(validationError));
+        } else {
+            deliver(attribution != null ? attribution.apply(validationError) : validationError);
+        }
+    }
+
+    private void deliver(ValidationError validationError) {
         foundError = true;
+        if (streaming) {
+            if (!listener.shouldStop()) {
+                listener.onError(validationError);
+            }
+        } else {
+            errors.add(validationError);
+        }
     }
 
     public boolean addReport(Schema schema, JsonValueWithLocation subject, JsonSchemaKeywordType keyword, String message, ValidationReport report) {
+        if (report.streaming) {
+            return addStreamedReport(report);
+        }
         final List<ValidationError> errors = report.getErrors();
         if (errors.size() > 0) {
             addError(ValidationError.validationBuilder()
@@ -47,13 +182,116 @@ public class ValidationReport {
     }
 
     public boolean addReport(Schema schema, JsonValueWithLocation subject, ValidationReport report) {
+        if (report.streaming) {
+            return addStreamedReport(report);
+        }
         Optional<ValidationError> error = collectErrors(schema, subject.getPath(), report.getErrors());
         error.ifPresent(this::addError);
         return !error.isPresent();
     }
 
+    /**
+     * Adds the errors from {@code report} to this report as they are, rather than collecting them under a single
+     * error for a schema.
+     *
+     * @return true if {@code report} is valid
+     */
+    public boolean addErrors(ValidationReport report) {
+        if (report.streaming) {
+            return addStreamedReport(report);
+        }
+        report.errors.forEach(this::addError);
+        return report.isValid();
+    }
+
+    /**
+     * Errors from a streaming child have already been delivered, so only its outcome is merged.
+     */
+    private boolean addStreamedReport(ValidationReport report) {
+        if (!report.isValid()) {
+            markInvalid();
+        }
+        return report.isValid();
+    }
+
+    private void markInvalid() {
+        foundError = true;
+        if (target != null) {
+            target.markInvalid();
+        }
+    }
+
+    /**
+     * Adds an error that was recorded without this report's attribution (ie. replayed from a {@link ValidationMemo}),
+     * so its causes are re-attributed as well.
+     */
+    void addUnattributedError(ValidationError validationError) {
+        if (target != null) {
+            foundError = true;
+            target.addUnattributedError(validationError.withViolatedSchema(attribution.attribution));
+            return;
+        }
+        for (Attribution next = attribution; next != null; next = next.parent) {
+            validationError = validationError.withViolatedSchema(next.attribution);
+        }
+        deliver(validationError);
+    }
+
+    /**
+     * Creates a report for errors that the caller may inspect or discard (like a trap for an <code>anyOf</code>
+     * branch).  Child reports always collect their errors.
+     */
     public ValidationReport createChildReport() {
-        return new ValidationReport();
+        return new ValidationReport(memo, failFast, listener, false, attribution, null);
+    }
+
+    /**
+     * Creates a child report whose errors aren't re-attributed, for results that are memoized and may be replayed
+     * for other schemas.  See {@link #addUnattributedError(ValidationError)}
+     */
+    ValidationReport createUnattributedReport() {
+        return new ValidationReport(memo, failFast, listener, false);
+    }
+
+    /**
+     * Creates a report that passes its errors straight on to this one, attributing any error raised by a schema to
+     * the schema {@code attribution} returns for it (if any) on the way.  Used when a single validator is shared by
+     * several identical schemas: the shared validator reports against its own schemas, and each error is rebuilt
+     * only if it's actually raised.
+     */
+    ValidationReport createAttributingReport(Function<Schema, Schema> attribution) {
+        checkNotNull(attribution, "attribution must not be null");
+        return new ValidationReport(memo, failFast, listener, streaming, new Attribution(attribution, this.attribution), this);
+    }
+
+    /**
+     * Creates a report whose errors will always be merged back into this one with {@link #addReport}.  If this
+     * report is {@link #isStreaming() streaming}, the child streams as well; otherwise this is the same as
+     * {@link #createChildReport()}.
+     */
+    public ValidationReport createPassThroughReport() {
+        if (streaming) {
+            return new ValidationReport(memo, failFast, listener, true, attribution, null);
+        }
+        return createChildReport();
+    }
+
+    /**
+     * Notifies the listener (if this report is streaming) that a composition keyword is about to be evaluated.
+     */
+    public void enterComposite(JsonSchemaKeywordType keyword, Schema schema, JsonValueWithLocation subject) {
+        if (streaming && !listener.shouldStop()) {
+            listener.enterComposite(keyword, schema, subject);
+        }
+    }
+
+    /**
+     * Notifies the listener (if this report is streaming) that a composition keyword has been evaluated.
+     */
+    public void exitComposite(JsonSchemaKeywordType keyword, Schema schema, JsonValueWithLocation subject, boolean valid) {
+        if (streaming && !listener.shouldStop()) {
+            listener.exitComposite(keyword, schema, subject, valid);
+        }
     }
 
     public boolean isValid() {
@@ -91,4 +329,34 @@ public class ValidationReport {
         printer.println("\tSchema : " + error.getSchemaLocation());
         printer.println("");
     }
+
+    private static final class Attribution {
+        private final Function<Schema, Schema> attribution;
+        @Nullable
+        private final Attribution parent;
+
+        private Attribution(Function<Schema, Schema> attribution, @Nullable Attribution parent) {
+            this.attribution = attribution;
+            this.parent = parent;
+        }
+
+        /**
+         * Errors are attributed as they're added, so the causes of a wrapping error have already been handled and
+         * only the error itself needs checking.
+         */
+        private ValidationError apply(ValidationError error) {
+            for (Attribution next = this; next != null; next = next.parent) {
+                error = next.applyLocal(error);
+            }
+            return error;
+        }
+
+        /**
+         * Applies this link of the chain only, for a report whose target applies the rest.
+         */
+        private ValidationError applyLocal(ValidationError error) {
+            final Schema replacement = attribution.apply(error.getViolatedSchema());
+            return replacement != null ? error.toBuilder().violatedSchema(replacement).build() : error;
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package io.sbsp.jsonschema.validator;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.time.Duration;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Settings for {@link SchemaValidatorWarmUp}.
+ */
+@Getter
+public class WarmUpOptions {
+
+    /**
+     * How many times to run the generated instances through the validator.  The JIT usually needs a few thousand
+     * invocations of a method before compiling it.
+     */
+    private final int iterations;
+
+    /**
+     * Stops the warm-up early once this much time has passed, even if not all iterations have run.
+     */
+    @Nullable
+    private final Duration timeBudget;
+
+    /**
+     * How deep to nest generated objects and arrays.
+     */
+    private final int maxDepth;
+
+    /**
+     * The factory that created the validator being warmed up.  When it's provided, validators for every subschema
+     * (including those only reachable through <code>$ref</code>) are built up front, and every referenced format
+     * validator is initialized directly.  Without it, only the parts of the validator reached by the generated
+     * instances are built.
+     */
+    @Nullable
+    private final SchemaValidatorFactory validatorFactory;
+
+    @Builder(builderMethodName = "warmUpOptions")
+    public WarmUpOptions(Integer iterations, @Nullable Duration timeBudget, Integer maxDepth,
+                         @Nullable SchemaValidatorFactory validatorFactory) {
+        this.iterations = iterations != null ? iterations : 2_000;
+        this.timeBudget = timeBudget;
+        this.maxDepth = maxDepth != null ? maxDepth : 4;
+        this.validatorFactory = validatorFactory;
+        checkArgument(this.iterations >= 0, "iterations must not be negative");
+        checkArgument(this.maxDepth >= 0, "maxDepth must not be negative");
+        checkArgument(timeBudget == null || !timeBudget.isNegative(), "timeBudget must not be negative");
+    }
+}
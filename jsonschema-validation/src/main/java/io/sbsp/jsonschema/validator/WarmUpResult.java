@@ -0,0 +1,64 @@
+package io.sbsp.jsonschema.validator;
+
+import java.time.Duration;
+
+/**
+ * What a {@link SchemaValidatorWarmUp} run did.
+ */
+public final class WarmUpResult {
+
+    private final int schemaCount;
+    private final int instanceCount;
+    private final int iterations;
+    private final long validationCount;
+    private final Duration elapsed;
+
+    WarmUpResult(int schemaCount, int instanceCount, int iterations, long validationCount, Duration elapsed) {
+        this.schemaCount = schemaCount;
+        this.instanceCount = instanceCount;
+        this.iterations = iterations;
+        this.validationCount = validationCount;
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * The number of distinct schemas (including referenced schemas) that were found.
+     */
+    public int getSchemaCount() {
+        return schemaCount;
+    }
+
+    /**
+     * The number of synthetic instances that were generated.
+     */
+    public int getInstanceCount() {
+        return instanceCount;
+    }
+
+    /**
+     * The number of passes over the generated instances that completed.  This is less than
+     * {@link WarmUpOptions#getIterations()} if the time budget ran out.
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    public long getValidationCount() {
+        return validationCount;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpResult{" +
+                "schemaCount=" + schemaCount +
+                ", instanceCount=" + instanceCount +
+                ", iterations=" + iterations +
+                ", validationCount=" + validationCount +
+                ", elapsed=" + elapsed +
+                '}';
+    }
+}
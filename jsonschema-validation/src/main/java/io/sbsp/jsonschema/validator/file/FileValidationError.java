@@ -0,0 +1,70 @@
+package io.sbsp.jsonschema.validator.file;
+
+import io.sbsp.jsonschema.validator.ValidationError;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A validation error found by {@link MappedFileValidator}, located within the file both by JSON pointer and by byte
+ * offset.
+ */
+public final class FileValidationError {
+
+    private final long recordIndex;
+    private final long recordOffset;
+    private final long byteOffset;
+    private final String pointer;
+    private final ValidationError error;
+
+    FileValidationError(long recordIndex, long recordOffset, long byteOffset, String pointer, ValidationError error) {
+        this.recordIndex = recordIndex;
+        this.recordOffset = recordOffset;
+        this.byteOffset = byteOffset;
+        this.pointer = checkNotNull(pointer);
+        this.error = checkNotNull(error);
+    }
+
+    /**
+     * The zero-based index of the record that failed.
+     */
+    public long getRecordIndex() {
+        return recordIndex;
+    }
+
+    /**
+     * The offset within the file of the first byte of the record that failed.
+     */
+    public long getRecordOffset() {
+        return recordOffset;
+    }
+
+    /**
+     * The offset within the file of the first byte of the value that failed.
+     */
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    /**
+     * The JSON pointer (as a URI fragment) to the value that failed.  For a file containing a top-level array, this
+     * is relative to the file's root (<code>#/1234/name</code>); otherwise it's relative to the record.
+     */
+    public String getPointer() {
+        return pointer;
+    }
+
+    public ValidationError getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "FileValidationError{" +
+                "recordIndex=" + recordIndex +
+                ", byteOffset=" + byteOffset +
+                ", pointer=" + pointer +
+                ", keyword='" + error.getKeyword() + '\'' +
+                ", message='" + error.getErrorMessage() + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package io.sbsp.jsonschema.validator.file;
+
+/**
+ * Totals for a file validated by {@link MappedFileValidator}.
+ */
+public final class FileValidationSummary {
+
+    private final long recordCount;
+    private final long invalidRecordCount;
+    private final long errorCount;
+    private final long byteCount;
+    private final long largestRecordSize;
+    private final boolean stopped;
+
+    FileValidationSummary(long recordCount, long invalidRecordCount, long errorCount, long byteCount,
+                          long largestRecordSize, boolean stopped) {
+        this.recordCount = recordCount;
+        this.invalidRecordCount = invalidRecordCount;
+        this.errorCount = errorCount;
+        this.byteCount = byteCount;
+        this.largestRecordSize = largestRecordSize;
+        this.stopped = stopped;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public long getInvalidRecordCount() {
+        return invalidRecordCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    /**
+     * The size, in bytes, of the largest record.  Each record is parsed whole, so this is what bounds heap use: for
+     * a file that's a single top-level object, it's the size of the file.
+     */
+    public long getLargestRecordSize() {
+        return largestRecordSize;
+    }
+
+    /**
+     * Whether validation stopped early because the error limit was reached.
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    public boolean isValid() {
+        return errorCount == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "FileValidationSummary{" +
+                "recordCount=" + recordCount +
+                ", invalidRecordCount=" + invalidRecordCount +
+                ", errorCount=" + errorCount +
+                ", byteCount=" + byteCount +
+                ", largestRecordSize=" + largestRecordSize +
+                ", stopped=" + stopped +
+                '}';
+    }
+}
@@ -0,0 +1,298 @@
+package io.sbsp.jsonschema.validator.file;
+
+import io.sbsp.jsonschema.tape.JsonTape;
+import io.sbsp.jsonschema.validator.SchemaValidator;
+import io.sbsp.jsonschema.validator.ValidationError;
+import io.sbsp.jsonschema.validator.ValidationListener;
+import lombok.Builder;
+
+import javax.json.stream.JsonLocation;
+import javax.json.stream.JsonParsingException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Validates JSON files too large to load, record by record, by memory-mapping them.  Two layouts are supported:
+ * <ul>
+ * <li>a top-level array (<code>[{...}, {...}]</code>): each item is a record</li>
+ * <li>a sequence of top-level values, such as newline-delimited JSON: each value is a record (a file that starts
+ * with an array is always read as the first layout)</li>
+ * </ul>
+ *
+ * The file is mapped in windows of {@code windowSize} bytes (so files beyond 2GB work) and scanned once to find
+ * record boundaries.  Each record is then parsed into a {@link JsonTape} straight from the mapped bytes and validated
+ * against {@code recordValidator}.  Only one record's tape is held at a time, so heap use is bounded by the largest
+ * record rather than by the file.  Keywords on the top-level array itself (<code>minItems</code>, etc) aren't
+ * applied - pass the validator for the item schema.
+ *
+ * Records are the unit of work, so a file that's a single large top-level object is parsed as one record, and its
+ * tape takes heap in proportion to the whole file.  Records larger than {@code maxRecordSize} bytes are rejected
+ * rather than parsed, and {@link FileValidationSummary#getLargestRecordSize()} reports the largest record that was.
+ *
+ * Errors are streamed to a callback as they're found, with the JSON pointer and byte offset of the failing value.
+ *
+ * <pre>
+ * MappedFileValidator validator = MappedFileValidator.mappedFileValidator()
+ *         .recordValidator(SchemaValidatorFactory.createValidatorForSchema(recordSchema))
+ *         .maxErrors(10_000)
+ *         .build();
+ * FileValidationSummary summary = validator.validate(Paths.get("export.json"), error -&gt; log.warn("{}", error));
+ * </pre>
+ *
+ * Malformed input is reported as a {@link JsonParsingException}, whose location carries the file offset.
+ */
+public class MappedFileValidator {
+
+    public static final int DEFAULT_WINDOW_SIZE = 256 << 20;
+
+    // A record is parsed from a single mapping, which can't be larger than this
+    private static final int MAX_MAPPED_RECORD_SIZE = Integer.MAX_VALUE - 8;
+
+    private final SchemaValidator recordValidator;
+    private final int windowSize;
+    private final long maxErrors;
+    private final int maxRecordSize;
+
+    /**
+     * @param maxRecordSize The size, in bytes, of the largest record that will be parsed (0 for the largest that
+     *                      can be mapped, just under 2GB).  A larger record fails with a {@link RecordTooLargeException}.
+     */
+    @Builder(builderMethodName = "mappedFileValidator")
+    public MappedFileValidator(SchemaValidator recordValidator, int windowSize, long maxErrors, int maxRecordSize) {
+        checkNotNull(recordValidator, "recordValidator must not be null");
+        checkArgument(windowSize >= 0, "windowSize must not be negative");
+        checkArgument(maxErrors >= 0, "maxErrors must not be negative");
+        checkArgument(maxRecordSize >= 0, "maxRecordSize must not be negative");
+        this.recordValidator = recordValidator;
+        this.windowSize = windowSize == 0 ? DEFAULT_WINDOW_SIZE : windowSize;
+        this.maxErrors = maxErrors == 0 ? Long.MAX_VALUE : maxErrors;
+        this.maxRecordSize = maxRecordSize == 0 ? MAX_MAPPED_RECORD_SIZE : Math.min(maxRecordSize, MAX_MAPPED_RECORD_SIZE);
+    }
+
+    /**
+     * Validates every record in {@code file}, passing errors to {@code errors} as they're found.  Stops early once
+     * {@code maxErrors} errors have been reported.
+     */
+    public FileValidationSummary validate(Path file, Consumer<FileValidationError> errors) throws IOException {
+        checkNotNull(file, "file must not be null");
+        checkNotNull(errors, "errors must not be null");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new Scan(channel, errors).run();
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static JsonParsingException malformed(String message, long offset) {
+        return new JsonParsingException(message + " at byte " + offset, new JsonLocation() {
+            @Override
+            public long getLineNumber() {
+                return -1;
+            }
+
+            @Override
+            public long getColumnNumber() {
+                return -1;
+            }
+
+            @Override
+            public long getStreamOffset() {
+                return offset;
+            }
+        });
+    }
+
+    /**
+     * State for a single pass over a file.
+     */
+    private class Scan implements ValidationListener {
+        private final FileChannel channel;
+        private final long size;
+        private final Consumer<FileValidationError> errors;
+
+        private MappedByteBuffer window;
+        private long windowStart;
+        private long windowEnd;
+
+        private boolean array;
+        // In a top-level array: whether a record has ended and the next token must be a ',' or the closing ']'
+        private boolean separatorExpected;
+        private long recordCount;
+        private long invalidRecordCount;
+        private long errorCount;
+        private long largestRecordSize;
+        private boolean stopped;
+
+        // The record being validated
+        private JsonTape record;
+        private long recordStart;
+        private boolean recordFailed;
+
+        Scan(FileChannel channel, Consumer<FileValidationError> errors) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.errors = errors;
+        }
+
+        FileValidationSummary run() throws IOException {
+            long p = 0;
+            while (p < size && isWhitespace(byteAt(p))) {
+                p++;
+            }
+            array = p < size && byteAt(p) == '[';
+            if (array) {
+                p++;
+            }
+
+            long start = -1;
+            int depth = 0;
+            boolean scalar = false;
+            boolean inString = false;
+            boolean escape = false;
+            boolean closed = false;
+            boolean afterComma = false;
+            for (; p < size && !stopped; p++) {
+                final byte b = byteAt(p);
+                if (start < 0) {
+                    if (isWhitespace(b)) {
+                        continue;
+                    } else if (closed) {
+                        throw malformed("Unexpected data after top-level array", p);
+                    } else if (array && b == ',') {
+                        if (!separatorExpected) {
+                            throw malformed("Unexpected ','", p);
+                        }
+                        separatorExpected = false;
+                        afterComma = true;
+                        continue;
+                    } else if (array && b == ']') {
+                        if (afterComma) {
+                            throw malformed("Unexpected ']' after ','", p);
+                        }
+                        closed = true;
+                        continue;
+                    } else if (separatorExpected) {
+                        throw malformed("Expected ',' between records", p);
+                    }
+                    afterComma = false;
+                    start = p;
+                    scalar = b != '{' && b != '[';
+                    depth = 0;
+                }
+
+                if (inString) {
+                    if (escape) {
+                        escape = false;
+                    } else if (b == '\\') {
+                        escape = true;
+                    } else if (b == '"') {
+                        inString = false;
+                        if (scalar) {
+                            validateRecord(start, p + 1);
+                            start = -1;
+                        }
+                    }
+                } else if (b == '"') {
+                    inString = true;
+                } else if (scalar && (b == ',' || b == ']' || b == '}' || isWhitespace(b))) {
+                    // End of a number or literal: validate it, then look at the delimiter again
+                    validateRecord(start, p);
+                    start = -1;
+                    p--;
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    if (--depth == 0) {
+                        validateRecord(start, p + 1);
+                        start = -1;
+                    }
+                }
+            }
+
+            if (!stopped) {
+                if (start >= 0) {
+                    if (!scalar || inString) {
+                        throw malformed("Unexpected end of input", size);
+                    }
+                    validateRecord(start, size);
+                } else if (array && !closed) {
+                    throw malformed("Unexpected end of input", size);
+                }
+            }
+            return new FileValidationSummary(recordCount, invalidRecordCount, errorCount, size, largestRecordSize, stopped);
+        }
+
+        private void validateRecord(long start, long end) throws IOException {
+            final long length = end - start;
+            if (length > maxRecordSize) {
+                throw new RecordTooLargeException(recordCount, start, length, maxRecordSize);
+            }
+            largestRecordSize = Math.max(largestRecordSize, length);
+            try {
+                record = JsonTape.parse(mapped(start, end));
+            } catch (JsonParsingException e) {
+                throw malformed("Invalid JSON in record " + recordCount, start + e.getLocation().getStreamOffset());
+            }
+            recordStart = start;
+            recordFailed = false;
+            separatorExpected = array;
+            recordValidator.validate(record.getRoot(), this);
+            if (recordFailed) {
+                invalidRecordCount++;
+            }
+            recordCount++;
+            record = null;
+        }
+
+        @Override
+        public void onError(ValidationError error) {
+            final String relative = error.getPointerToViolation() == null ? "#" : error.getPointerToViolation();
+            final long offset = Math.max(0, record.getByteOffset(relative));
+            final String pointer = array ? "#/" + recordCount + relative.substring(1) : relative;
+            recordFailed = true;
+            errorCount++;
+            errors.accept(new FileValidationError(recordCount, recordStart, recordStart + offset, pointer, error));
+            if (errorCount >= maxErrors) {
+                stopped = true;
+            }
+        }
+
+        @Override
+        public boolean shouldStop() {
+            return stopped;
+        }
+
+        private byte byteAt(long position) throws IOException {
+            if (position < windowStart || position >= windowEnd) {
+                windowStart = position;
+                windowEnd = Math.min(size, position + windowSize);
+                window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowEnd - windowStart);
+            }
+            return window.get((int) (position - windowStart));
+        }
+
+        /**
+         * The mapped bytes of a record: a slice of the current window if the record is inside it, or else a mapping
+         * of its own.  Nothing is copied to the heap.
+         */
+        private ByteBuffer mapped(long start, long end) throws IOException {
+            if (start >= windowStart && end <= windowEnd) {
+                final ByteBuffer source = window.duplicate();
+                source.limit((int) (end - windowStart));
+                source.position((int) (start - windowStart));
+                return source;
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.sbsp.jsonschema.validator.file;
+
+import lombok.Getter;
+
+/**
+ * Thrown by {@link MappedFileValidator} for a record larger than its {@code maxRecordSize}.  Records are parsed
+ * whole, so a file that's a single large top-level object (rather than an array or a sequence of records) ends up
+ * here.
+ */
+@Getter
+public class RecordTooLargeException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+    private final long record;
+    private final long offset;
+    private final long size;
+    private final long maxRecordSize;
+
+    public RecordTooLargeException(long record, long offset, long size, long maxRecordSize) {
+        super(String.format("Record %s at byte %s is %s bytes, more than the maximum of %s", record, offset, size, maxRecordSize));
+        this.record = record;
+        this.offset = offset;
+        this.size = size;
+        this.maxRecordSize = maxRecordSize;
+    }
+}
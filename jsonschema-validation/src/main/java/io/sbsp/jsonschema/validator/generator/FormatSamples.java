@@ -0,0 +1,77 @@
+package io.sbsp.jsonschema.validator.generator;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Known-good and known-bad values for each of the built-in formats.
+ */
+public final class FormatSamples {
+
+    private static final List<String> UNKNOWN_FORMAT = ImmutableList.of("sample");
+
+    private static final Map<String, List<String>> VALID = ImmutableMap.<String, List<String>>builder()
+            .put("date-time", ImmutableList.of("2017-06-01T12:30:00Z", "2016-02-29T23:59:59.250Z", "2018-11-05T08:15:30+01:00"))
+            .put("date", ImmutableList.of("2017-06-01", "2016-02-29", "1999-12-31"))
+            .put("time", ImmutableList.of("12:30:00Z", "00:00:01.5Z", "23:59:59Z"))
+            .put("utc-millisec", ImmutableList.of("1496320200000", "0", "1234567890123"))
+            .put("email", ImmutableList.of("user@example.com", "first.last@mail.example.org", "ops+alerts@example.net"))
+            .put("hostname", ImmutableList.of("www.example.com", "api.example.org", "localhost"))
+            .put("host-name", ImmutableList.of("www.example.com", "api.example.org", "localhost"))
+            .put("ipv4", ImmutableList.of("192.168.0.1", "10.0.0.254", "8.8.4.4"))
+            .put("ip-address", ImmutableList.of("192.168.0.1", "10.0.0.254", "8.8.4.4"))
+            .put("ipv6", ImmutableList.of("2001:db8::1", "fe80::1ff:fe23:4567:890a", "::1"))
+            .put("uri", ImmutableList.of("http://www.example.com/path?q=1", "https://example.org/a/b#c", "urn:isbn:0451450523"))
+            .put("uri-reference", ImmutableList.of("/path?q=1#frag", "http://www.example.com/", "../up"))
+            .put("uriref", ImmutableList.of("/path?q=1#frag", "http://www.example.com/", "../up"))
+            .put("uri-template", ImmutableList.of("http://www.example.com/{id}", "/users/{user}/orders{?page}", "/static"))
+            .put("json-pointer", ImmutableList.of("/a/b~1c", "/items/0", ""))
+            .put("regex", ImmutableList.of("^[a-z]+$", "\\d{3}-\\d{4}", "(foo|bar)+"))
+            .put("phone", ImmutableList.of("+1 650 253 0000", "+44 20 7031 3000", "+49 30 303986300"))
+            .put("color", ImmutableList.of("#ff0000", "#1E90FF", "#0a0"))
+            .put("style", ImmutableList.of("color: red", "font-weight: bold"))
+            .build();
+
+    private static final Map<String, String> INVALID = ImmutableMap.<String, String>builder()
+            .put("date-time", "2017-06-01 noon")
+            .put("date", "2017-13-45")
+            .put("time", "25:61")
+            .put("utc-millisec", "yesterday")
+            .put("email", "user@")
+            .put("hostname", "-bad-.example")
+            .put("host-name", "-bad-.example")
+            .put("ipv4", "999.1.1.1")
+            .put("ip-address", "999.1.1.1")
+            .put("ipv6", "2001:::1")
+            .put("uri", "not a uri")
+            .put("uri-reference", "\\\\bad reference")
+            .put("uriref", "\\\\bad reference")
+            .put("uri-template", "http://www.example.com/{id")
+            .put("json-pointer", "a/b")
+            .put("regex", "[a-z")
+            .put("phone", "12")
+            .put("color", "not-a-color")
+            .build();
+
+    private FormatSamples() {
+    }
+
+    /**
+     * Values that pass the built-in validator for {@code format}.  For formats this library doesn't know, a single
+     * placeholder value.
+     */
+    public static List<String> validSamples(String format) {
+        return VALID.getOrDefault(format, UNKNOWN_FORMAT);
+    }
+
+    /**
+     * A value that fails the built-in validator for {@code format}, or {@code null} if there's no such value (the
+     * format isn't known, or accepts anything).
+     */
+    public static String invalidSample(String format) {
+        return INVALID.get(format);
+    }
+}
@@ -0,0 +1,830 @@
+package io.sbsp.jsonschema.validator.generator;
+
+import io.sbsp.jsonschema.Draft6Schema;
+import io.sbsp.jsonschema.RefSchema;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.enums.JsonSchemaKeywordType;
+import io.sbsp.jsonschema.enums.JsonSchemaType;
+import io.sbsp.jsonschema.utils.JsonUtils;
+import lombok.Builder;
+
+import javax.annotation.Nullable;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonStructure;
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Generates JSON instances from a schema, for load tests and benchmarks.
+ *
+ * {@link #valid(Schema)} walks the schema's keywords (types, <code>enum</code>/<code>const</code>, properties and
+ * <code>required</code>, items, lengths and numeric limits, patterns, formats, and the branches of
+ * <code>allOf</code>/<code>anyOf</code>/<code>oneOf</code>) and builds an instance that satisfies them.
+ * {@link #invalid(Schema, JsonSchemaKeywordType, int)} builds an instance that's valid except for a single violation
+ * of the given keyword, at the given depth below the root.
+ *
+ * Output is determined entirely by the seed: two generators built with the same settings produce the same sequence of
+ * instances.  Generation is best effort - a schema whose constraints conflict, that uses keywords this generator
+ * doesn't understand (for example <code>not</code>), or that needs strings longer than 65536 characters, can produce
+ * instances that don't validate.
+ *
+ * <pre>
+ * InstanceGenerator generator = InstanceGenerator.instanceGenerator().seed(42).build();
+ * try (OutputStream out = Files.newOutputStream(path)) {
+ *     InstanceGenerator.writeNdjson(generator.validInstances(schema).limit(100_000), out);
+ * }
+ * </pre>
+ *
+ * Instances of this class aren't thread-safe.
+ */
+public class InstanceGenerator {
+
+    private static final int MAX_ATTEMPTS = 20;
+    private static final int DEFAULT_RANGE = 1000;
+    private static final BigDecimal DECIMAL_STEP = new BigDecimal("0.01");
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    // No string is generated longer than this, whatever the schema's length limits
+    private static final int MAX_STRING_LENGTH = 1 << 16;
+
+    private final Random random;
+    private final JsonProvider provider;
+    private final int maxDepth;
+    private final int maxItems;
+    private final int maxStringLength;
+    private final double optionalPropertyRate;
+    private final Map<String, Optional<PatternSampler>> patternSamplers = new HashMap<>();
+
+    /**
+     * @param seed                 seeds all random choices.  Defaults to 0
+     * @param maxDepth             below this depth, only required properties and the minimum number of items are
+     *                             generated.  Defaults to 5
+     * @param maxItems             the most items an array gets beyond its <code>minItems</code>.  Defaults to 5
+     * @param maxStringLength      the longest a string gets beyond its <code>minLength</code>.  Defaults to 12
+     * @param optionalPropertyRate the chance that each optional property is included.  Defaults to 0.5
+     */
+    @Builder(builderMethodName = "instanceGenerator")
+    public InstanceGenerator(Long seed, JsonProvider provider, Integer maxDepth, Integer maxItems,
+                             Integer maxStringLength, Double optionalPropertyRate) {
+        this.random = new Random(seed != null ? seed : 0L);
+        this.provider = provider != null ? provider : JsonUtils.provider();
+        this.maxDepth = maxDepth != null ? maxDepth : 5;
+        this.maxItems = maxItems != null ? maxItems : 5;
+        this.maxStringLength = maxStringLength != null ? maxStringLength : 12;
+        this.optionalPropertyRate = optionalPropertyRate != null ? optionalPropertyRate : 0.5;
+        checkArgument(this.maxDepth >= 0, "maxDepth must not be negative");
+        checkArgument(this.maxItems >= 0, "maxItems must not be negative");
+        checkArgument(this.maxStringLength >= 0, "maxStringLength must not be negative");
+        checkArgument(this.optionalPropertyRate >= 0 && this.optionalPropertyRate <= 1,
+                "optionalPropertyRate must be between 0 and 1");
+    }
+
+    /**
+     * Generates an instance that satisfies {@code schema}.
+     */
+    public JsonValue valid(Schema schema) {
+        checkNotNull(schema, "schema must not be null");
+        return generate(schema, 0);
+    }
+
+    /**
+     * Generates an instance that violates {@code keyword} in a schema {@code depth} levels below {@code schema}
+     * (following <code>properties</code> and <code>items</code>), and is otherwise valid.  The schema that's violated
+     * is chosen at random when several qualify.
+     *
+     * @return the instance, or empty if no schema at that depth has a {@code keyword} that this generator can violate
+     */
+    public Optional<JsonValue> invalid(Schema schema, JsonSchemaKeywordType keyword, int depth) {
+        checkNotNull(schema, "schema must not be null");
+        checkNotNull(keyword, "keyword must not be null");
+        checkArgument(depth >= 0, "depth must not be negative");
+        return violate(schema, keyword, depth, 0);
+    }
+
+    /**
+     * An endless stream of valid instances.
+     */
+    public Stream<JsonValue> validInstances(Schema schema) {
+        checkNotNull(schema, "schema must not be null");
+        return Stream.generate(() -> valid(schema));
+    }
+
+    /**
+     * An endless stream of instances that each violate {@code keyword} at {@code depth}.
+     *
+     * @throws IllegalArgumentException if the schema doesn't allow that violation
+     */
+    public Stream<JsonValue> invalidInstances(Schema schema, JsonSchemaKeywordType keyword, int depth) {
+        final JsonValue first = invalid(schema, keyword, depth).orElseThrow(() -> new IllegalArgumentException(
+                String.format("No %s keyword to violate at depth %d of %s", keyword, depth, schema.getLocation())));
+        final Supplier<JsonValue> next = () -> invalid(schema, keyword, depth).orElseThrow(IllegalStateException::new);
+        return Stream.concat(Stream.of(first), Stream.generate(next));
+    }
+
+    /**
+     * Writes each instance as a line of newline-delimited JSON.  The stream isn't closed.
+     *
+     * @return the number of instances written
+     */
+    public static long writeNdjson(Stream<? extends JsonValue> instances, OutputStream out) throws IOException {
+        checkNotNull(instances, "instances must not be null");
+        checkNotNull(out, "out must not be null");
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count = 0;
+        final Iterator<? extends JsonValue> iterator = instances.iterator();
+        while (iterator.hasNext()) {
+            final JsonValue instance = iterator.next();
+            writer.write(instance instanceof JsonStructure
+                    ? JsonUtils.toJsonString((JsonStructure) instance)
+                    : instance.toString());
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    // ##################################################################### //
+    // ##########  VALID INSTANCES  ######################################## //
+    // ##################################################################### //
+
+    private JsonValue generate(Schema schema, int depth) {
+        checkDepth(depth <= maxDepth * 4 + 16, schema);
+        final List<Draft6Schema> parts = parts(schema);
+        if (parts.isEmpty()) {
+            return provider.createValue(word(5));
+        }
+        for (Draft6Schema part : parts) {
+            if (part.getConstValue().isPresent()) {
+                return part.getConstValue().get();
+            }
+        }
+        for (Draft6Schema part : parts) {
+            final Optional<JsonArray> enumValues = part.getEnumValues();
+            if (enumValues.isPresent() && !enumValues.get().isEmpty()) {
+                return pick(enumValues.get());
+            }
+        }
+        return generate(parts, chooseType(parts, depth), depth);
+    }
+
+    private JsonValue generate(List<Draft6Schema> parts, JsonSchemaType type, int depth) {
+        switch (type) {
+            case STRING:
+                return string(parts);
+            case INTEGER:
+                return number(parts, true);
+            case NUMBER:
+                return number(parts, false);
+            case BOOLEAN:
+                return random.nextBoolean() ? JsonValue.TRUE : JsonValue.FALSE;
+            case OBJECT:
+                return object(parts, depth);
+            case ARRAY:
+                return array(parts, depth, -1);
+            default:
+                return JsonValue.NULL;
+        }
+    }
+
+    /**
+     * The schema itself, plus the <code>allOf</code> branches and one randomly chosen branch each of
+     * <code>anyOf</code> and <code>oneOf</code>.  An instance has to satisfy all of them.
+     */
+    private List<Draft6Schema> parts(Schema schema) {
+        final List<Draft6Schema> parts = new ArrayList<>();
+        addParts(schema, parts, 0);
+        return parts;
+    }
+
+    private void addParts(Schema schema, List<Draft6Schema> parts, int level) {
+        final Draft6Schema resolved = resolve(schema);
+        if (resolved == null || level > 8) {
+            return;
+        }
+        parts.add(resolved);
+        for (Schema allOf : resolved.getAllOfSchemas()) {
+            addParts(allOf, parts, level + 1);
+        }
+        if (!resolved.getAnyOfSchemas().isEmpty()) {
+            addParts(pick(resolved.getAnyOfSchemas()), parts, level + 1);
+        }
+        if (!resolved.getOneOfSchemas().isEmpty()) {
+            addParts(pick(resolved.getOneOfSchemas()), parts, level + 1);
+        }
+    }
+
+    private JsonSchemaType chooseType(List<Draft6Schema> parts, int depth) {
+        Set<JsonSchemaType> allowed = null;
+        for (Draft6Schema part : parts) {
+            if (!part.getTypes().isEmpty()) {
+                final Set<JsonSchemaType> types = EnumSet.copyOf(part.getTypes());
+                if (types.contains(JsonSchemaType.NUMBER)) {
+                    types.add(JsonSchemaType.INTEGER);
+                }
+                if (allowed == null) {
+                    allowed = types;
+                } else {
+                    allowed.retainAll(types);
+                }
+            }
+        }
+        if (allowed == null || allowed.isEmpty()) {
+            allowed = inferTypes(parts);
+        }
+        if (allowed.size() > 1 && depth >= maxDepth) {
+            final Set<JsonSchemaType> scalars = EnumSet.copyOf(allowed);
+            scalars.removeAll(EnumSet.of(JsonSchemaType.OBJECT, JsonSchemaType.ARRAY));
+            if (!scalars.isEmpty()) {
+                allowed = scalars;
+            }
+        }
+        // A number-typed schema mostly sees non-integers; an explicit integer type is honored below
+        if (allowed.contains(JsonSchemaType.NUMBER) && allowed.contains(JsonSchemaType.INTEGER)) {
+            allowed.remove(JsonSchemaType.INTEGER);
+        }
+        return pick(new ArrayList<>(allowed));
+    }
+
+    private static Set<JsonSchemaType> inferTypes(List<Draft6Schema> parts) {
+        final Set<JsonSchemaType> types = EnumSet.noneOf(JsonSchemaType.class);
+        for (Draft6Schema part : parts) {
+            if (!part.getProperties().isEmpty() || !part.getRequiredProperties().isEmpty()
+                    || part.getMinProperties() != null || part.getMaxProperties() != null
+                    || !part.getPatternProperties().isEmpty() || part.getAdditionalPropertiesSchema().isPresent()) {
+                types.add(JsonSchemaType.OBJECT);
+            }
+            if (part.getAllItemSchema().isPresent() || !part.getItemSchemas().isEmpty()
+                    || part.getMinItems() != null || part.getMaxItems() != null || part.getContainsSchema().isPresent()) {
+                types.add(JsonSchemaType.ARRAY);
+            }
+            if (part.getMinLength() != null || part.getMaxLength() != null || part.getPattern() != null
+                    || part.getFormat() != null) {
+                types.add(JsonSchemaType.STRING);
+            }
+            if (part.getMinimum() != null || part.getMaximum() != null || part.getMultipleOf() != null
+                    || part.getExclusiveMinimum() != null || part.getExclusiveMaximum() != null) {
+                types.add(JsonSchemaType.NUMBER);
+            }
+        }
+        if (types.isEmpty()) {
+            types.addAll(EnumSet.of(JsonSchemaType.STRING, JsonSchemaType.INTEGER, JsonSchemaType.BOOLEAN));
+        }
+        return types;
+    }
+
+    private JsonValue string(List<Draft6Schema> parts) {
+        final int minLength = Math.min(max(parts, Draft6Schema::getMinLength, 0), MAX_STRING_LENGTH);
+        final Integer maxLength = min(parts, Draft6Schema::getMaxLength);
+        final int upper = maxLength != null ? Math.min(maxLength, minLength + maxStringLength) : minLength + maxStringLength;
+
+        final String format = first(parts, Draft6Schema::getFormat);
+        if (format != null && FormatSamples.invalidSample(format) != null) {
+            return provider.createValue(pick(FormatSamples.validSamples(format)));
+        }
+
+        final String pattern = first(parts, Draft6Schema::getPattern);
+        if (pattern != null) {
+            final Optional<PatternSampler> sampler = patternSampler(pattern);
+            if (sampler.isPresent()) {
+                String sample = null;
+                for (int i = 0; i < MAX_ATTEMPTS; i++) {
+                    sample = sampler.get().sample(random);
+                    final int length = sample.codePointCount(0, sample.length());
+                    if (length >= minLength && (maxLength == null || length <= maxLength)) {
+                        break;
+                    }
+                }
+                return provider.createValue(sample);
+            }
+        }
+        return provider.createValue(word(minLength + random.nextInt(Math.max(upper, minLength) - minLength + 1)));
+    }
+
+    private JsonValue number(List<Draft6Schema> parts, boolean integer) {
+        final BigDecimal multipleOf = decimal(first(parts, Draft6Schema::getMultipleOf));
+        BigDecimal step = multipleOf != null ? multipleOf : integer ? BigDecimal.ONE : DECIMAL_STEP;
+        if (integer && step.stripTrailingZeros().scale() > 0) {
+            step = BigDecimal.ONE;
+        }
+
+        final BigDecimal minimum = maxDecimal(parts, Draft6Schema::getMinimum);
+        final BigDecimal exclusiveMinimum = maxDecimal(parts, Draft6Schema::getExclusiveMinimum);
+        final BigDecimal maximum = minDecimal(parts, Draft6Schema::getMaximum);
+        final BigDecimal exclusiveMaximum = minDecimal(parts, Draft6Schema::getExclusiveMaximum);
+
+        BigDecimal lowest = lowestMultiple(minimum, exclusiveMinimum, step);
+        BigDecimal highest = highestMultiple(maximum, exclusiveMaximum, step);
+        if (lowest == null && highest == null) {
+            lowest = BigDecimal.valueOf(-DEFAULT_RANGE).divide(step, 0, RoundingMode.CEILING);
+            highest = BigDecimal.valueOf(DEFAULT_RANGE).divide(step, 0, RoundingMode.FLOOR);
+        } else if (lowest == null) {
+            lowest = highest.subtract(BigDecimal.valueOf(DEFAULT_RANGE));
+        } else if (highest == null) {
+            highest = lowest.add(BigDecimal.valueOf(DEFAULT_RANGE));
+        }
+
+        final long span = highest.subtract(lowest).min(BigDecimal.valueOf(Integer.MAX_VALUE - 1)).max(BigDecimal.ZERO).longValue();
+        final BigDecimal multiple = lowest.add(BigDecimal.valueOf(random.nextInt((int) span + 1)));
+        return number(multiple.multiply(step));
+    }
+
+    /**
+     * The smallest k such that k * step satisfies the lower limits, or null if there are none.
+     */
+    private static BigDecimal lowestMultiple(BigDecimal minimum, BigDecimal exclusiveMinimum, BigDecimal step) {
+        BigDecimal lowest = null;
+        if (minimum != null) {
+            lowest = minimum.divide(step, 0, RoundingMode.CEILING);
+        }
+        if (exclusiveMinimum != null) {
+            BigDecimal k = exclusiveMinimum.divide(step, 0, RoundingMode.FLOOR).add(BigDecimal.ONE);
+            lowest = lowest == null ? k : lowest.max(k);
+        }
+        return lowest;
+    }
+
+    /**
+     * The largest k such that k * step satisfies the upper limits, or null if there are none.
+     */
+    private static BigDecimal highestMultiple(BigDecimal maximum, BigDecimal exclusiveMaximum, BigDecimal step) {
+        BigDecimal highest = null;
+        if (maximum != null) {
+            highest = maximum.divide(step, 0, RoundingMode.FLOOR);
+        }
+        if (exclusiveMaximum != null) {
+            BigDecimal k = exclusiveMaximum.divide(step, 0, RoundingMode.CEILING).subtract(BigDecimal.ONE);
+            highest = highest == null ? k : highest.min(k);
+        }
+        return highest;
+    }
+
+    private JsonObject object(List<Draft6Schema> parts, int depth) {
+        final Map<String, Schema> properties = new LinkedHashMap<>();
+        final Set<String> required = new LinkedHashSet<>();
+        for (Draft6Schema part : parts) {
+            part.getProperties().forEach(properties::putIfAbsent);
+            required.addAll(part.getRequiredProperties());
+        }
+        final Integer minProperties = min(parts, Draft6Schema::getMinProperties) == null ? null
+                : max(parts, Draft6Schema::getMinProperties, 0);
+        final Integer maxProperties = min(parts, Draft6Schema::getMaxProperties);
+
+        final Map<String, JsonValue> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Schema> property : properties.entrySet()) {
+            final boolean include = required.contains(property.getKey())
+                    || (depth < maxDepth && random.nextDouble() < optionalPropertyRate);
+            if (include) {
+                values.put(property.getKey(), generate(property.getValue(), depth + 1));
+            }
+        }
+        for (String name : required) {
+            if (!values.containsKey(name)) {
+                values.put(name, additionalValue(parts, depth));
+            }
+        }
+        for (Draft6Schema part : parts) {
+            part.getPropertyDependencies().forEach((property, dependency) -> {
+                if (values.containsKey(property) && !values.containsKey(dependency)) {
+                    final Schema dependencySchema = properties.get(dependency);
+                    values.put(dependency, dependencySchema != null
+                            ? generate(dependencySchema, depth + 1)
+                            : additionalValue(parts, depth));
+                }
+            });
+        }
+
+        if (minProperties != null) {
+            for (Map.Entry<String, Schema> property : properties.entrySet()) {
+                if (values.size() >= minProperties) {
+                    break;
+                }
+                values.computeIfAbsent(property.getKey(), name -> generate(property.getValue(), depth + 1));
+            }
+            for (int i = 0; values.size() < minProperties; i++) {
+                values.putIfAbsent("property" + i, additionalValue(parts, depth));
+            }
+        }
+        if (maxProperties != null) {
+            final List<String> names = new ArrayList<>(values.keySet());
+            Collections.reverse(names);
+            for (String name : names) {
+                if (values.size() > maxProperties && !required.contains(name)) {
+                    values.remove(name);
+                }
+            }
+        }
+
+        final JsonObjectBuilder builder = provider.createObjectBuilder();
+        values.forEach(builder::add);
+        return builder.build();
+    }
+
+    private JsonValue additionalValue(List<Draft6Schema> parts, int depth) {
+        for (Draft6Schema part : parts) {
+            if (part.getAdditionalPropertiesSchema().isPresent()) {
+                return generate(part.getAdditionalPropertiesSchema().get(), depth + 1);
+            }
+        }
+        return provider.createValue(word(5));
+    }
+
+    /**
+     * @param minimumCount the fewest items to generate, on top of the schema's own limits, or -1 for no minimum
+     */
+    private JsonArray array(List<Draft6Schema> parts, int depth, int minimumCount) {
+        final List<Schema> tuple = new ArrayList<>();
+        Schema allItems = null;
+        Schema additionalItems = null;
+        Schema contains = null;
+        boolean unique = false;
+        for (Draft6Schema part : parts) {
+            if (tuple.isEmpty()) {
+                tuple.addAll(part.getItemSchemas());
+            }
+            allItems = allItems != null ? allItems : part.getAllItemSchema().orElse(null);
+            additionalItems = additionalItems != null ? additionalItems : part.getAdditionalItemsSchema().orElse(null);
+            contains = contains != null ? contains : part.getContainsSchema().orElse(null);
+            unique |= part.requiresUniqueItems();
+        }
+        final int minItems = max(parts, Draft6Schema::getMinItems, 0);
+        final Integer maxItemCount = min(parts, Draft6Schema::getMaxItems);
+        final int upper = depth >= maxDepth ? minItems
+                : maxItemCount != null ? Math.min(maxItemCount, minItems + maxItems) : minItems + maxItems;
+
+        int count = minItems + random.nextInt(Math.max(upper, minItems) - minItems + 1);
+        count = Math.max(count, minimumCount);
+        if (contains != null && count == 0) {
+            count = 1;
+        }
+
+        final List<JsonValue> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final Schema itemSchema = i < tuple.size() ? tuple.get(i)
+                    : !tuple.isEmpty() ? additionalItems
+                    : allItems;
+            JsonValue item = itemSchema != null ? generate(itemSchema, depth + 1) : provider.createValue(word(5));
+            for (int attempt = 0; unique && items.contains(item) && attempt < MAX_ATTEMPTS; attempt++) {
+                item = itemSchema != null ? generate(itemSchema, depth + 1) : provider.createValue(word(5));
+            }
+            items.add(item);
+        }
+        if (contains != null) {
+            final int index = tuple.isEmpty() ? random.nextInt(items.size()) : items.size() - 1;
+            items.set(index, generate(contains, depth + 1));
+        }
+
+        final JsonArrayBuilder builder = provider.createArrayBuilder();
+        items.forEach(builder::add);
+        return builder.build();
+    }
+
+    // ##################################################################### //
+    // ##########  INVALID INSTANCES  ###################################### //
+    // ##################################################################### //
+
+    private Optional<JsonValue> violate(Schema schema, JsonSchemaKeywordType keyword, int remaining, int depth) {
+        final Draft6Schema resolved = resolve(schema);
+        if (resolved == null) {
+            return Optional.empty();
+        }
+        if (remaining == 0) {
+            return violateKeyword(resolved, keyword, depth);
+        }
+
+        final List<Supplier<Optional<JsonValue>>> children = new ArrayList<>();
+        resolved.getProperties().forEach((name, propertySchema) -> children.add(() ->
+                violate(propertySchema, keyword, remaining - 1, depth + 1)
+                        .map(value -> withProperty(resolved, name, value, depth))));
+        final List<Schema> tuple = resolved.getItemSchemas();
+        for (int i = 0; i < tuple.size(); i++) {
+            final int index = i;
+            children.add(() -> violate(tuple.get(index), keyword, remaining - 1, depth + 1)
+                    .map(value -> withItem(resolved, index, value, depth)));
+        }
+        resolved.getAllItemSchema().ifPresent(itemSchema -> children.add(() ->
+                violate(itemSchema, keyword, remaining - 1, depth + 1)
+                        .map(value -> withItem(resolved, -1, value, depth))));
+
+        Collections.shuffle(children, random);
+        for (Supplier<Optional<JsonValue>> child : children) {
+            final Optional<JsonValue> value = child.get();
+            if (value.isPresent()) {
+                return value;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private JsonValue withProperty(Draft6Schema schema, String name, JsonValue value, int depth) {
+        final JsonObjectBuilder builder = provider.createObjectBuilder();
+        object(parts(schema), depth).forEach(builder::add);
+        return builder.add(name, value).build();
+    }
+
+    /**
+     * @param index the item to replace, or -1 for a random item
+     */
+    private JsonValue withItem(Draft6Schema schema, int index, JsonValue value, int depth) {
+        final List<JsonValue> items = new ArrayList<>(array(parts(schema), depth, index + 1));
+        if (items.isEmpty()) {
+            items.add(value);
+        } else {
+            items.set(index >= 0 ? index : random.nextInt(items.size()), value);
+        }
+        final JsonArrayBuilder builder = provider.createArrayBuilder();
+        items.forEach(builder::add);
+        return builder.build();
+    }
+
+    private Optional<JsonValue> violateKeyword(Draft6Schema schema, JsonSchemaKeywordType keyword, int depth) {
+        final List<Draft6Schema> self = parts(schema);
+        switch (keyword) {
+            case TYPE:
+                return violateType(schema.getTypes());
+            case ENUM:
+                return schema.getEnumValues().map(this::notOneOf);
+            case CONST:
+                return schema.getConstValue().map(constValue -> notOneOf(Collections.singletonList(constValue)));
+            case MIN_LENGTH:
+                return Optional.ofNullable(schema.getMinLength())
+                        .filter(minLength -> minLength > 0 && minLength <= MAX_STRING_LENGTH)
+                        .map(minLength -> provider.createValue(word(minLength - 1)));
+            case MAX_LENGTH:
+                return Optional.ofNullable(schema.getMaxLength())
+                        .filter(maxLength -> maxLength < MAX_STRING_LENGTH)
+                        .map(maxLength -> provider.createValue(word(maxLength + 1)));
+            case PATTERN:
+                return Optional.ofNullable(schema.getPattern()).flatMap(this::notMatching);
+            case FORMAT:
+                return Optional.ofNullable(schema.getFormat())
+                        .map(FormatSamples::invalidSample)
+                        .map(provider::createValue);
+            case MINIMUM:
+                return Optional.ofNullable(decimal(schema.getMinimum()))
+                        .map(minimum -> number(minimum.subtract(BigDecimal.ONE)));
+            case EXCLUSIVE_MINIMUM:
+                return Optional.ofNullable(decimal(schema.getExclusiveMinimum())).map(this::number);
+            case MAXIMUM:
+                return Optional.ofNullable(decimal(schema.getMaximum()))
+                        .map(maximum -> number(maximum.add(BigDecimal.ONE)));
+            case EXCLUSIVE_MAXIMUM:
+                return Optional.ofNullable(decimal(schema.getExclusiveMaximum())).map(this::number);
+            case MULTIPLE_OF:
+                return Optional.ofNullable(decimal(schema.getMultipleOf())).map(multipleOf -> number(multipleOf
+                        .multiply(BigDecimal.valueOf(1 + random.nextInt(10)))
+                        .add(multipleOf.divide(BigDecimal.valueOf(2)))));
+            case REQUIRED:
+                if (schema.getRequiredProperties().isEmpty()) {
+                    return Optional.empty();
+                }
+                final JsonObject complete = object(self, depth);
+                final String missing = pick(new ArrayList<>(schema.getRequiredProperties()));
+                final JsonObjectBuilder withoutRequired = provider.createObjectBuilder();
+                complete.forEach((name, value) -> {
+                    if (!name.equals(missing)) {
+                        withoutRequired.add(name, value);
+                    }
+                });
+                return Optional.of(withoutRequired.build());
+            case ADDITIONAL_PROPERTIES:
+                return schema.getAdditionalPropertiesSchema().flatMap(additional ->
+                        violateKeyword(additional, JsonSchemaKeywordType.TYPE, depth + 1)
+                                .map(value -> withProperty(schema, unknownProperty(schema), value, depth)));
+            case MIN_PROPERTIES:
+                return Optional.ofNullable(schema.getMinProperties())
+                        .filter(minProperties -> minProperties > 0)
+                        .map(minProperties -> truncate(object(self, depth), minProperties - 1));
+            case MAX_PROPERTIES:
+                return Optional.ofNullable(schema.getMaxProperties()).map(maxProperties -> {
+                    final JsonObjectBuilder builder = provider.createObjectBuilder();
+                    final JsonObject valid = object(self, depth);
+                    valid.forEach(builder::add);
+                    for (int i = valid.size(); i <= maxProperties; i++) {
+                        builder.add("extraProperty" + i, word(5));
+                    }
+                    return builder.build();
+                });
+            case MIN_ITEMS:
+                return Optional.ofNullable(schema.getMinItems())
+                        .filter(minItems -> minItems > 0)
+                        .map(minItems -> truncate(array(self, depth, -1), minItems - 1));
+            case MAX_ITEMS:
+                return Optional.ofNullable(schema.getMaxItems())
+                        .map(maxItems -> {
+                            final List<JsonValue> items = new ArrayList<>(array(self, depth, -1));
+                            while (items.size() <= maxItems) {
+                                items.add(items.isEmpty() ? provider.createValue(word(5)) : items.get(0));
+                            }
+                            return array(items);
+                        });
+            case UNIQUE_ITEMS:
+                if (!schema.requiresUniqueItems()) {
+                    return Optional.empty();
+                }
+                final List<JsonValue> items = new ArrayList<>(array(self, depth, 1));
+                items.add(items.get(0));
+                return Optional.of(array(items));
+            case CONTAINS:
+                return schema.getContainsSchema().map(contains -> provider.createArrayBuilder().build());
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private Optional<JsonValue> violateType(Set<JsonSchemaType> types) {
+        if (types.isEmpty()) {
+            return Optional.empty();
+        }
+        final List<JsonValue> candidates = new ArrayList<>();
+        if (!types.contains(JsonSchemaType.STRING)) {
+            candidates.add(provider.createValue(word(5)));
+        }
+        if (!types.contains(JsonSchemaType.BOOLEAN)) {
+            candidates.add(random.nextBoolean() ? JsonValue.TRUE : JsonValue.FALSE);
+        }
+        if (!types.contains(JsonSchemaType.NULL)) {
+            candidates.add(JsonValue.NULL);
+        }
+        if (!types.contains(JsonSchemaType.OBJECT)) {
+            candidates.add(provider.createObjectBuilder().build());
+        }
+        if (!types.contains(JsonSchemaType.ARRAY)) {
+            candidates.add(provider.createArrayBuilder().build());
+        }
+        if (!types.contains(JsonSchemaType.NUMBER)) {
+            candidates.add(types.contains(JsonSchemaType.INTEGER)
+                    ? provider.createValue(random.nextInt(100) + 0.5)
+                    : provider.createValue(random.nextInt(100)));
+        }
+        return candidates.isEmpty() ? Optional.empty() : Optional.of(pick(candidates));
+    }
+
+    private JsonValue notOneOf(Collection<JsonValue> values) {
+        JsonValue candidate = provider.createValue(word(8));
+        while (values.contains(candidate)) {
+            candidate = provider.createValue(word(9));
+        }
+        return candidate;
+    }
+
+    private Optional<JsonValue> notMatching(String pattern) {
+        final Pattern compiled = Pattern.compile(pattern);
+        final List<String> candidates = new ArrayList<>();
+        candidates.add("");
+        candidates.add("~");
+        candidates.add(" ");
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            candidates.add(word(1 + random.nextInt(maxStringLength + 1)));
+        }
+        return candidates.stream()
+                .filter(candidate -> !compiled.matcher(candidate).find())
+                .findFirst()
+                .map(provider::createValue);
+    }
+
+    private static String unknownProperty(Draft6Schema schema) {
+        String name = "unexpectedProperty";
+        while (isDeclared(schema, name)) {
+            name = "_" + name;
+        }
+        return name;
+    }
+
+    private static boolean isDeclared(Draft6Schema schema, String name) {
+        return schema.getProperties().containsKey(name) || schema.getPatternProperties().keySet().stream()
+                .anyMatch(pattern -> Pattern.compile(pattern).matcher(name).find());
+    }
+
+    private JsonObject truncate(JsonObject object, int size) {
+        final JsonObjectBuilder builder = provider.createObjectBuilder();
+        object.entrySet().stream().limit(size).forEach(entry -> builder.add(entry.getKey(), entry.getValue()));
+        return builder.build();
+    }
+
+    private JsonArray truncate(JsonArray array, int size) {
+        return array(array.subList(0, Math.min(size, array.size())));
+    }
+
+    // ##################################################################### //
+    // ##########  HELPERS  ################################################ //
+    // ##################################################################### //
+
+    private Optional<PatternSampler> patternSampler(String pattern) {
+        return patternSamplers.computeIfAbsent(pattern, p -> {
+            try {
+                return Optional.of(new PatternSampler(p, maxStringLength / 2 + 1));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    private JsonArray array(List<JsonValue> items) {
+        final JsonArrayBuilder builder = provider.createArrayBuilder();
+        items.forEach(builder::add);
+        return builder.build();
+    }
+
+    private JsonValue number(BigDecimal value) {
+        BigDecimal normalized = value.stripTrailingZeros();
+        if (normalized.scale() <= 0) {
+            try {
+                return provider.createValue(normalized.longValueExact());
+            } catch (ArithmeticException e) {
+                normalized = normalized.setScale(0);
+            }
+        }
+        return provider.createValue(normalized);
+    }
+
+    private String word(int length) {
+        final StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return word.toString();
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    @Nullable
+    private static Draft6Schema resolve(Schema schema) {
+        int hops = 0;
+        while (schema instanceof RefSchema && hops++ < 10) {
+            schema = ((RefSchema) schema).getRefSchema();
+        }
+        return schema == null ? null : schema.asDraft6();
+    }
+
+    private static void checkDepth(boolean condition, Schema schema) {
+        if (!condition) {
+            throw new IllegalStateException("Schema requires unbounded nesting: " + schema.getLocation());
+        }
+    }
+
+    @Nullable
+    private static <T> T first(List<Draft6Schema> parts, Function<Draft6Schema, T> getter) {
+        return parts.stream().map(getter).filter(Objects::nonNull).findFirst().orElse(null);
+    }
+
+    private static int max(List<Draft6Schema> parts, Function<Draft6Schema, Integer> getter, int defaultValue) {
+        return parts.stream().map(getter).filter(Objects::nonNull).max(Integer::compare).orElse(defaultValue);
+    }
+
+    @Nullable
+    private static Integer min(List<Draft6Schema> parts, Function<Draft6Schema, Integer> getter) {
+        return parts.stream().map(getter).filter(Objects::nonNull).min(Integer::compare).orElse(null);
+    }
+
+    @Nullable
+    private static BigDecimal maxDecimal(List<Draft6Schema> parts, Function<Draft6Schema, Number> getter) {
+        return parts.stream().map(getter).map(InstanceGenerator::decimal).filter(Objects::nonNull)
+                .max(BigDecimal::compareTo).orElse(null);
+    }
+
+    @Nullable
+    private static BigDecimal minDecimal(List<Draft6Schema> parts, Function<Draft6Schema, Number> getter) {
+        return parts.stream().map(getter).map(InstanceGenerator::decimal).filter(Objects::nonNull)
+                .min(BigDecimal::compareTo).orElse(null);
+    }
+
+    @Nullable
+    private static BigDecimal decimal(@Nullable Number number) {
+        return number == null ? null : new BigDecimal(number.toString());
+    }
+}
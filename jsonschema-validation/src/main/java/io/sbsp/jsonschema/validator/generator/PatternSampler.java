@@ -0,0 +1,310 @@
+package io.sbsp.jsonschema.validator.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Produces strings that match a regular expression.  Covers the subset of regex syntax that shows up in schemas:
+ * literals, escapes, character classes, <code>.</code>, groups, alternation, anchors and greedy/lazy quantifiers.
+ * Anything else (lookaround, backreferences, inline flags) is rejected when the sampler is created.
+ */
+final class PatternSampler {
+
+    private static final int[][] WORD = {{'a', 'z'}, {'A', 'Z'}, {'0', '9'}, {'_', '_'}};
+    private static final int[][] DIGIT = {{'0', '9'}};
+    private static final int[][] SPACE = {{' ', ' '}};
+    private static final int[][] NOT_WORD = {{'-', '-'}, {'.', '.'}, {' ', ' '}};
+    private static final int[][] NOT_DIGIT = {{'a', 'z'}};
+    private static final int[][] NOT_SPACE = {{'a', 'z'}, {'0', '9'}};
+    private static final int[][] ANY = {{'a', 'z'}, {'A', 'Z'}, {'0', '9'}};
+
+    private final String pattern;
+    private final int maxRepeat;
+    private final Node root;
+    private int pos;
+
+    /**
+     * @param maxRepeat how many extra repetitions an open-ended quantifier (<code>*</code>, <code>+</code>,
+     *                  <code>{n,}</code>) may produce
+     * @throws IllegalArgumentException if the pattern uses unsupported syntax
+     */
+    PatternSampler(String pattern, int maxRepeat) {
+        this.pattern = checkNotNull(pattern, "pattern must not be null");
+        this.maxRepeat = maxRepeat;
+        this.root = parseAlternation();
+        if (pos < pattern.length()) {
+            throw unsupported();
+        }
+    }
+
+    String sample(Random random) {
+        final StringBuilder out = new StringBuilder();
+        root.sample(random, out);
+        return out.toString();
+    }
+
+    private Node parseAlternation() {
+        final List<Node> branches = new ArrayList<>();
+        branches.add(parseSequence());
+        while (pos < pattern.length() && pattern.charAt(pos) == '|') {
+            pos++;
+            branches.add(parseSequence());
+        }
+        return branches.size() == 1 ? branches.get(0) : (random, out) ->
+                branches.get(random.nextInt(branches.size())).sample(random, out);
+    }
+
+    private Node parseSequence() {
+        final List<Node> nodes = new ArrayList<>();
+        while (pos < pattern.length() && pattern.charAt(pos) != '|' && pattern.charAt(pos) != ')') {
+            final Node atom = parseAtom();
+            nodes.add(parseQuantifier(atom));
+        }
+        return (random, out) -> {
+            for (Node node : nodes) {
+                node.sample(random, out);
+            }
+        };
+    }
+
+    private Node parseAtom() {
+        final char c = pattern.charAt(pos++);
+        switch (c) {
+            case '^':
+            case '$':
+                return (random, out) -> {
+                };
+            case '.':
+                return ranges(ANY);
+            case '[':
+                return parseClass();
+            case '(':
+                if (pos < pattern.length() && pattern.charAt(pos) == '?') {
+                    if (pattern.startsWith("?:", pos)) {
+                        pos += 2;
+                    } else {
+                        throw unsupported();
+                    }
+                }
+                final Node group = parseAlternation();
+                expect(')');
+                return group;
+            case '\\':
+                return parseEscape();
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                throw unsupported();
+            default:
+                return literal(c);
+        }
+    }
+
+    private Node parseQuantifier(Node atom) {
+        if (pos >= pattern.length()) {
+            return atom;
+        }
+        final int min;
+        final int max;
+        final char c = pattern.charAt(pos);
+        if (c == '?') {
+            min = 0;
+            max = 1;
+            pos++;
+        } else if (c == '*') {
+            min = 0;
+            max = maxRepeat;
+            pos++;
+        } else if (c == '+') {
+            min = 1;
+            max = 1 + maxRepeat;
+            pos++;
+        } else if (c == '{' && pattern.indexOf('}', pos) > pos) {
+            final int end = pattern.indexOf('}', pos);
+            final String[] bounds = pattern.substring(pos + 1, end).split(",", -1);
+            try {
+                min = Integer.parseInt(bounds[0].trim());
+                if (bounds.length == 1) {
+                    max = min;
+                } else if (bounds[1].trim().isEmpty()) {
+                    max = min + maxRepeat;
+                } else {
+                    max = Integer.parseInt(bounds[1].trim());
+                }
+            } catch (NumberFormatException e) {
+                throw unsupported();
+            }
+            pos = end + 1;
+        } else {
+            return atom;
+        }
+        // Lazy and possessive quantifiers match the same strings
+        if (pos < pattern.length() && (pattern.charAt(pos) == '?' || pattern.charAt(pos) == '+')) {
+            pos++;
+        }
+        return (random, out) -> {
+            final int count = min + random.nextInt(max - min + 1);
+            for (int i = 0; i < count; i++) {
+                atom.sample(random, out);
+            }
+        };
+    }
+
+    private Node parseClass() {
+        final boolean negated = pos < pattern.length() && pattern.charAt(pos) == '^';
+        if (negated) {
+            pos++;
+        }
+        final List<int[]> ranges = new ArrayList<>();
+        boolean first = true;
+        while (pos < pattern.length() && (pattern.charAt(pos) != ']' || first)) {
+            first = false;
+            final int start;
+            char c = pattern.charAt(pos++);
+            if (c == '\\') {
+                if (pos >= pattern.length()) {
+                    throw unsupported();
+                }
+                final char escaped = pattern.charAt(pos);
+                final int[][] shorthand = shorthand(escaped);
+                if (shorthand != null) {
+                    pos++;
+                    for (int[] range : shorthand) {
+                        ranges.add(range);
+                    }
+                    continue;
+                }
+                start = escapedChar();
+            } else if (c == '[') {
+                throw unsupported();
+            } else {
+                start = c;
+            }
+            if (pos + 1 < pattern.length() && pattern.charAt(pos) == '-' && pattern.charAt(pos + 1) != ']') {
+                pos++;
+                c = pattern.charAt(pos++);
+                final int end = c == '\\' ? escapedChar() : c;
+                if (end < start) {
+                    throw unsupported();
+                }
+                ranges.add(new int[]{start, end});
+            } else {
+                ranges.add(new int[]{start, start});
+            }
+        }
+        expect(']');
+
+        if (!negated) {
+            return ranges(ranges.toArray(new int[0][]));
+        }
+        final StringBuilder allowed = new StringBuilder();
+        for (char c = ' '; c <= '~'; c++) {
+            boolean excluded = false;
+            for (int[] range : ranges) {
+                excluded |= c >= range[0] && c <= range[1];
+            }
+            if (!excluded) {
+                allowed.append(c);
+            }
+        }
+        if (allowed.length() == 0) {
+            throw unsupported();
+        }
+        return (random, out) -> out.append(allowed.charAt(random.nextInt(allowed.length())));
+    }
+
+    private Node parseEscape() {
+        if (pos >= pattern.length()) {
+            throw unsupported();
+        }
+        final char c = pattern.charAt(pos);
+        final int[][] shorthand = shorthand(c);
+        if (shorthand != null) {
+            pos++;
+            return ranges(shorthand);
+        }
+        if (c == 'b' || c == 'B' || c == 'A' || c == 'z' || c == 'Z') {
+            pos++;
+            return (random, out) -> {
+            };
+        }
+        return literal((char) escapedChar());
+    }
+
+    private int escapedChar() {
+        if (pos >= pattern.length()) {
+            throw unsupported();
+        }
+        final char c = pattern.charAt(pos++);
+        switch (c) {
+            case 'n':
+                return '\n';
+            case 't':
+                return '\t';
+            case 'r':
+                return '\r';
+            case 'u':
+                if (pos + 4 > pattern.length()) {
+                    throw unsupported();
+                }
+                final int code = Integer.parseInt(pattern.substring(pos, pos + 4), 16);
+                pos += 4;
+                return code;
+            default:
+                if (Character.isLetterOrDigit(c)) {
+                    throw unsupported();
+                }
+                return c;
+        }
+    }
+
+    private static int[][] shorthand(char c) {
+        switch (c) {
+            case 'd':
+                return DIGIT;
+            case 'w':
+                return WORD;
+            case 's':
+                return SPACE;
+            case 'D':
+                return NOT_DIGIT;
+            case 'W':
+                return NOT_WORD;
+            case 'S':
+                return NOT_SPACE;
+            default:
+                return null;
+        }
+    }
+
+    private void expect(char c) {
+        if (pos >= pattern.length() || pattern.charAt(pos) != c) {
+            throw unsupported();
+        }
+        pos++;
+    }
+
+    private IllegalArgumentException unsupported() {
+        return new IllegalArgumentException("Unable to generate values for pattern [" + pattern + "] at index " + pos);
+    }
+
+    private static Node literal(char c) {
+        return (random, out) -> out.append(c);
+    }
+
+    private static Node ranges(int[][] ranges) {
+        return (random, out) -> {
+            final int[] range = ranges[random.nextInt(ranges.length)];
+            out.append((char) (range[0] + random.nextInt(range[1] - range[0] + 1)));
+        };
+    }
+
+    @FunctionalInterface
+    private interface Node {
+        void sample(Random random, StringBuilder out);
+    }
+}
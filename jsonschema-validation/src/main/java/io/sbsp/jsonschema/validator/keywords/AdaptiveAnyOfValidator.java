@@ -0,0 +1,144 @@
+package io.sbsp.jsonschema.validator.keywords;
+
+import com.google.common.collect.ImmutableList;
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.keyword.Keywords;
+import io.sbsp.jsonschema.keyword.SchemaListKeyword;
+import io.sbsp.jsonschema.validator.SchemaValidator;
+import io.sbsp.jsonschema.validator.SchemaValidatorFactory;
+import io.sbsp.jsonschema.validator.ValidationReport;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static io.sbsp.jsonschema.enums.JsonSchemaKeywordType.ANY_OF;
+import static io.sbsp.jsonschema.validator.ValidationErrorHelper.buildKeywordFailure;
+
+/**
+ * An <code>anyOf</code> validator that learns which branches tend to match, and tries those first.
+ *
+ * Each branch has a {@link LongAdder} match counter, so recording a match doesn't contend between threads.  Roughly
+ * once every {@code reorderInterval} validations (chosen by sampling, so there's no shared evaluation counter), the
+ * branch order is recomputed from the counters and published.  Older observations decay by half at each reorder, so
+ * the order follows shifts in traffic.
+ *
+ * When no branch matches, errors are reported in declaration order, exactly as {@link AnyOfValidator} reports them.
+ */
+@EqualsAndHashCode(callSuper = true, of = "anyOfValidators")
+@ToString(of = "anyOfValidators")
+public class AdaptiveAnyOfValidator extends KeywordValidator<SchemaListKeyword> {
+
+    private static final int DEFAULT_REORDER_INTERVAL = 1024;
+
+    private final List<SchemaValidator> anyOfValidators;
+    private final LongAdder[] matches;
+    private final int reorderInterval;
+
+    /**
+     * Decayed match scores, only accessed by the thread holding {@link #reordering}
+     */
+    private final long[] scores;
+    private final AtomicBoolean reordering = new AtomicBoolean();
+
+    /**
+     * Indexes into {@link #anyOfValidators}, in the order they should be tried
+     */
+    private volatile int[] order;
+
+    public AdaptiveAnyOfValidator(SchemaListKeyword keyword, Schema schema, SchemaValidatorFactory factory) {
+        this(keyword, schema, factory, DEFAULT_REORDER_INTERVAL);
+    }
+
+    AdaptiveAnyOfValidator(SchemaListKeyword keyword, Schema schema, SchemaValidatorFactory factory, int reorderInterval) {
+        super(Keywords.anyOf, schema);
+        checkArgument(reorderInterval > 0, "reorderInterval must be greater than 0");
+        this.anyOfValidators = keyword.getSchemas().stream()
+                .map(factory::createValidator)
+                .collect(ImmutableList.toImmutableList());
+        this.reorderInterval = reorderInterval;
+
+        final int size = anyOfValidators.size();
+        this.matches = new LongAdder[size];
+        this.scores = new long[size];
+        this.order = new int[size];
+        for (int i = 0; i < size; i++) {
+            matches[i] = new LongAdder();
+            order[i] = i;
+        }
+    }
+
+    @Override
+    public boolean validate(JsonValueWithLocation subject, ValidationReport parentReport) {
+        if (ThreadLocalRandom.current().nextInt(reorderInterval) == 0) {
+            reorder();
+        }
+
+        parentReport.enterComposite(ANY_OF, schema, subject);
+        final int[] order = this.order;
+        // Only allocated once a branch fails, so a match on the first branch costs nothing extra
+        ValidationReport[] traps = null;
+        for (int branch : order) {
+            final ValidationReport trap = parentReport.createChildReport();
+            if (anyOfValidators.get(branch).validate(subject, trap)) {
+                matches[branch].increment();
+                parentReport.exitComposite(ANY_OF, schema, subject, true);
+                return true;
+            }
+            if (traps == null) {
+                traps = new ValidationReport[order.length];
+            }
+            traps[branch] = trap;
+        }
+        parentReport.exitComposite(ANY_OF, schema, subject, false);
+
+        final ValidationReport anyOfReport = parentReport.createChildReport();
+        if (traps != null) {
+            for (ValidationReport trap : traps) {
+                anyOfReport.addReport(schema, subject, trap);
+            }
+        }
+        parentReport.addError(buildKeywordFailure(subject, schema, ANY_OF)
+                .message("no subschema matched out of the total %d subschemas", anyOfValidators.size())
+                .causingExceptions(anyOfReport.getErrors())
+                .build());
+        return parentReport.isValid();
+    }
+
+    /**
+     * @return The branch indexes (in declaration order) in the order they're currently tried
+     */
+    public int[] getBranchOrder() {
+        return order.clone();
+    }
+
+    private void reorder() {
+        if (!reordering.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            final int size = scores.length;
+            final Integer[] sorted = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                scores[i] = (scores[i] >> 1) + matches[i].sumThenReset();
+                sorted[i] = i;
+            }
+            // Stable sort: branches with equal scores keep their declaration order
+            Arrays.sort(sorted, (a, b) -> Long.compare(scores[b], scores[a]));
+
+            final int[] newOrder = new int[size];
+            for (int i = 0; i < size; i++) {
+                newOrder[i] = sorted[i];
+            }
+            this.order = newOrder;
+        } finally {
+            reordering.set(false);
+        }
+    }
+}
@@ -13,11 +13,12 @@ import io.sbsp.jsonschema.validator.ValidationReport;
 import lombok.NonNull;
 
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 
 import static io.sbsp.jsonschema.enums.JsonSchemaKeywordType.ADDITIONAL_PROPERTIES;
 
-public class AdditionalPropertiesValidator extends KeywordValidator<SingleSchemaKeyword> {
+public class AdditionalPropertiesValidator extends KeywordValidator<SingleSchemaKeyword> implements ChildSchemaValidator {
 
     @NonNull
     private final SchemaValidator additionalPropertiesValidator;
@@ -40,7 +41,7 @@ public class AdditionalPropertiesValidator extends KeywordValidator<SingleSchema
 
     @Override
     public boolean validate(JsonValueWithLocation subject, ValidationReport parentReport) {
-        ValidationReport report = parentReport.createChildReport();
+        ValidationReport report = parentReport.createPassThroughReport();
 
         prop: for (String propName : subject.propertyNames()) {
             for (Pattern pattern : patternProperties) {
@@ -58,4 +59,26 @@ public class AdditionalPropertiesValidator extends KeywordValidator<SingleSchema
         }
         return parentReport.isValid();
     }
+
+    @Override
+    public void forEachChildValidator(JsonValueWithLocation subject, BiConsumer<Object, SchemaValidator> action) {
+        prop: for (String propName : subject.propertyNames()) {
+            for (Pattern pattern : patternProperties) {
+                if (pattern.matcher(propName).find()) {
+                    continue prop;
+                }
+            }
+            if (!propertySchemaKeys.contains(propName)) {
+                action.accept(propName, additionalPropertiesValidator);
+            }
+        }
+    }
+
+    @Override
+    public boolean addChildReport(JsonValueWithLocation subject, ValidationReport childReport, ValidationReport parentReport) {
+        if (!childReport.isValid()) {
+            return parentReport.addReport(schema, subject, ADDITIONAL_PROPERTIES, "Additional properties were invalid", childReport);
+        }
+        return true;
+    }
 }
@@ -27,8 +27,19 @@ public class AllOfValidator extends KeywordValidator<SchemaListKeyword> {
                 .collect(ImmutableList.toImmutableList());
     }
 
+    /**
+     * The validators for each branch, all of which must pass.
+     */
+    public List<SchemaValidator> getAllOfValidators() {
+        return allOfValidators;
+    }
+
     @Override
     public boolean validate(JsonValueWithLocation subject, ValidationReport parentReport) {
+        if (parentReport.isStreaming()) {
+            return validateStreaming(subject, parentReport);
+        }
+
         ValidationReport report = parentReport.createChildReport();
         for (SchemaValidator validator : allOfValidators) {
             validator.validate(subject, report);
@@ -49,4 +60,17 @@ public class AllOfValidator extends KeywordValidator<SchemaListKeyword> {
         return parentReport.isValid();
     }
 
+    /**
+     * Every branch has to pass, so branch errors are real and can be streamed straight through rather than wrapped.
+     */
+    private boolean validateStreaming(JsonValueWithLocation subject, ValidationReport parentReport) {
+        parentReport.enterComposite(ALL_OF, schema, subject);
+        final ValidationReport report = parentReport.createPassThroughReport();
+        for (SchemaValidator validator : allOfValidators) {
+            validator.validate(subject, report);
+        }
+        parentReport.exitComposite(ALL_OF, schema, subject, report.isValid());
+        return parentReport.addReport(schema, subject, report);
+    }
+
 }
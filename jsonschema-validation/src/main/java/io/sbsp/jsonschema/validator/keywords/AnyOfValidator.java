@@ -32,14 +32,17 @@ public class AnyOfValidator extends KeywordValidator<SchemaListKeyword> {
 
     @Override
     public boolean validate(JsonValueWithLocation subject, ValidationReport parentReport) {
+        parentReport.enterComposite(ANY_OF, schema, subject);
         ValidationReport anyOfReport = parentReport.createChildReport();
         for (SchemaValidator anyOfValidator : anyOfValidators) {
             ValidationReport trap = anyOfReport.createChildReport();
             if (anyOfValidator.validate(subject, trap)) {
+                parentReport.exitComposite(ANY_OF, schema, subject, true);
                 return true;
             }
             anyOfReport.addReport(schema, subject, trap);
         }
+        parentReport.exitComposite(ANY_OF, schema, subject, false);
 
         parentReport.addError(buildKeywordFailure(subject, schema, ANY_OF)
                 .message("no subschema matched out of the total %d subschemas", anyOfValidators.size())
@@ -0,0 +1,34 @@
+package io.sbsp.jsonschema.validator.keywords;
+
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.validator.SchemaValidator;
+import io.sbsp.jsonschema.validator.ValidationReport;
+
+import java.util.function.BiConsumer;
+
+/**
+ * A keyword validator that only validates the children of its subject, by applying subschemas to some of its
+ * properties or items (eg. <code>properties</code>, <code>items</code>).
+ *
+ * Normally the keyword walks the children itself.  A caller that walks the document on its own (see
+ * <code>MultiSchemaValidator</code>) can instead ask which subschemas apply to each child, validate the children
+ * itself, and then hand the results back to the keyword with {@link #addChildReport}.
+ */
+public interface ChildSchemaValidator {
+
+    /**
+     * Calls {@code action} for each child of {@code subject} this keyword applies a subschema to, with the child's key
+     * (a property name as a {@link String}, or an array index as an {@link Integer}) and the subschema's validator.
+     */
+    void forEachChildValidator(JsonValueWithLocation subject, BiConsumer<Object, SchemaValidator> action);
+
+    /**
+     * Adds the results of validating the children of {@code subject} to {@code parentReport}, the same way
+     * {@link SchemaValidator#validate(JsonValueWithLocation, ValidationReport)} would have.
+     *
+     * @param childReport The report the child validators passed to {@link #forEachChildValidator} were run with.
+     *                    Created with {@link ValidationReport#createPassThroughReport()} from {@code parentReport}
+     * @return true if the children passed validation
+     */
+    boolean addChildReport(JsonValueWithLocation subject, ValidationReport childReport, ValidationReport parentReport);
+}
@@ -1,6 +1,7 @@
 package io.sbsp.jsonschema.validator.keywords;
 
 import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.ObjectComparator;
 import io.sbsp.jsonschema.Schema;
 import io.sbsp.jsonschema.keyword.JsonValueKeyword;
 import io.sbsp.jsonschema.keyword.Keywords;
@@ -26,7 +27,7 @@ public class ConstValidator extends KeywordValidator<JsonValueKeyword> {
 
     @Override
     public boolean validate(JsonValueWithLocation subject, ValidationReport report) {
-        if (!constValue.equals(subject.getWrapped())) {
+        if (!ObjectComparator.jsonEquals(constValue, subject.getWrapped())) {
             report.addError(buildKeywordFailure(subject, schema, CONST)
                     .message("%s does not match the const value", subject)
                     .build());
@@ -24,8 +24,11 @@ public class NotKeywordValidator extends KeywordValidator<SingleSchemaKeyword> {
 
     @Override
     public boolean validate(JsonValueWithLocation subject, ValidationReport report) {
+        report.enterComposite(NOT, schema, subject);
         final ValidationReport trap = report.createChildReport();
-        if (notValidator.validate(subject, trap)) {
+        final boolean matched = notValidator.validate(subject, trap);
+        report.exitComposite(NOT, schema, subject, !matched);
+        if (matched) {
             report.addError(buildKeywordFailure(subject, schema, NOT)
                     .message("subject must not be valid against schema", notSchema.getPointerFragmentURI())
                     .build());
@@ -29,6 +29,7 @@ public class OneOfValidator extends KeywordValidator<SchemaListKeyword> {
 
     @Override
     public boolean validate(JsonValueWithLocation subject, ValidationReport parentReport) {
+        parentReport.enterComposite(ONE_OF, schema, subject);
         ValidationReport report = parentReport.createChildReport();
         for (SchemaValidator validator : oneOfValidators) {
             validator.validate(subject, report);
@@ -37,6 +38,7 @@ public class OneOfValidator extends KeywordValidator<SchemaListKeyword> {
         List<ValidationError> failures = report.getErrors();
 
         int matchingCount = oneOfValidators.size() - failures.size();
+        parentReport.exitComposite(ONE_OF, schema, subject, matchingCount == 1);
 
         if (matchingCount != 1) {
             parentReport.addError(buildKeywordFailure(subject, schema, ONE_OF)
@@ -7,15 +7,17 @@ import io.sbsp.jsonschema.keyword.Keywords;
 import io.sbsp.jsonschema.keyword.SchemaKeyword;
 import io.sbsp.jsonschema.validator.SchemaValidator;
 import io.sbsp.jsonschema.validator.ValidationReport;
+import io.sbsp.jsonschema.validator.keywords.ChildSchemaValidator;
 import io.sbsp.jsonschema.validator.keywords.KeywordValidator;
 import lombok.Builder;
 import lombok.NonNull;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-public class ArrayItemValidator extends KeywordValidator<ItemsKeyword> {
+public class ArrayItemValidator extends KeywordValidator<ItemsKeyword> implements ChildSchemaValidator {
 
     @NonNull
     private final SchemaValidator allItemValidator;
@@ -35,4 +37,17 @@ public class ArrayItemValidator extends KeywordValidator<ItemsKeyword> {
         });
         return success.get();
     }
+
+    @Override
+    public void forEachChildValidator(JsonValueWithLocation subject, BiConsumer<Object, SchemaValidator> action) {
+        final int size = subject.asJsonArray().size();
+        for (int idx = 0; idx < size; idx++) {
+            action.accept(idx, allItemValidator);
+        }
+    }
+
+    @Override
+    public boolean addChildReport(JsonValueWithLocation subject, ValidationReport childReport, ValidationReport parentReport) {
+        return parentReport.addErrors(childReport);
+    }
 }
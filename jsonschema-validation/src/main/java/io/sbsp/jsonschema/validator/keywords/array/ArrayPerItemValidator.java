@@ -8,6 +8,7 @@ import io.sbsp.jsonschema.keyword.Keywords;
 import io.sbsp.jsonschema.keyword.SchemaKeyword;
 import io.sbsp.jsonschema.validator.SchemaValidator;
 import io.sbsp.jsonschema.validator.ValidationReport;
+import io.sbsp.jsonschema.validator.keywords.ChildSchemaValidator;
 import io.sbsp.jsonschema.validator.keywords.KeywordValidator;
 import lombok.Builder;
 import lombok.NonNull;
@@ -15,8 +16,9 @@ import lombok.NonNull;
 import javax.annotation.Nullable;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 
-public class ArrayPerItemValidator extends KeywordValidator<ItemsKeyword> {
+public class ArrayPerItemValidator extends KeywordValidator<ItemsKeyword> implements ChildSchemaValidator {
     @NonNull
     private final ImmutableList<SchemaValidator> indexedValidators;
 
@@ -49,4 +51,24 @@ public class ArrayPerItemValidator extends KeywordValidator<ItemsKeyword> {
         });
         return success.get();
     }
+
+    @Override
+    public void forEachChildValidator(JsonValueWithLocation subject, BiConsumer<Object, SchemaValidator> action) {
+        final int size = subject.asJsonArray().size();
+        final int indexedValidatorCount = indexedValidators.size();
+        for (int idx = 0; idx < size; idx++) {
+            if (indexedValidatorCount > idx) {
+                action.accept(idx, indexedValidators.get(idx));
+            } else if (additionalItemValidator != null) {
+                action.accept(idx, additionalItemValidator);
+            } else {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public boolean addChildReport(JsonValueWithLocation subject, ValidationReport childReport, ValidationReport parentReport) {
+        return parentReport.addErrors(childReport);
+    }
 }
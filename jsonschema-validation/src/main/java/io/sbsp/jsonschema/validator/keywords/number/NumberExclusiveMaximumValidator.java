@@ -9,25 +9,27 @@ import io.sbsp.jsonschema.validator.ValidationReport;
 import io.sbsp.jsonschema.validator.keywords.KeywordValidator;
 import lombok.Builder;
 
+import javax.json.JsonNumber;
+
 import static io.sbsp.jsonschema.enums.JsonSchemaKeywordType.EXCLUSIVE_MAXIMUM;
 import static io.sbsp.jsonschema.validator.ValidationErrorHelper.buildKeywordFailure;
 
 public class NumberExclusiveMaximumValidator extends KeywordValidator<LimitKeyword> {
-    private final double exclusiveMaximum;
+    private final NumericLimit exclusiveMaximum;
 
     @Builder
-    public NumberExclusiveMaximumValidator(Schema schema, double exclusiveMaximum) {
+    public NumberExclusiveMaximumValidator(Schema schema, Number exclusiveMaximum) {
         super(Keywords.exclusiveMaximum, schema);
-        this.exclusiveMaximum = exclusiveMaximum;
+        this.exclusiveMaximum = NumericLimit.of(exclusiveMaximum);
     }
 
     @Override
     public boolean validate(JsonValueWithLocation subject, ValidationReport report) {
-        final double subjectDouble = subject.asJsonNumber().doubleValue();
+        final JsonNumber subjectNumber = subject.asJsonNumber();
 
-        if (!(subjectDouble < exclusiveMaximum)) {
+        if (exclusiveMaximum.compareSubject(subjectNumber) >= 0) {
             report.addError(buildKeywordFailure(subject, schema, EXCLUSIVE_MAXIMUM)
-                    .message("Value is not lower than %s", exclusiveMaximum)
+                    .message("Value is not lower than %s", exclusiveMaximum.doubleValue())
                     .build());
         }
 
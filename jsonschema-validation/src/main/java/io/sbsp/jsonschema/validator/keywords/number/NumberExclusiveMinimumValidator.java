@@ -9,25 +9,27 @@ import io.sbsp.jsonschema.validator.ValidationReport;
 import io.sbsp.jsonschema.validator.keywords.KeywordValidator;
 import lombok.Builder;
 
+import javax.json.JsonNumber;
+
 import static io.sbsp.jsonschema.enums.JsonSchemaKeywordType.EXCLUSIVE_MINIMUM;
 import static io.sbsp.jsonschema.validator.ValidationErrorHelper.buildKeywordFailure;
 
 public class NumberExclusiveMinimumValidator extends KeywordValidator<LimitKeyword> {
-    private final double exclusiveMinimum;
+    private final NumericLimit exclusiveMinimum;
 
     @Builder
-    public NumberExclusiveMinimumValidator(Schema schema, double exclusiveMinimum) {
+    public NumberExclusiveMinimumValidator(Schema schema, Number exclusiveMinimum) {
         super(Keywords.exclusiveMinimum, schema);
-        this.exclusiveMinimum = exclusiveMinimum;
+        this.exclusiveMinimum = NumericLimit.of(exclusiveMinimum);
     }
 
     @Override
     public boolean validate(JsonValueWithLocation subject, ValidationReport report) {
-        final double subjectDouble = subject.asJsonNumber().doubleValue();
+        final JsonNumber subjectNumber = subject.asJsonNumber();
 
-        if (!(subjectDouble > exclusiveMinimum)) {
+        if (exclusiveMinimum.compareSubject(subjectNumber) <= 0) {
             report.addError(buildKeywordFailure(subject, schema, EXCLUSIVE_MINIMUM)
-                    .message("Value is not higher than %s", exclusiveMinimum)
+                    .message("Value is not higher than %s", exclusiveMinimum.doubleValue())
                     .build());
         }
         return report.isValid();
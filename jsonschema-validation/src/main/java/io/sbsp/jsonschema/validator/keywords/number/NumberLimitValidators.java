@@ -11,12 +11,12 @@ public class NumberLimitValidators {
         if (keyword.isExclusive()) {
             return NumberExclusiveMaximumValidator.builder()
                     .schema(schema)
-                    .exclusiveMaximum(keyword.getExclusiveLimit().doubleValue())
+                    .exclusiveMaximum(keyword.getExclusiveLimit())
                     .build();
         } else {
             return NumberMaximumValidator.builder()
                     .schema(schema)
-                    .maximum(keyword.getLimit().doubleValue())
+                    .maximum(keyword.getLimit())
                     .build();
         }
     }
@@ -25,12 +25,12 @@ public class NumberLimitValidators {
         if (keyword.isExclusive()) {
             return NumberExclusiveMinimumValidator.builder()
                     .schema(schema)
-                    .exclusiveMinimum(keyword.getExclusiveLimit().doubleValue())
+                    .exclusiveMinimum(keyword.getExclusiveLimit())
                     .build();
         } else {
             return NumberMinimumValidator.builder()
                     .schema(schema)
-                    .minimum(keyword.getLimit().doubleValue())
+                    .minimum(keyword.getLimit())
                     .build();
         }
     }
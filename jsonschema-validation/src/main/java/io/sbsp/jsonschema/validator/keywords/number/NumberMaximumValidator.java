@@ -9,28 +9,30 @@ import io.sbsp.jsonschema.validator.ValidationReport;
 import io.sbsp.jsonschema.validator.keywords.KeywordValidator;
 import lombok.Builder;
 
+import javax.json.JsonNumber;
+
 import static io.sbsp.jsonschema.enums.JsonSchemaKeywordType.MAXIMUM;
 import static io.sbsp.jsonschema.validator.ValidationErrorHelper.buildKeywordFailure;
 
 public class NumberMaximumValidator extends KeywordValidator<LimitKeyword> {
-    private final double maximum;
+    private final NumericLimit maximum;
 
     @Builder
-    public NumberMaximumValidator(Schema schema, double maximum) {
+    public NumberMaximumValidator(Schema schema, Number maximum) {
         super(Keywords.maximum, schema);
-        this.maximum = maximum;
+        this.maximum = NumericLimit.of(maximum);
     }
 
     @Override
     public boolean validate(JsonValueWithLocation subject, ValidationReport report) {
-        final double subjectNumber = subject.asJsonNumber().doubleValue();
+        final JsonNumber subjectNumber = subject.asJsonNumber();
 
         // max = 10
         // sub = 10
         // this is okay
-        if (!(subjectNumber <= maximum)) {
+        if (maximum.compareSubject(subjectNumber) > 0) {
             report.addError(buildKeywordFailure(subject, schema, MAXIMUM)
-                    .message("Value not lower or equal to %s", maximum)
+                    .message("Value not lower or equal to %s", maximum.doubleValue())
                     .build());
         }
         return report.isValid();
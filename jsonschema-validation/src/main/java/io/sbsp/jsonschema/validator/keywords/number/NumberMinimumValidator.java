@@ -9,25 +9,27 @@ import io.sbsp.jsonschema.validator.ValidationReport;
 import io.sbsp.jsonschema.validator.keywords.KeywordValidator;
 import lombok.Builder;
 
+import javax.json.JsonNumber;
+
 import static io.sbsp.jsonschema.enums.JsonSchemaKeywordType.MINIMUM;
 import static io.sbsp.jsonschema.validator.ValidationErrorHelper.buildKeywordFailure;
 
 public class NumberMinimumValidator extends KeywordValidator<LimitKeyword> {
-    private final double minimum;
+    private final NumericLimit minimum;
 
     @Builder
-    public NumberMinimumValidator(Schema schema, double minimum) {
+    public NumberMinimumValidator(Schema schema, Number minimum) {
         super(Keywords.minimum, schema);
-        this.minimum = minimum;
+        this.minimum = NumericLimit.of(minimum);
     }
 
     @Override
     public boolean validate(JsonValueWithLocation subject, ValidationReport report) {
-        final double subjectNumber = subject.asJsonNumber().doubleValue();
+        final JsonNumber subjectNumber = subject.asJsonNumber();
 
-        if (!(subjectNumber >= minimum)) {
+        if (minimum.compareSubject(subjectNumber) < 0) {
             report.addError(buildKeywordFailure(subject, schema, MINIMUM)
-                    .message("Value is not higher or equal to %s", minimum)
+                    .message("Value is not higher or equal to %s", minimum.doubleValue())
                     .build());
         }
         return report.isValid();
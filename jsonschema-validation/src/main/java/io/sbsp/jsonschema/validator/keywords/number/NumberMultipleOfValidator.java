@@ -19,20 +19,24 @@ import static io.sbsp.jsonschema.validator.ValidationErrorHelper.buildKeywordFai
 public class NumberMultipleOfValidator extends KeywordValidator<NumberKeyword> {
 
     @NonNull
+    private final NumericDivisor divisor;
+
+    /**
+     * The divisor as it appears in error messages
+     */
+    @NonNull
     private final BigDecimal multipleOf;
 
     @Builder
     public NumberMultipleOfValidator(NumberKeyword numberKeyword, Schema schema, SchemaValidatorFactory factory) {
         super(Keywords.multipleOf, schema);
+        this.divisor = NumericDivisor.of(numberKeyword.getKeywordValue());
         this.multipleOf = BigDecimal.valueOf(numberKeyword.getDouble());
     }
 
     @Override
     public boolean validate(JsonValueWithLocation subject, ValidationReport report) {
-
-        final BigDecimal subjectDecimal = subject.asJsonNumber().bigDecimalValue();
-        BigDecimal remainder = subjectDecimal.remainder(multipleOf);
-        if (remainder.compareTo(BigDecimal.ZERO) != 0) {
+        if (!divisor.isMultiple(subject.asJsonNumber())) {
             report.addError(buildKeywordFailure(subject, schema, MULTIPLE_OF)
                     .message("Value is not a multiple of %s", multipleOf)
                     .build());
@@ -0,0 +1,62 @@
+package io.sbsp.jsonschema.validator.keywords.number;
+
+import javax.json.JsonNumber;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * An exact divisor for <code>multipleOf</code>, with a primitive fast path for integer subjects.
+ *
+ * A decimal divisor {@code unscaled / 10^scale} reduces to {@code p / q} in lowest terms, and an integer is a
+ * multiple of it exactly when it's a multiple of {@code p}.  So for any subject in the range of a long (the common
+ * case), divisibility is a single <code>%</code>, whether the divisor is an integer or not.  Other subjects fall back to
+ * {@link BigDecimal#remainder(BigDecimal)}.
+ */
+public final class NumericDivisor {
+
+    private static final double TWO_TO_THE_63 = 0x1p63;
+
+    private final BigDecimal divisor;
+
+    /**
+     * The numerator of the divisor in lowest terms, or 0 if it doesn't fit in a long
+     */
+    private final long integerDivisor;
+
+    private NumericDivisor(BigDecimal divisor) {
+        checkArgument(divisor.signum() > 0, "divisor must be greater than 0");
+        this.divisor = divisor;
+
+        final BigDecimal normalized = divisor.scale() < 0 ? divisor.setScale(0) : divisor;
+        final BigInteger unscaled = normalized.unscaledValue();
+        final BigInteger numerator = unscaled.divide(unscaled.gcd(BigInteger.TEN.pow(normalized.scale())));
+        this.integerDivisor = numerator.bitLength() < Long.SIZE ? numerator.longValue() : 0;
+    }
+
+    public static NumericDivisor of(Number divisor) {
+        return new NumericDivisor(NumericLimit.toBigDecimal(divisor));
+    }
+
+    public boolean isMultiple(JsonNumber subject) {
+        if (integerDivisor != 0 && subject.isIntegral()) {
+            final double subjectDouble = subject.doubleValue();
+            if (subjectDouble > -TWO_TO_THE_63 && subjectDouble < TWO_TO_THE_63) {
+                return subject.longValue() % integerDivisor == 0;
+            }
+        }
+        return subject.bigDecimalValue().remainder(divisor).signum() == 0;
+    }
+
+    public boolean isMultiple(long subject) {
+        if (integerDivisor != 0) {
+            return subject % integerDivisor == 0;
+        }
+        return BigDecimal.valueOf(subject).remainder(divisor).signum() == 0;
+    }
+
+    public BigDecimal getDivisor() {
+        return divisor;
+    }
+}
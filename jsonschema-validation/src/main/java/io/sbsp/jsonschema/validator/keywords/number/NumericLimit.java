@@ -0,0 +1,113 @@
+package io.sbsp.jsonschema.validator.keywords.number;
+
+import javax.json.JsonNumber;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An exact numeric limit (for <code>minimum</code>, <code>maximum</code> and friends), with comparisons that avoid
+ * {@link BigDecimal} wherever the answer can be decided with primitives.
+ *
+ * Each subject is classified once: integers in the range of a long are compared against the limit's floor as longs;
+ * everything else is compared as doubles, which is exact whenever the subject and limit round to different doubles
+ * (rounding is monotonic).  Only when both round to the same double is the subject compared as a BigDecimal.
+ */
+public final class NumericLimit {
+
+    private static final double TWO_TO_THE_63 = 0x1p63;
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private final BigDecimal limit;
+    private final double limitDouble;
+
+    /**
+     * -1 if the limit is below the range of a long, 1 if it's above, otherwise 0
+     */
+    private final int longRange;
+    private final long limitFloor;
+    private final boolean integral;
+
+    private NumericLimit(BigDecimal limit) {
+        this.limit = limit;
+        this.limitDouble = limit.doubleValue();
+
+        final BigDecimal floor = limit.setScale(0, RoundingMode.FLOOR);
+        this.integral = floor.compareTo(limit) == 0;
+        if (floor.compareTo(LONG_MIN) < 0) {
+            this.longRange = -1;
+            this.limitFloor = Long.MIN_VALUE;
+        } else if (floor.compareTo(LONG_MAX) > 0) {
+            this.longRange = 1;
+            this.limitFloor = Long.MAX_VALUE;
+        } else {
+            this.longRange = 0;
+            this.limitFloor = floor.longValueExact();
+        }
+    }
+
+    public static NumericLimit of(Number limit) {
+        return new NumericLimit(toBigDecimal(limit));
+    }
+
+    /**
+     * Compares {@code subject} to this limit.
+     *
+     * @return a negative number, zero, or a positive number as the subject is less than, equal to, or greater than
+     * this limit
+     */
+    public int compareSubject(JsonNumber subject) {
+        if (subject.isIntegral()) {
+            final double subjectDouble = subject.doubleValue();
+            if (subjectDouble > -TWO_TO_THE_63 && subjectDouble < TWO_TO_THE_63) {
+                return compareSubject(subject.longValue());
+            }
+        }
+        final double subjectDouble = subject.doubleValue();
+        if (subjectDouble < limitDouble) {
+            return -1;
+        } else if (subjectDouble > limitDouble) {
+            return 1;
+        }
+        return subject.bigDecimalValue().compareTo(limit);
+    }
+
+    public int compareSubject(long subject) {
+        if (longRange != 0) {
+            return -longRange;
+        }
+        if (subject < limitFloor) {
+            return -1;
+        } else if (subject > limitFloor) {
+            // subject >= floor + 1, which is greater than the limit
+            return 1;
+        }
+        return integral ? 0 : -1;
+    }
+
+    public double doubleValue() {
+        return limitDouble;
+    }
+
+    public BigDecimal getLimit() {
+        return limit;
+    }
+
+    static BigDecimal toBigDecimal(Number number) {
+        checkNotNull(number, "number must not be null");
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        } else if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        } else if (number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte) {
+            return BigDecimal.valueOf(number.longValue());
+        }
+        final double value = number.doubleValue();
+        checkArgument(!Double.isNaN(value) && !Double.isInfinite(value), "number must be finite: %s", number);
+        return BigDecimal.valueOf(value);
+    }
+}
@@ -9,13 +9,15 @@ import io.sbsp.jsonschema.keyword.SchemaMapKeyword;
 import io.sbsp.jsonschema.validator.SchemaValidator;
 import io.sbsp.jsonschema.validator.SchemaValidatorFactory;
 import io.sbsp.jsonschema.validator.ValidationReport;
+import io.sbsp.jsonschema.validator.keywords.ChildSchemaValidator;
 import io.sbsp.jsonschema.validator.keywords.KeywordValidator;
 
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
 
-public class PatternPropertiesValidator extends KeywordValidator<SchemaMapKeyword> {
+public class PatternPropertiesValidator extends KeywordValidator<SchemaMapKeyword> implements ChildSchemaValidator {
 
     private final List<PatternPropertyValidator> patternValidators;
 
@@ -37,7 +39,7 @@ public class PatternPropertiesValidator extends KeywordValidator<SchemaMapKeywor
             return true;
         }
         boolean success = true;
-        ValidationReport report = parentReport.createChildReport();
+        ValidationReport report = parentReport.createPassThroughReport();
         for (PatternPropertyValidator patternValidator : patternValidators) {
             Pattern pattern = patternValidator.pattern;
             final SchemaValidator validator = patternValidator.validator;
@@ -51,6 +53,23 @@ public class PatternPropertiesValidator extends KeywordValidator<SchemaMapKeywor
         return parentReport.addReport(schema, subject, report);
     }
 
+    @Override
+    public void forEachChildValidator(JsonValueWithLocation subject, BiConsumer<Object, SchemaValidator> action) {
+        final Set<String> subjectProperties = subject.propertyNames();
+        for (PatternPropertyValidator patternValidator : patternValidators) {
+            for (String propertyName : subjectProperties) {
+                if (patternValidator.pattern.matcher(propertyName).find()) {
+                    action.accept(propertyName, patternValidator.validator);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean addChildReport(JsonValueWithLocation subject, ValidationReport childReport, ValidationReport parentReport) {
+        return parentReport.addReport(schema, subject, childReport);
+    }
+
     public static class PatternPropertyValidator {
         private final Pattern pattern;
         private final SchemaValidator validator;
@@ -9,6 +9,7 @@ import io.sbsp.jsonschema.keyword.SchemaMapKeyword;
 import io.sbsp.jsonschema.validator.SchemaValidator;
 import io.sbsp.jsonschema.validator.SchemaValidatorFactory;
 import io.sbsp.jsonschema.validator.ValidationReport;
+import io.sbsp.jsonschema.validator.keywords.ChildSchemaValidator;
 import io.sbsp.jsonschema.validator.keywords.KeywordValidator;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -16,12 +17,13 @@ import lombok.ToString;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
 @ToString
 @EqualsAndHashCode(callSuper = true)
-public class PropertySchemaValidator extends KeywordValidator<SchemaMapKeyword> {
+public class PropertySchemaValidator extends KeywordValidator<SchemaMapKeyword> implements ChildSchemaValidator {
     private final Map<String, SchemaValidator> propertyValidators;
     private final Set<String> validatedProperties;
     private final int propertyLength;
@@ -63,4 +65,19 @@ public class PropertySchemaValidator extends KeywordValidator<SchemaMapKeyword>
         return report.isValid();
     }
 
+    @Override
+    public void forEachChildValidator(JsonValueWithLocation subject, BiConsumer<Object, SchemaValidator> action) {
+        for (String property : subject.asJsonObject().keySet()) {
+            final SchemaValidator propValidator = propertyValidators.get(property);
+            if (propValidator != null) {
+                action.accept(property, propValidator);
+            }
+        }
+    }
+
+    @Override
+    public boolean addChildReport(JsonValueWithLocation subject, ValidationReport childReport, ValidationReport parentReport) {
+        return parentReport.addErrors(childReport);
+    }
+
 }
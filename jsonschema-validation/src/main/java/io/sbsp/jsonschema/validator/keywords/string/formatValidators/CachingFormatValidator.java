@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2017 SBSP (http://sbsp.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sbsp.jsonschema.validator.keywords.string.formatValidators;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Decorates a {@link FormatValidator} with a bounded cache of recent verdicts, keyed by the subject string.  This
+ * pays off for expensive formats (like "phone" or "email") where the same values show up over and over.  The cache
+ * is safe for concurrent use, evicts the least recently used values once it's full, and records hit/miss statistics.
+ *
+ * Usually registered through
+ * {@link io.sbsp.jsonschema.validator.SchemaValidatorFactory.SchemaValidatorFactoryBuilder#cacheFormat(String, long)}
+ */
+public class CachingFormatValidator implements FormatValidator {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final FormatValidator validator;
+    private final Cache<String, Optional<String>> verdicts;
+
+    public CachingFormatValidator(FormatValidator validator) {
+        this(validator, DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public CachingFormatValidator(FormatValidator validator, long maximumSize) {
+        this.validator = checkNotNull(validator, "validator must not be null");
+        checkArgument(maximumSize > 0, "maximumSize must be positive");
+        this.verdicts = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Optional<String> validate(String subject) {
+        if (subject == null) {
+            return validator.validate(null);
+        }
+        final Optional<String> cached = verdicts.getIfPresent(subject);
+        if (cached != null) {
+            return cached;
+        }
+        final Optional<String> verdict = validator.validate(subject);
+        verdicts.put(subject, verdict);
+        return verdict;
+    }
+
+    @Override
+    public String formatName() {
+        return validator.formatName();
+    }
+
+    public FormatValidator getValidator() {
+        return validator;
+    }
+
+    /**
+     * Hit and miss counts for this cache.  {@link CacheStats#hitRate()} shows whether caching is paying off for
+     * this format.
+     */
+    public CacheStats getStats() {
+        return verdicts.stats();
+    }
+
+    public long size() {
+        return verdicts.size();
+    }
+
+    public void invalidateAll() {
+        verdicts.invalidateAll();
+    }
+}
@@ -15,35 +15,21 @@
  */
 package io.sbsp.jsonschema.validator.keywords.string.formatValidators;
 
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
 import java.util.Optional;
 
 /**
- * Implementation of the "date-time" format value.
+ * Implementation of the "date" format value.
  */
 public class DateFormatValidator implements FormatValidator {
 
-    private static final String DATE_PATTERN = "yyyy-MM-dd";
-
-    private static final DateTimeFormatter FORMATTER;
-
-    static {
-        final DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder()
-                .appendPattern(DATE_PATTERN);
-
-        FORMATTER = builder.toFormatter();
-    }
+    private static final String FAILURE_SUFFIX = "] is not a valid date. Expected yyyy-MM-dd";
 
     @Override
     public Optional<String> validate(final String subject) {
-        try {
-            FORMATTER.parse(subject);
+        if (FormatScanners.isDate(subject)) {
             return Optional.empty();
-        } catch (DateTimeParseException e) {
-            return Optional.of(String.format("[%s] is not a valid date. Expected %s", subject, DATE_PATTERN));
         }
+        return Optional.of("[" + subject + FAILURE_SUFFIX);
     }
 
     @Override
@@ -0,0 +1,583 @@
+/*
+ * Copyright (C) 2017 SBSP (http://sbsp.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.sbsp.jsonschema.validator.keywords.string.formatValidators;
+
+/**
+ * Hand-written, single-pass scanners for the built-in formats.  Each check walks the {@link CharSequence} once,
+ * doesn't allocate, and never throws - a <code>null</code> subject is simply invalid.
+ *
+ * <ul>
+ * <li>date, time, date-time: RFC 3339 section 5.6 (fractional seconds are limited to 9 digits)</li>
+ * <li>hostname: RFC 1123 section 2.1</li>
+ * <li>ipv4: RFC 2673 section 3.2 dotted-quad, without leading zeros</li>
+ * <li>ipv6: RFC 4291 section 2.2, including an embedded ipv4 address</li>
+ * <li>uri, uri-reference: RFC 3986 section 3 and 4.1</li>
+ * <li>json-pointer: RFC 6901 section 3</li>
+ * </ul>
+ */
+public final class FormatScanners {
+
+    private static final int MAX_FRACTION_DIGITS = 9;
+    private static final int MAX_HOSTNAME_LENGTH = 253;
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    private FormatScanners() {
+    }
+
+    // ########################################################### //
+    // #########  DATES AND TIMES        ######################### //
+    // ########################################################### //
+
+    public static boolean isDate(CharSequence subject) {
+        return subject != null && subject.length() == 10 && scanDate(subject, 0) == 10;
+    }
+
+    public static boolean isTime(CharSequence subject) {
+        return subject != null && scanTime(subject, 0) == subject.length();
+    }
+
+    public static boolean isDateTime(CharSequence subject) {
+        if (subject == null || subject.length() < 11 || scanDate(subject, 0) != 10) {
+            return false;
+        }
+        final char separator = subject.charAt(10);
+        return (separator == 'T' || separator == 't') && scanTime(subject, 11) == subject.length();
+    }
+
+    /**
+     * Scans a full-date starting at {@code from}, and returns the index just past it, or -1
+     */
+    private static int scanDate(CharSequence s, int from) {
+        if (s.length() < from + 10) {
+            return -1;
+        }
+        final int year = digits(s, from, 4);
+        if (year < 0 || s.charAt(from + 4) != '-') {
+            return -1;
+        }
+        final int month = digits(s, from + 5, 2);
+        if (month < 1 || month > 12 || s.charAt(from + 7) != '-') {
+            return -1;
+        }
+        final int day = digits(s, from + 8, 2);
+        if (day < 1 || day > daysInMonth(year, month)) {
+            return -1;
+        }
+        return from + 10;
+    }
+
+    /**
+     * Scans a full-time (partial-time plus offset) starting at {@code from}, and returns the index just past it, or -1
+     */
+    private static int scanTime(CharSequence s, int from) {
+        final int length = s.length();
+        if (length < from + 9) {
+            return -1;
+        }
+        final int hour = digits(s, from, 2);
+        if (hour < 0 || hour > 23 || s.charAt(from + 2) != ':') {
+            return -1;
+        }
+        final int minute = digits(s, from + 3, 2);
+        if (minute < 0 || minute > 59 || s.charAt(from + 5) != ':') {
+            return -1;
+        }
+        final int second = digits(s, from + 6, 2);
+        if (second < 0 || second > 60) {
+            return -1;
+        }
+
+        int i = from + 8;
+        if (s.charAt(i) == '.') {
+            final int fractionStart = ++i;
+            while (i < length && isDigit(s.charAt(i))) {
+                i++;
+            }
+            final int fractionDigits = i - fractionStart;
+            if (fractionDigits == 0 || fractionDigits > MAX_FRACTION_DIGITS || i == length) {
+                return -1;
+            }
+        }
+
+        final char offset = s.charAt(i);
+        if (offset == 'Z' || offset == 'z') {
+            return i + 1;
+        } else if (offset == '+' || offset == '-') {
+            if (length < i + 6) {
+                return -1;
+            }
+            final int offsetHour = digits(s, i + 1, 2);
+            final int offsetMinute = digits(s, i + 4, 2);
+            if (offsetHour < 0 || offsetHour > 23 || s.charAt(i + 3) != ':' || offsetMinute < 0 || offsetMinute > 59) {
+                return -1;
+            }
+            return i + 6;
+        }
+        return -1;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                final boolean leapYear = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+                return leapYear ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Parses exactly {@code count} decimal digits starting at {@code from}, or returns -1
+     */
+    private static int digits(CharSequence s, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            final char c = s.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    // ########################################################### //
+    // #########  HOSTS AND ADDRESSES    ######################### //
+    // ########################################################### //
+
+    public static boolean isHostname(CharSequence subject) {
+        if (subject == null) {
+            return false;
+        }
+        int length = subject.length();
+        if (length > 0 && subject.charAt(length - 1) == '.') {
+            // A fully-qualified name may end with the root label
+            length--;
+        }
+        if (length == 0 || length > MAX_HOSTNAME_LENGTH) {
+            return false;
+        }
+
+        int labelStart = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || subject.charAt(i) == '.') {
+                final int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > MAX_LABEL_LENGTH
+                        || subject.charAt(labelStart) == '-' || subject.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labelStart = i + 1;
+            } else {
+                final char c = subject.charAt(i);
+                if (!isAlpha(c) && !isDigit(c) && c != '-') {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public static boolean isIpv4(CharSequence subject) {
+        return subject != null && isIpv4(subject, 0, subject.length());
+    }
+
+    public static boolean isIpv6(CharSequence subject) {
+        return subject != null && isIpv6(subject, 0, subject.length());
+    }
+
+    private static boolean isIpv4(CharSequence s, int from, int to) {
+        int octets = 0;
+        int i = from;
+        while (true) {
+            final int octetStart = i;
+            int value = 0;
+            while (i < to && i - octetStart < 3 && isDigit(s.charAt(i))) {
+                value = value * 10 + (s.charAt(i) - '0');
+                i++;
+            }
+            final int octetLength = i - octetStart;
+            if (octetLength == 0 || value > 255 || (octetLength > 1 && s.charAt(octetStart) == '0')) {
+                return false;
+            }
+            octets++;
+            if (i == to) {
+                return octets == 4;
+            }
+            if (octets == 4 || s.charAt(i) != '.') {
+                return false;
+            }
+            i++;
+        }
+    }
+
+    private static boolean isIpv6(CharSequence s, int from, int to) {
+        if (to - from < 2) {
+            return false;
+        }
+        int groups = 0;
+        boolean compressed = false;
+        int i = from;
+        if (s.charAt(i) == ':') {
+            if (s.charAt(i + 1) != ':') {
+                return false;
+            }
+            compressed = true;
+            i += 2;
+        }
+
+        while (i < to) {
+            final int groupStart = i;
+            while (i < to && i - groupStart < 4 && isHexDigit(s.charAt(i))) {
+                i++;
+            }
+            if (i < to && s.charAt(i) == '.') {
+                // Embedded ipv4 address, which takes the place of the last two groups
+                if (groups > 6 || !isIpv4(s, groupStart, to)) {
+                    return false;
+                }
+                groups += 2;
+                break;
+            }
+            if (i == groupStart || (i < to && isHexDigit(s.charAt(i)))) {
+                return false;
+            }
+            groups++;
+            if (i == to) {
+                break;
+            }
+            if (s.charAt(i) != ':' || ++i == to) {
+                return false;
+            }
+            if (s.charAt(i) == ':') {
+                if (compressed) {
+                    return false;
+                }
+                compressed = true;
+                i++;
+            }
+        }
+        return compressed ? groups < 8 : groups == 8;
+    }
+
+    // ########################################################### //
+    // #########  URIS AND POINTERS      ######################### //
+    // ########################################################### //
+
+    /**
+     * Checks for an absolute URI (one with a scheme), which may have a fragment.
+     */
+    public static boolean isUri(CharSequence subject) {
+        if (subject == null) {
+            return false;
+        }
+        final int schemeEnd = scanScheme(subject);
+        return schemeEnd > 0 && isHierPartAndRest(subject, schemeEnd + 1, false);
+    }
+
+    /**
+     * Checks for a URI or relative reference.
+     */
+    public static boolean isUriReference(CharSequence subject) {
+        if (subject == null) {
+            return false;
+        }
+        final int schemeEnd = scanScheme(subject);
+        if (schemeEnd > 0) {
+            return isHierPartAndRest(subject, schemeEnd + 1, false);
+        }
+        return isHierPartAndRest(subject, 0, true);
+    }
+
+    /**
+     * Checks for a json-pointer.  Blank segments are only allowed before the first non-blank segment.
+     */
+    public static boolean isJsonPointer(CharSequence subject) {
+        return jsonPointerError(subject) == null;
+    }
+
+    /**
+     * @return null if {@code subject} is a valid json-pointer, otherwise a description of the problem
+     */
+    static String jsonPointerError(CharSequence subject) {
+        if (subject == null) {
+            return "invalid json-pointer. Can't be null";
+        }
+        final int length = subject.length();
+        if (length == 0) {
+            return null;
+        }
+        if (subject.charAt(0) != '/') {
+            return "invalid json-pointer syntax.  Must either be blank or start with a /";
+        }
+        boolean seenSegment = false;
+        int segmentStart = 1;
+        for (int i = 1; i <= length; i++) {
+            if (i == length || subject.charAt(i) == '/') {
+                if (i == segmentStart) {
+                    if (seenSegment) {
+                        return "invalid blank segment in json-pointer";
+                    }
+                } else {
+                    seenSegment = true;
+                }
+                segmentStart = i + 1;
+            } else if (subject.charAt(i) == '~') {
+                if (i + 1 == length || (subject.charAt(i + 1) != '0' && subject.charAt(i + 1) != '1')) {
+                    return "invalid escape sequence in json-pointer. '~' must be followed by 0 or 1";
+                }
+                i++;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the index of the ':' that ends a valid scheme, or -1 if there's no scheme
+     */
+    private static int scanScheme(CharSequence s) {
+        final int length = s.length();
+        if (length == 0 || !isAlpha(s.charAt(0))) {
+            return -1;
+        }
+        for (int i = 1; i < length; i++) {
+            final char c = s.charAt(i);
+            if (c == ':') {
+                return i;
+            }
+            if (!isAlpha(c) && !isDigit(c) && c != '+' && c != '-' && c != '.') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Scans everything after the scheme: [ "//" authority ] path [ "?" query ] [ "#" fragment ]
+     */
+    private static boolean isHierPartAndRest(CharSequence s, int from, boolean relative) {
+        final int length = s.length();
+        int i = from;
+
+        final boolean hasAuthority = i + 1 < length && s.charAt(i) == '/' && s.charAt(i + 1) == '/';
+        if (hasAuthority) {
+            i += 2;
+            final int authorityStart = i;
+            while (i < length && s.charAt(i) != '/' && s.charAt(i) != '?' && s.charAt(i) != '#') {
+                i++;
+            }
+            if (!isAuthority(s, authorityStart, i)) {
+                return false;
+            }
+        }
+
+        // In a relative reference without an authority, the first segment can't contain a colon
+        boolean firstSegment = relative && !hasAuthority;
+        while (i < length && s.charAt(i) != '?' && s.charAt(i) != '#') {
+            final char c = s.charAt(i);
+            if (c == '/') {
+                firstSegment = false;
+            } else if (c == ':' && firstSegment) {
+                return false;
+            } else if (c == '%') {
+                if (!isPercentEncoded(s, i)) {
+                    return false;
+                }
+                i += 2;
+            } else if (!isPathChar(c)) {
+                return false;
+            }
+            i++;
+        }
+
+        if (i < length && s.charAt(i) == '?') {
+            i = scanQueryOrFragment(s, i + 1, true);
+            if (i < 0) {
+                return false;
+            }
+        }
+        if (i < length && s.charAt(i) == '#') {
+            i = scanQueryOrFragment(s, i + 1, false);
+            if (i < 0) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    private static int scanQueryOrFragment(CharSequence s, int from, boolean query) {
+        final int length = s.length();
+        int i = from;
+        while (i < length) {
+            final char c = s.charAt(i);
+            if (c == '#' && query) {
+                return i;
+            } else if (c == '%') {
+                if (!isPercentEncoded(s, i)) {
+                    return -1;
+                }
+                i += 2;
+            } else if (!isPathChar(c) && c != '/' && c != '?') {
+                return -1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * authority = [ userinfo "@" ] host [ ":" port ]
+     */
+    private static boolean isAuthority(CharSequence s, int from, int to) {
+        int hostStart = from;
+        for (int i = to - 1; i >= from; i--) {
+            if (s.charAt(i) == '@') {
+                if (!isUserInfo(s, from, i)) {
+                    return false;
+                }
+                hostStart = i + 1;
+                break;
+            }
+        }
+
+        int hostEnd;
+        if (hostStart < to && s.charAt(hostStart) == '[') {
+            hostEnd = hostStart + 1;
+            while (hostEnd < to && s.charAt(hostEnd) != ']') {
+                hostEnd++;
+            }
+            if (hostEnd == to || !isIpLiteral(s, hostStart + 1, hostEnd)) {
+                return false;
+            }
+            hostEnd++;
+        } else {
+            hostEnd = hostStart;
+            while (hostEnd < to && s.charAt(hostEnd) != ':') {
+                final char c = s.charAt(hostEnd);
+                if (c == '%') {
+                    if (!isPercentEncoded(s, hostEnd)) {
+                        return false;
+                    }
+                    hostEnd += 2;
+                } else if (!isUnreserved(c) && !isSubDelimiter(c)) {
+                    return false;
+                }
+                hostEnd++;
+            }
+        }
+
+        if (hostEnd == to) {
+            return true;
+        }
+        if (s.charAt(hostEnd) != ':') {
+            return false;
+        }
+        for (int i = hostEnd + 1; i < to; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isUserInfo(CharSequence s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            final char c = s.charAt(i);
+            if (c == '%') {
+                if (!isPercentEncoded(s, i)) {
+                    return false;
+                }
+                i += 2;
+            } else if (!isUnreserved(c) && !isSubDelimiter(c) && c != ':') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * IP-literal contents: IPv6address / IPvFuture
+     */
+    private static boolean isIpLiteral(CharSequence s, int from, int to) {
+        if (from < to && (s.charAt(from) == 'v' || s.charAt(from) == 'V')) {
+            int i = from + 1;
+            while (i < to && isHexDigit(s.charAt(i))) {
+                i++;
+            }
+            if (i == from + 1 || i == to || s.charAt(i) != '.' || i + 1 == to) {
+                return false;
+            }
+            for (i = i + 1; i < to; i++) {
+                final char c = s.charAt(i);
+                if (!isUnreserved(c) && !isSubDelimiter(c) && c != ':') {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return isIpv6(s, from, to);
+    }
+
+    private static boolean isPercentEncoded(CharSequence s, int i) {
+        return i + 2 < s.length() && isHexDigit(s.charAt(i + 1)) && isHexDigit(s.charAt(i + 2));
+    }
+
+    /**
+     * pchar, less pct-encoded: unreserved / sub-delims / ":" / "@"
+     */
+    private static boolean isPathChar(char c) {
+        return isUnreserved(c) || isSubDelimiter(c) || c == ':' || c == '@';
+    }
+
+    private static boolean isUnreserved(char c) {
+        return isAlpha(c) || isDigit(c) || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    private static boolean isSubDelimiter(char c) {
+        switch (c) {
+            case '!':
+            case '$':
+            case '&':
+            case '\'':
+            case '(':
+            case ')':
+            case '*':
+            case '+':
+            case ',':
+            case ';':
+            case '=':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isAlpha(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+}
@@ -15,8 +15,6 @@
  */
 package io.sbsp.jsonschema.validator.keywords.string.formatValidators;
 
-import com.google.common.net.InternetDomainName;
-
 import java.util.Optional;
 
 /**
@@ -24,14 +22,14 @@ import java.util.Optional;
  */
 public class HostnameFormatValidator implements FormatValidator {
 
+    private static final String FAILURE_SUFFIX = "] is not a valid hostname";
+
     @Override
     public Optional<String> validate(final String subject) {
-        try {
-            InternetDomainName.from(subject);
+        if (FormatScanners.isHostname(subject)) {
             return Optional.empty();
-        } catch (IllegalArgumentException | NullPointerException e) {
-            return Optional.of(String.format("[%s] is not a valid hostname", subject));
         }
+        return Optional.of("[" + subject + FAILURE_SUFFIX);
     }
 
     @Override
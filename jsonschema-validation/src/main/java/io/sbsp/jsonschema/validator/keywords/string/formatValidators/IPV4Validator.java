@@ -20,13 +20,16 @@ import java.util.Optional;
 /**
  * Implementation of the "ipv4" format value.
  */
-public class IPV4Validator extends IPAddressValidator implements FormatValidator {
+public class IPV4Validator implements FormatValidator {
 
-    private static final int IPV4_LENGTH = 4;
+    private static final String FAILURE_SUFFIX = "] is not a valid ipv4 address";
 
     @Override
     public Optional<String> validate(final String subject) {
-        return checkIpAddress(subject, IPV4_LENGTH, "[%s] is not a valid ipv4 address");
+        if (FormatScanners.isIpv4(subject)) {
+            return Optional.empty();
+        }
+        return Optional.of("[" + subject + FAILURE_SUFFIX);
     }
 
     @Override
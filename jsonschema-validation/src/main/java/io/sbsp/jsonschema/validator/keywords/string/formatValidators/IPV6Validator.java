@@ -20,13 +20,16 @@ import java.util.Optional;
 /**
  * Implementation of the "ipv6" format value.
  */
-public class IPV6Validator extends IPAddressValidator implements FormatValidator {
+public class IPV6Validator implements FormatValidator {
 
-    private static final int IPV6_LENGTH = 16;
+    private static final String FAILURE_SUFFIX = "] is not a valid ipv6 address";
 
     @Override
     public Optional<String> validate(final String subject) {
-        return checkIpAddress(subject, IPV6_LENGTH, "[%s] is not a valid ipv6 address");
+        if (FormatScanners.isIpv6(subject)) {
+            return Optional.empty();
+        }
+        return Optional.of("[" + subject + FAILURE_SUFFIX);
     }
 
     @Override
@@ -15,12 +15,10 @@
  */
 package io.sbsp.jsonschema.validator.keywords.string.formatValidators;
 
-import io.sbsp.jsonschema.JsonPath;
-
 import java.util.Optional;
 
 /**
- * Implementation of the "email" format value.
+ * Implementation of the "json-pointer" format value.
  */
 public class JsonPointerValidator implements FormatValidator {
 
@@ -31,13 +29,6 @@ public class JsonPointerValidator implements FormatValidator {
 
     @Override
     public Optional<String> validate(final String subject) {
-        try {
-            JsonPath.parseJsonPointer(subject);
-            return Optional.empty();
-        } catch (NullPointerException e) {
-            return Optional.of("invalid json-pointer. Can't be null");
-        } catch (IllegalArgumentException e) {
-            return Optional.of(e.getMessage());
-        }
+        return Optional.ofNullable(FormatScanners.jsonPointerError(subject));
     }
 }
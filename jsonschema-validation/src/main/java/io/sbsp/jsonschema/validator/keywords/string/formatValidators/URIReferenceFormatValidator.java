@@ -15,26 +15,25 @@
  */
 package io.sbsp.jsonschema.validator.keywords.string.formatValidators;
 
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.util.Optional;
 
 /**
- * Implementation of the "uri" format value.
+ * Implementation of the "uri-reference" format value.
  */
 public class URIReferenceFormatValidator implements FormatValidator {
 
+    private static final String FAILURE_SUFFIX = "] is not a valid URI";
+
     @Override
     public Optional<String> validate(final String subject) {
-        try {
-            new URI(subject);
+        if (FormatScanners.isUriReference(subject)) {
             return Optional.empty();
-        } catch (URISyntaxException | NullPointerException e) {
-            return Optional.of(String.format("[%s] is not a valid URI", subject));
         }
+        return Optional.of("[" + subject + FAILURE_SUFFIX);
     }
 
-    @Override public String formatName() {
+    @Override
+    public String formatName() {
         return "uri-reference";
     }
 }
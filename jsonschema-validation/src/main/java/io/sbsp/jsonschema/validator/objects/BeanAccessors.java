@@ -0,0 +1,121 @@
+package io.sbsp.jsonschema.validator.objects;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableMap;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Property accessors for a bean class.  Each public, non-static, no-arg <code>getX()</code> (or
+ * <code>isX()</code> returning {@code boolean}) becomes a property named <code>x</code>, read through a
+ * {@link MethodHandle} typed as <code>(Object)Object</code>.
+ *
+ * Introspection happens once per class (see {@link #forClass(Class)}); reading a property after that is a single
+ * {@link MethodHandle#invokeExact} call.  Properties are ordered by name.
+ */
+public final class BeanAccessors {
+
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<BeanAccessors> ACCESSORS = new ClassValue<BeanAccessors>() {
+        @Override
+        protected BeanAccessors computeValue(Class<?> type) {
+            return new BeanAccessors(type);
+        }
+    };
+
+    private final Class<?> beanClass;
+    private final ImmutableMap<String, MethodHandle> accessors;
+
+    private BeanAccessors(Class<?> beanClass) {
+        this.beanClass = beanClass;
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final Map<String, MethodHandle> accessors = new TreeMap<>();
+        for (Method method : beanClass.getMethods()) {
+            final String property = propertyName(method);
+            if (property == null || accessors.containsKey(property)) {
+                continue;
+            }
+            try {
+                // Public getters on non-public classes (private DTOs, lambdas' interfaces) aren't accessible without this
+                method.setAccessible(true);
+            } catch (RuntimeException e) {
+                // Fall back to regular access checks
+            }
+            try {
+                accessors.put(property, lookup.unreflect(method).asType(ACCESSOR_TYPE));
+            } catch (IllegalAccessException e) {
+                // Not reachable from here; leave it out
+            }
+        }
+        this.accessors = ImmutableMap.copyOf(accessors);
+    }
+
+    public static BeanAccessors forClass(Class<?> beanClass) {
+        checkNotNull(beanClass, "beanClass must not be null");
+        return ACCESSORS.get(beanClass);
+    }
+
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    public ImmutableMap<String, MethodHandle> getAccessors() {
+        return accessors;
+    }
+
+    public boolean hasProperty(String property) {
+        return accessors.containsKey(property);
+    }
+
+    /**
+     * Reads {@code property} from {@code bean}.  Exceptions thrown by the getter are rethrown, checked exceptions
+     * wrapped in {@link IllegalStateException}.
+     */
+    public Object read(Object bean, String property) {
+        final MethodHandle accessor = accessors.get(property);
+        checkNotNull(accessor, "No property %s on %s", property, beanClass);
+        return invoke(accessor, bean);
+    }
+
+    static Object invoke(MethodHandle accessor, Object bean) {
+        try {
+            return (Object) accessor.invokeExact(bean);
+        } catch (Throwable e) {
+            Throwables.throwIfUnchecked(e);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String propertyName(Method method) {
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0 ||
+                method.getReturnType() == void.class || method.getDeclaringClass() == Object.class) {
+            return null;
+        }
+        final String name = method.getName();
+        if (name.startsWith("get") && name.length() > 3) {
+            return decapitalize(name.substring(3));
+        } else if (name.startsWith("is") && name.length() > 2 && method.getReturnType() == boolean.class) {
+            return decapitalize(name.substring(2));
+        }
+        return null;
+    }
+
+    /**
+     * Same rule as {@link java.beans.Introspector#decapitalize(String)}: "URL" stays "URL", "Name" becomes "name".
+     */
+    private static String decapitalize(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+}
@@ -0,0 +1,72 @@
+package io.sbsp.jsonschema.validator.objects;
+
+import com.google.common.collect.ImmutableMap;
+import io.sbsp.jsonschema.utils.JsonObjectView;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.lang.invoke.MethodHandle;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link JsonObject} view of a bean.  Every property is present, including those whose getter returns {@code null}
+ * (matching the default output of common JSON binders), and properties are read each time they're accessed.
+ */
+final class BeanObject extends JsonObjectView {
+
+    private final Object bean;
+    private final BeanAccessors accessors;
+
+    BeanObject(Object bean, BeanAccessors accessors) {
+        this.bean = bean;
+        this.accessors = accessors;
+    }
+
+    @Override
+    public JsonValue get(Object key) {
+        final MethodHandle accessor = accessors.getAccessors().get(key);
+        return accessor == null ? null : JavaValues.wrap(BeanAccessors.invoke(accessor, bean));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return accessors.getAccessors().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return accessors.getAccessors().size();
+    }
+
+    @Override
+    public Set<Entry<String, JsonValue>> entrySet() {
+        final ImmutableMap<String, MethodHandle> properties = accessors.getAccessors();
+        return new AbstractSet<Entry<String, JsonValue>>() {
+            @Override
+            public Iterator<Entry<String, JsonValue>> iterator() {
+                final Iterator<Map.Entry<String, MethodHandle>> entries = properties.entrySet().iterator();
+                return new Iterator<Entry<String, JsonValue>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, JsonValue> next() {
+                        final Map.Entry<String, MethodHandle> entry = entries.next();
+                        final Object value = BeanAccessors.invoke(entry.getValue(), bean);
+                        return new SimpleImmutableEntry<>(entry.getKey(), JavaValues.wrap(value));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return properties.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,118 @@
+package io.sbsp.jsonschema.validator.objects;
+
+import javax.json.JsonNumber;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * {@link JsonNumber} view of a {@link Number}.  Integral boxes (<code>Integer</code>, <code>Long</code>, etc) are
+ * read directly; the {@link BigDecimal} form is only created when it's asked for.
+ */
+final class JavaNumber implements JsonNumber {
+
+    private final Number number;
+    private BigDecimal decimal;
+
+    JavaNumber(Number number) {
+        if (number instanceof Double || number instanceof Float) {
+            final double value = number.doubleValue();
+            checkArgument(!Double.isNaN(value) && !Double.isInfinite(value), "%s is not a valid JSON number", number);
+        }
+        this.number = number;
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.NUMBER;
+    }
+
+    @Override
+    public boolean isIntegral() {
+        return JavaValues.isIntegral(number) || bigDecimalValue().scale() == 0;
+    }
+
+    @Override
+    public int intValue() {
+        return number.intValue();
+    }
+
+    @Override
+    public int intValueExact() {
+        return bigDecimalValue().intValueExact();
+    }
+
+    @Override
+    public long longValue() {
+        return number.longValue();
+    }
+
+    @Override
+    public long longValueExact() {
+        if (JavaValues.isIntegral(number)) {
+            return number.longValue();
+        }
+        return bigDecimalValue().longValueExact();
+    }
+
+    @Override
+    public BigInteger bigIntegerValue() {
+        if (number instanceof BigInteger) {
+            return (BigInteger) number;
+        }
+        return bigDecimalValue().toBigInteger();
+    }
+
+    @Override
+    public BigInteger bigIntegerValueExact() {
+        if (number instanceof BigInteger) {
+            return (BigInteger) number;
+        }
+        return bigDecimalValue().toBigIntegerExact();
+    }
+
+    @Override
+    public double doubleValue() {
+        return number.doubleValue();
+    }
+
+    @Override
+    public BigDecimal bigDecimalValue() {
+        if (decimal == null) {
+            decimal = JavaValues.toBigDecimal(number);
+        }
+        return decimal;
+    }
+
+    @Override
+    public Number numberValue() {
+        return number;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof JsonNumber && bigDecimalValue().equals(((JsonNumber) o).bigDecimalValue());
+    }
+
+    /**
+     * Hashes the way Johnzon does: integers that fit in a long hash as that long, everything else as its
+     * {@link BigDecimal}.
+     */
+    @Override
+    public int hashCode() {
+        if (JavaValues.isIntegral(number)) {
+            return (int) number.longValue();
+        }
+        final BigDecimal value = bigDecimalValue();
+        if (value.scale() == 0 && value.unscaledValue().bitLength() < Long.SIZE) {
+            return (int) value.longValue();
+        }
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return JavaValues.isIntegral(number) ? number.toString() : bigDecimalValue().toString();
+    }
+}
@@ -0,0 +1,47 @@
+package io.sbsp.jsonschema.validator.objects;
+
+import io.sbsp.jsonschema.utils.JsonUtils;
+
+import javax.json.JsonString;
+
+/**
+ * {@link JsonString} for string-like Java values.
+ */
+final class JavaString implements JsonString {
+
+    private final String value;
+
+    JavaString(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.STRING;
+    }
+
+    @Override
+    public String getString() {
+        return value;
+    }
+
+    @Override
+    public CharSequence getChars() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof JsonString && value.equals(((JsonString) o).getString());
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return JsonUtils.jsonStringValue(value).toString();
+    }
+}
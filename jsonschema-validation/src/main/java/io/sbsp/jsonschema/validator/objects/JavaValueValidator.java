@@ -0,0 +1,53 @@
+package io.sbsp.jsonschema.validator.objects;
+
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.validator.SchemaValidator;
+import io.sbsp.jsonschema.validator.ValidationError;
+import io.sbsp.jsonschema.validator.ValidationListener;
+import io.sbsp.jsonschema.validator.ValidationReport;
+
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Validates Java object graphs (maps, lists, boxed primitives, strings, beans) against a schema without converting
+ * them to JSON first.  See {@link JavaValues} for how Java values map onto JSON.
+ *
+ * <pre>
+ * JavaValueValidator validator = new JavaValueValidator(SchemaValidatorFactory.createValidatorForSchema(schema));
+ * Optional&lt;ValidationError&gt; error = validator.validate(orderDto);
+ * </pre>
+ */
+public class JavaValueValidator {
+
+    private final SchemaValidator validator;
+
+    public JavaValueValidator(SchemaValidator validator) {
+        this.validator = checkNotNull(validator, "validator must not be null");
+    }
+
+    public Optional<ValidationError> validate(Object subject) {
+        return validator.validate(JavaValues.wrap(subject));
+    }
+
+    /**
+     * Validates {@code subject}, streaming errors to {@code listener}.  See {@link ValidationListener}
+     */
+    public boolean validate(Object subject, ValidationListener listener) {
+        return validator.validate(JavaValues.wrap(subject), listener);
+    }
+
+    /**
+     * Checks whether {@code subject} is valid, stopping at the first error.
+     */
+    public boolean isValid(Object subject) {
+        final JsonValueWithLocation pathAwareSubject = JsonValueWithLocation.fromJsonValue(JavaValues.wrap(subject),
+                validator.getSchema().getLocation());
+        return validator.validate(pathAwareSubject, ValidationReport.failFast());
+    }
+
+    public SchemaValidator getValidator() {
+        return validator;
+    }
+}
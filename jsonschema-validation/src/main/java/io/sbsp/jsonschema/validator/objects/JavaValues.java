@@ -0,0 +1,139 @@
+package io.sbsp.jsonschema.validator.objects;
+
+import javax.json.JsonValue;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URL;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalAmount;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Exposes plain Java object graphs through the javax.json interfaces that validation reads from, without
+ * serializing them to JSON and parsing them back.  Values map the same way a typical JSON binder would write them:
+ *
+ * <ul>
+ * <li>{@code null} and empty {@link Optional}s are <code>null</code>; other {@link Optional}s are their value</li>
+ * <li>{@link Boolean} is <code>true</code>/<code>false</code></li>
+ * <li>{@link CharSequence}, {@link Character}, <code>char[]</code>, {@link Enum} (by name), {@link UUID}, {@link URI}
+ * and {@link URL} are strings; <code>byte[]</code> is a base64 string</li>
+ * <li><code>java.time</code> values, {@link Date} and {@link Calendar} are ISO-8601 strings</li>
+ * <li>{@link Number}s are numbers; {@code NaN} and infinities are rejected</li>
+ * <li>{@link Map}s are objects, keyed by {@link String#valueOf(Object)} of their keys</li>
+ * <li>{@link List}s, other {@link Collection}s and arrays (including primitive arrays) are arrays</li>
+ * <li>anything else is read as a bean, one property per public getter (see {@link BeanAccessors})</li>
+ * </ul>
+ *
+ * Views are read-only and created as they're visited.  They compare equal to, and hash the same as, javax.json values
+ * with the same content, but the reverse comparison is up to the provider.  Keywords that compare values
+ * (<code>enum</code>, <code>const</code>, <code>uniqueItems</code>) go member by member, so they don't rely on it.
+ */
+public final class JavaValues {
+
+    private JavaValues() {
+    }
+
+    public static JsonValue wrap(Object value) {
+        if (value instanceof Optional) {
+            value = ((Optional<?>) value).orElse(null);
+        }
+        if (value == null) {
+            return JsonValue.NULL;
+        } else if (value instanceof JsonValue) {
+            return (JsonValue) value;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? JsonValue.TRUE : JsonValue.FALSE;
+        } else if (value instanceof CharSequence || value instanceof Character || value instanceof UUID ||
+                value instanceof URI || value instanceof URL) {
+            return new JavaString(value.toString());
+        } else if (value instanceof Enum) {
+            return new JavaString(((Enum<?>) value).name());
+        } else if (value instanceof Number) {
+            return new JavaNumber((Number) value);
+        } else if (value instanceof TemporalAccessor || value instanceof TemporalAmount || value instanceof ZoneId) {
+            return new JavaString(value.toString());
+        } else if (value instanceof Date) {
+            return new JavaString(Instant.ofEpochMilli(((Date) value).getTime()).toString());
+        } else if (value instanceof Calendar) {
+            return new JavaString(((Calendar) value).toInstant().toString());
+        } else if (value instanceof OptionalInt) {
+            final OptionalInt optional = (OptionalInt) value;
+            return optional.isPresent() ? new JavaNumber(optional.getAsInt()) : JsonValue.NULL;
+        } else if (value instanceof OptionalLong) {
+            final OptionalLong optional = (OptionalLong) value;
+            return optional.isPresent() ? new JavaNumber(optional.getAsLong()) : JsonValue.NULL;
+        } else if (value instanceof OptionalDouble) {
+            final OptionalDouble optional = (OptionalDouble) value;
+            return optional.isPresent() ? new JavaNumber(optional.getAsDouble()) : JsonValue.NULL;
+        } else if (value instanceof Map) {
+            return new MapObject((Map<?, ?>) value);
+        } else if (value instanceof List) {
+            return new ListArray((List<?>) value);
+        } else if (value instanceof Collection) {
+            return new ListArray(Arrays.asList(((Collection<?>) value).toArray()));
+        } else if (value instanceof Object[]) {
+            return new ListArray(Arrays.asList((Object[]) value));
+        } else if (value instanceof char[]) {
+            return new JavaString(new String((char[]) value));
+        } else if (value instanceof byte[]) {
+            return new JavaString(Base64.getEncoder().encodeToString((byte[]) value));
+        } else if (value.getClass().isArray()) {
+            return new ListArray(primitiveArrayList(value));
+        }
+        return new BeanObject(value, BeanAccessors.forClass(value.getClass()));
+    }
+
+    /**
+     * A list view of a primitive array, boxing each item as it's read.
+     */
+    private static List<Object> primitiveArrayList(Object array) {
+        return new AbstractList<Object>() {
+            @Override
+            public Object get(int index) {
+                return Array.get(array, index);
+            }
+
+            @Override
+            public int size() {
+                return Array.getLength(array);
+            }
+        };
+    }
+
+    static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        } else if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        } else if (isIntegral(number)) {
+            return BigDecimal.valueOf(number.longValue());
+        } else if (number instanceof Float) {
+            // Widening to double first would turn 0.1f into 0.10000000149011612, rather than the 0.1 a binder writes
+            return new BigDecimal(Float.toString((Float) number));
+        }
+        return BigDecimal.valueOf(number.doubleValue());
+    }
+
+    static boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte ||
+                number instanceof AtomicInteger || number instanceof AtomicLong;
+    }
+}
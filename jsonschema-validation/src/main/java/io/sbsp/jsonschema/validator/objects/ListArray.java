@@ -0,0 +1,34 @@
+package io.sbsp.jsonschema.validator.objects;
+
+import io.sbsp.jsonschema.utils.JsonArrayView;
+
+import javax.json.JsonArray;
+import javax.json.JsonValue;
+import java.util.List;
+
+/**
+ * {@link JsonArray} view of a {@link List}.
+ */
+final class ListArray extends JsonArrayView {
+
+    private final List<?> list;
+
+    ListArray(List<?> list) {
+        this.list = list;
+    }
+
+    @Override
+    public JsonValue get(int index) {
+        return JavaValues.wrap(list.get(index));
+    }
+
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    @Override
+    public boolean isNull(int index) {
+        return list.get(index) == null;
+    }
+}
@@ -0,0 +1,69 @@
+package io.sbsp.jsonschema.validator.objects;
+
+import io.sbsp.jsonschema.utils.JsonObjectView;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link JsonObject} view of a {@link Map}.  Name lookups go straight to the map, so they assume it's keyed by
+ * {@link String} (as JSON objects are); iteration converts any other keys with {@link String#valueOf(Object)}.
+ */
+final class MapObject extends JsonObjectView {
+
+    private final Map<?, ?> map;
+
+    MapObject(Map<?, ?> map) {
+        this.map = map;
+    }
+
+    @Override
+    public JsonValue get(Object key) {
+        final Object value = map.get(key);
+        if (value == null && !map.containsKey(key)) {
+            return null;
+        }
+        return JavaValues.wrap(value);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public Set<Entry<String, JsonValue>> entrySet() {
+        return new AbstractSet<Entry<String, JsonValue>>() {
+            @Override
+            public Iterator<Entry<String, JsonValue>> iterator() {
+                final Iterator<? extends Map.Entry<?, ?>> entries = map.entrySet().iterator();
+                return new Iterator<Entry<String, JsonValue>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, JsonValue> next() {
+                        final Map.Entry<?, ?> entry = entries.next();
+                        return new SimpleImmutableEntry<>(String.valueOf(entry.getKey()), JavaValues.wrap(entry.getValue()));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+        };
+    }
+}
@@ -0,0 +1,96 @@
+package io.sbsp.jsonschema.validator.optimizer;
+
+import com.google.common.collect.ImmutableMap;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.SchemaLocation;
+import io.sbsp.jsonschema.enums.JsonSchemaKeywordType;
+import io.sbsp.jsonschema.validator.SchemaValidator;
+import io.sbsp.jsonschema.validator.SchemaValidatorFactory;
+import io.sbsp.jsonschema.validator.ValidationError;
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+import java.net.URI;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The result of {@link SchemaOptimizer#optimize(Schema)}: the rewritten schema, along with what's needed to report
+ * errors against the schema as it was written.
+ */
+public class OptimizedSchema {
+
+    /**
+     * The schema that was optimized
+     */
+    @Getter
+    private final Schema original;
+
+    /**
+     * The optimized schema, which is validated in place of {@link #getOriginal()} (see {@link #createValidator})
+     */
+    @Getter
+    private final Schema schema;
+
+    private final Map<URI, Map<String, SchemaLocation>> origins;
+    private final Map<URI, String> unsatisfiable;
+
+    OptimizedSchema(Schema original, Schema schema, Map<URI, Map<String, SchemaLocation>> origins, Map<URI, String> unsatisfiable) {
+        this.original = checkNotNull(original, "original must not be null");
+        this.schema = checkNotNull(schema, "schema must not be null");
+        this.origins = ImmutableMap.copyOf(origins);
+        this.unsatisfiable = ImmutableMap.copyOf(unsatisfiable);
+    }
+
+    /**
+     * Creates a validator for the optimized schema, configured like {@code factory}.  The optimized schema reuses the
+     * original's locations, so it's built with a factory of its own ({@link SchemaValidatorFactory#withNewCache()})
+     * rather than sharing {@code factory}'s cache with the original.
+     */
+    public SchemaValidator createValidator(SchemaValidatorFactory factory) {
+        checkNotNull(factory, "factory must not be null");
+        return factory.withNewCache().createValidator(schema);
+    }
+
+    /**
+     * Whether no instance can pass the schema.  A caller can reject input without validating it.
+     */
+    public boolean isUnsatisfiable() {
+        return unsatisfiable.containsKey(schema.getLocation().getUniqueURI());
+    }
+
+    /**
+     * The subschemas that were found to be unsatisfiable, keyed by their location, with the reason.
+     */
+    public Map<URI, String> getUnsatisfiableSchemas() {
+        return unsatisfiable;
+    }
+
+    public Optional<String> getUnsatisfiableReason(Schema schema) {
+        checkNotNull(schema, "schema must not be null");
+        return Optional.ofNullable(unsatisfiable.get(schema.getLocation().getUniqueURI()));
+    }
+
+    /**
+     * The location of the schema that declared {@code keyword} before it was optimized.  Unless the keyword was
+     * merged up from an <code>allOf</code> branch, this is the location of {@code schema} itself.
+     */
+    public SchemaLocation originOf(Schema schema, @Nullable JsonSchemaKeywordType keyword) {
+        checkNotNull(schema, "schema must not be null");
+        final Map<String, SchemaLocation> schemaOrigins = origins.get(schema.getLocation().getUniqueURI());
+        if (keyword == null || schemaOrigins == null) {
+            return schema.getLocation();
+        }
+        return schemaOrigins.getOrDefault(keyword.key(), schema.getLocation());
+    }
+
+    /**
+     * The location of the keyword that produced {@code error}, in the schema as it was written.
+     */
+    public SchemaLocation originOf(ValidationError error) {
+        checkNotNull(error, "error must not be null");
+        return originOf(error.getViolatedSchema(), error.getKeyword());
+    }
+}
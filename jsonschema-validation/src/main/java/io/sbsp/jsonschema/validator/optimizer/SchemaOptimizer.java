@@ -0,0 +1,705 @@
+package io.sbsp.jsonschema.validator.optimizer;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.sbsp.jsonschema.RefSchema;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.SchemaLocation;
+import io.sbsp.jsonschema.builder.JsonSchemaBuilder;
+import io.sbsp.jsonschema.enums.JsonSchemaType;
+import io.sbsp.jsonschema.enums.JsonSchemaVersion;
+import io.sbsp.jsonschema.impl.Draft3SchemaImpl;
+import io.sbsp.jsonschema.impl.Draft4SchemaImpl;
+import io.sbsp.jsonschema.impl.Draft6SchemaImpl;
+import io.sbsp.jsonschema.keyword.BooleanKeyword;
+import io.sbsp.jsonschema.keyword.DependenciesKeyword;
+import io.sbsp.jsonschema.keyword.ItemsKeyword;
+import io.sbsp.jsonschema.keyword.JsonArrayKeyword;
+import io.sbsp.jsonschema.keyword.JsonValueKeyword;
+import io.sbsp.jsonschema.keyword.KeywordMetadata;
+import io.sbsp.jsonschema.keyword.Keywords;
+import io.sbsp.jsonschema.keyword.LimitKeyword;
+import io.sbsp.jsonschema.keyword.NumberKeyword;
+import io.sbsp.jsonschema.keyword.SchemaKeyword;
+import io.sbsp.jsonschema.keyword.SchemaListKeyword;
+import io.sbsp.jsonschema.keyword.SchemaMapKeyword;
+import io.sbsp.jsonschema.keyword.SingleSchemaKeyword;
+import io.sbsp.jsonschema.keyword.StringKeyword;
+import io.sbsp.jsonschema.keyword.StringSetKeyword;
+import io.sbsp.jsonschema.keyword.TypeKeyword;
+
+import javax.json.JsonNumber;
+import javax.json.JsonValue;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Rewrites a schema into an equivalent one that's cheaper to validate against.  This runs between loading and
+ * validator construction:
+ *
+ * <pre>
+ * OptimizedSchema optimized = SchemaOptimizer.optimize(JsonSchemaFactory.schemaFactory().load(json));
+ * SchemaValidator validator = optimized.createValidator(SchemaValidatorFactory.DEFAULT_VALIDATOR_FACTORY);
+ * </pre>
+ *
+ * The rewrites are:
+ * <ul>
+ * <li><code>allOf</code> branches are merged into their parent where the keywords don't overlap or can be combined
+ * (nested <code>allOf</code>, <code>type</code> intersection, <code>required</code> union, the tighter of two
+ * <code>min*</code>/<code>max*</code> limits), and duplicate or empty branches are dropped.</li>
+ * <li><code>anyOf</code> and <code>oneOf</code> with a single satisfiable branch become that branch, and
+ * <code>not: {not: X}</code> becomes <code>X</code>.</li>
+ * <li>Keywords that can't fail are dropped: zero minimums, <code>uniqueItems: false</code>, empty
+ * <code>required</code>, <code>type</code> listing every type, and empty <code>additionalProperties</code>,
+ * <code>propertyNames</code> and <code>items</code> schemas.</li>
+ * <li>Subschemas that no instance can satisfy (no types in common, <code>minLength</code> above
+ * <code>maxLength</code> for a string-only schema, a required property whose schema is unsatisfiable, and so on)
+ * are replaced with <code>{"not": {}}</code>, which fails without looking at the instance.  <code>anyOf</code> and
+ * <code>oneOf</code> branches that are unsatisfiable are removed.</li>
+ * </ul>
+ *
+ * Every rewritten subschema keeps the {@link SchemaLocation} of the subschema it replaces, so most errors already
+ * point at the original schema.  Keywords that were pulled up from an <code>allOf</code> branch are tracked in the
+ * {@link OptimizedSchema}, which maps an error back to the branch that declared the keyword.
+ *
+ * <code>$ref</code> targets and <code>definitions</code> are left as they are, as are schemas with keywords the
+ * optimizer doesn't know about (though their subschemas are still optimized).  Schemas that aren't draft 3, 4 or 6
+ * (and everything below them) are also left as they are, because a rewrite would change their version.
+ *
+ * Because a rewritten schema keeps its original location, it has the same URI as the schema it replaces, and a
+ * {@link io.sbsp.jsonschema.validator.SchemaValidatorFactory} caches validators by URI.  Optimized schemas are
+ * validated with a factory of their own (see {@link OptimizedSchema#createValidator}), so they never pick up, or
+ * replace, the validators of the schemas they were rewritten from.
+ */
+public class SchemaOptimizer {
+
+    private static final Schema EMPTY_SCHEMA = JsonSchemaBuilder.jsonSchema().build();
+
+    /**
+     * Keywords that don't take part in validation.
+     */
+    private static final Set<KeywordMetadata<?>> ANNOTATIONS = ImmutableSet.of(Keywords.$schema, Keywords.$id,
+            Keywords.id, Keywords.title, Keywords.description, Keywords.$default, Keywords.examples,
+            Keywords.definitions);
+
+    /**
+     * Keywords whose validation is independent of any other keyword in the same schema, or whose interactions are
+     * handled explicitly below, along with the value each is expected to hold.
+     */
+    private static final Map<KeywordMetadata<?>, Class<? extends SchemaKeyword>> KNOWN = ImmutableMap.<KeywordMetadata<?>, Class<? extends SchemaKeyword>>builder()
+            .put(Keywords.type, TypeKeyword.class)
+            .put(Keywords.$enum, JsonArrayKeyword.class)
+            .put(Keywords.$const, JsonValueKeyword.class)
+            .put(Keywords.not, SingleSchemaKeyword.class)
+            .put(Keywords.allOf, SchemaListKeyword.class)
+            .put(Keywords.anyOf, SchemaListKeyword.class)
+            .put(Keywords.oneOf, SchemaListKeyword.class)
+            .put(Keywords.maxLength, NumberKeyword.class)
+            .put(Keywords.minLength, NumberKeyword.class)
+            .put(Keywords.pattern, StringKeyword.class)
+            .put(Keywords.format, StringKeyword.class)
+            .put(Keywords.maxItems, NumberKeyword.class)
+            .put(Keywords.minItems, NumberKeyword.class)
+            .put(Keywords.uniqueItems, BooleanKeyword.class)
+            .put(Keywords.items, ItemsKeyword.class)
+            .put(Keywords.contains, SingleSchemaKeyword.class)
+            .put(Keywords.minimum, LimitKeyword.class)
+            .put(Keywords.maximum, LimitKeyword.class)
+            .put(Keywords.multipleOf, NumberKeyword.class)
+            .put(Keywords.properties, SchemaMapKeyword.class)
+            .put(Keywords.patternProperties, SchemaMapKeyword.class)
+            .put(Keywords.additionalProperties, SingleSchemaKeyword.class)
+            .put(Keywords.propertyNames, SingleSchemaKeyword.class)
+            .put(Keywords.required, StringSetKeyword.class)
+            .put(Keywords.dependencies, DependenciesKeyword.class)
+            .put(Keywords.minProperties, NumberKeyword.class)
+            .put(Keywords.maxProperties, NumberKeyword.class)
+            .build();
+
+    private static final Set<JsonSchemaVersion> REWRITABLE_VERSIONS = Collections.unmodifiableSet(EnumSet.of(
+            JsonSchemaVersion.Draft3, JsonSchemaVersion.Draft4, JsonSchemaVersion.Draft6));
+
+    private static final Set<JsonSchemaType> ALL_TYPES = Collections.unmodifiableSet(EnumSet.allOf(JsonSchemaType.class));
+
+    private final Map<Schema, Schema> optimized = new IdentityHashMap<>();
+    private final Set<Schema> unsatisfiable = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<URI, Map<String, SchemaLocation>> origins = new HashMap<>();
+    private final Map<URI, String> unsatisfiableReasons = new LinkedHashMap<>();
+
+    private SchemaOptimizer() {
+    }
+
+    public static OptimizedSchema optimize(Schema schema) {
+        checkNotNull(schema, "schema must not be null");
+        final SchemaOptimizer optimizer = new SchemaOptimizer();
+        final Schema optimizedSchema = optimizer.optimizeSchema(schema);
+        return new OptimizedSchema(schema, optimizedSchema, optimizer.origins, optimizer.unsatisfiableReasons);
+    }
+
+    private Schema optimizeSchema(Schema schema) {
+        if (schema instanceof RefSchema || !isRewritable(schema)) {
+            return schema;
+        }
+        final Schema existing = optimized.get(schema);
+        if (existing != null) {
+            return existing;
+        }
+        optimized.put(schema, schema);
+
+        final Rewrite rewrite = new Rewrite(schema);
+        final Schema result = rewrite.apply();
+        optimized.put(schema, result);
+        return result;
+    }
+
+    private SchemaKeyword optimizeChildren(SchemaKeyword keyword) {
+        if (keyword instanceof SingleSchemaKeyword) {
+            final Schema schema = ((SingleSchemaKeyword) keyword).getSchema();
+            final Schema result = optimizeSchema(schema);
+            return result == schema ? keyword : new SingleSchemaKeyword(result);
+        } else if (keyword instanceof SchemaListKeyword) {
+            final List<Schema> schemas = ((SchemaListKeyword) keyword).getSchemas();
+            final List<Schema> result = optimizeList(schemas);
+            return result == schemas ? keyword : new SchemaListKeyword(result);
+        } else if (keyword instanceof SchemaMapKeyword) {
+            final Map<String, Schema> schemas = ((SchemaMapKeyword) keyword).getSchemas();
+            final Map<String, Schema> result = optimizeMap(schemas);
+            return result == schemas ? keyword : new SchemaMapKeyword(result);
+        } else if (keyword instanceof ItemsKeyword) {
+            final ItemsKeyword items = (ItemsKeyword) keyword;
+            final Schema allItems = items.getAllItemSchema().orElse(null);
+            final Schema additionalItems = items.getAdditionalItemSchema().orElse(null);
+            final Schema optimizedAll = allItems == null ? null : optimizeSchema(allItems);
+            final Schema optimizedAdditional = additionalItems == null ? null : optimizeSchema(additionalItems);
+            final List<Schema> indexed = optimizeList(items.getIndexedSchemas());
+            if (optimizedAll == allItems && optimizedAdditional == additionalItems && indexed == items.getIndexedSchemas()) {
+                return keyword;
+            }
+            return new ItemsKeyword(optimizedAll, optimizedAdditional, indexed);
+        } else if (keyword instanceof DependenciesKeyword) {
+            final DependenciesKeyword dependencies = (DependenciesKeyword) keyword;
+            final Map<String, Schema> schemas = dependencies.getDependencySchemas().getSchemas();
+            final Map<String, Schema> result = optimizeMap(schemas);
+            if (result == schemas) {
+                return keyword;
+            }
+            return new DependenciesKeyword(new SchemaMapKeyword(result), dependencies.getPropertyDependencies());
+        }
+        return keyword;
+    }
+
+    private List<Schema> optimizeList(List<Schema> schemas) {
+        List<Schema> result = null;
+        for (int i = 0; i < schemas.size(); i++) {
+            final Schema schema = schemas.get(i);
+            final Schema optimizedSchema = optimizeSchema(schema);
+            if (optimizedSchema != schema && result == null) {
+                result = new ArrayList<>(schemas);
+            }
+            if (result != null) {
+                result.set(i, optimizedSchema);
+            }
+        }
+        return result == null ? schemas : result;
+    }
+
+    private Map<String, Schema> optimizeMap(Map<String, Schema> schemas) {
+        final Map<String, Schema> result = new LinkedHashMap<>();
+        boolean changed = false;
+        for (Map.Entry<String, Schema> entry : schemas.entrySet()) {
+            final Schema optimizedSchema = optimizeSchema(entry.getValue());
+            changed |= optimizedSchema != entry.getValue();
+            result.put(entry.getKey(), optimizedSchema);
+        }
+        return changed ? result : schemas;
+    }
+
+    private boolean isTriviallyTrue(Schema schema) {
+        return !(schema instanceof RefSchema)
+                && !unsatisfiable.contains(schema)
+                && ANNOTATIONS.containsAll(schema.getKeywords().keySet());
+    }
+
+    /**
+     * Whether every keyword is one the optimizer understands, holding the kind of value it expects.
+     */
+    private static boolean isKnown(Map<KeywordMetadata<?>, SchemaKeyword> keywords) {
+        for (Map.Entry<KeywordMetadata<?>, SchemaKeyword> entry : keywords.entrySet()) {
+            if (ANNOTATIONS.contains(entry.getKey())) {
+                continue;
+            }
+            final Class<? extends SchemaKeyword> expected = KNOWN.get(entry.getKey());
+            if (expected == null || !expected.isInstance(entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private SchemaLocation originOf(Schema schema, KeywordMetadata<?> keyword) {
+        final Map<String, SchemaLocation> schemaOrigins = origins.get(schema.getLocation().getUniqueURI());
+        if (schemaOrigins != null && schemaOrigins.containsKey(keyword.getKey())) {
+            return schemaOrigins.get(keyword.getKey());
+        }
+        return schema.getLocation();
+    }
+
+    /**
+     * Whether {@link #newSchema} can rebuild {@code schema} without changing its version.
+     */
+    private static boolean isRewritable(Schema schema) {
+        return REWRITABLE_VERSIONS.contains(schema.getVersion());
+    }
+
+    private static Schema newSchema(Schema schema, Map<KeywordMetadata<?>, SchemaKeyword> keywords) {
+        switch (schema.getVersion()) {
+            case Draft3:
+                return new Draft3SchemaImpl(schema.getLocation(), keywords);
+            case Draft4:
+                return new Draft4SchemaImpl(schema.getLocation(), keywords);
+            case Draft6:
+                return new Draft6SchemaImpl(schema.getLocation(), keywords);
+            default:
+                throw new IllegalStateException("Can't rewrite a " + schema.getVersion() + " schema");
+        }
+    }
+
+    /**
+     * The rewrite of a single schema, once its subschemas have been optimized.
+     */
+    private class Rewrite {
+        private final Schema schema;
+        private final Map<KeywordMetadata<?>, SchemaKeyword> keywords = new LinkedHashMap<>();
+        private final Map<String, SchemaLocation> keywordOrigins = new HashMap<>();
+        private final Deque<Schema> pendingAllOf = new ArrayDeque<>();
+        private final List<String> contradictions = new ArrayList<>();
+        private boolean changed;
+
+        Rewrite(Schema schema) {
+            this.schema = schema;
+        }
+
+        Schema apply() {
+            schema.getKeywords().forEach((keyword, value) -> {
+                final SchemaKeyword result = Keywords.definitions.equals(keyword) ? value : optimizeChildren(value);
+                changed |= result != value;
+                keywords.put(keyword, result);
+            });
+
+            if (isKnown(keywords)) {
+                unwrapDoubleNegation();
+                collapseBranches(Keywords.anyOf);
+                collapseBranches(Keywords.oneOf);
+                flattenAllOf();
+                dropNoOps();
+                checkSatisfiable();
+            }
+
+            if (!contradictions.isEmpty()) {
+                final Map<KeywordMetadata<?>, SchemaKeyword> rejectAll = new LinkedHashMap<>();
+                rejectAll.put(Keywords.not, new SingleSchemaKeyword(EMPTY_SCHEMA));
+                final Schema result = newSchema(schema, rejectAll);
+                unsatisfiable.add(result);
+                unsatisfiableReasons.put(schema.getLocation().getUniqueURI(), String.join("; ", contradictions));
+                return result;
+            }
+            if (!changed) {
+                return schema;
+            }
+            if (!keywordOrigins.isEmpty()) {
+                origins.put(schema.getLocation().getUniqueURI(), keywordOrigins);
+            }
+            return newSchema(schema, keywords);
+        }
+
+        private void put(KeywordMetadata<?> keyword, SchemaKeyword value) {
+            keywords.put(keyword, value);
+            changed = true;
+        }
+
+        private void remove(KeywordMetadata<?> keyword) {
+            if (keywords.remove(keyword) != null) {
+                changed = true;
+            }
+        }
+
+        private void unwrapDoubleNegation() {
+            final SingleSchemaKeyword not = (SingleSchemaKeyword) keywords.get(Keywords.not);
+            if (not == null) {
+                return;
+            }
+            final Schema negated = not.getSchema();
+            if (unsatisfiable.contains(negated)) {
+                remove(Keywords.not);
+            } else if (!(negated instanceof RefSchema) && isRewritable(negated) && isKnown(negated.getKeywords())
+                    && validatingKeywords(negated).equals(Collections.singleton(Keywords.not))) {
+                remove(Keywords.not);
+                pendingAllOf.add(((SingleSchemaKeyword) negated.getKeywords().get(Keywords.not)).getSchema());
+            }
+        }
+
+        private void collapseBranches(KeywordMetadata<SchemaListKeyword> keyword) {
+            final SchemaListKeyword list = (SchemaListKeyword) keywords.get(keyword);
+            if (list == null) {
+                return;
+            }
+            final List<Schema> branches = new ArrayList<>();
+            for (Schema branch : list.getSchemas()) {
+                if (unsatisfiable.contains(branch)) {
+                    continue;
+                }
+                if (Keywords.anyOf.equals(keyword)) {
+                    if (isTriviallyTrue(branch)) {
+                        remove(keyword);
+                        return;
+                    }
+                    if (branches.contains(branch)) {
+                        continue;
+                    }
+                }
+                branches.add(branch);
+            }
+
+            if (branches.isEmpty()) {
+                contradictions.add("every " + keyword.getKey() + " branch is unsatisfiable");
+                remove(keyword);
+            } else if (branches.size() == 1) {
+                remove(keyword);
+                pendingAllOf.add(branches.get(0));
+            } else if (branches.size() != list.getSchemas().size()) {
+                put(keyword, new SchemaListKeyword(branches));
+            }
+        }
+
+        private void flattenAllOf() {
+            final SchemaListKeyword allOf = (SchemaListKeyword) keywords.get(Keywords.allOf);
+            final Deque<Schema> queue = new ArrayDeque<>();
+            if (allOf != null) {
+                queue.addAll(allOf.getSchemas());
+            }
+            queue.addAll(pendingAllOf);
+            if (queue.isEmpty()) {
+                return;
+            }
+
+            boolean flattened = !pendingAllOf.isEmpty();
+            final List<Schema> remaining = new ArrayList<>();
+            while (!queue.isEmpty()) {
+                final Schema branch = queue.poll();
+                if (isTriviallyTrue(branch)) {
+                    flattened = true;
+                } else if (unsatisfiable.contains(branch)) {
+                    contradictions.add("allOf branch " + branch.getLocation().getJsonPointerFragment() + " is unsatisfiable");
+                    flattened = true;
+                } else if (merge(branch, queue) || remaining.contains(branch)) {
+                    flattened = true;
+                } else {
+                    remaining.add(branch);
+                }
+            }
+
+            if (flattened) {
+                if (remaining.isEmpty()) {
+                    remove(Keywords.allOf);
+                } else {
+                    put(Keywords.allOf, new SchemaListKeyword(remaining));
+                }
+            }
+        }
+
+        /**
+         * Pulls the keywords of an <code>allOf</code> branch up into this schema.  Either every keyword in the
+         * branch is merged, or none are.  Nested <code>allOf</code> branches are added to {@code queue}.
+         */
+        private boolean merge(Schema branch, Deque<Schema> queue) {
+            if (branch instanceof RefSchema || !isRewritable(branch)) {
+                return false;
+            }
+            final Map<KeywordMetadata<?>, SchemaKeyword> incoming = branch.getKeywords();
+            if (!isKnown(incoming) || incoming.containsKey(Keywords.$id) || incoming.containsKey(Keywords.id)) {
+                return false;
+            }
+            if (!canMergePropertyKeywords(incoming)) {
+                return false;
+            }
+
+            final Map<KeywordMetadata<?>, SchemaKeyword> merged = new LinkedHashMap<>();
+            for (Map.Entry<KeywordMetadata<?>, SchemaKeyword> entry : incoming.entrySet()) {
+                final KeywordMetadata<?> keyword = entry.getKey();
+                if (ANNOTATIONS.contains(keyword) || Keywords.allOf.equals(keyword)) {
+                    continue;
+                }
+                final SchemaKeyword existing = keywords.get(keyword);
+                final SchemaKeyword result = existing == null ? entry.getValue() : mergeKeyword(keyword, existing, entry.getValue());
+                if (result == null) {
+                    return false;
+                }
+                merged.put(keyword, result);
+            }
+
+            merged.forEach((keyword, result) -> {
+                final SchemaKeyword existing = keywords.get(keyword);
+                if (result.equals(existing)) {
+                    return;
+                }
+                put(keyword, result);
+                if (existing == null || result.equals(incoming.get(keyword))) {
+                    keywordOrigins.put(keyword.getKey(), originOf(branch, keyword));
+                }
+            });
+            final SchemaListKeyword nestedAllOf = (SchemaListKeyword) incoming.get(Keywords.allOf);
+            if (nestedAllOf != null) {
+                queue.addAll(nestedAllOf.getSchemas());
+            }
+            return true;
+        }
+
+        /**
+         * <code>additionalProperties</code> depends on the <code>properties</code> and <code>patternProperties</code>
+         * declared next to it, so those three keywords can only be combined when neither side has
+         * <code>additionalProperties</code>.
+         */
+        private boolean canMergePropertyKeywords(Map<KeywordMetadata<?>, SchemaKeyword> incoming) {
+            final boolean incomingHasProperties = incoming.containsKey(Keywords.properties)
+                    || incoming.containsKey(Keywords.patternProperties)
+                    || incoming.containsKey(Keywords.additionalProperties);
+            final boolean hasProperties = keywords.containsKey(Keywords.properties)
+                    || keywords.containsKey(Keywords.patternProperties)
+                    || keywords.containsKey(Keywords.additionalProperties);
+            if (!incomingHasProperties || !hasProperties) {
+                return true;
+            }
+            return !incoming.containsKey(Keywords.additionalProperties)
+                    && !keywords.containsKey(Keywords.additionalProperties);
+        }
+
+        private void dropNoOps() {
+            removeIf(Keywords.minLength, keyword -> ((NumberKeyword) keyword).getDouble() <= 0);
+            removeIf(Keywords.minItems, keyword -> ((NumberKeyword) keyword).getDouble() <= 0);
+            removeIf(Keywords.minProperties, keyword -> ((NumberKeyword) keyword).getDouble() <= 0);
+            removeIf(Keywords.uniqueItems, keyword -> !((BooleanKeyword) keyword).getKeywordValue());
+            removeIf(Keywords.required, keyword -> ((StringSetKeyword) keyword).getStringSet().isEmpty());
+            removeIf(Keywords.type, keyword -> expandOrEmpty(((TypeKeyword) keyword).getTypes()).equals(ALL_TYPES));
+            removeIf(Keywords.additionalProperties, keyword -> isTriviallyTrue(((SingleSchemaKeyword) keyword).getSchema()));
+            removeIf(Keywords.propertyNames, keyword -> isTriviallyTrue(((SingleSchemaKeyword) keyword).getSchema()));
+            removeIf(Keywords.items, keyword -> {
+                final ItemsKeyword items = (ItemsKeyword) keyword;
+                return !items.hasIndexedSchemas() && items.getAllItemSchema().map(SchemaOptimizer.this::isTriviallyTrue).orElse(true);
+            });
+        }
+
+        private void removeIf(KeywordMetadata<?> keyword, Predicate<SchemaKeyword> test) {
+            final SchemaKeyword value = keywords.get(keyword);
+            if (value != null && test.test(value)) {
+                remove(keyword);
+            }
+        }
+
+        private void checkSatisfiable() {
+            final SingleSchemaKeyword not = (SingleSchemaKeyword) keywords.get(Keywords.not);
+            if (not != null && isTriviallyTrue(not.getSchema())) {
+                contradictions.add("not: every instance matches " + not.getSchema().getLocation().getJsonPointerFragment());
+            }
+
+            final TypeKeyword type = (TypeKeyword) keywords.get(Keywords.type);
+            final Set<JsonSchemaType> allowed = EnumSet.copyOf(type == null ? ALL_TYPES : expandOrEmpty(type.getTypes()));
+            final List<String> excluded = new ArrayList<>();
+            if (type != null && allowed.isEmpty()) {
+                excluded.add("no type in common");
+            }
+
+            if (compare(Keywords.minLength, Keywords.maxLength) > 0) {
+                allowed.remove(JsonSchemaType.STRING);
+                excluded.add("minLength is greater than maxLength");
+            }
+            if (compare(Keywords.minItems, Keywords.maxItems) > 0) {
+                allowed.remove(JsonSchemaType.ARRAY);
+                excluded.add("minItems is greater than maxItems");
+            }
+            if (!isObjectSatisfiable(excluded)) {
+                allowed.remove(JsonSchemaType.OBJECT);
+            }
+            if (!isNumberRangeSatisfiable()) {
+                allowed.remove(JsonSchemaType.NUMBER);
+                allowed.remove(JsonSchemaType.INTEGER);
+                excluded.add("minimum is greater than maximum");
+            }
+
+            if (allowed.isEmpty()) {
+                contradictions.add("no instance can match: " + String.join(", ", excluded));
+                return;
+            }
+
+            final JsonArrayKeyword enumKeyword = (JsonArrayKeyword) keywords.get(Keywords.$enum);
+            if (enumKeyword != null && enumKeyword.getJsonArray().stream().noneMatch(value -> isAllowed(value, allowed))) {
+                contradictions.add("no enum value is allowed by the other keywords");
+            }
+            final JsonValueKeyword constKeyword = (JsonValueKeyword) keywords.get(Keywords.$const);
+            if (constKeyword != null && !isAllowed(constKeyword.getKeywordValue(), allowed)) {
+                contradictions.add("const value is not allowed by the other keywords");
+            }
+        }
+
+        private boolean isObjectSatisfiable(List<String> excluded) {
+            final StringSetKeyword required = (StringSetKeyword) keywords.get(Keywords.required);
+            final NumberKeyword maxProperties = (NumberKeyword) keywords.get(Keywords.maxProperties);
+            if (compare(Keywords.minProperties, Keywords.maxProperties) > 0) {
+                excluded.add("minProperties is greater than maxProperties");
+                return false;
+            }
+            if (required == null) {
+                return true;
+            }
+            if (maxProperties != null && required.getStringSet().size() > maxProperties.getDouble()) {
+                excluded.add("more required properties than maxProperties");
+                return false;
+            }
+            final SchemaMapKeyword properties = (SchemaMapKeyword) keywords.get(Keywords.properties);
+            if (properties != null) {
+                for (String property : required.getStringSet()) {
+                    final Schema propertySchema = properties.getSchemas().get(property);
+                    if (propertySchema != null && unsatisfiable.contains(propertySchema)) {
+                        excluded.add("required property '" + property + "' is unsatisfiable");
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private boolean isNumberRangeSatisfiable() {
+            final LimitKeyword minimum = (LimitKeyword) keywords.get(Keywords.minimum);
+            final LimitKeyword maximum = (LimitKeyword) keywords.get(Keywords.maximum);
+            if (minimum == null || maximum == null) {
+                return true;
+            }
+            final Number lower = minimum.isExclusive() ? minimum.getExclusiveLimit() : minimum.getLimit();
+            final Number upper = maximum.isExclusive() ? maximum.getExclusiveLimit() : maximum.getLimit();
+            if (lower == null || upper == null) {
+                return true;
+            }
+            final int comparison = decimal(lower).compareTo(decimal(upper));
+            return comparison < 0 || (comparison == 0 && !minimum.isExclusive() && !maximum.isExclusive());
+        }
+
+        private int compare(KeywordMetadata<NumberKeyword> lower, KeywordMetadata<NumberKeyword> upper) {
+            final NumberKeyword lowerValue = (NumberKeyword) keywords.get(lower);
+            final NumberKeyword upperValue = (NumberKeyword) keywords.get(upper);
+            if (lowerValue == null || upperValue == null) {
+                return 0;
+            }
+            return Double.compare(lowerValue.getDouble(), upperValue.getDouble());
+        }
+
+        private Set<KeywordMetadata<?>> validatingKeywords(Schema schema) {
+            final Set<KeywordMetadata<?>> validating = new LinkedHashSet<>(schema.getKeywords().keySet());
+            validating.removeAll(ANNOTATIONS);
+            return validating;
+        }
+    }
+
+    /**
+     * Combines two values for the same keyword so that the result matches exactly the instances that match both.
+     * Returns null if there's no single value that does that.
+     */
+    private static SchemaKeyword mergeKeyword(KeywordMetadata<?> keyword, SchemaKeyword existing, SchemaKeyword incoming) {
+        if (existing.equals(incoming)) {
+            return existing;
+        }
+        if (Keywords.type.equals(keyword)) {
+            return new TypeKeyword(intersect(((TypeKeyword) existing).getTypes(), ((TypeKeyword) incoming).getTypes()));
+        } else if (Keywords.required.equals(keyword)) {
+            final Set<String> union = new LinkedHashSet<>(((StringSetKeyword) existing).getStringSet());
+            union.addAll(((StringSetKeyword) incoming).getStringSet());
+            return new StringSetKeyword(union);
+        } else if (Keywords.maxLength.equals(keyword) || Keywords.maxItems.equals(keyword) || Keywords.maxProperties.equals(keyword)) {
+            return ((NumberKeyword) existing).getDouble() <= ((NumberKeyword) incoming).getDouble() ? existing : incoming;
+        } else if (Keywords.minLength.equals(keyword) || Keywords.minItems.equals(keyword) || Keywords.minProperties.equals(keyword)) {
+            return ((NumberKeyword) existing).getDouble() >= ((NumberKeyword) incoming).getDouble() ? existing : incoming;
+        } else if (Keywords.uniqueItems.equals(keyword)) {
+            return ((BooleanKeyword) existing).getKeywordValue() ? existing : incoming;
+        } else if (Keywords.minimum.equals(keyword) || Keywords.maximum.equals(keyword)) {
+            return mergeLimit(Keywords.minimum.equals(keyword), (LimitKeyword) existing, (LimitKeyword) incoming);
+        } else if (Keywords.properties.equals(keyword) || Keywords.patternProperties.equals(keyword)) {
+            final Map<String, Schema> existingSchemas = ((SchemaMapKeyword) existing).getSchemas();
+            final Map<String, Schema> incomingSchemas = ((SchemaMapKeyword) incoming).getSchemas();
+            if (!Collections.disjoint(existingSchemas.keySet(), incomingSchemas.keySet())) {
+                return null;
+            }
+            final Map<String, Schema> union = new LinkedHashMap<>(existingSchemas);
+            union.putAll(incomingSchemas);
+            return new SchemaMapKeyword(union);
+        }
+        return null;
+    }
+
+    private static LimitKeyword mergeLimit(boolean isMinimum, LimitKeyword existing, LimitKeyword incoming) {
+        if (existing.isExclusive() || incoming.isExclusive() || existing.getLimit() == null || incoming.getLimit() == null) {
+            return null;
+        }
+        final int comparison = decimal(existing.getLimit()).compareTo(decimal(incoming.getLimit()));
+        if (isMinimum) {
+            return comparison >= 0 ? existing : incoming;
+        }
+        return comparison <= 0 ? existing : incoming;
+    }
+
+    /**
+     * Intersects two <code>type</code> values, where <code>integer</code> is a subset of <code>number</code>
+     */
+    private static Set<JsonSchemaType> intersect(Set<JsonSchemaType> first, Set<JsonSchemaType> second) {
+        final Set<JsonSchemaType> result = expandOrEmpty(first);
+        result.retainAll(expandOrEmpty(second));
+        if (result.contains(JsonSchemaType.NUMBER)) {
+            result.remove(JsonSchemaType.INTEGER);
+        }
+        return result;
+    }
+
+    private static Set<JsonSchemaType> expandOrEmpty(Set<JsonSchemaType> types) {
+        final Set<JsonSchemaType> expanded = EnumSet.noneOf(JsonSchemaType.class);
+        expanded.addAll(types);
+        if (expanded.contains(JsonSchemaType.NUMBER)) {
+            expanded.add(JsonSchemaType.INTEGER);
+        }
+        return expanded;
+    }
+
+    private static boolean isAllowed(JsonValue value, Set<JsonSchemaType> allowed) {
+        switch (value.getValueType()) {
+            case STRING:
+                return allowed.contains(JsonSchemaType.STRING);
+            case NUMBER:
+                final boolean integral = ((JsonNumber) value).isIntegral();
+                return allowed.contains(integral ? JsonSchemaType.INTEGER : JsonSchemaType.NUMBER);
+            case TRUE:
+            case FALSE:
+                return allowed.contains(JsonSchemaType.BOOLEAN);
+            case NULL:
+                return allowed.contains(JsonSchemaType.NULL);
+            case OBJECT:
+                return allowed.contains(JsonSchemaType.OBJECT);
+            default:
+                return allowed.contains(JsonSchemaType.ARRAY);
+        }
+    }
+
+    private static BigDecimal decimal(Number number) {
+        return new BigDecimal(number.toString());
+    }
+}
@@ -0,0 +1,494 @@
+package io.sbsp.jsonschema.validator.registry;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.SchemaLocation;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import io.sbsp.jsonschema.loading.reference.SchemaCache;
+import io.sbsp.jsonschema.utils.JsonUtils;
+import io.sbsp.jsonschema.utils.RecursiveJsonIterator;
+import io.sbsp.jsonschema.utils.URIUtils;
+import io.sbsp.jsonschema.validator.SchemaValidator;
+import io.sbsp.jsonschema.validator.SchemaValidatorFactory;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.sbsp.jsonschema.enums.JsonSchemaKeywordType.$ID;
+import static io.sbsp.jsonschema.enums.JsonSchemaKeywordType.$REF;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * A set of schema documents and their validators, kept up to date as the documents change.
+ *
+ * Documents are keyed by an absolute URI: their <code>$id</code>, or for files without one, the file's URI.  Updates
+ * come from {@link #register}/{@link #remove} calls or from watched directories (see {@link #watch(Path)}), and are
+ * applied one at a time on a background thread.  Each update rebuilds only the changed documents and the documents
+ * that (transitively) <code>$ref</code> them; everything else keeps its existing schema and validator.
+ *
+ * Readers never block: the registry's state is an immutable {@link Snapshot}, and each update publishes a complete
+ * new snapshot with a single reference swap.  A validation that's already running keeps using the snapshot it
+ * started with.  If an update fails to load, it's discarded and the current snapshot stays in place.
+ *
+ * <pre>
+ * SchemaRegistry registry = SchemaRegistry.schemaRegistry().build();
+ * registry.watch(Paths.get("/etc/schemas"));
+ *
+ * registry.getValidator(URI.create("http://schemas.example.com/order.json"))
+ *         .flatMap(validator -&gt; validator.validate(order))
+ *         .ifPresent(error -&gt; ...);
+ * </pre>
+ *
+ * The dependency graph is built from the <code>$ref</code> values in each document, resolved against the document's
+ * absolute <code>$id</code> (or the URI it's registered under, if it has none), just as the loader resolves them.  A
+ * document should be registered before (or in the same {@link #update} as) the documents that reference it;
+ * otherwise the loader will try to fetch it.
+ */
+@Slf4j
+public class SchemaRegistry implements Closeable {
+
+    private static final long WATCH_SETTLE_MILLIS = 50;
+
+    private final Function<SchemaCache, JsonSchemaFactory> schemaFactory;
+    private final Supplier<SchemaValidatorFactory> validatorFactory;
+    private final ExecutorService updates;
+    private final ThreadFactory watchThreads;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private final List<WatchService> watchServices = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param schemaFactory    creates the loader for each update, given a cache pre-populated with the registered
+     *                         documents and the unchanged schemas.  Defaults to a standard {@link JsonSchemaFactory}.
+     * @param validatorFactory creates the validator factory for each update.  A new one is needed each time, because
+     *                         validator factories cache validators by schema URI.  Defaults to the standard validators.
+     */
+    @Builder(builderMethodName = "schemaRegistry")
+    public SchemaRegistry(@Nullable Function<SchemaCache, JsonSchemaFactory> schemaFactory,
+                          @Nullable Supplier<SchemaValidatorFactory> validatorFactory) {
+        this.schemaFactory = schemaFactory != null ? schemaFactory
+                : cache -> JsonSchemaFactory.builder().schemaCache(cache).build();
+        this.validatorFactory = validatorFactory != null ? validatorFactory
+                : () -> SchemaValidatorFactory.builder().build();
+        this.updates = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("schema-registry-update-%d")
+                .build());
+        this.watchThreads = new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("schema-registry-watch-%d")
+                .build();
+    }
+
+    /**
+     * The current state of the registry.  Use a single snapshot when several lookups need to be consistent with
+     * each other.
+     */
+    public Snapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    public Optional<SchemaValidator> getValidator(URI documentURI) {
+        return snapshot.get().getValidator(documentURI);
+    }
+
+    public Optional<Schema> getSchema(URI documentURI) {
+        return snapshot.get().getSchema(documentURI);
+    }
+
+    /**
+     * Adds or replaces a document, keyed by its (absolute) <code>$id</code>.
+     *
+     * @return completes with the URIs of the documents that were rebuilt, once the new validators are published
+     */
+    public CompletableFuture<Set<URI>> register(JsonObject document) {
+        checkNotNull(document, "document must not be null");
+        final URI $id = JsonUtils.extract$IdFromObject(document);
+        checkArgument($id != null && $id.isAbsolute(), "Document must have an absolute $id, or be registered with a URI");
+        return register($id, document);
+    }
+
+    /**
+     * Adds or replaces the document at {@code documentURI}.
+     *
+     * @return completes with the URIs of the documents that were rebuilt, once the new validators are published
+     */
+    public CompletableFuture<Set<URI>> register(URI documentURI, JsonObject document) {
+        checkNotNull(documentURI, "documentURI must not be null");
+        checkNotNull(document, "document must not be null");
+        return update(Collections.singletonMap(documentURI, document), Collections.emptySet());
+    }
+
+    /**
+     * Removes the document at {@code documentURI}.  Fails with an {@link IllegalStateException} (leaving the registry
+     * unchanged) if other documents still reference it.
+     *
+     * @return completes with the URIs of the documents that were rebuilt, once the new validators are published
+     */
+    public CompletableFuture<Set<URI>> remove(URI documentURI) {
+        checkNotNull(documentURI, "documentURI must not be null");
+        return update(Collections.emptyMap(), Collections.singleton(documentURI));
+    }
+
+    /**
+     * Applies several changes as a single update: all of them are published together, or none are.  Fails if a removed
+     * document is still referenced by a document that remains.
+     *
+     * @return completes with the URIs of the documents that were rebuilt, once the new validators are published
+     */
+    public CompletableFuture<Set<URI>> update(Map<URI, JsonObject> changed, Set<URI> removed) {
+        checkNotNull(changed, "changed must not be null");
+        checkNotNull(removed, "removed must not be null");
+        final Map<URI, JsonObject> changedDocuments = new HashMap<>();
+        changed.forEach((uri, document) -> {
+            checkArgument(uri.isAbsolute(), "Document URI must be absolute: %s", uri);
+            changedDocuments.put(normalize(uri), document);
+        });
+        final Set<URI> removedDocuments = new HashSet<>();
+        removed.forEach(uri -> removedDocuments.add(normalize(uri)));
+        return CompletableFuture.supplyAsync(() -> apply(changedDocuments, removedDocuments), updates);
+    }
+
+    /**
+     * Registers every <code>.json</code> file in {@code directory}, then watches it (not its subdirectories) for
+     * changes.  Returns once the initial files are loaded; later changes are picked up in the background.  Files that
+     * can't be read or loaded are logged and skipped until they change again.
+     */
+    public void watch(Path directory) throws IOException {
+        checkNotNull(directory, "directory must not be null");
+        checkArgument(Files.isDirectory(directory), "Not a directory: %s", directory);
+
+        final WatchService watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        watchServices.add(watchService);
+
+        final DirectoryWatcher watcher = new DirectoryWatcher(directory, watchService);
+        watcher.publish(watcher.listFiles()).join();
+        watchThreads.newThread(watcher).start();
+    }
+
+    /**
+     * Stops watching directories and applying updates.  The last published snapshot remains readable.
+     */
+    @Override
+    public void close() throws IOException {
+        for (WatchService watchService : watchServices) {
+            watchService.close();
+        }
+        updates.shutdown();
+    }
+
+    /**
+     * Builds and publishes a new snapshot.  Only ever runs on the update thread, so updates never race each other.
+     */
+    private Set<URI> apply(Map<URI, JsonObject> changed, Set<URI> removed) {
+        final Snapshot current = snapshot.get();
+
+        final Map<URI, JsonObject> documents = new HashMap<>(current.documents);
+        documents.keySet().removeAll(removed);
+        documents.putAll(changed);
+
+        final SetMultimap<URI, URI> dependents = HashMultimap.create();
+        current.dependents.forEach((dependency, dependent) -> {
+            if (!changed.containsKey(dependent) && !removed.contains(dependent)) {
+                dependents.put(dependency, dependent);
+            }
+        });
+        changed.forEach((uri, document) -> {
+            for (URI dependency : findDependencies(uri, document)) {
+                dependents.put(dependency, uri);
+            }
+        });
+        for (URI uri : removed) {
+            final Set<URI> referencedBy = dependents.get(uri);
+            if (!changed.containsKey(uri) && !referencedBy.isEmpty()) {
+                log.warn("Discarding schema update: {} is still referenced by {}", uri, referencedBy);
+                throw new IllegalStateException("Unable to remove " + uri + ": still referenced by " + referencedBy);
+            }
+        }
+
+        // Everything that changed, plus everything that (transitively) depends on it
+        final Set<URI> affected = new HashSet<>();
+        final Deque<URI> queue = new ArrayDeque<>(changed.keySet());
+        queue.addAll(removed);
+        while (!queue.isEmpty()) {
+            final URI next = queue.pop();
+            if (affected.add(next)) {
+                queue.addAll(dependents.get(next));
+            }
+        }
+        final Set<URI> rebuild = new TreeSet<>(affected);
+        rebuild.removeAll(removed);
+        rebuild.retainAll(documents.keySet());
+
+        final SchemaCache cache = SchemaCache.schemaCacheBuilder().build();
+        documents.forEach(cache::cacheDocument);
+        current.schemas.forEach((uri, schema) -> {
+            if (!affected.contains(uri)) {
+                cache.cacheSchema(schema.getLocation(), schema);
+            }
+        });
+
+        final JsonSchemaFactory loader = schemaFactory.apply(cache);
+        final SchemaValidatorFactory validators = validatorFactory.get();
+        final Map<URI, Schema> schemas = new HashMap<>(current.schemas);
+        final Map<URI, SchemaValidator> schemaValidators = new HashMap<>(current.validators);
+        schemas.keySet().removeAll(removed);
+        schemaValidators.keySet().removeAll(removed);
+        try {
+            for (URI uri : rebuild) {
+                final JsonObject document = documents.get(uri);
+                final Schema schema = loader.loadRootSchema(SchemaLocation.documentRoot(baseURI(uri, document)), document);
+                schemas.put(uri, schema);
+                schemaValidators.put(uri, validators.createValidator(schema));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Discarding schema update for {}: {}", rebuild, e.getMessage());
+            throw e;
+        }
+
+        snapshot.set(new Snapshot(current.version + 1, documents, schemas, schemaValidators, dependents));
+        log.debug("Published schema registry version {}, rebuilt {}", current.version + 1, rebuild);
+        return ImmutableSet.copyOf(rebuild);
+    }
+
+    /**
+     * The URI a document is loaded with, and its <code>$ref</code>s are resolved against: its <code>$id</code> if that's
+     * absolute, otherwise the URI it's registered under.
+     */
+    private static URI baseURI(URI documentURI, JsonObject document) {
+        final URI $id = JsonUtils.extract$IdFromObject(document);
+        return $id != null && $id.isAbsolute() ? $id : documentURI;
+    }
+
+    private static Set<URI> findDependencies(URI documentURI, JsonObject document) {
+        final URI base = baseURI(documentURI, document);
+        final URI self = normalize(base);
+        final Set<URI> dependencies = new HashSet<>();
+        RecursiveJsonIterator.visitDocument(document, (key, value, path) -> {
+            if ($REF.key().equals(key) && value.getValueType() == JsonValue.ValueType.STRING) {
+                try {
+                    final URI target = normalize(base.resolve(((JsonString) value).getString()));
+                    if (!target.equals(documentURI) && !target.equals(self)) {
+                        dependencies.add(target);
+                    }
+                } catch (IllegalArgumentException e) {
+                    // Invalid $ref - loading will report it
+                }
+            }
+        });
+        return dependencies;
+    }
+
+    private static URI normalize(URI uri) {
+        return URIUtils.withoutFragment(uri);
+    }
+
+    /**
+     * An immutable, fully built state of the registry.
+     */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0, ImmutableMap.of(), ImmutableMap.of(), ImmutableMap.of(),
+                HashMultimap.create());
+
+        private final long version;
+        private final ImmutableMap<URI, JsonObject> documents;
+        private final ImmutableMap<URI, Schema> schemas;
+        private final ImmutableMap<URI, SchemaValidator> validators;
+        private final ImmutableSetMultimap<URI, URI> dependents;
+
+        private Snapshot(long version, Map<URI, JsonObject> documents, Map<URI, Schema> schemas,
+                         Map<URI, SchemaValidator> validators, SetMultimap<URI, URI> dependents) {
+            this.version = version;
+            this.documents = ImmutableMap.copyOf(documents);
+            this.schemas = ImmutableMap.copyOf(schemas);
+            this.validators = ImmutableMap.copyOf(validators);
+            this.dependents = ImmutableSetMultimap.copyOf(dependents);
+        }
+
+        /**
+         * Increases by one with every published update.
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        public Set<URI> getDocumentURIs() {
+            return documents.keySet();
+        }
+
+        public Optional<JsonObject> getDocument(URI documentURI) {
+            return Optional.ofNullable(documents.get(normalize(documentURI)));
+        }
+
+        public Optional<Schema> getSchema(URI documentURI) {
+            return Optional.ofNullable(schemas.get(normalize(documentURI)));
+        }
+
+        public Optional<SchemaValidator> getValidator(URI documentURI) {
+            return Optional.ofNullable(validators.get(normalize(documentURI)));
+        }
+
+        /**
+         * The registered documents that <code>$ref</code> {@code documentURI} directly.
+         */
+        public Set<URI> getDependents(URI documentURI) {
+            return dependents.get(normalize(documentURI));
+        }
+    }
+
+    /**
+     * Turns file system events for one directory into registry updates.  {@link #fileURIs} tracks the document URI
+     * each file was last published under; it only changes once an update has been applied, so a rejected update (a
+     * removed document that's still referenced, say) is retried in full the next time one of its files changes.
+     */
+    private class DirectoryWatcher implements Runnable {
+        private final Path directory;
+        private final WatchService watchService;
+        private final Map<Path, URI> fileURIs = new ConcurrentHashMap<>();
+
+        DirectoryWatcher(Path directory, WatchService watchService) {
+            this.directory = directory;
+            this.watchService = watchService;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    final Set<Path> touched = new HashSet<>();
+                    boolean overflowed = false;
+                    WatchKey key = watchService.take();
+                    // Let bursts of events (editors often write a file in several steps) settle into one update
+                    while (key != null) {
+                        for (WatchEvent<?> event : key.pollEvents()) {
+                            if (event.kind() == OVERFLOW) {
+                                overflowed = true;
+                            } else {
+                                touched.add(directory.resolve((Path) event.context()));
+                            }
+                        }
+                        key.reset();
+                        key = watchService.poll(WATCH_SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                    }
+                    if (overflowed) {
+                        // Some events were lost: compare every file against what was last published
+                        touched.addAll(fileURIs.keySet());
+                        try {
+                            touched.addAll(listFiles());
+                        } catch (IOException e) {
+                            log.warn("Unable to rescan {}: {}", directory, e.getMessage());
+                        }
+                    }
+                    // Wait for the update, so the next batch is read against the files it published
+                    publish(touched).handle((rebuilt, error) -> null).join();
+                }
+            } catch (ClosedWatchServiceException | InterruptedException e) {
+                log.debug("Stopped watching {}", directory);
+            }
+        }
+
+        Set<Path> listFiles() throws IOException {
+            final Set<Path> files = new HashSet<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.json")) {
+                stream.forEach(files::add);
+            }
+            return files;
+        }
+
+        CompletableFuture<Set<URI>> publish(Set<Path> touched) {
+            final Map<URI, JsonObject> changed = new HashMap<>();
+            final Set<URI> removed = new HashSet<>();
+            final Map<Path, URI> readFiles = new HashMap<>();
+            final Set<Path> deletedFiles = new HashSet<>();
+            for (Path file : touched) {
+                if (!file.getFileName().toString().endsWith(".json")) {
+                    continue;
+                }
+                if (Files.exists(file)) {
+                    read(file, changed, removed, readFiles);
+                } else {
+                    final URI previous = fileURIs.get(file);
+                    if (previous != null) {
+                        removed.add(previous);
+                        deletedFiles.add(file);
+                    }
+                }
+            }
+            if (changed.isEmpty() && removed.isEmpty()) {
+                return CompletableFuture.completedFuture(Collections.emptySet());
+            }
+            return update(changed, removed).whenComplete((rebuilt, error) -> {
+                if (error == null) {
+                    fileURIs.keySet().removeAll(deletedFiles);
+                    fileURIs.putAll(readFiles);
+                    log.info("Reloaded schemas from {}: {}", directory, rebuilt);
+                } else {
+                    log.warn("Unable to reload schemas from {}: {}", directory, error.getMessage());
+                }
+            });
+        }
+
+        private void read(Path file, Map<URI, JsonObject> changed, Set<URI> removed, Map<Path, URI> readFiles) {
+            final JsonObject document;
+            try (InputStream stream = Files.newInputStream(file)) {
+                document = JsonUtils.readJsonObject(stream);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Unable to read schema {}: {}", file, e.getMessage());
+                return;
+            }
+            final URI $id = JsonUtils.extract$IdFromObject(document);
+            final URI uri = normalize($id != null && $id.isAbsolute() ? $id : file.toUri());
+            final URI previous = fileURIs.get(file);
+            if (previous != null && !previous.equals(uri)) {
+                removed.add(previous);
+            }
+            readFiles.put(file, uri);
+            changed.put(uri, document);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.json.JsonValue;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static io.sbsp.jsonschema.JsonValueWithLocation.fromJsonValue;
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static io.sbsp.jsonschema.utils.JsonUtils.readValue;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachingSchemaValidatorTest {
+
+    private SchemaValidator validator;
+    private AtomicInteger parses;
+    private Function<byte[], JsonValue> parser;
+
+    @Before
+    public void before() {
+        validator = SchemaValidatorFactory.createValidatorForSchema(JsonSchemaFactory.schemaFactory().load(readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/caching.json\"," +
+                "\"required\": [\"name\"]," +
+                "\"properties\": {\"name\": {\"type\": \"string\", \"maxLength\": 5}}" +
+                "}")));
+        parses = new AtomicInteger();
+        parser = bytes -> {
+            parses.incrementAndGet();
+            return readValue(new String(bytes, StandardCharsets.UTF_8));
+        };
+    }
+
+    @Test
+    public void validate_WhenContentRepeats_ResultIsCached() {
+        final CachingSchemaValidator caching = CachingSchemaValidator.cachingValidator()
+                .validator(validator)
+                .storeErrors(true)
+                .build();
+
+        final Optional<ValidationError> first = caching.validate(readValue("{\"name\": \"Bob Loblaw\"}"));
+        final Optional<ValidationError> second = caching.validate(readValue("{ \"name\" : \"Bob Loblaw\" }"));
+
+        assertThat(first).isPresent();
+        assertThat(second).containsSame(first.get());
+        assertThat(caching.getStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void validate_WhenStoringOutcomeOnly_ErrorsAreRecomputed() {
+        final CachingSchemaValidator caching = CachingSchemaValidator.cachingValidator()
+                .validator(validator)
+                .build();
+
+        assertThat(caching.isValid(readValue("{\"name\": \"Bob Loblaw\"}"))).isFalse();
+        assertThat(caching.isValid(readValue("{\"name\": \"Bob Loblaw\"}"))).isFalse();
+        assertThat(caching.getStats().hitCount()).isEqualTo(1);
+
+        final Optional<ValidationError> error = caching.validate(readValue("{\"name\": \"Bob Loblaw\"}"));
+        assertThat(error).isPresent();
+        assertThat(error.get().toString()).isEqualTo(validator.validate(readValue("{\"name\": \"Bob Loblaw\"}")).get().toString());
+    }
+
+    @Test
+    public void validate_WhenRawBytesRepeat_ParsingIsSkipped() {
+        final CachingSchemaValidator caching = CachingSchemaValidator.cachingValidator()
+                .validator(validator)
+                .maximumSize(10)
+                .build();
+        final byte[] raw = "{\"name\": \"Bob\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(caching.validate(raw, parser)).isNotPresent();
+        assertThat(caching.validate(raw, parser)).isNotPresent();
+        assertThat(caching.isValid(raw.clone(), parser)).isTrue();
+        assertThat(parses.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void validate_WhenStreamRepeats_ParsingIsSkipped() throws IOException {
+        final CachingSchemaValidator caching = CachingSchemaValidator.cachingValidator()
+                .validator(validator)
+                .build();
+        final byte[] raw = "{\"name\": \"Bob\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(caching.validate(new ByteArrayInputStream(raw), parser)).isNotPresent();
+        assertThat(caching.isValid(new ByteArrayInputStream(raw), parser)).isTrue();
+        assertThat(caching.validate(raw, parser)).isNotPresent();
+        assertThat(parses.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void validate_WithReport_OnlyValidOutcomesAreCached() {
+        final CachingSchemaValidator caching = CachingSchemaValidator.cachingValidator()
+                .validator(validator)
+                .build();
+        final JsonValue valid = readValue("{\"name\": \"Bob\"}");
+        final JsonValue invalid = readValue("{\"name\": \"Bob Loblaw\"}");
+
+        assertThat(caching.validate(fromJsonValue(valid), new ValidationReport())).isTrue();
+        assertThat(caching.validate(fromJsonValue(valid), new ValidationReport())).isTrue();
+        assertThat(caching.getStats().hitCount()).isEqualTo(1);
+
+        for (int i = 0; i < 2; i++) {
+            final ValidationReport report = new ValidationReport();
+            assertThat(caching.validate(fromJsonValue(invalid), report)).isFalse();
+            assertThat(report.getErrors()).hasSize(1);
+        }
+        assertThat(caching.getStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void hash_WhenContentDiffers_HashesDiffer() {
+        assertThat(ContentHash.hash(readValue("{\"a\": 1, \"b\": [true, null]}")))
+                .isEqualTo(ContentHash.hash(readValue("{ \"a\":1,\"b\":[ true,null ] }")));
+        assertThat(ContentHash.hash(readValue("{\"a\": 1}"))).isNotEqualTo(ContentHash.hash(readValue("{\"a\": \"1\"}")));
+        assertThat(ContentHash.hash(readValue("[\"ab\", \"c\"]"))).isNotEqualTo(ContentHash.hash(readValue("[\"a\", \"bc\"]")));
+        assertThat(ContentHash.hash(readValue("{\"a\": 1, \"b\": 2}"))).isNotEqualTo(ContentHash.hash(readValue("{\"b\": 2, \"a\": 1}")));
+    }
+}
@@ -0,0 +1,148 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import io.sbsp.jsonschema.validator.IncrementalValidator.ValidationState;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonPatch;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static io.sbsp.jsonschema.utils.JsonUtils.readValue;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IncrementalValidatorTest {
+
+    private SchemaValidator validator;
+    private IncrementalValidator incremental;
+    private JsonObject document;
+
+    @Before
+    public void before() {
+        validator = SchemaValidatorFactory.createValidatorForSchema(JsonSchemaFactory.schemaFactory().load(readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/incremental.json\"," +
+                "\"required\": [\"people\"]," +
+                "\"properties\": {" +
+                "  \"people\": {" +
+                "    \"type\": \"array\"," +
+                "    \"uniqueItems\": true," +
+                "    \"items\": {" +
+                "      \"required\": [\"name\"]," +
+                "      \"maxProperties\": 2," +
+                "      \"properties\": {" +
+                "        \"name\": {\"type\": \"string\", \"maxLength\": 10}," +
+                "        \"age\": {\"type\": \"integer\", \"minimum\": 0}" +
+                "      }" +
+                "    }" +
+                "  }" +
+                "}}")));
+        incremental = new IncrementalValidator(validator);
+        document = readJsonObject("{\"people\": [" +
+                "{\"name\": \"Bob\", \"age\": 40}," +
+                "{\"name\": \"Lindsay\", \"age\": 38}," +
+                "{\"name\": \"Gob\", \"age\": 42}" +
+                "]}");
+    }
+
+    @Test
+    public void revalidate_WhenPatchBreaksSubtree_MatchesFullValidation() {
+        assertRevalidationMatchesFull("[{\"op\": \"replace\", \"path\": \"/people/1/age\", \"value\": -1}]", false);
+    }
+
+    @Test
+    public void revalidate_WhenPatchBreaksAncestorKeywords_MatchesFullValidation() {
+        assertRevalidationMatchesFull("[" +
+                "{\"op\": \"remove\", \"path\": \"/people/0/name\"}," +
+                "{\"op\": \"add\", \"path\": \"/people/-\", \"value\": {\"name\": \"Gob\", \"age\": 42}}," +
+                "{\"op\": \"add\", \"path\": \"/people/1/title\", \"value\": \"Magician\"}" +
+                "]", false);
+    }
+
+    @Test
+    public void revalidate_WhenPatchRemovesRequiredProperty_MatchesFullValidation() {
+        assertRevalidationMatchesFull("[{\"op\": \"remove\", \"path\": \"/people\"}]", false);
+    }
+
+    @Test
+    public void revalidate_WhenPatchFixesDocument_MatchesFullValidation() {
+        final ValidationState broken = incremental.revalidate(incremental.validate(document),
+                patch("[{\"op\": \"replace\", \"path\": \"/people/1/age\", \"value\": -1}]"));
+        assertThat(broken.isValid()).isFalse();
+
+        final ValidationState fixed = incremental.revalidate(broken,
+                patch("[{\"op\": \"replace\", \"path\": \"/people/1/age\", \"value\": 39}]"));
+        assertThat(fixed.isValid()).isTrue();
+        assertThat(fixed.getReport().getErrors()).isEmpty();
+    }
+
+    @Test
+    public void revalidate_WhenPatchIsApplied_UnchangedSubtreesAreReused() {
+        final ValidationState state = incremental.revalidate(incremental.validate(document),
+                patch("[{\"op\": \"replace\", \"path\": \"/people/1/age\", \"value\": 39}]"));
+
+        assertThat(state.isValid()).isTrue();
+        assertThat(state.getReusedResults()).isGreaterThan(0);
+    }
+
+    @Test
+    public void revalidate_WhenRevisedTwice_SecondRevisionReusesAsMuchAsAfterFullValidation() {
+        final JsonArray people = document.getJsonArray("people");
+        final JsonObject bob = people.getJsonObject(0);
+
+        // Replaces a whole item, so the other items are reused at their roots
+        final JsonObject firstRevision = Json.createObjectBuilder()
+                .add("people", Json.createArrayBuilder()
+                        .add(bob)
+                        .add(people.get(1))
+                        .add(readJsonObject("{\"name\": \"Buster\", \"age\": 32}")))
+                .build();
+        // Lands inside one of the reused items
+        final JsonObject secondRevision = Json.createObjectBuilder()
+                .add("people", Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder().add("name", bob.get("name")).add("age", 41))
+                        .add(people.get(1))
+                        .add(firstRevision.getJsonArray("people").get(2)))
+                .build();
+
+        final ValidationState first = incremental.revalidate(incremental.validate(document), firstRevision);
+        final ValidationState afterTwoRevisions = incremental.revalidate(first, secondRevision);
+        final ValidationState afterFullValidation = incremental.revalidate(incremental.validate(firstRevision), secondRevision);
+
+        assertThat(afterTwoRevisions.isValid()).isTrue();
+        assertThat(afterFullValidation.getReusedResults()).isGreaterThan(0);
+        assertThat(afterTwoRevisions.getReusedResults()).isEqualTo(afterFullValidation.getReusedResults());
+    }
+
+    @Test
+    public void revalidate_WhenMergePatchIsApplied_MatchesFullValidation() {
+        final ValidationState state = incremental.revalidate(incremental.validate(document),
+                Json.createMergePatch(readValue("{\"people\": null}")));
+
+        assertThat(state.getReport().toString()).isEqualTo(fullValidation(state).toString());
+        assertThat(state.isValid()).isFalse();
+    }
+
+    private void assertRevalidationMatchesFull(String patch, boolean expectValid) {
+        final ValidationState initial = incremental.validate(document);
+        assertThat(initial.isValid()).isTrue();
+
+        final ValidationState revalidated = incremental.revalidate(initial, patch(patch));
+        final ValidationReport full = fullValidation(revalidated);
+
+        assertThat(revalidated.isValid()).isEqualTo(expectValid);
+        assertThat(full.isValid()).isEqualTo(expectValid);
+        assertThat(revalidated.getReport().toString()).isEqualTo(full.toString());
+    }
+
+    private ValidationReport fullValidation(ValidationState state) {
+        return validator.validate(JsonValueWithLocation.fromJsonValue(state.getDocument(), validator.getSchema().getLocation()));
+    }
+
+    private static JsonPatch patch(String json) {
+        return Json.createPatch(readValue(json, JsonArray.class));
+    }
+}
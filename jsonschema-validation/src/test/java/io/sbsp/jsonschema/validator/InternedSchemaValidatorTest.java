@@ -0,0 +1,114 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.Draft6Schema;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.enums.JsonSchemaKeywordType;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import io.sbsp.jsonschema.utils.KeywordInterner;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.json.JsonObject;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InternedSchemaValidatorTest {
+
+    private Draft6Schema schema;
+
+    @Before
+    public void before() {
+        final JsonObject schemaJson = readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/interned.json\"," +
+                "\"properties\": {" +
+                "  \"firstName\": {\"type\": \"string\", \"maxLength\": 5}," +
+                "  \"lastName\": {\"type\": \"string\", \"maxLength\": 5}" +
+                "}}");
+        schema = JsonSchemaFactory.builder()
+                .interner(new KeywordInterner())
+                .build()
+                .load(schemaJson)
+                .asDraft6();
+    }
+
+    @Test
+    public void load_WhenInterning_IdenticalSubschemasShareKeywords() {
+        final Schema firstName = schema.getProperties().get("firstName");
+        final Schema lastName = schema.getProperties().get("lastName");
+
+        assertThat(firstName.getKeywords()).isSameAs(lastName.getKeywords());
+        assertThat(firstName.getLocation()).isNotEqualTo(lastName.getLocation());
+    }
+
+    @Test
+    public void createValidator_WhenInterning_IdenticalSubschemasShareValidator() {
+        final SchemaValidatorFactory factory = SchemaValidatorFactory.builder().intern(true).build();
+        final SchemaValidator firstName = factory.createValidator(schema.getProperties().get("firstName"));
+        final SchemaValidator lastName = factory.createValidator(schema.getProperties().get("lastName"));
+
+        assertThat(lastName).isInstanceOf(InternedSchemaValidator.class);
+        assertThat(((InternedSchemaValidator) lastName).getCanonical()).isSameAs(firstName);
+    }
+
+    @Test
+    public void validate_WhenInterning_ErrorsReportTheirOwnSchemaLocation() {
+        final SchemaValidator validator = SchemaValidatorFactory.builder().intern(true).build()
+                .createValidator(schema);
+
+        final Optional<ValidationError> error = validator.validate(readJsonObject("{" +
+                "\"firstName\": \"Bob\"," +
+                "\"lastName\": \"Loblaw-Law\"" +
+                "}"));
+
+        assertThat(error).isPresent();
+        assertThat(error.get().getPointerToViolation()).isEqualTo("#/lastName");
+        assertThat(error.get().getSchemaLocation()).isEqualTo(URI.create("#/properties/lastName"));
+    }
+
+    @Test
+    public void validate_WhenInterningSubtrees_NestedErrorsReportTheirOwnSchemaLocation() {
+        final String address = "{\"type\": \"object\", \"required\": [\"zip\"]," +
+                "\"properties\": {\"zip\": {\"type\": \"string\", \"maxLength\": 5}}}";
+        final Draft6Schema orders = JsonSchemaFactory.schemaFactory().load(readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/interned-subtrees.json\"," +
+                "\"properties\": {\"billing\": " + address + ", \"shipping\": " + address + "}}")).asDraft6();
+        final SchemaValidatorFactory factory = SchemaValidatorFactory.builder().intern(true).build();
+        final SchemaValidator validator = factory.createValidator(orders);
+
+        final SchemaValidator shipping = factory.createValidator(orders.getProperties().get("shipping"));
+        assertThat(shipping).isInstanceOf(InternedSchemaValidator.class);
+        assertThat(((InternedSchemaValidator) shipping).getCanonical())
+                .isSameAs(factory.createValidator(orders.getProperties().get("billing")));
+
+        final List<ValidationError> errors = new ArrayList<>();
+        validator.validate(readJsonObject("{\"billing\": {\"zip\": \"12345\"}, \"shipping\": {\"zip\": \"123456\"}}"), errors::add);
+        validator.validate(readJsonObject("{\"billing\": {\"zip\": \"12345\"}, \"shipping\": {}}"), errors::add);
+
+        assertThat(errors).extracting(ValidationError::getSchemaLocation).containsExactly(
+                URI.create("#/properties/shipping/properties/zip"),
+                URI.create("#/properties/shipping"));
+    }
+
+    @Test
+    public void validate_WhenInterningAndStreaming_ErrorsAreFlatAndReportTheirOwnSchemaLocation() {
+        final SchemaValidator validator = SchemaValidatorFactory.builder().intern(true).build()
+                .createValidator(schema);
+        final List<ValidationError> errors = new ArrayList<>();
+
+        final boolean valid = validator.validate(readJsonObject("{" +
+                "\"firstName\": \"Bob\"," +
+                "\"lastName\": \"Loblaw-Law\"" +
+                "}"), errors::add);
+
+        assertThat(valid).isFalse();
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0).getCauses()).isEmpty();
+        assertThat(errors.get(0).getKeyword()).isEqualTo(JsonSchemaKeywordType.MAX_LENGTH);
+        assertThat(errors.get(0).getSchemaLocation()).isEqualTo(URI.create("#/properties/lastName"));
+    }
+}
@@ -0,0 +1,148 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.jfr.JsonSchemaEvents;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static io.sbsp.jsonschema.utils.JsonUtils.readValue;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonSchemaEventsTest {
+
+    private static final String[] EVENT_NAMES = {
+            "io.sbsp.jsonschema.SchemaFetch",
+            "io.sbsp.jsonschema.SchemaLoad",
+            "io.sbsp.jsonschema.ValidatorCreate",
+            "io.sbsp.jsonschema.Validation"
+    };
+
+    @Before
+    public void requireFlightRecorder() {
+        Assume.assumeTrue(JsonSchemaEvents.AVAILABLE);
+    }
+
+    @Test
+    public void recording_CapturesLoadingAndValidation() throws IOException {
+        final List<RecordedEvent> events = record(() -> {
+            final JsonSchemaFactory factory = JsonSchemaFactory.schemaFactory();
+            factory.load("{\"$id\": \"http://schema.sbsp.io/jfr-common.json\"," +
+                    "\"definitions\": {\"name\": {\"type\": \"string\", \"maxLength\": 5}}}");
+            final Schema schema = factory.load(readJsonObject("{" +
+                    "\"$id\": \"http://schema.sbsp.io/jfr.json\"," +
+                    "\"type\": \"object\"," +
+                    "\"properties\": {\"name\": {\"$ref\": \"http://schema.sbsp.io/jfr-common.json#/definitions/name\"}}" +
+                    "}"));
+
+            final SchemaValidatorFactory validatorFactory = SchemaValidatorFactory.builder().build();
+            final SchemaValidator validator = validatorFactory.createValidator(schema);
+            validatorFactory.createValidator(schema);
+            validator.validate(readValue("{\"name\": \"Bob\"}"));
+            validator.validate(readValue("{\"name\": \"Bartholomew\"}"));
+        });
+
+        final List<RecordedEvent> loads = eventsNamed(events, "io.sbsp.jsonschema.SchemaLoad");
+        assertThat(loads).hasSize(2);
+        assertThat(loads.get(0).getLong("documentSize")).isGreaterThan(0);
+        assertThat(loads.get(1).getString("schemaURI")).isEqualTo("http://schema.sbsp.io/jfr.json");
+        assertThat(loads.get(1).getInt("errorCount")).isEqualTo(0);
+
+        final List<RecordedEvent> fetches = eventsNamed(events, "io.sbsp.jsonschema.SchemaFetch");
+        assertThat(fetches).isNotEmpty();
+        assertThat(fetches.get(0).getString("documentURI")).isEqualTo("http://schema.sbsp.io/jfr-common.json");
+        assertThat(fetches.get(0).getBoolean("cached")).isTrue();
+
+        final List<RecordedEvent> creates = eventsNamed(events, "io.sbsp.jsonschema.ValidatorCreate").stream()
+                .filter(event -> "http://schema.sbsp.io/jfr.json".equals(event.getString("schemaURI")))
+                .collect(Collectors.toList());
+        assertThat(creates).hasSize(2);
+        assertThat(creates.get(0).getBoolean("cached")).isFalse();
+        assertThat(creates.get(0).getInt("keywordCount")).isEqualTo(3);
+        assertThat(creates.get(1).getBoolean("cached")).isTrue();
+
+        final List<RecordedEvent> validations = eventsNamed(events, "io.sbsp.jsonschema.Validation");
+        assertThat(validations).hasSize(2);
+        assertThat(validations.get(0).getInt("errorCount")).isEqualTo(0);
+        assertThat(validations.get(1).getInt("errorCount")).isEqualTo(1);
+        assertThat(validations.get(1).getString("schemaURI")).isEqualTo("http://schema.sbsp.io/jfr.json");
+    }
+
+    @Test
+    public void recording_CachingValidatorHit_IsMarkedCached() throws IOException {
+        final Schema schema = JsonSchemaFactory.schemaFactory().load("{\"type\": \"string\", \"minLength\": 3}");
+        final CachingSchemaValidator validator = CachingSchemaValidator.cachingValidator()
+                .validator(SchemaValidatorFactory.createValidatorForSchema(schema))
+                .storeErrors(true)
+                .build();
+
+        final List<RecordedEvent> events = record(() -> {
+            validator.validate(readValue("\"ab\""));
+            validator.validate(readValue("\"ab\""));
+        });
+
+        final List<RecordedEvent> validations = eventsNamed(events, "io.sbsp.jsonschema.Validation");
+        assertThat(validations).hasSize(2);
+        assertThat(validations.get(0).getBoolean("cached")).isFalse();
+        assertThat(validations.get(1).getBoolean("cached")).isTrue();
+        assertThat(validations.get(1).getInt("errorCount")).isEqualTo(1);
+    }
+
+    @Test
+    public void recording_DocumentSizeIsInBytes() throws IOException {
+        final String json = "{\"$id\": \"http://schema.sbsp.io/jfr-size.json\", \"description\": \"caf\u00e9 \ud83d\ude00\"}";
+        final int bytes = json.getBytes(StandardCharsets.UTF_8).length;
+
+        final List<RecordedEvent> events = record(() -> {
+            JsonSchemaFactory.schemaFactory().load(json);
+            JsonSchemaFactory.schemaFactory().load(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        });
+
+        assertThat(eventsNamed(events, "io.sbsp.jsonschema.SchemaLoad"))
+                .extracting(event -> event.getLong("documentSize"))
+                .containsExactly((long) bytes, (long) bytes);
+    }
+
+    @Test
+    public void noRecording_EventsAreNotCreated() {
+        assertThat(JsonSchemaEvents.beginValidation()).isNull();
+        JsonSchemaEvents.endValidation(null, null, 0, false);
+    }
+
+    private static List<RecordedEvent> record(Runnable work) throws IOException {
+        final Path dump = Files.createTempFile("jsonschema", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String eventName : EVENT_NAMES) {
+                recording.enable(eventName).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            work.run();
+            recording.stop();
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+}
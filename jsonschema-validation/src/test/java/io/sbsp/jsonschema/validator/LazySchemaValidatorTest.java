@@ -0,0 +1,52 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.json.JsonValue;
+import java.util.Optional;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.jsonStringValue;
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazySchemaValidatorTest {
+
+    private Schema schema;
+    private SchemaValidatorFactory lazyFactory;
+
+    @Before
+    public void before() {
+        schema = JsonSchemaFactory.builder().lazy(true).build().load(readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/lazy-validator.json\"," +
+                "\"anyOf\": [{\"$ref\": \"#/definitions/name\"}, {\"type\": \"number\"}]," +
+                "\"definitions\": {\"name\": {\"type\": \"string\", \"maxLength\": 5}}" +
+                "}"));
+        lazyFactory = SchemaValidatorFactory.builder().lazy(true).build();
+    }
+
+    @Test
+    public void createValidator_WhenLazy_ValidatorIsNotBuiltUntilFirstUse() {
+        final SchemaValidator validator = lazyFactory.createValidator(schema);
+        assertThat(validator).isInstanceOf(LazySchemaValidator.class);
+        assertThat(((LazySchemaValidator) validator).isMaterialized()).isFalse();
+
+        validator.validate(jsonStringValue("bob"));
+        assertThat(((LazySchemaValidator) validator).isMaterialized()).isTrue();
+    }
+
+    @Test
+    public void validate_WhenLazy_ResultsMatchEagerValidator() {
+        final SchemaValidator eager = SchemaValidatorFactory.builder().build().createValidator(schema);
+        final SchemaValidator lazy = lazyFactory.createValidator(schema);
+
+        for (JsonValue subject : new JsonValue[]{jsonStringValue("bob"), jsonStringValue("robert"), JsonValue.TRUE}) {
+            final Optional<ValidationError> expected = eager.validate(subject);
+            final Optional<ValidationError> actual = lazy.validate(subject);
+            assertThat(actual.isPresent()).isEqualTo(expected.isPresent());
+            expected.ifPresent(e -> assertThat(actual.get().getMessage()).isEqualTo(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package io.sbsp.jsonschema.validator;
+
+import com.google.common.collect.ImmutableList;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import io.sbsp.jsonschema.validator.MultiSchemaValidator.MultiSchemaResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.json.JsonObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MultiSchemaValidatorTest {
+
+    private Schema orderCreated;
+    private Schema orderShipped;
+    private Schema anyOrder;
+    private MultiSchemaValidator validator;
+
+    @Before
+    public void before() {
+        final JsonSchemaFactory factory = JsonSchemaFactory.schemaFactory();
+        orderCreated = factory.load(readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/order-created.json\"," +
+                "\"required\": [\"type\", \"items\"]," +
+                "\"properties\": {" +
+                "  \"type\": {\"const\": \"created\"}," +
+                "  \"items\": {\"type\": \"array\", \"minItems\": 1}" +
+                "}}"));
+        orderShipped = factory.load(readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/order-shipped.json\"," +
+                "\"required\": [\"type\", \"carrier\"]," +
+                "\"properties\": {" +
+                "  \"type\": {\"const\": \"shipped\"}," +
+                "  \"carrier\": {\"type\": \"string\"}" +
+                "}}"));
+        anyOrder = factory.load(readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/any-order.json\"," +
+                "\"required\": [\"type\"]," +
+                "\"properties\": {" +
+                "  \"type\": {\"enum\": [\"created\", \"shipped\"]}" +
+                "}}"));
+        validator = new MultiSchemaValidator(ImmutableList.of(orderCreated, orderShipped, anyOrder));
+    }
+
+    @Test
+    public void validate_WhenFailFast_ReturnsMatchingSchemas() {
+        final MultiSchemaResult result = validator.validate(readJsonObject("{\"type\": \"created\", \"items\": [1]}"));
+
+        assertThat(result.getMatchingSchemas()).containsExactly(orderCreated, anyOrder);
+        assertThat(result.matches(orderShipped)).isFalse();
+        assertThat(result.getReports()).isEmpty();
+    }
+
+    @Test
+    public void validate_WhenNothingMatches_ReturnsEmptySet() {
+        final MultiSchemaResult result = validator.validate(readJsonObject("{\"type\": \"cancelled\"}"));
+
+        assertThat(result.getMatchingSchemas()).isEmpty();
+    }
+
+    @Test
+    public void validate_WhenCollectingReports_ReportsMatchSingleSchemaValidation() {
+        final JsonObject subject = readJsonObject("{\"type\": \"shipped\", \"items\": []}");
+        final MultiSchemaResult result = validator.validate(subject, true);
+
+        assertThat(result.getMatchingSchemas()).containsExactly(anyOrder);
+        for (Schema schema : validator.getSchemas()) {
+            final Optional<ValidationReport> report = result.getReport(schema);
+            assertThat(report).isPresent();
+
+            final SchemaValidator single = SchemaValidatorFactory.createValidatorForSchema(schema);
+            final Optional<ValidationError> expected = single.validate(subject);
+            assertThat(report.get().isValid()).isEqualTo(!expected.isPresent());
+            assertThat(report.get().getErrors()).hasSize(expected.isPresent() ? 1 : 0);
+            expected.ifPresent(error -> assertThat(report.get().getErrors().get(0).toString()).isEqualTo(error.toString()));
+        }
+    }
+
+    @Test
+    public void validate_NestedKeywords_SameOutcomeAsSingleSchemaValidation() {
+        final JsonSchemaFactory factory = JsonSchemaFactory.schemaFactory();
+        final Schema lineItems = factory.load(readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/line-items.json\"," +
+                "\"properties\": {" +
+                "  \"lines\": {\"type\": \"array\", \"items\": {" +
+                "    \"required\": [\"sku\"]," +
+                "    \"properties\": {\"sku\": {\"type\": \"string\", \"maxLength\": 4}}," +
+                "    \"patternProperties\": {\"^x-\": {\"type\": \"string\"}}," +
+                "    \"additionalProperties\": {\"type\": \"integer\"}" +
+                "  }}" +
+                "}," +
+                "\"allOf\": [{\"properties\": {\"lines\": {\"minItems\": 1}}}]" +
+                "}"));
+        final Schema tuple = factory.load(readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/tuple.json\"," +
+                "\"properties\": {" +
+                "  \"lines\": {\"items\": [{\"anyOf\": [{\"required\": [\"sku\"]}, {\"required\": [\"id\"]}]}]," +
+                "              \"additionalItems\": false}" +
+                "}}"));
+        final MultiSchemaValidator multi = new MultiSchemaValidator(ImmutableList.of(lineItems, tuple, orderCreated));
+
+        final String[] subjects = {
+                "{\"lines\": [{\"sku\": \"ab\", \"x-note\": \"n\", \"qty\": 2}]}",
+                "{\"lines\": [{\"sku\": \"abcdef\", \"x-note\": 1, \"qty\": \"two\"}, {}]}",
+                "{\"lines\": [{\"id\": 1}]}",
+                "{\"lines\": []}",
+                "{\"type\": \"created\", \"items\": [1], \"lines\": [{\"sku\": 5}]}"
+        };
+        for (String json : subjects) {
+            final JsonObject subject = readJsonObject(json);
+            final MultiSchemaResult failFast = multi.validate(subject);
+            final MultiSchemaResult collected = multi.validate(subject, true);
+            for (Schema schema : multi.getSchemas()) {
+                final Optional<ValidationError> expected = SchemaValidatorFactory.createValidatorForSchema(schema).validate(subject);
+                assertThat(failFast.matches(schema)).as(json).isEqualTo(!expected.isPresent());
+                assertThat(collected.matches(schema)).as(json).isEqualTo(!expected.isPresent());
+                assertThat(leafErrors(collected.getReport(schema).get().getErrors()))
+                        .as(json)
+                        .containsOnlyElementsOf(leafErrors(expected.map(Collections::singletonList).orElse(Collections.emptyList())))
+                        .hasSameSizeAs(leafErrors(expected.map(Collections::singletonList).orElse(Collections.emptyList())));
+            }
+        }
+    }
+
+    private static List<String> leafErrors(List<ValidationError> errors) {
+        final List<String> leaves = new ArrayList<>();
+        for (ValidationError error : errors) {
+            if (error.getCauses().isEmpty()) {
+                leaves.add(error.getKeyword() + " " + error.getPointerToViolation() + " " + error.getSchemaLocation());
+            } else {
+                leaves.addAll(leafErrors(error.getCauses()));
+            }
+        }
+        return leaves;
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import javax.json.JsonNumber;
+import javax.json.JsonObject;
 
 public class ObjectComparatorTest {
 
@@ -20,4 +21,21 @@ public class ObjectComparatorTest {
         Assert.assertFalse("1.0 not equiv as 1", ObjectComparator.lexicalEquivalent(testNumB, testNumC));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testLexicalEquivalentForStructures() {
+        JsonObject object = JsonUtils.readJsonObject("{\"a\": [1, \"x\", {\"b\": null}]}");
+
+        Assert.assertTrue(ObjectComparator.lexicalEquivalent(object, JsonUtils.readJsonObject("{\"a\": [1, \"x\", {\"b\": null}]}")));
+        Assert.assertFalse(ObjectComparator.lexicalEquivalent(object, JsonUtils.readJsonObject("{\"a\": [1.0, \"x\", {\"b\": null}]}")));
+        Assert.assertFalse(ObjectComparator.lexicalEquivalent(object, JsonUtils.readJsonObject("{\"a\": [1, \"x\"]}")));
+        Assert.assertFalse(ObjectComparator.lexicalEquivalent(object, JsonUtils.readJsonObject("{\"b\": [1, \"x\", {\"b\": null}]}")));
+    }
+
+    @Test
+    public void testJsonEqualsComparesNumbersByValue() {
+        JsonObject object = JsonUtils.readJsonObject("{\"a\": [1, \"x\", {\"b\": 2.50}]}");
+
+        Assert.assertTrue(ObjectComparator.jsonEquals(object, JsonUtils.readJsonObject("{\"a\": [1.0, \"x\", {\"b\": 2.5}]}")));
+        Assert.assertFalse(ObjectComparator.jsonEquals(object, JsonUtils.readJsonObject("{\"a\": [1.5, \"x\", {\"b\": 2.5}]}")));
+    }
+}
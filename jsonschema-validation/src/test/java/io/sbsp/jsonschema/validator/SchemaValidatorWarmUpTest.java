@@ -0,0 +1,109 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.enums.JsonSchemaKeywordType;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import io.sbsp.jsonschema.utils.JsonUtils;
+import org.junit.Test;
+
+import javax.json.JsonValue;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SchemaValidatorWarmUpTest {
+
+    private final Schema schema = JsonSchemaFactory.builder().lazy(true).build().load(readJsonObject("{" +
+            "\"$id\": \"http://schema.sbsp.io/warm-up.json\"," +
+            "\"type\": \"object\"," +
+            "\"required\": [\"name\"]," +
+            "\"properties\": {" +
+            "  \"name\": {\"type\": \"string\", \"maxLength\": 5}," +
+            "  \"code\": {\"type\": \"string\", \"format\": \"counted\"}," +
+            "  \"age\": {\"type\": \"integer\", \"minimum\": 0, \"maximum\": 150}," +
+            "  \"tags\": {\"type\": \"array\", \"items\": {\"type\": \"string\"}, \"uniqueItems\": true}" +
+            "}," +
+            "\"definitions\": {\"unused\": {\"type\": \"number\", \"multipleOf\": 3}}" +
+            "}"));
+
+    @Test
+    public void warmUp_WithFactory_BuildsEveryValidator() {
+        final SchemaValidatorFactory factory = SchemaValidatorFactory.builder().lazy(true).build();
+        final SchemaValidator validator = factory.createValidator(schema);
+
+        final WarmUpResult result = SchemaValidatorWarmUp.warmUp(validator, WarmUpOptions.warmUpOptions()
+                .validatorFactory(factory)
+                .iterations(1)
+                .build());
+
+        final Schema unused = schema.asDraft6().getDefinitions().get("unused");
+        final SchemaValidator unusedValidator = factory.createValidator(unused);
+        assertThat(((LazySchemaValidator) unusedValidator).isMaterialized()).isTrue();
+        assertThat(result.getSchemaCount()).isEqualTo(7);
+        assertThat(result.getIterations()).isEqualTo(1);
+    }
+
+    @Test
+    public void warmUp_WithFactory_InitializesFormatValidators() {
+        final AtomicInteger calls = new AtomicInteger();
+        final SchemaValidatorFactory factory = SchemaValidatorFactory.builder()
+                .addCustomFormatValidator("counted", subject -> {
+                    calls.incrementAndGet();
+                    return Optional.empty();
+                })
+                .build();
+
+        SchemaValidatorWarmUp.warmUp(factory.createValidator(schema), WarmUpOptions.warmUpOptions()
+                .validatorFactory(factory)
+                .iterations(0)
+                .build());
+
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void generatedInstances_CoverValidAndInvalidPaths() {
+        final SchemaValidator validator = SchemaValidatorFactory.createValidatorForSchema(schema);
+        final List<JsonValue> instances = SchemaValidatorWarmUp.instances(schema, JsonUtils.provider(), 4);
+
+        assertThat(instances.stream().anyMatch(instance -> !validator.validate(instance).isPresent())).isTrue();
+        assertThat(instances.stream().anyMatch(instance -> validator.validate(instance).isPresent())).isTrue();
+        assertThat(instances.stream().anyMatch(instance -> validator.validate(instance)
+                .map(error -> hasKeyword(error, JsonSchemaKeywordType.MAX_LENGTH))
+                .orElse(false))).isTrue();
+    }
+
+    @Test
+    public void warmUp_HugeLengthLimits_DoNotExhaustMemory() {
+        final Schema limits = JsonSchemaFactory.schemaFactory().load(readJsonObject("{" +
+                "\"properties\": {" +
+                "  \"unbounded\": {\"type\": \"string\", \"maxLength\": 2147483647}," +
+                "  \"huge\": {\"type\": \"string\", \"minLength\": 2000000000}" +
+                "}}"));
+
+        final WarmUpResult result = SchemaValidatorWarmUp.warmUp(SchemaValidatorFactory.createValidatorForSchema(limits),
+                WarmUpOptions.warmUpOptions().iterations(1).build());
+
+        assertThat(result.getIterations()).isEqualTo(1);
+    }
+
+    @Test
+    public void warmUp_StopsWhenTimeBudgetIsSpent() {
+        final WarmUpResult result = SchemaValidatorWarmUp.warmUp(SchemaValidatorFactory.createValidatorForSchema(schema),
+                WarmUpOptions.warmUpOptions()
+                        .iterations(Integer.MAX_VALUE)
+                        .timeBudget(Duration.ofMillis(200))
+                        .build());
+
+        assertThat(result.getIterations()).isGreaterThan(0).isLessThan(Integer.MAX_VALUE);
+        assertThat(result.getValidationCount()).isEqualTo((long) result.getIterations() * result.getInstanceCount());
+    }
+
+    private static boolean hasKeyword(ValidationError error, JsonSchemaKeywordType keyword) {
+        return error.getKeyword() == keyword || error.getCauses().stream().anyMatch(cause -> hasKeyword(cause, keyword));
+    }
+}
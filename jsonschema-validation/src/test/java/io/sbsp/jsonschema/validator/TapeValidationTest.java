@@ -0,0 +1,37 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import io.sbsp.jsonschema.tape.JsonTape;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TapeValidationTest {
+
+    @Test
+    public void validate_MatchesJavaxJsonResult() {
+        final Schema schema = JsonSchemaFactory.schemaFactory().load(readJsonObject("{" +
+                "\"required\": [\"name\", \"id\"]," +
+                "\"properties\": {" +
+                "  \"name\": {\"type\": \"string\", \"maxLength\": 3}," +
+                "  \"tags\": {\"type\": \"array\", \"uniqueItems\": true, \"items\": {\"enum\": [\"a\", \"b\"]}}," +
+                "  \"size\": {\"type\": \"integer\", \"multipleOf\": 5}," +
+                "  \"meta\": {\"const\": {\"k\": [1, 2.5]}}" +
+                "}}"));
+        final SchemaValidator validator = SchemaValidatorFactory.createValidatorForSchema(schema);
+        final String json = "{\"name\": \"Gr\\u00fcnwald\", \"tags\": [\"a\", \"c\", \"a\"], \"size\": 12," +
+                " \"meta\": {\"k\": [1, 2.5]}}";
+
+        final JsonTape tape = JsonTape.parse(json.getBytes(StandardCharsets.UTF_8));
+        final Optional<ValidationError> expected = validator.validate(readJsonObject(json));
+        final Optional<ValidationError> actual = validator.validate(tape.getRoot());
+
+        assertThat(actual).isPresent();
+        assertThat(actual.get().toString()).isEqualTo(expected.get().toString());
+    }
+}
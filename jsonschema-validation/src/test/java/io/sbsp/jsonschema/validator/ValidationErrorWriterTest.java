@@ -0,0 +1,110 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import org.apache.johnzon.core.JsonProviderImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValidationErrorWriterTest {
+
+    private ValidationReport report;
+    private ValidationError error;
+
+    @Before
+    public void before() {
+        final Schema schema = JsonSchemaFactory.schemaFactory().load(readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/writer.json\"," +
+                "\"required\": [\"id\"]," +
+                "\"properties\": {" +
+                "  \"name\": {\"type\": \"string\", \"minLength\": 3}," +
+                "  \"tags\": {\"items\": {\"type\": \"string\"}}," +
+                "  \"contact\": {\"anyOf\": [{\"format\": \"email\"}, {\"type\": \"number\"}]}" +
+                "}}"));
+        final SchemaValidator validator = SchemaValidatorFactory.createValidatorForSchema(schema);
+        final JsonValue subject = readJsonObject("{\"name\": \"Al\", \"tags\": [1, 2, \"ok\"], \"contact\": \"nope\"}");
+        report = validator.validate(JsonValueWithLocation.fromJsonValue(subject, schema.getLocation()));
+        error = validator.validate(subject).get();
+    }
+
+    @Test
+    public void write_Nested_MatchesToJson() {
+        final ValidationErrorWriter writer = ValidationErrorWriter.errorWriter().build();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.write(report, out);
+
+        final JsonArray written = read(out);
+        assertThat(written).hasSize(report.getErrors().size());
+        assertThat(written.get(0)).isEqualTo(report.getErrors().get(0).toJson());
+    }
+
+    @Test
+    public void write_Flat_MatchesToJsonErrors() {
+        final ValidationErrorWriter writer = ValidationErrorWriter.errorWriter().flat(true).build();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final int written = writer.write(report, out);
+
+        final JsonArray expected = error.toJsonErrors();
+        assertThat(read(out)).isEqualTo(expected);
+        assertThat(written).isEqualTo(expected.size());
+    }
+
+    @Test
+    public void write_WithCap_StopsAfterMaxErrors() {
+        final ValidationErrorWriter writer = ValidationErrorWriter.errorWriter().flat(true).maxErrors(2).build();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(writer.write(report, out)).isEqualTo(2);
+        assertThat(read(out)).hasSize(2);
+    }
+
+    @Test
+    public void write_NestedWithCap_CountsCauses() {
+        final ValidationErrorWriter writer = ValidationErrorWriter.errorWriter().maxErrors(3).build();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(writer.write(report, out)).isEqualTo(3);
+        assertThat(read(out).toString().split("\"pointerToViolation\"")).hasSize(4);
+    }
+
+    @Test
+    public void errorWriter_FromFactory_WritesWithFactoryProvider() {
+        final SchemaValidatorFactory factory = SchemaValidatorFactory.builder()
+                .provider(new PrettyPrintingProvider())
+                .build();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        factory.errorWriter().flat(true).build().write(report, out);
+
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8)).contains("\n");
+        assertThat(read(out)).isEqualTo(error.toJsonErrors(factory.getJsonFactories()));
+    }
+
+    private static JsonArray read(ByteArrayOutputStream out) {
+        return Json.createReader(new ByteArrayInputStream(out.toByteArray())).readArray();
+    }
+
+    /**
+     * Pretty prints with every generator, so it's visible which provider wrote the output.
+     */
+    private static class PrettyPrintingProvider extends JsonProviderImpl {
+        @Override
+        public JsonGeneratorFactory createGeneratorFactory(Map<String, ?> config) {
+            return super.createGeneratorFactory(Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.enums.JsonSchemaKeywordType;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.json.JsonObject;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static io.sbsp.jsonschema.validator.ValidationMocks.mockObjectSchema;
+import static io.sbsp.jsonschema.validator.ValidationMocks.mockStringSchema;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValidationListenerTest {
+
+    private SchemaValidator validator;
+
+    @Before
+    public void before() {
+        final Schema schema = JsonSchemaFactory.schemaFactory().load(readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/listener.json\"," +
+                "\"required\": [\"name\", \"age\"]," +
+                "\"properties\": {" +
+                "  \"name\": {\"type\": \"string\", \"minLength\": 3}," +
+                "  \"age\": {\"allOf\": [{\"type\": \"integer\"}, {\"minimum\": 18}]}," +
+                "  \"contact\": {\"anyOf\": [{\"format\": \"email\"}, {\"format\": \"phone\"}]}" +
+                "}}"));
+        validator = SchemaValidatorFactory.createValidatorForSchema(schema);
+    }
+
+    @Test
+    public void validate_StreamsFlatErrors() {
+        final RecordingListener listener = new RecordingListener();
+        final boolean valid = validator.validate(readJsonObject("{\"name\": \"Al\", \"age\": 12.5}"), listener);
+
+        assertThat(valid).isFalse();
+        assertThat(listener.errors).extracting(e -> e.getKeyword() + " " + e.getPointerToViolation())
+                .containsExactlyInAnyOrder(
+                        "minLength #/name",
+                        "type #/age",
+                        "minimum #/age");
+        assertThat(listener.errors).allMatch(e -> e.getCauses().isEmpty());
+        assertThat(listener.events).containsExactly("enter allOf /age", "exit allOf /age false");
+    }
+
+    @Test
+    public void validate_SpeculativeBranchesAreReportedOnce() {
+        final RecordingListener listener = new RecordingListener();
+        final JsonObject subject = readJsonObject("{\"name\": \"Alice\", \"age\": 21, \"contact\": \"not reachable\"}");
+        validator.validate(subject, listener);
+
+        assertThat(listener.errors).hasSize(1);
+        final ValidationError error = listener.errors.get(0);
+        assertThat(error.getKeyword()).isEqualTo(JsonSchemaKeywordType.ANY_OF);
+        assertThat(error.getCauses()).hasSize(2);
+        assertThat(listener.events).contains("enter anyOf /contact", "exit anyOf /contact false");
+    }
+
+    @Test
+    public void validate_MatchesCollectedOutcome() {
+        final JsonObject subject = readJsonObject("{\"name\": \"Alice\", \"age\": 21, \"contact\": \"alice@sbsp.io\"}");
+        final RecordingListener listener = new RecordingListener();
+
+        assertThat(validator.validate(subject, listener)).isTrue();
+        assertThat(validator.validate(subject)).isNotPresent();
+        assertThat(listener.errors).isEmpty();
+    }
+
+    @Test
+    public void validate_WhenListenerStops_NoMoreErrorsAreDelivered() {
+        final RecordingListener listener = new RecordingListener();
+        listener.maxErrors = 1;
+        validator.validate(readJsonObject("{\"name\": \"Al\", \"age\": \"twelve\"}"), listener);
+
+        assertThat(listener.errors).hasSize(1);
+    }
+
+    @Test
+    public void validate_PropertyNameErrorsAreStreamed() {
+        final Schema schema = mockObjectSchema()
+                .propertyNameSchema(mockStringSchema().maxLength(3))
+                .build();
+        final RecordingListener listener = new RecordingListener();
+        final boolean valid = SchemaValidatorFactory.createValidatorForSchema(schema)
+                .validate(readJsonObject("{\"name\": 1, \"id\": 2, \"address\": 3}"), listener);
+
+        assertThat(valid).isFalse();
+        assertThat(listener.errors).extracting(ValidationError::getKeyword)
+                .containsExactly(JsonSchemaKeywordType.MAX_LENGTH, JsonSchemaKeywordType.MAX_LENGTH);
+        assertThat(listener.errors).allMatch(e -> e.getCauses().isEmpty());
+    }
+
+    @Test
+    public void streamingReport_DoesNotCollectErrors() {
+        final ValidationReport report = ValidationReport.streaming(new RecordingListener());
+        validator.validate(JsonValueWithLocation.fromJsonValue(readJsonObject("{}"), validator.getSchema().getLocation()), report);
+
+        assertThat(report.isValid()).isFalse();
+        assertThat(report.getErrors()).isEmpty();
+    }
+
+    private static class RecordingListener implements ValidationListener {
+        private final List<ValidationError> errors = new ArrayList<>();
+        private final List<String> events = new ArrayList<>();
+        private int maxErrors = Integer.MAX_VALUE;
+
+        @Override
+        public void onError(ValidationError error) {
+            errors.add(error);
+        }
+
+        @Override
+        public void enterComposite(JsonSchemaKeywordType keyword, Schema schema, JsonValueWithLocation subject) {
+            events.add("enter " + keyword + " " + subject.getPath().toJsonPointer());
+        }
+
+        @Override
+        public void exitComposite(JsonSchemaKeywordType keyword, Schema schema, JsonValueWithLocation subject, boolean valid) {
+            events.add("exit " + keyword + " " + subject.getPath().toJsonPointer() + " " + valid);
+        }
+
+        @Override
+        public boolean shouldStop() {
+            return errors.size() >= maxErrors;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.sbsp.jsonschema.validator;
+
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.json.JsonObject;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValidationMemoTest {
+
+    private SchemaValidator validator;
+
+    @Before
+    public void before() {
+        final Schema schema = JsonSchemaFactory.schemaFactory().load(readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/memo.json\"," +
+                "\"definitions\": {" +
+                "  \"name\": {\"type\": \"string\", \"maxLength\": 5}" +
+                "}," +
+                "\"properties\": {" +
+                "  \"name\": {" +
+                "    \"allOf\": [" +
+                "      {\"$ref\": \"#/definitions/name\"}," +
+                "      {\"$ref\": \"#/definitions/name\"}" +
+                "    ]" +
+                "  }" +
+                "}}"));
+        validator = SchemaValidatorFactory.createValidatorForSchema(schema);
+    }
+
+    @Test
+    public void validate_WhenMemoizing_RepeatedEvaluationsAreReplayed() {
+        final ValidationReport report = validate("{\"name\": \"Bob\"}", ValidationReport.memoizing(100));
+
+        assertThat(report.getMemo()).isNotNull();
+        assertThat(report.getMemo().getHits()).isGreaterThan(0);
+    }
+
+    @Test
+    public void validate_WhenMemoizing_ErrorsMatchUnmemoizedRun() {
+        final String subject = "{\"name\": \"Bob Loblaw\"}";
+        final ValidationReport memoized = validate(subject, ValidationReport.memoizing(100));
+        final ValidationReport plain = validate(subject, new ValidationReport());
+
+        assertThat(memoized.isValid()).isFalse();
+        assertThat(memoized.toString()).isEqualTo(plain.toString());
+    }
+
+    @Test
+    public void validate_WhenMemoIsFull_NewResultsAreNotRecorded() {
+        final ValidationReport report = validate("{\"name\": \"Bob\"}", ValidationReport.memoizing(1));
+
+        assertThat(report.getMemo().size()).isEqualTo(1);
+        assertThat(report.isValid()).isTrue();
+    }
+
+    private ValidationReport validate(String json, ValidationReport report) {
+        final JsonObject subject = readJsonObject(json);
+        validator.validate(JsonValueWithLocation.fromJsonValue(subject, validator.getSchema().getLocation()), report);
+        return report;
+    }
+}
@@ -0,0 +1,141 @@
+package io.sbsp.jsonschema.validator.file;
+
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import io.sbsp.jsonschema.validator.SchemaValidatorFactory;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.json.stream.JsonParsingException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MappedFileValidatorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MappedFileValidator.MappedFileValidatorBuilder builder;
+
+    @Before
+    public void before() {
+        final Schema schema = JsonSchemaFactory.schemaFactory().load(readJsonObject("{" +
+                "\"type\": \"object\"," +
+                "\"required\": [\"id\"]," +
+                "\"properties\": {" +
+                "  \"id\": {\"type\": \"integer\"}," +
+                "  \"name\": {\"type\": \"string\", \"maxLength\": 5}" +
+                "}}"));
+        builder = MappedFileValidator.mappedFileValidator()
+                .recordValidator(SchemaValidatorFactory.createValidatorForSchema(schema))
+                .windowSize(8);
+    }
+
+    @Test
+    public void validate_TopLevelArray() throws IOException {
+        final String json = "[\n" +
+                "  {\"id\": 1, \"name\": \"Al\"},\n" +
+                "  {\"id\": 2, \"name\": \"Bartholomew \\\"]}\"},\n" +
+                "  {\"name\": \"Cy\"},\n" +
+                "  \"not an object\"\n" +
+                "]\n";
+        final List<FileValidationError> errors = new ArrayList<>();
+        final FileValidationSummary summary = builder.build().validate(write(json), errors::add);
+
+        assertThat(summary.getRecordCount()).isEqualTo(4);
+        assertThat(summary.getInvalidRecordCount()).isEqualTo(3);
+        assertThat(summary.getErrorCount()).isEqualTo(3);
+        assertThat(summary.getByteCount()).isEqualTo(json.length());
+        assertThat(errors).extracting(FileValidationError::getPointer).containsExactly("#/1/name", "#/2", "#/3");
+        assertThat(errors).extracting(FileValidationError::getRecordIndex).containsExactly(1L, 2L, 3L);
+        assertThat(errors.get(0).getByteOffset()).isEqualTo(json.indexOf("\"Bartholomew"));
+        assertThat(errors.get(0).getRecordOffset()).isEqualTo(json.indexOf("{\"id\": 2"));
+        assertThat(errors.get(1).getByteOffset()).isEqualTo(json.indexOf("{\"name\": \"Cy"));
+        assertThat(errors.get(2).getByteOffset()).isEqualTo(json.indexOf("\"not an object"));
+    }
+
+    @Test
+    public void validate_NewlineDelimited() throws IOException {
+        final String json = "{\"id\": 1}\n{\"id\": 2.5}\n{\"id\": 3, \"name\": \"Dee\"}\n42\n";
+        final List<FileValidationError> errors = new ArrayList<>();
+        final FileValidationSummary summary = builder.build().validate(write(json), errors::add);
+
+        assertThat(summary.getRecordCount()).isEqualTo(4);
+        assertThat(errors).extracting(FileValidationError::getRecordIndex).containsExactly(1L, 3L);
+        assertThat(errors).extracting(FileValidationError::getPointer).containsExactly("#/id", "#");
+        assertThat(errors.get(0).getByteOffset()).isEqualTo(json.indexOf("2.5"));
+        assertThat(errors.get(1).getByteOffset()).isEqualTo(json.indexOf("42"));
+    }
+
+    @Test
+    public void validate_StopsAtMaxErrors() throws IOException {
+        final String json = "[{}, {}, {}, {}]";
+        final List<FileValidationError> errors = new ArrayList<>();
+        final FileValidationSummary summary = builder.maxErrors(2).build().validate(write(json), errors::add);
+
+        assertThat(errors).hasSize(2);
+        assertThat(summary.isStopped()).isTrue();
+        assertThat(summary.isValid()).isFalse();
+    }
+
+    @Test
+    public void validate_EmptyArray() throws IOException {
+        final FileValidationSummary summary = builder.build().validate(write(" [ ] "), error -> {
+        });
+
+        assertThat(summary.getRecordCount()).isZero();
+        assertThat(summary.isValid()).isTrue();
+    }
+
+    @Test
+    public void validate_ReportsMalformedRecordOffset() throws IOException {
+        final String json = "[{\"id\": 1}, {\"id\": tru}]";
+
+        assertThatThrownBy(() -> builder.build().validate(write(json), error -> {
+        })).isInstanceOfSatisfying(JsonParsingException.class,
+                e -> assertThat(e.getLocation().getStreamOffset()).isEqualTo(json.indexOf("tru")));
+        assertThatThrownBy(() -> builder.build().validate(write("[{\"id\": 1}"), error -> {
+        })).isInstanceOf(JsonParsingException.class);
+    }
+
+    @Test
+    public void validate_TopLevelArray_RequiresSingleCommas() throws IOException {
+        for (String json : new String[]{"[{} {}]", "[,,{}]", "[{},,{}]", "[{},]", "[1 2]", "[\"a\" {}]"}) {
+            assertThatThrownBy(() -> builder.build().validate(write(json), error -> {
+            })).as(json).isInstanceOf(JsonParsingException.class);
+        }
+        final FileValidationSummary summary = builder.build().validate(write("[{},{} ,\n{}]"), error -> {
+        });
+        assertThat(summary.getRecordCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void validate_WhenRecordIsTooLarge_RejectsIt() throws IOException {
+        final String json = "{\"id\": 1}\n{\"id\": 2, \"name\": \"Bo\"}\n";
+        final FileValidationSummary summary = builder.build().validate(write(json), error -> {
+        });
+        assertThat(summary.getLargestRecordSize()).isEqualTo("{\"id\": 2, \"name\": \"Bo\"}".length());
+
+        assertThatThrownBy(() -> builder.maxRecordSize(16).build().validate(write(json), error -> {
+        })).isInstanceOfSatisfying(RecordTooLargeException.class, e -> {
+            assertThat(e.getRecord()).isEqualTo(1);
+            assertThat(e.getOffset()).isEqualTo(json.indexOf("{\"id\": 2"));
+        });
+    }
+
+    private Path write(String json) throws IOException {
+        final Path file = folder.newFile().toPath();
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
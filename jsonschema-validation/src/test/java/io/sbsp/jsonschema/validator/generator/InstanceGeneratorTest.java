@@ -0,0 +1,160 @@
+package io.sbsp.jsonschema.validator.generator;
+
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.enums.FormatType;
+import io.sbsp.jsonschema.enums.JsonSchemaKeywordType;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import io.sbsp.jsonschema.validator.SchemaValidator;
+import io.sbsp.jsonschema.validator.SchemaValidatorFactory;
+import io.sbsp.jsonschema.validator.ValidationError;
+import io.sbsp.jsonschema.validator.keywords.string.formatValidators.FormatValidator;
+import org.junit.Test;
+
+import javax.json.JsonValue;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static io.sbsp.jsonschema.utils.JsonUtils.readValue;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InstanceGeneratorTest {
+
+    private final Schema schema = JsonSchemaFactory.schemaFactory().load(readJsonObject("{" +
+            "\"$id\": \"http://schema.sbsp.io/generated.json\"," +
+            "\"type\": \"object\"," +
+            "\"required\": [\"id\", \"customer\", \"lines\"]," +
+            "\"additionalProperties\": {\"type\": \"string\"}," +
+            "\"properties\": {" +
+            "  \"id\": {\"type\": \"string\", \"pattern\": \"^[A-Z]{3}-\\\\d{4}$\"}," +
+            "  \"status\": {\"enum\": [\"NEW\", \"PAID\", \"SHIPPED\"]}," +
+            "  \"placed\": {\"type\": \"string\", \"format\": \"date-time\"}," +
+            "  \"customer\": {\"$ref\": \"#/definitions/customer\"}," +
+            "  \"lines\": {\"type\": \"array\", \"minItems\": 1, \"maxItems\": 4, \"items\": {" +
+            "    \"type\": \"object\", \"required\": [\"sku\", \"quantity\"]," +
+            "    \"properties\": {" +
+            "      \"sku\": {\"type\": \"string\", \"minLength\": 3, \"maxLength\": 8}," +
+            "      \"quantity\": {\"type\": \"integer\", \"minimum\": 1, \"maximum\": 99}," +
+            "      \"price\": {\"type\": \"number\", \"exclusiveMinimum\": 0, \"multipleOf\": 0.01}" +
+            "    }}}," +
+            "  \"tags\": {\"type\": \"array\", \"items\": {\"type\": \"string\", \"maxLength\": 5}, \"uniqueItems\": true}" +
+            "}," +
+            "\"definitions\": {\"customer\": {" +
+            "  \"type\": \"object\", \"required\": [\"email\"]," +
+            "  \"properties\": {" +
+            "    \"email\": {\"type\": \"string\", \"format\": \"email\"}," +
+            "    \"phone\": {\"type\": \"string\", \"format\": \"phone\"}," +
+            "    \"vip\": {\"type\": \"boolean\"}" +
+            "  }," +
+            "  \"anyOf\": [{\"required\": [\"phone\"]}, {\"required\": [\"vip\"]}]" +
+            "}}" +
+            "}"));
+
+    private final SchemaValidator validator = SchemaValidatorFactory.createValidatorForSchema(schema);
+
+    @Test
+    public void validInstances_AreValid() {
+        final InstanceGenerator generator = InstanceGenerator.instanceGenerator().seed(7L).build();
+        generator.validInstances(schema).limit(200).forEach(instance ->
+                assertThat(validator.validate(instance)).as(instance.toString()).isEmpty());
+    }
+
+    @Test
+    public void sameSeed_SameInstances() {
+        final List<String> first = InstanceGenerator.instanceGenerator().seed(99L).build()
+                .validInstances(schema).limit(20).map(JsonValue::toString).collect(Collectors.toList());
+        final List<String> second = InstanceGenerator.instanceGenerator().seed(99L).build()
+                .validInstances(schema).limit(20).map(JsonValue::toString).collect(Collectors.toList());
+        final List<String> other = InstanceGenerator.instanceGenerator().seed(100L).build()
+                .validInstances(schema).limit(20).map(JsonValue::toString).collect(Collectors.toList());
+
+        assertThat(second).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+    }
+
+    @Test
+    public void invalidInstances_ViolateChosenKeywordAtDepth() {
+        final InstanceGenerator generator = InstanceGenerator.instanceGenerator().seed(3L).build();
+        assertViolation(generator, JsonSchemaKeywordType.REQUIRED, 0, "#");
+        assertViolation(generator, JsonSchemaKeywordType.PATTERN, 1, "#/id");
+        assertViolation(generator, JsonSchemaKeywordType.FORMAT, 2, "#/customer/");
+        assertViolation(generator, JsonSchemaKeywordType.MAX_ITEMS, 1, "#/lines");
+        assertViolation(generator, JsonSchemaKeywordType.UNIQUE_ITEMS, 1, "#/tags");
+        assertViolation(generator, JsonSchemaKeywordType.MAXIMUM, 3, "#/lines/");
+        assertViolation(generator, JsonSchemaKeywordType.MIN_LENGTH, 3, "#/lines/");
+
+        assertThat(generator.invalid(schema, JsonSchemaKeywordType.MAXIMUM, 1)).isEmpty();
+
+        // Additional properties are checked against their schema, so the error comes from that schema's keyword
+        final JsonValue unexpected = generator.invalid(schema, JsonSchemaKeywordType.ADDITIONAL_PROPERTIES, 0).get();
+        final List<ValidationError> leaves = leaves(validator.validate(unexpected).get());
+        assertThat(leaves).hasSize(1);
+        assertThat(leaves.get(0).getPointerToViolation()).isEqualTo("#/unexpectedProperty");
+    }
+
+    @Test
+    public void writeNdjson_WritesOneInstancePerLine() throws Exception {
+        final InstanceGenerator generator = InstanceGenerator.instanceGenerator().seed(1L).build();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        final long count = InstanceGenerator.writeNdjson(generator.validInstances(schema).limit(25), out);
+
+        final String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(25);
+        assertThat(lines).hasSize(25);
+        for (String line : lines) {
+            assertThat(validator.validate(readValue(line))).isEmpty();
+        }
+    }
+
+    @Test
+    public void patternSampler_MatchesPattern() {
+        final Random random = new Random(5);
+        for (String pattern : new String[]{"^[A-Z]{3}-\\d{4}$", "(foo|ba[rz])+\\.json", "[^a-z]{2,5}", "^\\w+@\\w+\\.(com|org)$"}) {
+            final PatternSampler sampler = new PatternSampler(pattern, 4);
+            for (int i = 0; i < 50; i++) {
+                final String sample = sampler.sample(random);
+                assertThat(Pattern.compile(pattern).matcher(sample).matches()).as(pattern + ": " + sample).isTrue();
+            }
+        }
+    }
+
+    @Test
+    public void formatSamples_MatchBuiltInValidators() {
+        for (FormatType format : FormatType.values()) {
+            final FormatValidator formatValidator = FormatValidator.forFormat(format);
+            for (String sample : FormatSamples.validSamples(format.toString())) {
+                assertThat(formatValidator.validate(sample)).as(format + ": " + sample).isEmpty();
+            }
+            final String invalid = FormatSamples.invalidSample(format.toString());
+            if (invalid != null) {
+                assertThat(formatValidator.validate(invalid)).as(format + ": " + invalid).isPresent();
+            }
+        }
+    }
+
+    private void assertViolation(InstanceGenerator generator, JsonSchemaKeywordType keyword, int depth, String pointer) {
+        for (int i = 0; i < 10; i++) {
+            final JsonValue instance = generator.invalid(schema, keyword, depth).get();
+            final Optional<ValidationError> error = validator.validate(instance);
+            assertThat(error).as(keyword + " " + instance).isPresent();
+            final List<ValidationError> leaves = leaves(error.get());
+            assertThat(leaves).as(instance.toString()).hasSize(1);
+            assertThat(leaves.get(0).getKeyword()).as(instance.toString()).isEqualTo(keyword);
+            assertThat(leaves.get(0).getPointerToViolation()).as(instance.toString()).startsWith(pointer);
+        }
+    }
+
+    private static List<ValidationError> leaves(ValidationError error) {
+        if (error.getCauses().isEmpty()) {
+            return Collections.singletonList(error);
+        }
+        return error.getCauses().stream().flatMap(cause -> leaves(cause).stream()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,100 @@
+package io.sbsp.jsonschema.validator.keywords;
+
+import io.sbsp.jsonschema.JsonValueWithLocation;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.keyword.Keywords;
+import io.sbsp.jsonschema.keyword.SchemaListKeyword;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import io.sbsp.jsonschema.validator.SchemaValidator;
+import io.sbsp.jsonschema.validator.SchemaValidatorFactory;
+import io.sbsp.jsonschema.validator.ValidationReport;
+import io.sbsp.jsonschema.validator.factory.KeywordValidatorCreator;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.json.JsonValue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static io.sbsp.jsonschema.utils.JsonUtils.readValue;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveAnyOfValidatorTest {
+
+    private Schema schema;
+    private SchemaListKeyword anyOf;
+    private SchemaValidatorFactory factory;
+
+    @Before
+    public void before() {
+        schema = JsonSchemaFactory.schemaFactory().load(readJsonObject("{" +
+                "\"$id\": \"http://schema.sbsp.io/adaptive.json\"," +
+                "\"anyOf\": [" +
+                "  {\"const\": 0}, {\"const\": 1}, {\"const\": 2}, {\"const\": 3}, {\"const\": 4}," +
+                "  {\"const\": 5}, {\"const\": 6}, {\"const\": 7}, {\"const\": 8}, {\"const\": 9}" +
+                "]}"));
+        anyOf = (SchemaListKeyword) schema.getKeywords().get(Keywords.anyOf);
+        factory = SchemaValidatorFactory.builder().build();
+    }
+
+    @Test
+    public void validate_WhenOneBranchUsuallyMatches_ItMovesToTheFront() {
+        final AdaptiveAnyOfValidator validator = new AdaptiveAnyOfValidator(anyOf, schema, factory, 1);
+        for (int i = 0; i < 100; i++) {
+            assertThat(validator.validate(subject(i % 5 == 0 ? "3" : "6"), new ValidationReport())).isTrue();
+        }
+
+        assertThat(validator.getBranchOrder()[0]).isEqualTo(6);
+        assertThat(validator.getBranchOrder()).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void validate_WhenNoBranchMatches_ErrorsMatchDeclarationOrder() {
+        final AdaptiveAnyOfValidator adaptive = new AdaptiveAnyOfValidator(anyOf, schema, factory, 1);
+        for (int i = 0; i < 100; i++) {
+            adaptive.validate(subject("8"), new ValidationReport());
+        }
+        assertThat(adaptive.getBranchOrder()[0]).isEqualTo(8);
+
+        final AnyOfValidator standard = new AnyOfValidator(anyOf, schema, factory);
+        final ValidationReport adaptiveReport = new ValidationReport();
+        final ValidationReport standardReport = new ValidationReport();
+        assertThat(adaptive.validate(subject("42"), adaptiveReport)).isFalse();
+        assertThat(standard.validate(subject("42"), standardReport)).isFalse();
+
+        assertThat(adaptiveReport.toString()).isEqualTo(standardReport.toString());
+        assertThat(adaptiveReport.getErrors().get(0).getCauses()).hasSize(10);
+    }
+
+    @Test
+    public void createValidator_WhenAdaptiveAnyOf_UsesAdaptiveValidator() {
+        final SchemaValidator validator = SchemaValidatorFactory.builder()
+                .adaptiveAnyOf(true)
+                .build()
+                .createValidator(schema);
+
+        assertThat(validator.validate(readValue("6"))).isNotPresent();
+        assertThat(validator.validate(readValue("42"))).isPresent();
+    }
+
+    @Test
+    public void adaptiveAnyOf_KeepsCustomAnyOfValidators() {
+        final AtomicInteger customCreated = new AtomicInteger();
+        final KeywordValidatorCreator<SchemaListKeyword, AnyOfValidator> custom = (keyword, parent, validatorFactory) -> {
+            customCreated.incrementAndGet();
+            return new AnyOfValidator(keyword, parent, validatorFactory);
+        };
+        SchemaValidatorFactory.builder()
+                .addValidator(Keywords.anyOf, custom)
+                .adaptiveAnyOf(true)
+                .build()
+                .createValidator(schema);
+
+        assertThat(customCreated.get()).isEqualTo(1);
+    }
+
+    private JsonValueWithLocation subject(String json) {
+        final JsonValue value = readValue(json);
+        return JsonValueWithLocation.fromJsonValue(value, schema.getLocation());
+    }
+}
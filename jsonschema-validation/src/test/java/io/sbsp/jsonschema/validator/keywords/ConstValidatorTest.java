@@ -0,0 +1,36 @@
+package io.sbsp.jsonschema.validator.keywords;
+
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import io.sbsp.jsonschema.validator.SchemaValidator;
+import io.sbsp.jsonschema.validator.SchemaValidatorFactory;
+import org.junit.Test;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static io.sbsp.jsonschema.utils.JsonUtils.readValue;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConstValidatorTest {
+
+    @Test
+    public void validate_WhenNumberHasDifferentScale_ComparesByValue() {
+        final SchemaValidator validator = constValidator("1");
+
+        assertThat(validator.validate(readValue("1.0"))).isEmpty();
+        assertThat(validator.validate(readValue("1"))).isEmpty();
+        assertThat(validator.validate(readValue("1.5"))).isPresent();
+    }
+
+    @Test
+    public void validate_WhenNestedNumberHasDifferentScale_ComparesByValue() {
+        final SchemaValidator validator = constValidator("{\"a\": 1, \"b\": [2.50]}");
+
+        assertThat(validator.validate(readValue("{\"a\": 1.0, \"b\": [2.5]}"))).isEmpty();
+        assertThat(validator.validate(readValue("{\"a\": 1, \"b\": [2.5, 3]}"))).isPresent();
+        assertThat(validator.validate(readValue("{\"a\": 2, \"b\": [2.5]}"))).isPresent();
+    }
+
+    private static SchemaValidator constValidator(String constValue) {
+        return SchemaValidatorFactory.createValidatorForSchema(JsonSchemaFactory.schemaFactory()
+                .load(readJsonObject("{\"const\": " + constValue + "}")));
+    }
+}
@@ -0,0 +1,90 @@
+package io.sbsp.jsonschema.validator.keywords.number;
+
+import org.junit.Test;
+
+import javax.json.JsonNumber;
+import javax.json.spi.JsonProvider;
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NumericLimitTest {
+
+    private static final JsonProvider provider = JsonProvider.provider();
+
+    @Test
+    public void compareSubject_WhenLongsDifferBelowDoublePrecision_IsExact() {
+        final NumericLimit limit = NumericLimit.of(9007199254740993L);
+
+        assertThat(limit.compareSubject(number(9007199254740992L))).isNegative();
+        assertThat(limit.compareSubject(number(9007199254740993L))).isZero();
+        assertThat(limit.compareSubject(number(9007199254740994L))).isPositive();
+        assertThat(limit.compareSubject(number(Long.MAX_VALUE))).isPositive();
+    }
+
+    @Test
+    public void compareSubject_WhenLimitIsFractional_LongsCompareAgainstFloor() {
+        final NumericLimit limit = NumericLimit.of(new BigDecimal("-2.5"));
+
+        assertThat(limit.compareSubject(number(-3))).isNegative();
+        assertThat(limit.compareSubject(number(-2))).isPositive();
+        assertThat(limit.compareSubject(-3L)).isNegative();
+    }
+
+    @Test
+    public void compareSubject_WhenDecimalsRoundToSameDouble_IsExact() {
+        final NumericLimit limit = NumericLimit.of(new BigDecimal("0.10000000000000000001"));
+
+        assertThat(limit.compareSubject(number("0.1"))).isNegative();
+        assertThat(limit.compareSubject(number("0.10000000000000000001"))).isZero();
+        assertThat(limit.compareSubject(number("0.10000000000000000002"))).isPositive();
+        assertThat(NumericLimit.of(0.1).compareSubject(number("0.1"))).isZero();
+    }
+
+    @Test
+    public void compareSubject_WhenSubjectOutsideLongRange_IsExact() {
+        final NumericLimit limit = NumericLimit.of(Long.MAX_VALUE);
+
+        assertThat(limit.compareSubject(number("9223372036854775808"))).isPositive();
+        assertThat(limit.compareSubject(number("-9223372036854775809"))).isNegative();
+        assertThat(NumericLimit.of(new BigDecimal("1e30")).compareSubject(number(Long.MAX_VALUE))).isNegative();
+    }
+
+    @Test
+    public void isMultiple_WhenDivisorIsInteger_UsesModulo() {
+        final NumericDivisor divisor = NumericDivisor.of(7);
+
+        assertThat(divisor.isMultiple(number(49))).isTrue();
+        assertThat(divisor.isMultiple(number(-14))).isTrue();
+        assertThat(divisor.isMultiple(number(50))).isFalse();
+        assertThat(divisor.isMultiple(number("49.0"))).isTrue();
+        assertThat(divisor.isMultiple(number("49.5"))).isFalse();
+    }
+
+    @Test
+    public void isMultiple_WhenDivisorIsDecimal_IsExact() {
+        final NumericDivisor divisor = NumericDivisor.of(new BigDecimal("0.3"));
+
+        assertThat(divisor.isMultiple(number(3))).isTrue();
+        assertThat(divisor.isMultiple(number(4))).isFalse();
+        assertThat(divisor.isMultiple(number("0.9"))).isTrue();
+        assertThat(divisor.isMultiple(number("1.0"))).isFalse();
+        assertThat(NumericDivisor.of(0.01).isMultiple(number("19.99"))).isTrue();
+    }
+
+    @Test
+    public void isMultiple_WhenSubjectOutsideLongRange_IsExact() {
+        final NumericDivisor divisor = NumericDivisor.of(10);
+
+        assertThat(divisor.isMultiple(number("92233720368547758080"))).isTrue();
+        assertThat(divisor.isMultiple(number("92233720368547758081"))).isFalse();
+    }
+
+    private static JsonNumber number(long value) {
+        return provider.createValue(value);
+    }
+
+    private static JsonNumber number(String value) {
+        return provider.createValue(new BigDecimal(value));
+    }
+}
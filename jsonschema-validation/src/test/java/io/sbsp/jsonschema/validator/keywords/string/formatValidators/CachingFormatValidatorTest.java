@@ -0,0 +1,64 @@
+package io.sbsp.jsonschema.validator.keywords.string.formatValidators;
+
+import io.sbsp.jsonschema.validator.SchemaValidatorFactory;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CachingFormatValidatorTest {
+
+    @Test
+    public void validate_RepeatedSubject_DelegatesOnce() {
+        final AtomicInteger calls = new AtomicInteger();
+        final CachingFormatValidator validator = new CachingFormatValidator(subject -> {
+            calls.incrementAndGet();
+            return subject.startsWith("bad") ? Optional.of("[" + subject + "] is bad") : Optional.empty();
+        });
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(validator.validate("good")).isNotPresent();
+            assertThat(validator.validate("bad")).hasValue("[bad] is bad");
+        }
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(validator.getStats().hitCount()).isEqualTo(4);
+        assertThat(validator.getStats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void validate_BeyondMaximumSize_EvictsOldVerdicts() {
+        final CachingFormatValidator validator = new CachingFormatValidator(subject -> Optional.empty(), 2);
+        for (int i = 0; i < 10; i++) {
+            validator.validate("value" + i);
+        }
+        assertThat(validator.size()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void validate_Null_IsNotCached() {
+        final CachingFormatValidator validator = new CachingFormatValidator(new HostnameFormatValidator());
+        assertThat(validator.validate(null)).hasValue("[null] is not a valid hostname");
+        assertThat(validator.size()).isZero();
+    }
+
+    @Test
+    public void cacheFormat_OnlyWrapsEnabledFormats() {
+        final SchemaValidatorFactory factory = SchemaValidatorFactory.builder()
+                .cacheFormat("phone", 100)
+                .cacheFormat("custom")
+                .addCustomFormatValidator("custom", subject -> Optional.empty())
+                .build();
+
+        assertThat(factory.getFormatValidator("phone").get()).isInstanceOf(CachingFormatValidator.class);
+        assertThat(factory.getFormatValidator("custom").get()).isInstanceOf(CachingFormatValidator.class);
+        assertThat(factory.getFormatValidator("email").get()).isInstanceOf(EmailFormatValidator.class);
+
+        factory.getFormatValidator("phone").get().validate("+1 303-555-1212");
+        factory.getFormatValidator("phone").get().validate("+1 303-555-1212");
+        assertThat(factory.getFormatCacheStats()).containsOnlyKeys("phone", "custom");
+        assertThat(factory.getFormatCacheStats().get("phone").hitRate()).isEqualTo(0.5);
+    }
+}
@@ -0,0 +1,140 @@
+package io.sbsp.jsonschema.validator.keywords.string.formatValidators;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FormatScannersTest {
+
+    @Test
+    public void isDate_ChecksCalendar() {
+        assertThat(FormatScanners.isDate("2017-02-28")).isTrue();
+        assertThat(FormatScanners.isDate("2016-02-29")).isTrue();
+        assertThat(FormatScanners.isDate("2000-02-29")).isTrue();
+        assertThat(FormatScanners.isDate("2017-02-29")).isFalse();
+        assertThat(FormatScanners.isDate("1900-02-29")).isFalse();
+        assertThat(FormatScanners.isDate("2017-04-31")).isFalse();
+        assertThat(FormatScanners.isDate("2017-13-01")).isFalse();
+        assertThat(FormatScanners.isDate("2017-1-01")).isFalse();
+        assertThat(FormatScanners.isDate("2017-01-01T")).isFalse();
+        assertThat(FormatScanners.isDate(null)).isFalse();
+    }
+
+    @Test
+    public void isTime_ChecksRangesAndOffsets() {
+        assertThat(FormatScanners.isTime("23:59:60Z")).isTrue();
+        assertThat(FormatScanners.isTime("08:30:06.283185z")).isTrue();
+        assertThat(FormatScanners.isTime("08:30:06+05:30")).isTrue();
+        assertThat(FormatScanners.isTime("24:00:00Z")).isFalse();
+        assertThat(FormatScanners.isTime("08:60:00Z")).isFalse();
+        assertThat(FormatScanners.isTime("08:30:06")).isFalse();
+        assertThat(FormatScanners.isTime("08:30:06.Z")).isFalse();
+        assertThat(FormatScanners.isTime("08:30:06+0530")).isFalse();
+        assertThat(FormatScanners.isTime("08:30:06+05:30x")).isFalse();
+    }
+
+    @Test
+    public void isDateTime_RequiresDateAndTime() {
+        assertThat(FormatScanners.isDateTime("1963-06-19T08:30:06.283185Z")).isTrue();
+        assertThat(FormatScanners.isDateTime("1963-06-19t08:30:06-08:00")).isTrue();
+        assertThat(FormatScanners.isDateTime("1963-06-19 08:30:06Z")).isFalse();
+        assertThat(FormatScanners.isDateTime("1963-06-19")).isFalse();
+        assertThat(FormatScanners.isDateTime("06/19/1963 08:30:06 PST")).isFalse();
+    }
+
+    @Test
+    public void isHostname_ChecksLabels() {
+        assertThat(FormatScanners.isHostname("www.example.com")).isTrue();
+        assertThat(FormatScanners.isHostname("www.example.com.")).isTrue();
+        assertThat(FormatScanners.isHostname("xn--4gbwdl.xn--wgbh1c")).isTrue();
+        assertThat(FormatScanners.isHostname("-a.example.com")).isFalse();
+        assertThat(FormatScanners.isHostname("a-.example.com")).isFalse();
+        assertThat(FormatScanners.isHostname("a..example.com")).isFalse();
+        assertThat(FormatScanners.isHostname("not_a_host")).isFalse();
+        assertThat(FormatScanners.isHostname(repeat('a', 64) + ".com")).isFalse();
+        assertThat(FormatScanners.isHostname("")).isFalse();
+    }
+
+    @Test
+    public void isIpv4_RequiresDottedQuad() {
+        assertThat(FormatScanners.isIpv4("192.168.0.1")).isTrue();
+        assertThat(FormatScanners.isIpv4("0.0.0.0")).isTrue();
+        assertThat(FormatScanners.isIpv4("256.256.256.256")).isFalse();
+        assertThat(FormatScanners.isIpv4("127.0.0.0.1")).isFalse();
+        assertThat(FormatScanners.isIpv4("127.0.0")).isFalse();
+        assertThat(FormatScanners.isIpv4("087.10.0.1")).isFalse();
+        assertThat(FormatScanners.isIpv4("0x7f000001")).isFalse();
+        assertThat(FormatScanners.isIpv4("1.2.3.")).isFalse();
+    }
+
+    @Test
+    public void isIpv6_HandlesCompressionAndEmbeddedIpv4() {
+        assertThat(FormatScanners.isIpv6("::1")).isTrue();
+        assertThat(FormatScanners.isIpv6("::")).isTrue();
+        assertThat(FormatScanners.isIpv6("fe80::")).isTrue();
+        assertThat(FormatScanners.isIpv6("::ffff:192.168.0.1")).isTrue();
+        assertThat(FormatScanners.isIpv6("1:2:3:4:5:6:7:8")).isTrue();
+        assertThat(FormatScanners.isIpv6("1:2:3:4:5:6:1.2.3.4")).isTrue();
+        assertThat(FormatScanners.isIpv6("1:2:3:4:5:6:7:8:9")).isFalse();
+        assertThat(FormatScanners.isIpv6("1:2:3:4:5:6:7")).isFalse();
+        assertThat(FormatScanners.isIpv6("1::2::3")).isFalse();
+        assertThat(FormatScanners.isIpv6("12345::")).isFalse();
+        assertThat(FormatScanners.isIpv6(":1")).isFalse();
+        assertThat(FormatScanners.isIpv6("1:")).isFalse();
+        assertThat(FormatScanners.isIpv6("1:2:3:4:5:6:7:1.2.3.4")).isFalse();
+        assertThat(FormatScanners.isIpv6("::ffff:256.0.0.1")).isFalse();
+        assertThat(FormatScanners.isIpv6("fe80::1%eth0")).isFalse();
+    }
+
+    @Test
+    public void isUri_RequiresScheme() {
+        assertThat(FormatScanners.isUri("http://example.org:8080/example.html")).isTrue();
+        assertThat(FormatScanners.isUri("http://user:pw@[2001:db8::7]/c=GB?objectClass?one#frag")).isTrue();
+        assertThat(FormatScanners.isUri("urn:oasis:names:specification:docbook:dtd:xml:4.1.2")).isTrue();
+        assertThat(FormatScanners.isUri("mailto:John.Doe@example.com")).isTrue();
+        assertThat(FormatScanners.isUri("http://json-schema.org/draft-06/schema#")).isTrue();
+        assertThat(FormatScanners.isUri("/abc")).isFalse();
+        assertThat(FormatScanners.isUri("12 34")).isFalse();
+        assertThat(FormatScanners.isUri("http://example.com/a%2")).isFalse();
+        assertThat(FormatScanners.isUri("http://example.com:80a/")).isFalse();
+        assertThat(FormatScanners.isUri("http://[::1/")).isFalse();
+        assertThat(FormatScanners.isUri("http://example.com/#a#b")).isFalse();
+    }
+
+    @Test
+    public void isUriReference_AllowsRelativeReferences() {
+        assertThat(FormatScanners.isUriReference("")).isTrue();
+        assertThat(FormatScanners.isUriReference("#/definitions/foo")).isTrue();
+        assertThat(FormatScanners.isUriReference("../folder/item.json?x=1")).isTrue();
+        assertThat(FormatScanners.isUriReference("//example.com/path")).isTrue();
+        assertThat(FormatScanners.isUriReference("http://example.com/")).isTrue();
+        assertThat(FormatScanners.isUriReference("1a:b")).isFalse();
+        assertThat(FormatScanners.isUriReference("\\\\WINDOWS\\fileshare")).isFalse();
+        assertThat(FormatScanners.isUriReference("#frag with space")).isFalse();
+    }
+
+    @Test
+    public void isJsonPointer_ChecksEscapes() {
+        assertThat(FormatScanners.isJsonPointer("")).isTrue();
+        assertThat(FormatScanners.isJsonPointer("/a~0b/c~1d")).isTrue();
+        assertThat(FormatScanners.isJsonPointer("//a")).isTrue();
+        assertThat(FormatScanners.isJsonPointer("/a~2")).isFalse();
+        assertThat(FormatScanners.isJsonPointer("/a~")).isFalse();
+        assertThat(FormatScanners.isJsonPointer("/a//b")).isFalse();
+        assertThat(FormatScanners.isJsonPointer("a/b")).isFalse();
+    }
+
+    @Test
+    public void scanners_AcceptAnyCharSequence() {
+        assertThat(FormatScanners.isIpv4(new StringBuilder("10.0.0.1"))).isTrue();
+        assertThat(FormatScanners.isDate(new StringBuilder("2017-01-01"))).isTrue();
+    }
+
+    private static String repeat(char c, int count) {
+        final StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,169 @@
+package io.sbsp.jsonschema.validator.objects;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import io.sbsp.jsonschema.validator.SchemaValidatorFactory;
+import io.sbsp.jsonschema.validator.ValidationError;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static io.sbsp.jsonschema.utils.JsonUtils.readValue;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JavaValueValidatorTest {
+
+    private static final String PERSON_JSON = "{\"active\": true, \"address\": null, \"age\": 12, \"name\": \"Al\"," +
+            " \"score\": 9.5, \"tags\": [\"a\", \"x\"]}";
+
+    private JavaValueValidator validator;
+
+    @Before
+    public void before() {
+        final Schema schema = JsonSchemaFactory.schemaFactory().load(readJsonObject("{" +
+                "\"required\": [\"name\", \"age\"]," +
+                "\"properties\": {" +
+                "  \"name\": {\"type\": \"string\", \"minLength\": 3}," +
+                "  \"age\": {\"type\": \"integer\", \"minimum\": 18}," +
+                "  \"score\": {\"type\": \"number\", \"maximum\": 10}," +
+                "  \"tags\": {\"items\": {\"enum\": [\"a\", \"b\"]}}" +
+                "}}"));
+        validator = new JavaValueValidator(SchemaValidatorFactory.createValidatorForSchema(schema));
+    }
+
+    @Test
+    public void wrap_MapEqualsJavaxJson() {
+        final Map<String, Object> person = personMap();
+        final JsonValue wrapped = JavaValues.wrap(person);
+        final JsonObject expected = readJsonObject(PERSON_JSON);
+
+        assertThat(wrapped).isEqualTo(expected);
+        assertThat(wrapped.hashCode()).isEqualTo(expected.hashCode());
+    }
+
+    @Test
+    public void wrap_ArraysAndValueTypes_MapLikeJsonBinder() {
+        assertThat(JavaValues.wrap(new int[]{1, 2, 3})).isEqualTo(readValue("[1, 2, 3]"));
+        assertThat(JavaValues.wrap(new double[]{1.5})).isEqualTo(readValue("[1.5]"));
+        assertThat(JavaValues.wrap(new char[]{'a', 'b'})).isEqualTo(readValue("\"ab\""));
+        assertThat(JavaValues.wrap(new byte[]{1, 2, 3})).isEqualTo(readValue("\"AQID\""));
+        assertThat(JavaValues.wrap(Optional.of(5))).isEqualTo(readValue("5"));
+        assertThat(JavaValues.wrap(Optional.empty())).isEqualTo(JsonValue.NULL);
+        assertThat(JavaValues.wrap(OptionalInt.empty())).isEqualTo(JsonValue.NULL);
+        assertThat(JavaValues.wrap(LocalDate.of(2017, 10, 19))).isEqualTo(readValue("\"2017-10-19\""));
+        assertThat(JavaValues.wrap(new Date(0))).isEqualTo(readValue("\"1970-01-01T00:00:00Z\""));
+        assertThat(JavaValues.wrap(Duration.ofMinutes(5))).isEqualTo(readValue("\"PT5M\""));
+    }
+
+    @Test
+    public void wrap_BeanReadsGetters() {
+        final JsonObject wrapped = JavaValues.wrap(new Person()).asJsonObject();
+
+        assertThat(wrapped.keySet()).containsExactly("active", "address", "age", "name", "score", "tags");
+        assertThat(wrapped).isEqualTo(readJsonObject(PERSON_JSON));
+        assertThat(wrapped.isNull("address")).isTrue();
+        assertThat(wrapped.getJsonNumber("age").isIntegral()).isTrue();
+        assertThat(wrapped.getJsonNumber("score").isIntegral()).isFalse();
+        assertThat(wrapped.get("class")).isNull();
+    }
+
+    @Test
+    public void forClass_IsCachedPerClass() {
+        assertThat(BeanAccessors.forClass(Person.class)).isSameAs(BeanAccessors.forClass(Person.class));
+        assertThat(BeanAccessors.forClass(Person.class).read(new Person(), "name")).isEqualTo("Al");
+    }
+
+    @Test
+    public void validate_MatchesJsonResult() {
+        final Optional<ValidationError> expected = validator.getValidator().validate(readJsonObject(PERSON_JSON));
+
+        final Optional<ValidationError> fromMap = validator.validate(personMap());
+        final Optional<ValidationError> fromBean = validator.validate(new Person());
+
+        assertThat(expected).isPresent();
+        assertThat(fromMap.map(Object::toString)).isEqualTo(expected.map(Object::toString));
+        assertThat(fromBean.map(Object::toString)).isEqualTo(expected.map(Object::toString));
+        assertThat(validator.isValid(new Person())).isFalse();
+    }
+
+    @Test
+    public void validate_ValidMap() {
+        final Map<String, Object> person = ImmutableMap.of("name", "Alice", "age", 21L,
+                "score", new BigDecimal("7.25"), "tags", Arrays.asList("a", "b"));
+
+        assertThat(validator.validate(person)).isEmpty();
+        assertThat(validator.isValid(person)).isTrue();
+    }
+
+    @Test
+    public void wrap_Float_MatchesJsonBinder() {
+        assertThat(JavaValues.wrap(0.1f)).isEqualTo(readValue("0.1"));
+
+        final Schema schema = JsonSchemaFactory.schemaFactory().load(readJsonObject("{" +
+                "\"properties\": {" +
+                "  \"step\": {\"multipleOf\": 0.1}," +
+                "  \"ratio\": {\"const\": 0.1}" +
+                "}}"));
+        final JavaValueValidator floatValidator = new JavaValueValidator(SchemaValidatorFactory.createValidatorForSchema(schema));
+
+        assertThat(floatValidator.validate(ImmutableMap.of("step", 0.3f, "ratio", 0.1f))).isEmpty();
+    }
+
+    @Test
+    public void wrap_RejectsNaN() {
+        assertThatThrownBy(() -> JavaValues.wrap(Double.NaN)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Map<String, Object> personMap() {
+        final Map<String, Object> person = new LinkedHashMap<>();
+        person.put("active", true);
+        person.put("address", null);
+        person.put("age", 12);
+        person.put("name", "Al");
+        person.put("score", 9.5d);
+        person.put("tags", ImmutableList.of("a", "x"));
+        return person;
+    }
+
+    public static class Person {
+        public String getName() {
+            return "Al";
+        }
+
+        public int getAge() {
+            return 12;
+        }
+
+        public double getScore() {
+            return 9.5;
+        }
+
+        public boolean isActive() {
+            return true;
+        }
+
+        public String getAddress() {
+            return null;
+        }
+
+        public List<String> getTags() {
+            return ImmutableList.of("a", "x");
+        }
+    }
+}
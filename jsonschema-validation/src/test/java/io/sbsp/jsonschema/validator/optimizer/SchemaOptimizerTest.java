@@ -0,0 +1,155 @@
+package io.sbsp.jsonschema.validator.optimizer;
+
+import io.sbsp.jsonschema.Schema;
+import io.sbsp.jsonschema.enums.JsonSchemaType;
+import io.sbsp.jsonschema.enums.JsonSchemaVersion;
+import io.sbsp.jsonschema.impl.Draft6SchemaImpl;
+import io.sbsp.jsonschema.keyword.Keywords;
+import io.sbsp.jsonschema.keyword.StringSetKeyword;
+import io.sbsp.jsonschema.keyword.TypeKeyword;
+import io.sbsp.jsonschema.loading.JsonSchemaFactory;
+import io.sbsp.jsonschema.validator.SchemaValidator;
+import io.sbsp.jsonschema.validator.SchemaValidatorFactory;
+import io.sbsp.jsonschema.validator.ValidationError;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readValue;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SchemaOptimizerTest {
+
+    @Test
+    public void optimize_NestedAllOf_MergedIntoParent() {
+        final Schema schema = load("{" +
+                "\"allOf\": [" +
+                "  {\"allOf\": [{\"type\": \"object\"}]}," +
+                "  {\"required\": [\"a\"]}," +
+                "  {\"required\": [\"a\", \"b\"], \"properties\": {\"a\": {\"type\": \"string\", \"minLength\": 0}}}" +
+                "]," +
+                "\"maxProperties\": 5" +
+                "}");
+        final OptimizedSchema optimized = SchemaOptimizer.optimize(schema);
+        final Schema result = optimized.getSchema();
+
+        assertThat(result.getKeywords()).doesNotContainKey(Keywords.allOf);
+        assertThat(((TypeKeyword) result.getKeywords().get(Keywords.type)).getTypes()).containsOnly(JsonSchemaType.OBJECT);
+        assertThat(((StringSetKeyword) result.getKeywords().get(Keywords.required)).getStringSet()).containsOnly("a", "b");
+        assertThat(result.asDraft6().getProperties().get("a").getKeywords()).containsOnlyKeys(Keywords.type);
+        assertThat(optimized.isUnsatisfiable()).isFalse();
+
+        assertSameOutcome(schema, optimized, "{}", "{\"a\": \"x\", \"b\": 1}", "{\"a\": 1, \"b\": 1}", "[]");
+    }
+
+    @Test
+    public void optimize_MergedKeyword_ErrorMapsToDeclaringBranch() {
+        final Schema schema = load("{\"type\": \"object\", \"allOf\": [{\"required\": [\"a\"]}, {\"maxProperties\": 1}]}");
+        final OptimizedSchema optimized = SchemaOptimizer.optimize(schema);
+
+        final Optional<ValidationError> error = optimized.createValidator(SchemaValidatorFactory.builder().build())
+                .validate(readValue("{\"b\": 1}"));
+
+        assertThat(error).isPresent();
+        assertThat(optimized.originOf(error.get()).getJsonPointerFragment().toString()).isEqualTo("#/allOf/0");
+        assertThat(optimized.originOf(optimized.getSchema(), null)).isEqualTo(schema.getLocation());
+    }
+
+    @Test
+    public void optimize_SingleBranchAndDoubleNegation_Unwrapped() {
+        final Schema schema = load("{\"anyOf\": [{\"maxLength\": 3}], \"not\": {\"not\": {\"type\": \"string\"}}}");
+        final OptimizedSchema optimized = SchemaOptimizer.optimize(schema);
+
+        assertThat(optimized.getSchema().getKeywords()).containsOnlyKeys(Keywords.maxLength, Keywords.type);
+        assertSameOutcome(schema, optimized, "\"ab\"", "\"abcd\"", "5");
+    }
+
+    @Test
+    public void optimize_UnsatisfiableBranch_RemovedFromAnyOf() {
+        final Schema schema = load("{\"anyOf\": [{\"type\": \"string\", \"enum\": [1, 2]}, {\"type\": \"number\"}]}");
+        final OptimizedSchema optimized = SchemaOptimizer.optimize(schema);
+
+        assertThat(optimized.getSchema().getKeywords()).containsOnlyKeys(Keywords.type);
+        assertThat(optimized.getUnsatisfiableSchemas()).hasSize(1);
+        assertSameOutcome(schema, optimized, "1", "\"a\"");
+    }
+
+    @Test
+    public void optimize_RequiredPropertyUnsatisfiable_SchemaRejectsEverything() {
+        final Schema schema = load("{" +
+                "\"type\": \"object\"," +
+                "\"properties\": {\"x\": {\"type\": \"string\", \"minLength\": 5, \"maxLength\": 2}}," +
+                "\"required\": [\"x\"]" +
+                "}");
+        final OptimizedSchema optimized = SchemaOptimizer.optimize(schema);
+
+        assertThat(optimized.isUnsatisfiable()).isTrue();
+        assertThat(optimized.getUnsatisfiableReason(optimized.getSchema()).get()).contains("required property 'x'");
+        assertThat(optimized.getSchema().getKeywords()).containsOnlyKeys(Keywords.not);
+        assertSameOutcome(schema, optimized, "{}", "{\"x\": \"abc\"}", "\"x\"");
+    }
+
+    @Test
+    public void optimize_AdditionalProperties_BranchNotMerged() {
+        final Schema schema = load("{" +
+                "\"properties\": {\"a\": {}}," +
+                "\"additionalProperties\": {\"type\": \"null\"}," +
+                "\"allOf\": [{\"properties\": {\"b\": {\"type\": \"number\"}}}]" +
+                "}");
+        final OptimizedSchema optimized = SchemaOptimizer.optimize(schema);
+
+        assertThat(optimized.getSchema().getKeywords()).containsKey(Keywords.allOf);
+        assertSameOutcome(schema, optimized, "{\"a\": 1}", "{\"b\": 1}", "{\"b\": null}");
+    }
+
+    @Test
+    public void optimize_NothingToDo_ReturnsOriginal() {
+        final Schema schema = load("{\"type\": \"string\", \"maxLength\": 3}");
+        assertThat(SchemaOptimizer.optimize(schema).getSchema()).isSameAs(schema);
+    }
+
+    @Test
+    public void optimize_SharedFactory_OriginalAndOptimizedGetTheirOwnValidators() {
+        final Schema schema = load("{\"$id\": \"http://schema.sbsp.io/optimizer-shared.json\"," +
+                "\"anyOf\": [{\"type\": \"string\", \"enum\": [1]}, {\"type\": \"number\"}]}");
+        final OptimizedSchema optimizedSchema = SchemaOptimizer.optimize(schema);
+        assertThat(optimizedSchema.getSchema().getLocation()).isEqualTo(schema.getLocation());
+
+        final SchemaValidatorFactory factory = SchemaValidatorFactory.builder().build();
+        final SchemaValidator original = factory.createValidator(schema);
+        final SchemaValidator optimized = optimizedSchema.createValidator(factory);
+
+        assertThat(original.getSchema()).isSameAs(schema);
+        assertThat(optimized.getSchema()).isSameAs(optimizedSchema.getSchema());
+        assertThat(factory.createValidator(schema)).isSameAs(original);
+        assertThat(SchemaValidatorFactory.createValidatorForSchema(schema).getSchema()).isSameAs(schema);
+        assertThat(optimizedSchema.createValidator(SchemaValidatorFactory.DEFAULT_VALIDATOR_FACTORY).getSchema())
+                .isSameAs(optimizedSchema.getSchema());
+    }
+
+    @Test
+    public void optimize_UnsupportedVersion_LeftUnrewritten() {
+        final Schema loaded = load("{\"anyOf\": [{\"maxLength\": 3}], \"not\": {\"not\": {\"type\": \"string\"}}}");
+        final Schema custom = new Draft6SchemaImpl(loaded.getLocation(), loaded.getKeywords()) {
+            @Override
+            public JsonSchemaVersion getVersion() {
+                return JsonSchemaVersion.Custom;
+            }
+        };
+
+        assertThat(SchemaOptimizer.optimize(custom).getSchema()).isSameAs(custom);
+    }
+
+    private static Schema load(String json) {
+        return JsonSchemaFactory.schemaFactory().load(json);
+    }
+
+    private static void assertSameOutcome(Schema schema, OptimizedSchema optimized, String... instances) {
+        final SchemaValidatorFactory factory = SchemaValidatorFactory.builder().build();
+        for (String instance : instances) {
+            final boolean expected = factory.createValidator(schema).validate(readValue(instance)).isPresent();
+            final boolean actual = optimized.createValidator(factory).validate(readValue(instance)).isPresent();
+            assertThat(actual).as(instance).isEqualTo(expected);
+        }
+    }
+}
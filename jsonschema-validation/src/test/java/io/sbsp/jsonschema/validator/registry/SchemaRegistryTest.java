@@ -0,0 +1,168 @@
+package io.sbsp.jsonschema.validator.registry;
+
+import com.google.common.collect.ImmutableSet;
+import io.sbsp.jsonschema.validator.SchemaValidator;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.json.JsonValue;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.CompletionException;
+
+import static io.sbsp.jsonschema.utils.JsonUtils.readJsonObject;
+import static io.sbsp.jsonschema.utils.JsonUtils.readValue;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SchemaRegistryTest {
+
+    private static final URI ORDER = URI.create("http://schemas.example.com/order.json");
+    private static final URI MONEY = URI.create("http://schemas.example.com/money.json");
+    private static final URI NAME = URI.create("http://schemas.example.com/name.json");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final SchemaRegistry registry = SchemaRegistry.schemaRegistry().build();
+
+    @After
+    public void after() throws Exception {
+        registry.close();
+    }
+
+    @Test
+    public void updateRebuildsDependentsOnly() {
+        registry.register(readJsonObject(money("integer"))).join();
+        registry.register(readJsonObject(order())).join();
+        registry.register(readJsonObject(name())).join();
+        assertValid(ORDER, "{\"total\": 10}", true);
+        assertValid(ORDER, "{\"total\": 10.5}", false);
+
+        final SchemaValidator nameValidator = registry.getValidator(NAME).get();
+        final SchemaValidator orderValidator = registry.getValidator(ORDER).get();
+
+        assertThat(registry.register(readJsonObject(money("number"))).join())
+                .containsExactlyInAnyOrder(MONEY, ORDER);
+        assertValid(ORDER, "{\"total\": 10.5}", true);
+        assertThat(registry.getValidator(NAME).get()).isSameAs(nameValidator);
+        assertThat(registry.getValidator(ORDER).get()).isNotSameAs(orderValidator);
+        assertThat(registry.getSnapshot().getDependents(MONEY)).containsExactly(ORDER);
+    }
+
+    @Test
+    public void failedUpdateKeepsCurrentSnapshot() {
+        registry.register(readJsonObject(money("integer"))).join();
+        final SchemaRegistry.Snapshot before = registry.getSnapshot();
+
+        assertThatThrownBy(() -> registry.register(readJsonObject("{" +
+                "\"$id\": \"" + ORDER + "\"," +
+                "\"properties\": {\"total\": {\"$ref\": \"urn:missing\"}}}")).join())
+                .isInstanceOf(CompletionException.class);
+
+        assertThat(registry.getSnapshot()).isSameAs(before);
+        assertThat(registry.getValidator(ORDER)).isEmpty();
+    }
+
+    @Test
+    public void removeDropsDocument() {
+        registry.register(readJsonObject(name())).join();
+        registry.remove(NAME).join();
+
+        assertThat(registry.getValidator(NAME)).isEmpty();
+        assertThat(registry.getSnapshot().getDocumentURIs()).isEmpty();
+        assertThat(registry.getSnapshot().getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    public void removeFailsWhileReferenced() {
+        registry.register(readJsonObject(money("integer"))).join();
+        registry.register(readJsonObject(order())).join();
+        final SchemaRegistry.Snapshot before = registry.getSnapshot();
+
+        assertThatThrownBy(() -> registry.remove(MONEY).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(registry.getSnapshot()).isSameAs(before);
+
+        registry.update(Collections.emptyMap(), ImmutableSet.of(MONEY, ORDER)).join();
+        assertThat(registry.getSnapshot().getDocumentURIs()).isEmpty();
+    }
+
+    @Test
+    public void dependenciesResolveAgainstDocumentId() {
+        final URI key = URI.create("urn:registered-order");
+        registry.register(readJsonObject(money("integer"))).join();
+        registry.register(key, readJsonObject(order())).join();
+
+        assertThat(registry.getSnapshot().getDependents(MONEY)).containsExactly(key);
+        assertThat(registry.register(readJsonObject(money("number"))).join()).containsExactlyInAnyOrder(MONEY, key);
+        assertValid(key, "{\"total\": 10.5}", true);
+    }
+
+    @Test
+    public void watchPicksUpFileChanges() throws Exception {
+        final Path directory = folder.getRoot().toPath();
+        write(directory.resolve("order.json"), order());
+        write(directory.resolve("money.json"), money("integer"));
+
+        registry.watch(directory);
+        assertValid(ORDER, "{\"total\": 10.5}", false);
+
+        final long version = registry.getSnapshot().getVersion();
+        write(directory.resolve("money.json"), money("number"));
+        final long deadline = System.currentTimeMillis() + 30_000;
+        while (registry.getSnapshot().getVersion() == version && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertValid(ORDER, "{\"total\": 10.5}", true);
+    }
+
+    @Test
+    public void watchRetriesRejectedFileChanges() throws Exception {
+        final Path directory = folder.getRoot().toPath();
+        write(directory.resolve("order.json"), order());
+        write(directory.resolve("money.json"), money("integer"));
+        registry.watch(directory);
+
+        // Moving money.json to another $id is rejected while order.json still references it
+        write(directory.resolve("money.json"), "{\"$id\": \"http://schemas.example.com/cash.json\"}");
+        Thread.sleep(1_000);
+        assertThat(registry.getSnapshot().getDocument(MONEY)).isPresent();
+
+        Files.delete(directory.resolve("order.json"));
+        Files.delete(directory.resolve("money.json"));
+        final long deadline = System.currentTimeMillis() + 30_000;
+        while (registry.getSnapshot().getDocument(ORDER).isPresent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(registry.getSnapshot().getDocument(ORDER)).isNotPresent();
+        assertThat(registry.getSnapshot().getDocument(MONEY)).isNotPresent();
+    }
+
+    private void assertValid(URI schema, String json, boolean valid) {
+        final JsonValue subject = readValue(json);
+        assertThat(registry.getValidator(schema).get().validate(subject).isPresent()).isEqualTo(!valid);
+    }
+
+    private static void write(Path file, String json) throws Exception {
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String order() {
+        return "{\"$id\": \"" + ORDER + "\", \"properties\": {\"total\": {\"$ref\": \"money.json\"}}}";
+    }
+
+    private static String money(String type) {
+        return "{\"$id\": \"" + MONEY + "\", \"type\": \"" + type + "\"}";
+    }
+
+    private static String name() {
+        return "{\"$id\": \"" + NAME + "\", \"type\": \"string\"}";
+    }
+}